@@ -30,6 +30,7 @@ import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 
 import static io.netty5.util.internal.ObjectUtil.checkPositiveOrZero;
+import static java.util.Objects.requireNonNull;
 
 /**
  * A life cycled buffer of memory, with separate reader and writer offsets.
@@ -545,6 +546,286 @@ public interface Buffer extends Resource<Buffer>, BufferAccessor {
         return this;
     }
 
+    /**
+     * Writes into this buffer, the given number of short values from the short array, in the given byte order.
+     * This updates the {@linkplain #writerOffset() write offset} of this buffer by the length argument multiplied
+     * by {@link Short#BYTES}.
+     *
+     * @param source The short array to read from.
+     * @param srcPos Position in the {@code source} from where values should be written to this buffer.
+     * @param length The number of values to copy.
+     * @param order The byte order the values should be written in.
+     * @return This buffer.
+     * @throws IndexOutOfBoundsException if the array region is out of bounds, or if this buffer does not have enough
+     * space for the values, and cannot be {@linkplain #implicitCapacityLimit() implicitly} expanded to make room.
+     * @throws BufferClosedException if this buffer is closed.
+     * @throws BufferReadOnlyException if this buffer is {@linkplain #readOnly() read-only}.
+     */
+    default Buffer writeShorts(short[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = Statics.checkBulkTransferArgs(source.length, srcPos, length, Short.BYTES);
+        boolean reverse = requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        if (writableBytes() < byteLength && writerOffset() + byteLength <= implicitCapacityLimit()) {
+            ensureWritable(byteLength, 1, false);
+        }
+        int woff = writerOffset();
+        writerOffset(woff + byteLength);
+        for (int i = srcPos, end = srcPos + length; i < end; i++, woff += Short.BYTES) {
+            short value = source[i];
+            setShort(woff, reverse? Short.reverseBytes(value) : value);
+        }
+        return this;
+    }
+
+    /**
+     * Read from this buffer, into the destination short array, the given number of values in the given byte order.
+     * This updates the {@linkplain #readerOffset() read offset} of this buffer by the length argument multiplied
+     * by {@link Short#BYTES}.
+     *
+     * @param destination The short array to write into.
+     * @param destPos Position in the {@code destination} to where values should be written from this buffer.
+     * @param length The number of values to copy.
+     * @param order The byte order the values should be read in.
+     * @return This buffer.
+     * @throws IndexOutOfBoundsException if the array region is out of bounds, or if this buffer does not have enough
+     * readable bytes.
+     * @throws BufferClosedException if this buffer is closed.
+     */
+    default Buffer readShorts(short[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = Statics.checkBulkTransferArgs(destination.length, destPos, length, Short.BYTES);
+        boolean reverse = requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        int roff = readerOffset();
+        readerOffset(roff + byteLength);
+        for (int i = destPos, end = destPos + length; i < end; i++, roff += Short.BYTES) {
+            short value = getShort(roff);
+            destination[i] = reverse? Short.reverseBytes(value) : value;
+        }
+        return this;
+    }
+
+    /**
+     * Writes into this buffer, the given number of int values from the int array, in the given byte order.
+     * This updates the {@linkplain #writerOffset() write offset} of this buffer by the length argument multiplied
+     * by {@link Integer#BYTES}.
+     *
+     * @param source The int array to read from.
+     * @param srcPos Position in the {@code source} from where values should be written to this buffer.
+     * @param length The number of values to copy.
+     * @param order The byte order the values should be written in.
+     * @return This buffer.
+     * @throws IndexOutOfBoundsException if the array region is out of bounds, or if this buffer does not have enough
+     * space for the values, and cannot be {@linkplain #implicitCapacityLimit() implicitly} expanded to make room.
+     * @throws BufferClosedException if this buffer is closed.
+     * @throws BufferReadOnlyException if this buffer is {@linkplain #readOnly() read-only}.
+     */
+    default Buffer writeInts(int[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = Statics.checkBulkTransferArgs(source.length, srcPos, length, Integer.BYTES);
+        boolean reverse = requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        if (writableBytes() < byteLength && writerOffset() + byteLength <= implicitCapacityLimit()) {
+            ensureWritable(byteLength, 1, false);
+        }
+        int woff = writerOffset();
+        writerOffset(woff + byteLength);
+        for (int i = srcPos, end = srcPos + length; i < end; i++, woff += Integer.BYTES) {
+            int value = source[i];
+            setInt(woff, reverse? Integer.reverseBytes(value) : value);
+        }
+        return this;
+    }
+
+    /**
+     * Read from this buffer, into the destination int array, the given number of values in the given byte order.
+     * This updates the {@linkplain #readerOffset() read offset} of this buffer by the length argument multiplied
+     * by {@link Integer#BYTES}.
+     *
+     * @param destination The int array to write into.
+     * @param destPos Position in the {@code destination} to where values should be written from this buffer.
+     * @param length The number of values to copy.
+     * @param order The byte order the values should be read in.
+     * @return This buffer.
+     * @throws IndexOutOfBoundsException if the array region is out of bounds, or if this buffer does not have enough
+     * readable bytes.
+     * @throws BufferClosedException if this buffer is closed.
+     */
+    default Buffer readInts(int[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = Statics.checkBulkTransferArgs(destination.length, destPos, length, Integer.BYTES);
+        boolean reverse = requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        int roff = readerOffset();
+        readerOffset(roff + byteLength);
+        for (int i = destPos, end = destPos + length; i < end; i++, roff += Integer.BYTES) {
+            int value = getInt(roff);
+            destination[i] = reverse? Integer.reverseBytes(value) : value;
+        }
+        return this;
+    }
+
+    /**
+     * Writes into this buffer, the given number of long values from the long array, in the given byte order.
+     * This updates the {@linkplain #writerOffset() write offset} of this buffer by the length argument multiplied
+     * by {@link Long#BYTES}.
+     *
+     * @param source The long array to read from.
+     * @param srcPos Position in the {@code source} from where values should be written to this buffer.
+     * @param length The number of values to copy.
+     * @param order The byte order the values should be written in.
+     * @return This buffer.
+     * @throws IndexOutOfBoundsException if the array region is out of bounds, or if this buffer does not have enough
+     * space for the values, and cannot be {@linkplain #implicitCapacityLimit() implicitly} expanded to make room.
+     * @throws BufferClosedException if this buffer is closed.
+     * @throws BufferReadOnlyException if this buffer is {@linkplain #readOnly() read-only}.
+     */
+    default Buffer writeLongs(long[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = Statics.checkBulkTransferArgs(source.length, srcPos, length, Long.BYTES);
+        boolean reverse = requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        if (writableBytes() < byteLength && writerOffset() + byteLength <= implicitCapacityLimit()) {
+            ensureWritable(byteLength, 1, false);
+        }
+        int woff = writerOffset();
+        writerOffset(woff + byteLength);
+        for (int i = srcPos, end = srcPos + length; i < end; i++, woff += Long.BYTES) {
+            long value = source[i];
+            setLong(woff, reverse? Long.reverseBytes(value) : value);
+        }
+        return this;
+    }
+
+    /**
+     * Read from this buffer, into the destination long array, the given number of values in the given byte order.
+     * This updates the {@linkplain #readerOffset() read offset} of this buffer by the length argument multiplied
+     * by {@link Long#BYTES}.
+     *
+     * @param destination The long array to write into.
+     * @param destPos Position in the {@code destination} to where values should be written from this buffer.
+     * @param length The number of values to copy.
+     * @param order The byte order the values should be read in.
+     * @return This buffer.
+     * @throws IndexOutOfBoundsException if the array region is out of bounds, or if this buffer does not have enough
+     * readable bytes.
+     * @throws BufferClosedException if this buffer is closed.
+     */
+    default Buffer readLongs(long[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = Statics.checkBulkTransferArgs(destination.length, destPos, length, Long.BYTES);
+        boolean reverse = requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        int roff = readerOffset();
+        readerOffset(roff + byteLength);
+        for (int i = destPos, end = destPos + length; i < end; i++, roff += Long.BYTES) {
+            long value = getLong(roff);
+            destination[i] = reverse? Long.reverseBytes(value) : value;
+        }
+        return this;
+    }
+
+    /**
+     * Writes into this buffer, the given number of float values from the float array, in the given byte order.
+     * This updates the {@linkplain #writerOffset() write offset} of this buffer by the length argument multiplied
+     * by {@link Float#BYTES}.
+     *
+     * @param source The float array to read from.
+     * @param srcPos Position in the {@code source} from where values should be written to this buffer.
+     * @param length The number of values to copy.
+     * @param order The byte order the values should be written in.
+     * @return This buffer.
+     * @throws IndexOutOfBoundsException if the array region is out of bounds, or if this buffer does not have enough
+     * space for the values, and cannot be {@linkplain #implicitCapacityLimit() implicitly} expanded to make room.
+     * @throws BufferClosedException if this buffer is closed.
+     * @throws BufferReadOnlyException if this buffer is {@linkplain #readOnly() read-only}.
+     */
+    default Buffer writeFloats(float[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = Statics.checkBulkTransferArgs(source.length, srcPos, length, Float.BYTES);
+        boolean reverse = requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        if (writableBytes() < byteLength && writerOffset() + byteLength <= implicitCapacityLimit()) {
+            ensureWritable(byteLength, 1, false);
+        }
+        int woff = writerOffset();
+        writerOffset(woff + byteLength);
+        for (int i = srcPos, end = srcPos + length; i < end; i++, woff += Float.BYTES) {
+            int value = Float.floatToRawIntBits(source[i]);
+            setInt(woff, reverse? Integer.reverseBytes(value) : value);
+        }
+        return this;
+    }
+
+    /**
+     * Read from this buffer, into the destination float array, the given number of values in the given byte order.
+     * This updates the {@linkplain #readerOffset() read offset} of this buffer by the length argument multiplied
+     * by {@link Float#BYTES}.
+     *
+     * @param destination The float array to write into.
+     * @param destPos Position in the {@code destination} to where values should be written from this buffer.
+     * @param length The number of values to copy.
+     * @param order The byte order the values should be read in.
+     * @return This buffer.
+     * @throws IndexOutOfBoundsException if the array region is out of bounds, or if this buffer does not have enough
+     * readable bytes.
+     * @throws BufferClosedException if this buffer is closed.
+     */
+    default Buffer readFloats(float[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = Statics.checkBulkTransferArgs(destination.length, destPos, length, Float.BYTES);
+        boolean reverse = requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        int roff = readerOffset();
+        readerOffset(roff + byteLength);
+        for (int i = destPos, end = destPos + length; i < end; i++, roff += Float.BYTES) {
+            int value = getInt(roff);
+            destination[i] = Float.intBitsToFloat(reverse? Integer.reverseBytes(value) : value);
+        }
+        return this;
+    }
+
+    /**
+     * Writes into this buffer, the given number of double values from the double array, in the given byte order.
+     * This updates the {@linkplain #writerOffset() write offset} of this buffer by the length argument multiplied
+     * by {@link Double#BYTES}.
+     *
+     * @param source The double array to read from.
+     * @param srcPos Position in the {@code source} from where values should be written to this buffer.
+     * @param length The number of values to copy.
+     * @param order The byte order the values should be written in.
+     * @return This buffer.
+     * @throws IndexOutOfBoundsException if the array region is out of bounds, or if this buffer does not have enough
+     * space for the values, and cannot be {@linkplain #implicitCapacityLimit() implicitly} expanded to make room.
+     * @throws BufferClosedException if this buffer is closed.
+     * @throws BufferReadOnlyException if this buffer is {@linkplain #readOnly() read-only}.
+     */
+    default Buffer writeDoubles(double[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = Statics.checkBulkTransferArgs(source.length, srcPos, length, Double.BYTES);
+        boolean reverse = requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        if (writableBytes() < byteLength && writerOffset() + byteLength <= implicitCapacityLimit()) {
+            ensureWritable(byteLength, 1, false);
+        }
+        int woff = writerOffset();
+        writerOffset(woff + byteLength);
+        for (int i = srcPos, end = srcPos + length; i < end; i++, woff += Double.BYTES) {
+            long value = Double.doubleToRawLongBits(source[i]);
+            setLong(woff, reverse? Long.reverseBytes(value) : value);
+        }
+        return this;
+    }
+
+    /**
+     * Read from this buffer, into the destination double array, the given number of values in the given byte order.
+     * This updates the {@linkplain #readerOffset() read offset} of this buffer by the length argument multiplied
+     * by {@link Double#BYTES}.
+     *
+     * @param destination The double array to write into.
+     * @param destPos Position in the {@code destination} to where values should be written from this buffer.
+     * @param length The number of values to copy.
+     * @param order The byte order the values should be read in.
+     * @return This buffer.
+     * @throws IndexOutOfBoundsException if the array region is out of bounds, or if this buffer does not have enough
+     * readable bytes.
+     * @throws BufferClosedException if this buffer is closed.
+     */
+    default Buffer readDoubles(double[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = Statics.checkBulkTransferArgs(destination.length, destPos, length, Double.BYTES);
+        boolean reverse = requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        int roff = readerOffset();
+        readerOffset(roff + byteLength);
+        for (int i = destPos, end = destPos + length; i < end; i++, roff += Double.BYTES) {
+            long value = getLong(roff);
+            destination[i] = Double.longBitsToDouble(reverse? Long.reverseBytes(value) : value);
+        }
+        return this;
+    }
+
     /**
      * Resets the {@linkplain #readerOffset() read offset} and the {@linkplain #writerOffset() write offset} on this
      * buffer to zero, and return this buffer.
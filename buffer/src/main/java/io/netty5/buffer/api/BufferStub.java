@@ -20,6 +20,7 @@ import io.netty5.util.Send;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
@@ -566,6 +567,66 @@ public class BufferStub implements Buffer {
         return this;
     }
 
+    @Override
+    public Buffer writeShorts(short[] source, int srcPos, int length, ByteOrder order) {
+        delegate.writeShorts(source, srcPos, length, order);
+        return this;
+    }
+
+    @Override
+    public Buffer readShorts(short[] destination, int destPos, int length, ByteOrder order) {
+        delegate.readShorts(destination, destPos, length, order);
+        return this;
+    }
+
+    @Override
+    public Buffer writeInts(int[] source, int srcPos, int length, ByteOrder order) {
+        delegate.writeInts(source, srcPos, length, order);
+        return this;
+    }
+
+    @Override
+    public Buffer readInts(int[] destination, int destPos, int length, ByteOrder order) {
+        delegate.readInts(destination, destPos, length, order);
+        return this;
+    }
+
+    @Override
+    public Buffer writeLongs(long[] source, int srcPos, int length, ByteOrder order) {
+        delegate.writeLongs(source, srcPos, length, order);
+        return this;
+    }
+
+    @Override
+    public Buffer readLongs(long[] destination, int destPos, int length, ByteOrder order) {
+        delegate.readLongs(destination, destPos, length, order);
+        return this;
+    }
+
+    @Override
+    public Buffer writeFloats(float[] source, int srcPos, int length, ByteOrder order) {
+        delegate.writeFloats(source, srcPos, length, order);
+        return this;
+    }
+
+    @Override
+    public Buffer readFloats(float[] destination, int destPos, int length, ByteOrder order) {
+        delegate.readFloats(destination, destPos, length, order);
+        return this;
+    }
+
+    @Override
+    public Buffer writeDoubles(double[] source, int srcPos, int length, ByteOrder order) {
+        delegate.writeDoubles(source, srcPos, length, order);
+        return this;
+    }
+
+    @Override
+    public Buffer readDoubles(double[] destination, int destPos, int length, ByteOrder order) {
+        delegate.readDoubles(destination, destPos, length, order);
+        return this;
+    }
+
     @Override
     public Buffer copy(int offset, int length) {
         return delegate.copy(offset, length);
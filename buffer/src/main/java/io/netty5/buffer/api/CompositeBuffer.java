@@ -19,6 +19,7 @@ import io.netty5.util.Resource;
 import io.netty5.util.Send;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 
 /**
@@ -220,6 +221,56 @@ public interface CompositeBuffer extends Buffer {
         return (CompositeBuffer) Buffer.super.readBytes(destination, destPos, length);
     }
 
+    @Override
+    default CompositeBuffer writeShorts(short[] source, int srcPos, int length, ByteOrder order) {
+        return (CompositeBuffer) Buffer.super.writeShorts(source, srcPos, length, order);
+    }
+
+    @Override
+    default CompositeBuffer readShorts(short[] destination, int destPos, int length, ByteOrder order) {
+        return (CompositeBuffer) Buffer.super.readShorts(destination, destPos, length, order);
+    }
+
+    @Override
+    default CompositeBuffer writeInts(int[] source, int srcPos, int length, ByteOrder order) {
+        return (CompositeBuffer) Buffer.super.writeInts(source, srcPos, length, order);
+    }
+
+    @Override
+    default CompositeBuffer readInts(int[] destination, int destPos, int length, ByteOrder order) {
+        return (CompositeBuffer) Buffer.super.readInts(destination, destPos, length, order);
+    }
+
+    @Override
+    default CompositeBuffer writeLongs(long[] source, int srcPos, int length, ByteOrder order) {
+        return (CompositeBuffer) Buffer.super.writeLongs(source, srcPos, length, order);
+    }
+
+    @Override
+    default CompositeBuffer readLongs(long[] destination, int destPos, int length, ByteOrder order) {
+        return (CompositeBuffer) Buffer.super.readLongs(destination, destPos, length, order);
+    }
+
+    @Override
+    default CompositeBuffer writeFloats(float[] source, int srcPos, int length, ByteOrder order) {
+        return (CompositeBuffer) Buffer.super.writeFloats(source, srcPos, length, order);
+    }
+
+    @Override
+    default CompositeBuffer readFloats(float[] destination, int destPos, int length, ByteOrder order) {
+        return (CompositeBuffer) Buffer.super.readFloats(destination, destPos, length, order);
+    }
+
+    @Override
+    default CompositeBuffer writeDoubles(double[] source, int srcPos, int length, ByteOrder order) {
+        return (CompositeBuffer) Buffer.super.writeDoubles(source, srcPos, length, order);
+    }
+
+    @Override
+    default CompositeBuffer readDoubles(double[] destination, int destPos, int length, ByteOrder order) {
+        return (CompositeBuffer) Buffer.super.readDoubles(destination, destPos, length, order);
+    }
+
     @Override
     default CompositeBuffer writeBoolean(boolean value) {
         return (CompositeBuffer) Buffer.super.writeBoolean(value);
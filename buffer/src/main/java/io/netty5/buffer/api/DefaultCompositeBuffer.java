@@ -23,6 +23,7 @@ import io.netty5.util.Send;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.ReadOnlyBufferException;
 import java.nio.channels.FileChannel;
 import java.nio.channels.GatheringByteChannel;
@@ -58,9 +59,9 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
         @Override
         public void drop(DefaultCompositeBuffer buf) {
             RuntimeException re = null;
-            for (Buffer b : buf.bufs) {
+            for (int i = 0; i < buf.bufCount; i++) {
                 try {
-                    b.close();
+                    buf.bufs[i].close();
                 } catch (RuntimeException e) {
                     if (re == null) {
                         re = e;
@@ -102,7 +103,12 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
 
     private final BufferAllocator allocator;
     private final TornBufferAccessor tornBufAccessors;
+    // The constituent buffers are kept in the first bufCount elements of the bufs array. The array has room to spare,
+    // so components can be appended in amortized constant time, and it is reused in place when splitting, unless a
+    // cursor or component iterator may still walk it.
     private Buffer[] bufs;
+    private int bufCount;
+    private boolean bufsShared; // Set once a cursor or component iterator may walk the current bufs array.
     private int[] offsets; // The offset, for the composite buffer, where each constituent buffer starts.
     private int capacity;
     private int roff;
@@ -335,6 +341,7 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
                 readOnly = targetReadOnly;
             }
             this.bufs = bufs;
+            bufCount = bufs.length;
             computeBufferOffsets();
             implicitCapacityLimit = MAX_BUFFER_SIZE;
             tornBufAccessors = new TornBufferAccessor(this);
@@ -354,9 +361,10 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
     private void computeBufferOffsets() {
         int woff = 0;
         int roff = 0;
-        if (bufs.length > 0) {
+        if (bufCount > 0) {
             boolean woffMidpoint = false;
-            for (Buffer buf : bufs) {
+            for (int i = 0; i < bufCount; i++) {
+                Buffer buf = bufs[i];
                 if (!woffMidpoint) {
                     // First region, before the composite writer-offset.
                     woff += buf.writerOffset();
@@ -368,11 +376,12 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
                     // We're past the composite write-offset, so all component writer-offsets must be zero from here.
                     throw new AssertionError(
                             "The given buffers cannot be composed because they leave an unwritten gap: " +
-                            Arrays.toString(bufs) + '.');
+                            Arrays.toString(Arrays.copyOf(bufs, bufCount)) + '.');
                 }
             }
             boolean roffMidpoint = false;
-            for (Buffer buf : bufs) {
+            for (int i = 0; i < bufCount; i++) {
+                Buffer buf = bufs[i];
                 if (!roffMidpoint) {
                     // First region, before we've found the composite reader-offset.
                     roff += buf.readerOffset();
@@ -382,7 +391,7 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
                 } else if (buf.readerOffset() != 0) {
                     throw new AssertionError(
                             "The given buffers cannot be composed because they leave an unread gap: " +
-                            Arrays.toString(bufs) + '.');
+                            Arrays.toString(Arrays.copyOf(bufs, bufCount)) + '.');
                 }
             }
         }
@@ -390,9 +399,11 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
         this.woff = woff;
         this.roff = roff;
 
-        offsets = new int[bufs.length];
+        if (offsets == null || offsets.length < bufs.length) {
+            offsets = new int[bufs.length];
+        }
         long cap = 0;
-        for (int i = 0; i < bufs.length; i++) {
+        for (int i = 0; i < bufCount; i++) {
             offsets[i] = (int) cap;
             cap += bufs[i].capacity();
         }
@@ -428,10 +439,12 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
     @Override
     public CompositeBuffer readerOffset(int index) {
         checkReadBounds(index, 0);
-        int indexLeft = index;
-        for (Buffer buf : bufs) {
-            buf.readerOffset(Math.min(indexLeft, buf.capacity()));
-            indexLeft = Math.max(0, indexLeft - buf.capacity());
+        // Only the components between the old and the new offset are affected.
+        // The components before them are fully read either way, and the components after them are not read at all.
+        int end = Math.max(roff, index);
+        for (int i = Math.max(searchOffsets(Math.min(roff, index)), 0); i < bufCount && offsets[i] <= end; i++) {
+            Buffer buf = bufs[i];
+            buf.readerOffset(Math.min(Math.max(index - offsets[i], 0), buf.capacity()));
         }
         roff = index;
         return this;
@@ -445,10 +458,11 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
     @Override
     public CompositeBuffer writerOffset(int index) {
         checkWriteBounds(index, 0);
-        int indexLeft = index;
-        for (Buffer buf : bufs) {
-            buf.writerOffset(Math.min(indexLeft, buf.capacity()));
-            indexLeft = Math.max(0, indexLeft - buf.capacity());
+        // Only the components between the old and the new offset are affected, like in readerOffset(int).
+        int end = Math.max(woff, index);
+        for (int i = Math.max(searchOffsets(Math.min(woff, index)), 0); i < bufCount && offsets[i] <= end; i++) {
+            Buffer buf = bufs[i];
+            buf.writerOffset(Math.min(Math.max(index - offsets[i], 0), buf.capacity()));
         }
         woff = index;
         return this;
@@ -459,16 +473,16 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
         if (closed) {
             throw bufferIsClosed(this);
         }
-        for (Buffer buf : bufs) {
-            buf.fill(value);
+        for (int i = 0; i < bufCount; i++) {
+            bufs[i].fill(value);
         }
         return this;
     }
 
     @Override
     public CompositeBuffer makeReadOnly() {
-        for (Buffer buf : bufs) {
-            buf.makeReadOnly();
+        for (int i = 0; i < bufCount; i++) {
+            bufs[i].makeReadOnly();
         }
         readOnly = true;
         return this;
@@ -482,8 +496,8 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
     @Override
     public boolean isDirect() {
         // A composite buffer is direct, if all components are direct.
-        for (Buffer buf : bufs) {
-            if (!buf.isDirect()) {
+        for (int i = 0; i < bufCount; i++) {
+            if (!bufs[i].isDirect()) {
                 return false;
             }
         }
@@ -511,14 +525,14 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
         }
         Buffer[] copies;
 
-        if (bufs.length == 0) {
+        if (bufCount == 0) {
             // Specialise for the empty buffer.
             assert length == 0 && offset == 0;
-            copies = bufs;
+            copies = EMPTY_BUFFER_ARRAY;
         } else {
             Buffer choice = (Buffer) chooseBuffer(offset, 0);
             if (length > 0) {
-                copies = new Buffer[bufs.length];
+                copies = new Buffer[bufCount];
                 int off = subOffset;
                 int cap = length;
                 int i;
@@ -761,6 +775,226 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
         return Statics.bytesBefore(this, null, needle, null);
     }
 
+    @Override
+    public CompositeBuffer writeShorts(short[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = Statics.checkBulkTransferArgs(source.length, srcPos, length, Short.BYTES);
+        boolean reverse = Objects.requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        expandImplicitly(byteLength);
+        checkWriteBounds(woff, byteLength);
+        for (int end = srcPos + length; srcPos < end;) {
+            var buf = chooseBuffer(woff, Short.BYTES);
+            if (buf == tornBufAccessors) {
+                short value = source[srcPos++];
+                writeShort(reverse? Short.reverseBytes(value) : value);
+            } else {
+                // Transfer all the values that fit entirely within this component in one go.
+                Buffer component = (Buffer) buf;
+                int count = Math.min(end - srcPos, (component.capacity() - subOffset) / Short.BYTES);
+                component.writeShorts(source, srcPos, count, order);
+                srcPos += count;
+                woff += count * Short.BYTES;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public CompositeBuffer readShorts(short[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = Statics.checkBulkTransferArgs(destination.length, destPos, length, Short.BYTES);
+        boolean reverse = Objects.requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        checkReadBounds(roff, byteLength);
+        for (int end = destPos + length; destPos < end;) {
+            var buf = chooseBuffer(roff, Short.BYTES);
+            if (buf == tornBufAccessors) {
+                short value = readShort();
+                destination[destPos++] = reverse? Short.reverseBytes(value) : value;
+            } else {
+                Buffer component = (Buffer) buf;
+                int count = Math.min(end - destPos, (component.capacity() - subOffset) / Short.BYTES);
+                component.readShorts(destination, destPos, count, order);
+                destPos += count;
+                roff += count * Short.BYTES;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public CompositeBuffer writeInts(int[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = Statics.checkBulkTransferArgs(source.length, srcPos, length, Integer.BYTES);
+        boolean reverse = Objects.requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        expandImplicitly(byteLength);
+        checkWriteBounds(woff, byteLength);
+        for (int end = srcPos + length; srcPos < end;) {
+            var buf = chooseBuffer(woff, Integer.BYTES);
+            if (buf == tornBufAccessors) {
+                int value = source[srcPos++];
+                writeInt(reverse? Integer.reverseBytes(value) : value);
+            } else {
+                // Transfer all the values that fit entirely within this component in one go.
+                Buffer component = (Buffer) buf;
+                int count = Math.min(end - srcPos, (component.capacity() - subOffset) / Integer.BYTES);
+                component.writeInts(source, srcPos, count, order);
+                srcPos += count;
+                woff += count * Integer.BYTES;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public CompositeBuffer readInts(int[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = Statics.checkBulkTransferArgs(destination.length, destPos, length, Integer.BYTES);
+        boolean reverse = Objects.requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        checkReadBounds(roff, byteLength);
+        for (int end = destPos + length; destPos < end;) {
+            var buf = chooseBuffer(roff, Integer.BYTES);
+            if (buf == tornBufAccessors) {
+                int value = readInt();
+                destination[destPos++] = reverse? Integer.reverseBytes(value) : value;
+            } else {
+                Buffer component = (Buffer) buf;
+                int count = Math.min(end - destPos, (component.capacity() - subOffset) / Integer.BYTES);
+                component.readInts(destination, destPos, count, order);
+                destPos += count;
+                roff += count * Integer.BYTES;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public CompositeBuffer writeLongs(long[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = Statics.checkBulkTransferArgs(source.length, srcPos, length, Long.BYTES);
+        boolean reverse = Objects.requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        expandImplicitly(byteLength);
+        checkWriteBounds(woff, byteLength);
+        for (int end = srcPos + length; srcPos < end;) {
+            var buf = chooseBuffer(woff, Long.BYTES);
+            if (buf == tornBufAccessors) {
+                long value = source[srcPos++];
+                writeLong(reverse? Long.reverseBytes(value) : value);
+            } else {
+                // Transfer all the values that fit entirely within this component in one go.
+                Buffer component = (Buffer) buf;
+                int count = Math.min(end - srcPos, (component.capacity() - subOffset) / Long.BYTES);
+                component.writeLongs(source, srcPos, count, order);
+                srcPos += count;
+                woff += count * Long.BYTES;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public CompositeBuffer readLongs(long[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = Statics.checkBulkTransferArgs(destination.length, destPos, length, Long.BYTES);
+        boolean reverse = Objects.requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        checkReadBounds(roff, byteLength);
+        for (int end = destPos + length; destPos < end;) {
+            var buf = chooseBuffer(roff, Long.BYTES);
+            if (buf == tornBufAccessors) {
+                long value = readLong();
+                destination[destPos++] = reverse? Long.reverseBytes(value) : value;
+            } else {
+                Buffer component = (Buffer) buf;
+                int count = Math.min(end - destPos, (component.capacity() - subOffset) / Long.BYTES);
+                component.readLongs(destination, destPos, count, order);
+                destPos += count;
+                roff += count * Long.BYTES;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public CompositeBuffer writeFloats(float[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = Statics.checkBulkTransferArgs(source.length, srcPos, length, Float.BYTES);
+        boolean reverse = Objects.requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        expandImplicitly(byteLength);
+        checkWriteBounds(woff, byteLength);
+        for (int end = srcPos + length; srcPos < end;) {
+            var buf = chooseBuffer(woff, Float.BYTES);
+            if (buf == tornBufAccessors) {
+                int value = Float.floatToRawIntBits(source[srcPos++]);
+                writeInt(reverse? Integer.reverseBytes(value) : value);
+            } else {
+                // Transfer all the values that fit entirely within this component in one go.
+                Buffer component = (Buffer) buf;
+                int count = Math.min(end - srcPos, (component.capacity() - subOffset) / Float.BYTES);
+                component.writeFloats(source, srcPos, count, order);
+                srcPos += count;
+                woff += count * Float.BYTES;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public CompositeBuffer readFloats(float[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = Statics.checkBulkTransferArgs(destination.length, destPos, length, Float.BYTES);
+        boolean reverse = Objects.requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        checkReadBounds(roff, byteLength);
+        for (int end = destPos + length; destPos < end;) {
+            var buf = chooseBuffer(roff, Float.BYTES);
+            if (buf == tornBufAccessors) {
+                int value = readInt();
+                destination[destPos++] = Float.intBitsToFloat(reverse? Integer.reverseBytes(value) : value);
+            } else {
+                Buffer component = (Buffer) buf;
+                int count = Math.min(end - destPos, (component.capacity() - subOffset) / Float.BYTES);
+                component.readFloats(destination, destPos, count, order);
+                destPos += count;
+                roff += count * Float.BYTES;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public CompositeBuffer writeDoubles(double[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = Statics.checkBulkTransferArgs(source.length, srcPos, length, Double.BYTES);
+        boolean reverse = Objects.requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        expandImplicitly(byteLength);
+        checkWriteBounds(woff, byteLength);
+        for (int end = srcPos + length; srcPos < end;) {
+            var buf = chooseBuffer(woff, Double.BYTES);
+            if (buf == tornBufAccessors) {
+                long value = Double.doubleToRawLongBits(source[srcPos++]);
+                writeLong(reverse? Long.reverseBytes(value) : value);
+            } else {
+                // Transfer all the values that fit entirely within this component in one go.
+                Buffer component = (Buffer) buf;
+                int count = Math.min(end - srcPos, (component.capacity() - subOffset) / Double.BYTES);
+                component.writeDoubles(source, srcPos, count, order);
+                srcPos += count;
+                woff += count * Double.BYTES;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public CompositeBuffer readDoubles(double[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = Statics.checkBulkTransferArgs(destination.length, destPos, length, Double.BYTES);
+        boolean reverse = Objects.requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        checkReadBounds(roff, byteLength);
+        for (int end = destPos + length; destPos < end;) {
+            var buf = chooseBuffer(roff, Double.BYTES);
+            if (buf == tornBufAccessors) {
+                long value = readLong();
+                destination[destPos++] = Double.longBitsToDouble(reverse? Long.reverseBytes(value) : value);
+            } else {
+                Buffer component = (Buffer) buf;
+                int count = Math.min(end - destPos, (component.capacity() - subOffset) / Double.BYTES);
+                component.readDoubles(destination, destPos, count, order);
+                destPos += count;
+                roff += count * Double.BYTES;
+            }
+        }
+        return this;
+    }
+
     @Override
     public ByteCursor openCursor() {
         return openCursor(readerOffset(), readableBytes());
@@ -783,6 +1017,7 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
         int off = fromOffset - offsets[startBufferIndex];
         Buffer startBuf = bufs[startBufferIndex];
         ByteCursor startCursor = startBuf.openCursor(off, Math.min(startBuf.capacity() - off, length));
+        bufsShared = true;
         return new ForwardCompositeByteCursor(bufs, fromOffset, length, startBufferIndex, startCursor);
     }
 
@@ -803,6 +1038,7 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
         int off = fromOffset - offsets[startBufferIndex];
         Buffer startBuf = bufs[startBufferIndex];
         ByteCursor startCursor = startBuf.openReverseCursor(off, Math.min(off + 1, length));
+        bufsShared = true;
         return new ReverseCompositeByteCursor(bufs, fromOffset, length, startBufferIndex, startCursor);
     }
 
@@ -832,31 +1068,29 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
             // Let's see if we can solve some or all of the requested size with compaction.
             // We always compact as much as is possible, regardless of size. This amortizes our work.
             int compactableBuffers = 0;
-            for (Buffer buf : bufs) {
+            for (int i = 0; i < bufCount; i++) {
+                Buffer buf = bufs[i];
                 if (buf.capacity() != buf.readerOffset()) {
                     break;
                 }
                 compactableBuffers++;
             }
             if (compactableBuffers > 0) {
-                Buffer[] compactable;
-                if (compactableBuffers < bufs.length) {
-                    compactable = new Buffer[compactableBuffers];
+                if (compactableBuffers < bufCount) {
+                    Buffer[] compactable = new Buffer[compactableBuffers];
                     System.arraycopy(bufs, 0, compactable, 0, compactable.length);
-                    System.arraycopy(bufs, compactable.length, bufs, 0, bufs.length - compactable.length);
-                    System.arraycopy(compactable, 0, bufs, bufs.length - compactable.length, compactable.length);
-                } else {
-                    compactable = bufs;
+                    System.arraycopy(bufs, compactable.length, bufs, 0, bufCount - compactable.length);
+                    System.arraycopy(compactable, 0, bufs, bufCount - compactable.length, compactable.length);
                 }
-                for (Buffer buf : compactable) {
-                    buf.resetOffsets();
+                for (int i = bufCount - compactableBuffers; i < bufCount; i++) {
+                    bufs[i].resetOffsets();
                 }
                 computeBufferOffsets();
                 if (writableBytes() >= size) {
                     // Now we have enough space.
                     return this;
                 }
-            } else if (bufs.length == 1) {
+            } else if (bufCount == 1) {
                 // If we only have a single component buffer, then we can safely compact that in-place.
                 bufs[0].compact();
                 computeBufferOffsets();
@@ -884,7 +1118,7 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
             }
             throw new IllegalStateException("This buffer cannot be extended because it is not in an owned state.");
         }
-        if (bufs.length > 0 && buffer.readOnly() != readOnly()) {
+        if (bufCount > 0 && buffer.readOnly() != readOnly()) {
             buffer.close();
             throw new IllegalArgumentException(
                     "This buffer is " + (readOnly? "read-only" : "writable") + ", " +
@@ -905,24 +1139,72 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
         long newSize = capacity() + extensionCapacity;
         Statics.assertValidBufferSize(newSize);
 
+        boolean wasEmpty = bufCount == 0;
+        if (woff == capacity && (roff == capacity || buffer.readerOffset() == 0) &&
+                (bufCount == 0 || bufs[bufCount - 1].capacity() > 0) && !CompositeBuffer.isComposite(buffer)) {
+            // The common case, when cumulating: we have no writable bytes, and the extension has no read bytes that
+            // would need to be trimmed off. Since filterExternalBufs would not change anything, we can append
+            // the extension directly, without having to recompute the offsets of all the other components.
+            // Trimming can leave an empty last component behind though, and then we let filterExternalBufs remove it.
+            appendBuffer(buffer);
+            if (roff == offsets[bufCount - 1]) {
+                roff += buffer.readerOffset();
+            }
+            woff += buffer.writerOffset();
+            if (wasEmpty) {
+                readOnly = buffer.readOnly();
+            }
+            return this;
+        }
+
         Buffer[] restoreTemp = bufs; // We need this to restore our buffer array, in case offset computations fail.
+        int restoreCount = bufCount;
         try {
-            bufs = filterExternalBufs(new ConcatIterable<>(Arrays.asList(bufs), List.of(buffer)));
+            bufs = filterExternalBufs(new ConcatIterable<>(
+                    Arrays.asList(bufs).subList(0, bufCount), List.of(buffer)));
+            bufCount = bufs.length;
             computeBufferOffsets();
-            if (restoreTemp.length == 0) {
+            if (wasEmpty) {
                 readOnly = buffer.readOnly();
             }
         } catch (Exception e) {
             bufs = restoreTemp;
+            bufCount = restoreCount;
             throw e;
         }
         return this;
     }
 
     private void unsafeExtendWith(Buffer extension) {
-        bufs = Arrays.copyOf(bufs, bufs.length + 1);
-        bufs[bufs.length - 1] = extension;
-        computeBufferOffsets();
+        // The extension is newly allocated, so it has no read or written bytes that would move our offsets.
+        appendBuffer(extension);
+    }
+
+    private void appendBuffer(Buffer buffer) {
+        if (bufCount == bufs.length) {
+            int newLength = Math.max(4, bufs.length * 2);
+            bufs = Arrays.copyOf(bufs, newLength);
+            bufsShared = false;
+            offsets = offsets == null? new int[newLength] : Arrays.copyOf(offsets, newLength);
+        }
+        bufs[bufCount] = buffer;
+        offsets[bufCount] = capacity;
+        bufCount++;
+        capacity += buffer.capacity();
+    }
+
+    private void removeFirstBuffers(int count) {
+        if (bufsShared) {
+            // Open cursors and component iterators may still walk the current array, so it must not be changed in
+            // place. The copy keeps the spare room at the end, for appending.
+            bufs = Arrays.copyOfRange(bufs, count, bufs.length);
+            bufsShared = false;
+        } else {
+            // Shift the remaining components down, so the array can be reused.
+            System.arraycopy(bufs, count, bufs, 0, bufCount - count);
+            Arrays.fill(bufs, bufCount - count, bufCount, null);
+        }
+        bufCount -= count;
     }
 
     private void checkSplit(int splitOffset) {
@@ -949,15 +1231,15 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
     @Override
     public CompositeBuffer split(int splitOffset) {
         checkSplit(splitOffset);
-        if (bufs.length == 0) {
+        if (bufCount == 0) {
             // Splitting a zero-length buffer is trivial.
-            return new DefaultCompositeBuffer(allocator, bufs, unsafeGetDrop());
+            return new DefaultCompositeBuffer(allocator, EMPTY_BUFFER_ARRAY, unsafeGetDrop());
         }
 
         int i = searchOffsets(splitOffset);
         int off = splitOffset - offsets[i];
         Buffer[] splits = Arrays.copyOf(bufs, off == 0? i : 1 + i);
-        bufs = Arrays.copyOfRange(bufs, off == bufs[i].capacity()? 1 + i : i, bufs.length);
+        removeFirstBuffers(off == bufs[i].capacity()? 1 + i : i);
         if (off > 0 && splits.length > 0 && off < splits[splits.length - 1].capacity()) {
             splits[splits.length - 1] = bufs[0].split(off);
         }
@@ -973,9 +1255,9 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
     @Override
     public CompositeBuffer splitComponentsFloor(int splitOffset) {
         checkSplit(splitOffset);
-        if (bufs.length == 0) {
+        if (bufCount == 0) {
             // Splitting a zero-length buffer is trivial.
-            return new DefaultCompositeBuffer(allocator, bufs, unsafeGetDrop());
+            return new DefaultCompositeBuffer(allocator, EMPTY_BUFFER_ARRAY, unsafeGetDrop());
         }
 
         int i = searchOffsets(splitOffset);
@@ -984,7 +1266,7 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
             i++;
         }
         Buffer[] splits = Arrays.copyOf(bufs, i);
-        bufs = Arrays.copyOfRange(bufs, i, bufs.length);
+        removeFirstBuffers(i);
         computeBufferOffsets();
         return buildSplitBuffer(splits);
     }
@@ -992,9 +1274,9 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
     @Override
     public CompositeBuffer splitComponentsCeil(int splitOffset) {
         checkSplit(splitOffset);
-        if (bufs.length == 0) {
+        if (bufCount == 0) {
             // Splitting a zero-length buffer is trivial.
-            return new DefaultCompositeBuffer(allocator, bufs, unsafeGetDrop());
+            return new DefaultCompositeBuffer(allocator, EMPTY_BUFFER_ARRAY, unsafeGetDrop());
         }
 
         int i = searchOffsets(splitOffset);
@@ -1003,15 +1285,16 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
             i++;
         }
         Buffer[] splits = Arrays.copyOf(bufs, i);
-        bufs = Arrays.copyOfRange(bufs, i, bufs.length);
+        removeFirstBuffers(i);
         computeBufferOffsets();
         return buildSplitBuffer(splits);
     }
 
     @Override
     public Buffer[] decomposeBuffer() {
-        Buffer[] result = bufs;
+        Buffer[] result = bufCount == bufs.length? bufs : Arrays.copyOf(bufs, bufCount);
         bufs = EMPTY_BUFFER_ARRAY;
+        bufCount = 0;
         try {
             close();
         } catch (Throwable e) {
@@ -1057,8 +1340,8 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
     @Override
     public int countComponents() {
         int sum = 0;
-        for (Buffer buf : bufs) {
-            sum += buf.countComponents();
+        for (int i = 0; i < bufCount; i++) {
+            sum += bufs[i].countComponents();
         }
         return sum;
     }
@@ -1066,8 +1349,8 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
     @Override
     public int countReadableComponents() {
         int sum = 0;
-        for (Buffer buf : bufs) {
-            sum += buf.countReadableComponents();
+        for (int i = 0; i < bufCount; i++) {
+            sum += bufs[i].countReadableComponents();
         }
         return sum;
     }
@@ -1075,8 +1358,8 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
     @Override
     public int countWritableComponents() {
         int sum = 0;
-        for (Buffer buf : bufs) {
-            sum += buf.countWritableComponents();
+        for (int i = 0; i < bufCount; i++) {
+            sum += bufs[i].countWritableComponents();
         }
         return sum;
     }
@@ -1093,7 +1376,8 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
         }
         checkReadBounds(readerOffset(), readableBytes);
         int visited = 0;
-        for (Buffer buf : bufs) {
+        for (int i = 0; i < bufCount; i++) {
+            Buffer buf = bufs[i];
             if (buf.readableBytes() > 0) {
                 int roffBefore = buf.readerOffset();
                 int count = buf.forEachReadable(visited + initialIndex, processor);
@@ -1130,7 +1414,8 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
         }
         checkWriteBounds(writerOffset(), writableBytes);
         int visited = 0;
-        for (Buffer buf : bufs) {
+        for (int i = 0; i < bufCount; i++) {
+            Buffer buf = bufs[i];
             if (buf.writableBytes() > 0) {
                 int woffBefore = buf.writerOffset();
                 int count = buf.forEachWritable(visited + initialIndex, processor);
@@ -1425,9 +1710,9 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
     @Override
     protected Owned<DefaultCompositeBuffer> prepareSend() {
         @SuppressWarnings("unchecked")
-        Send<Buffer>[] sends = new Send[bufs.length];
+        Send<Buffer>[] sends = new Send[bufCount];
         try {
-            for (int i = 0; i < bufs.length; i++) {
+            for (int i = 0; i < bufCount; i++) {
                 sends[i] = bufs[i].send();
             }
         } catch (Throwable throwable) {
@@ -1475,18 +1760,19 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
     @Override
     public CompositeBuffer touch(Object hint) {
         super.touch(hint);
-        for (Buffer buf : bufs) {
-            buf.touch(hint);
+        for (int i = 0; i < bufCount; i++) {
+            bufs[i].touch(hint);
         }
         return this;
     }
 
     private boolean allConstituentsAreOwned() {
-        boolean result = true;
-        for (Buffer buf : bufs) {
-            result &= Statics.isOwned((ResourceSupport<?, ?>) buf);
+        for (int i = 0; i < bufCount; i++) {
+            if (!Statics.isOwned((ResourceSupport<?, ?>) bufs[i])) {
+                return false;
+            }
         }
-        return result;
+        return true;
     }
 
     long readPassThrough() {
@@ -1542,20 +1828,24 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
     }
 
     private BufferAccessor prepWrite(int size) {
+        expandImplicitly(size);
+        var buf = prepWrite(woff, size);
+        woff += size;
+        return buf;
+    }
+
+    private void expandImplicitly(int size) {
         if (writableBytes() < size && woff + size <= implicitCapacityLimit && isOwned()) {
             final int minGrowth;
-            if (bufs.length == 0) {
+            if (bufCount == 0) {
                 minGrowth = Math.min(implicitCapacityLimit, FIRST_AUTOMATIC_COMPONENT_SIZE);
             } else {
                 minGrowth = Math.min(
-                        Math.max(roundToPowerOfTwo(capacity() / bufs.length), size),
+                        Math.max(roundToPowerOfTwo(capacity() / bufCount), size),
                         implicitCapacityLimit - capacity);
             }
             ensureWritable(size, minGrowth, false);
         }
-        var buf = prepWrite(woff, size);
-        woff += size;
-        return buf;
     }
 
     private BufferAccessor prepWrite(int index, int size) {
@@ -1583,7 +1873,7 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
 
     private BufferAccessor chooseBuffer(int index, int size) {
         int i = searchOffsets(index);
-        if (i == bufs.length) {
+        if (i == bufCount) {
             // This happens when the read/write offsets are parked 1 byte beyond the end of the buffer.
             // In that case it should not matter what buffer is returned, because it shouldn't be used anyway.
             return null;
@@ -1604,7 +1894,7 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
     }
 
     private int searchOffsets(int index) {
-        int i = Arrays.binarySearch(offsets, index);
+        int i = Arrays.binarySearch(offsets, 0, bufCount, index);
         return i < 0? -(i + 2) : i;
     }
 
@@ -2091,6 +2381,7 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
         private final DefaultCompositeBuffer compositeBuffer;
         private final Function<Buffer, ComponentIterator<T>> intoIterator;
         NextComponent<T> readableNext;
+        private boolean closed;
 
         private CompositeComponentIterator(DefaultCompositeBuffer compositeBuffer,
                                            Function<Buffer, ComponentIterator<T>> intoIterator) {
@@ -2101,12 +2392,17 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
         @SuppressWarnings("unchecked")
         @Override
         public T first() {
-            return compositeBuffer.bufs.length > 0 ?
+            return compositeBuffer.bufCount > 0 ?
                     (T) (readableNext = new NextComponent<>(compositeBuffer, intoIterator)) : null;
         }
 
         @Override
         public void close() {
+            // Closing twice must not release the composite buffer twice.
+            if (closed) {
+                return;
+            }
+            closed = true;
             if (readableNext != null) {
                 readableNext.close();
             }
@@ -2119,6 +2415,7 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
         private final DefaultCompositeBuffer compositeBuffer;
         private final Function<Buffer, ComponentIterator<T>> intoIterator;
         private final Buffer[] bufs;
+        private final int bufCount;
         int nextIndex;
         ComponentIterator<T> currentItr;
         T currentComponent;
@@ -2131,6 +2428,8 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
             this.compositeBuffer = compositeBuffer;
             this.intoIterator = intoIterator;
             bufs = compositeBuffer.bufs;
+            bufCount = compositeBuffer.bufCount;
+            compositeBuffer.bufsShared = true;
             nextComponent();
         }
 
@@ -2153,7 +2452,7 @@ final class DefaultCompositeBuffer extends ResourceSupport<Buffer, DefaultCompos
                     currentItr.close();
                     currentItr = null;
                 }
-                if (nextIndex >= bufs.length) {
+                if (nextIndex >= bufCount) {
                     return;
                 }
                 currentItr = intoIterator.apply(bufs[nextIndex]);
@@ -17,8 +17,10 @@ package io.netty5.buffer.api;
 
 import io.netty5.buffer.api.internal.ArcDrop;
 import io.netty5.buffer.api.internal.LeakDetection;
+import io.netty5.buffer.api.internal.MappedFileAllocation;
 import io.netty5.buffer.api.internal.MemoryManagerLoader;
 import io.netty5.buffer.api.internal.MemoryManagerOverride;
+import io.netty5.buffer.api.internal.Statics;
 import io.netty5.buffer.api.internal.WrappingAllocation;
 import io.netty5.util.Resource;
 import io.netty5.util.SafeCloseable;
@@ -26,6 +28,10 @@ import io.netty5.util.internal.UnstableApi;
 import io.netty5.util.internal.logging.InternalLogger;
 import io.netty5.util.internal.logging.InternalLoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceConfigurationError;
 import java.util.ServiceLoader.Provider;
@@ -34,6 +40,8 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import static java.util.Objects.requireNonNull;
+
 /**
  * The choice of {@code MemoryManager} implementation also determines the choice of {@link Buffer} implementation.
  * It is the MemoryManager that implement memory allocation, and how to wrap the allocated memory in a {@link Buffer}
@@ -74,6 +82,22 @@ public interface MemoryManager {
         return LeakDetection.onLeakDetected(callback);
     }
 
+    /**
+     * Get the number of buffer leaks that have been detected so far, counted by the allocation site of the leaked
+     * buffers.
+     * <p>
+     * The allocation site is the first stack frame outside of the buffer implementation, when the buffer was allocated.
+     * It is only known for buffers that were tracked by leak detection. When sampling leak detection is enabled, with
+     * the {@code io.netty5.buffer.leakDetection.sampling} system property, only a sample of the buffers is tracked.
+     * Leaks of buffers without a known allocation site are counted under the {@code "unknown"} site.
+     *
+     * @return A snapshot of the leak counts, keyed by allocation site.
+     */
+    @UnstableApi
+    static Map<String, Long> leakCountsByAllocationSite() {
+        return LeakDetection.leakCountsByAllocationSite();
+    }
+
     /**
      * Temporarily override the default configured memory managers instance.
      * <p>
@@ -148,6 +172,46 @@ public interface MemoryManager {
         return buffer.makeReadOnly();
     }
 
+    /**
+     * Map a region of a file into memory, and wrap it in a read-only, off-heap {@link Buffer}.
+     * <p>
+     * No bytes are copied: the contents of the buffer are the pages of the file, which are loaded on demand.
+     * This allows codecs to inspect a file in place, for instance to compute a checksum or to parse a range, and the
+     * buffer can then be written to a channel like any other {@linkplain Buffer#isDirect() direct} buffer, which the
+     * transports send straight from the mapped memory.
+     * <p>
+     * The mapping is released when the returned buffer, and all buffers that share its memory, have been
+     * {@linkplain Buffer#close() closed}. The file channel itself is not closed, and can be closed as soon as this
+     * method returns.
+     * <p>
+     * The behaviour of the buffer is unspecified if the file is modified or truncated while it is mapped.
+     *
+     * @param channel The file channel to map the region from.
+     * @param position The position in the file where the region starts.
+     * @param length The length of the region, in bytes.
+     * @return A read-only buffer with the contents of the file region as its readable bytes.
+     * @throws IOException If the file region could not be mapped.
+     */
+    @UnstableApi
+    static Buffer mapFile(FileChannel channel, long position, int length) throws IOException {
+        requireNonNull(channel, "channel");
+        if (position < 0) {
+            throw new IllegalArgumentException("The position cannot be negative: " + position + '.');
+        }
+        Statics.assertValidBufferSize(length);
+        MemoryManager manager = instance();
+        ManagedBufferAllocator allocator = new ManagedBufferAllocator(manager, true);
+        MappedFileAllocation allocationType = new MappedFileAllocation(channel, position, length);
+        Buffer buffer;
+        try {
+            buffer = manager.allocateShared(allocator, length, Statics.standardDrop(manager), allocationType);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        buffer.skipWritableBytes(length);
+        return buffer.makeReadOnly();
+    }
+
     /**
      * Allocates a shared buffer. "Shared" is the normal type of buffer, and means the buffer permit concurrent access
      * from multiple threads, within the limited thread-safety guarantees of the {@link Buffer} interface.
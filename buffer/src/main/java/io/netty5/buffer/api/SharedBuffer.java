@@ -0,0 +1,96 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.buffer.api;
+
+import io.netty5.util.SafeCloseable;
+
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Hands out read-only views of the readable bytes of a buffer, that all share the memory of that buffer.
+ * <p>
+ * This is useful when the same contents are sent to many destinations, for instance when writing a message to all
+ * channels of a {@code ChannelGroup}. Every view is an independent {@linkplain Buffer#readOnly() read-only}
+ * {@link Buffer} with its own offsets and life cycle, so it can be handed off and closed like any other buffer.
+ * No bytes are copied when a view is created, provided the buffer implementation supports
+ * {@linkplain Buffer#copy(int, int, boolean) read-only copies} that share memory, which all the built-in
+ * implementations do.
+ * <p>
+ * The shared memory is released when this {@link SharedBuffer}, and all the views obtained from it, have been closed.
+ * Views may be closed in any order, and from any thread.
+ */
+public final class SharedBuffer implements Supplier<Buffer>, SafeCloseable {
+    private final Buffer buffer;
+
+    private SharedBuffer(Buffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Share the readable bytes of the given buffer.
+     * <p>
+     * The returned {@link SharedBuffer} takes ownership of the buffer, which is made
+     * {@linkplain Buffer#makeReadOnly() read-only} if it is not already.
+     * The buffer must not be used directly after this call; it is closed when the {@link SharedBuffer} is closed.
+     *
+     * @param buffer The buffer whose readable bytes will be shared.
+     * @return A {@link SharedBuffer} that hands out views of the readable bytes of the buffer.
+     */
+    public static SharedBuffer share(Buffer buffer) {
+        requireNonNull(buffer, "buffer");
+        if (!buffer.readOnly()) {
+            buffer.makeReadOnly();
+        }
+        return new SharedBuffer(buffer);
+    }
+
+    /**
+     * Get a new read-only view of the shared bytes.
+     * The caller takes ownership of the returned buffer, and is responsible for closing it.
+     *
+     * @return A new read-only buffer, that shares its memory with all other views.
+     * @throws BufferClosedException if this {@link SharedBuffer} has been closed.
+     */
+    @Override
+    public Buffer get() {
+        return buffer.copy(buffer.readerOffset(), buffer.readableBytes(), true);
+    }
+
+    /**
+     * Get the number of bytes that are shared.
+     *
+     * @return The number of readable bytes in every view.
+     */
+    public int readableBytes() {
+        return buffer.readableBytes();
+    }
+
+    /**
+     * Close this {@link SharedBuffer}. No new views can be obtained after this, but views that were already obtained
+     * remain accessible until they are closed themselves.
+     */
+    @Override
+    public void close() {
+        buffer.close();
+    }
+
+    @Override
+    public String toString() {
+        return "SharedBuffer[" + buffer + ']';
+    }
+}
@@ -21,10 +21,12 @@ import io.netty5.buffer.api.Buffer;
 import io.netty5.buffer.api.Drop;
 import io.netty5.buffer.api.MemoryManager;
 import io.netty5.buffer.api.StandardAllocationTypes;
+import io.netty5.buffer.api.internal.MappedFileAllocation;
 import io.netty5.buffer.api.internal.Statics;
 import io.netty5.buffer.api.internal.WrappingAllocation;
 
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.util.function.Function;
 
 import static io.netty5.buffer.api.internal.Statics.bbslice;
@@ -45,16 +47,21 @@ public final class ByteBufferMemoryManager implements MemoryManager {
                                  AllocationType allocationType) {
         int capacity = Math.toIntExact(size);
         final ByteBuffer buffer;
+        Drop<Buffer> drop = drop();
         if (allocationType == StandardAllocationTypes.OFF_HEAP) {
             buffer = ByteBuffer.allocateDirect(capacity);
         } else if (allocationType == StandardAllocationTypes.ON_HEAP) {
             buffer = ByteBuffer.allocate(capacity);
         } else if (allocationType instanceof WrappingAllocation) {
             buffer = ByteBuffer.wrap(((WrappingAllocation) allocationType).getArray());
+        } else if (allocationType instanceof MappedFileAllocation) {
+            MappedByteBuffer mapped = ((MappedFileAllocation) allocationType).map();
+            buffer = mapped;
+            drop = MappedFileAllocation.unmapOnDrop(mapped);
         } else {
             throw new IllegalArgumentException("Unknown allocation type: " + allocationType);
         }
-        return createBuffer(buffer, allocatorControl, dropDecorator.apply(drop()));
+        return createBuffer(buffer, allocatorControl, dropDecorator.apply(drop));
     }
 
     @Override
@@ -31,9 +31,12 @@ import io.netty5.buffer.api.WritableComponent;
 import io.netty5.buffer.api.WritableComponentProcessor;
 import io.netty5.buffer.api.internal.AdaptableBuffer;
 import io.netty5.buffer.api.internal.NotReadOnlyReadableComponent;
+import io.netty5.buffer.api.internal.SearchableMemory;
 import io.netty5.buffer.api.internal.SingleComponentIterator;
 import io.netty5.buffer.api.internal.Statics;
 import io.netty5.buffer.api.internal.Statics.UncheckedLoadByte;
+import io.netty5.buffer.api.internal.VectorizedSearch;
+import io.netty5.util.ByteProcessor;
 
 import java.io.IOException;
 import java.lang.ref.Reference;
@@ -48,15 +51,18 @@ import static io.netty5.buffer.api.internal.Statics.MAX_BUFFER_SIZE;
 import static io.netty5.buffer.api.internal.Statics.bbput;
 import static io.netty5.buffer.api.internal.Statics.bbslice;
 import static io.netty5.buffer.api.internal.Statics.bufferIsReadOnly;
+import static io.netty5.buffer.api.internal.Statics.checkBulkTransferArgs;
 import static io.netty5.buffer.api.internal.Statics.checkImplicitCapacity;
 import static io.netty5.buffer.api.internal.Statics.checkLength;
 import static io.netty5.buffer.api.internal.Statics.nativeAddressWithOffset;
 import static io.netty5.buffer.api.internal.Statics.setMemory;
 import static io.netty5.util.internal.ObjectUtil.checkPositiveOrZero;
 import static io.netty5.util.internal.PlatformDependent.roundToPowerOfTwo;
+import static java.util.Objects.requireNonNull;
 
 final class NioBuffer extends AdaptableBuffer<NioBuffer>
-        implements ReadableComponent, WritableComponent, NotReadOnlyReadableComponent, ComponentIterator.Next {
+        implements ReadableComponent, WritableComponent, NotReadOnlyReadableComponent, ComponentIterator.Next,
+                   SearchableMemory {
     private static final ByteBuffer CLOSED_BUFFER = ByteBuffer.allocate(0);
 
     private ByteBuffer base;
@@ -345,6 +351,9 @@ final class NioBuffer extends AdaptableBuffer<NioBuffer>
         final int length = woff - roff;
         final int end = woff;
 
+        if (length >= VectorizedSearch.minLength()) {
+            return VectorizedSearch.indexOf(rmem, offset, length, needle);
+        }
         if (length > 7) {
             final long pattern = (needle & 0xFFL) * 0x101010101010101L;
             for (final int longEnd = offset + (length >>> 3) * Long.BYTES;
@@ -386,6 +395,136 @@ final class NioBuffer extends AdaptableBuffer<NioBuffer>
         return ((NioBuffer) buffer).rmem.get(offset);
     }
 
+    @Override
+    public Buffer writeShorts(short[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(source.length, srcPos, length, Short.BYTES);
+        requireNonNull(order, "order");
+        checkWrite(woff, byteLength, true);
+        try {
+            bbslice(wmem, woff, byteLength).order(order).asShortBuffer().put(source, srcPos, length);
+            woff += byteLength;
+            return this;
+        } catch (IndexOutOfBoundsException e) {
+            throw checkWriteState(e, woff, byteLength);
+        } catch (ReadOnlyBufferException e) {
+            throw bufferIsReadOnly(this);
+        }
+    }
+
+    @Override
+    public Buffer readShorts(short[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(destination.length, destPos, length, Short.BYTES);
+        requireNonNull(order, "order");
+        checkRead(roff, byteLength);
+        bbslice(rmem, roff, byteLength).order(order).asShortBuffer().get(destination, destPos, length);
+        roff += byteLength;
+        return this;
+    }
+
+    @Override
+    public Buffer writeInts(int[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(source.length, srcPos, length, Integer.BYTES);
+        requireNonNull(order, "order");
+        checkWrite(woff, byteLength, true);
+        try {
+            bbslice(wmem, woff, byteLength).order(order).asIntBuffer().put(source, srcPos, length);
+            woff += byteLength;
+            return this;
+        } catch (IndexOutOfBoundsException e) {
+            throw checkWriteState(e, woff, byteLength);
+        } catch (ReadOnlyBufferException e) {
+            throw bufferIsReadOnly(this);
+        }
+    }
+
+    @Override
+    public Buffer readInts(int[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(destination.length, destPos, length, Integer.BYTES);
+        requireNonNull(order, "order");
+        checkRead(roff, byteLength);
+        bbslice(rmem, roff, byteLength).order(order).asIntBuffer().get(destination, destPos, length);
+        roff += byteLength;
+        return this;
+    }
+
+    @Override
+    public Buffer writeLongs(long[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(source.length, srcPos, length, Long.BYTES);
+        requireNonNull(order, "order");
+        checkWrite(woff, byteLength, true);
+        try {
+            bbslice(wmem, woff, byteLength).order(order).asLongBuffer().put(source, srcPos, length);
+            woff += byteLength;
+            return this;
+        } catch (IndexOutOfBoundsException e) {
+            throw checkWriteState(e, woff, byteLength);
+        } catch (ReadOnlyBufferException e) {
+            throw bufferIsReadOnly(this);
+        }
+    }
+
+    @Override
+    public Buffer readLongs(long[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(destination.length, destPos, length, Long.BYTES);
+        requireNonNull(order, "order");
+        checkRead(roff, byteLength);
+        bbslice(rmem, roff, byteLength).order(order).asLongBuffer().get(destination, destPos, length);
+        roff += byteLength;
+        return this;
+    }
+
+    @Override
+    public Buffer writeFloats(float[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(source.length, srcPos, length, Float.BYTES);
+        requireNonNull(order, "order");
+        checkWrite(woff, byteLength, true);
+        try {
+            bbslice(wmem, woff, byteLength).order(order).asFloatBuffer().put(source, srcPos, length);
+            woff += byteLength;
+            return this;
+        } catch (IndexOutOfBoundsException e) {
+            throw checkWriteState(e, woff, byteLength);
+        } catch (ReadOnlyBufferException e) {
+            throw bufferIsReadOnly(this);
+        }
+    }
+
+    @Override
+    public Buffer readFloats(float[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(destination.length, destPos, length, Float.BYTES);
+        requireNonNull(order, "order");
+        checkRead(roff, byteLength);
+        bbslice(rmem, roff, byteLength).order(order).asFloatBuffer().get(destination, destPos, length);
+        roff += byteLength;
+        return this;
+    }
+
+    @Override
+    public Buffer writeDoubles(double[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(source.length, srcPos, length, Double.BYTES);
+        requireNonNull(order, "order");
+        checkWrite(woff, byteLength, true);
+        try {
+            bbslice(wmem, woff, byteLength).order(order).asDoubleBuffer().put(source, srcPos, length);
+            woff += byteLength;
+            return this;
+        } catch (IndexOutOfBoundsException e) {
+            throw checkWriteState(e, woff, byteLength);
+        } catch (ReadOnlyBufferException e) {
+            throw bufferIsReadOnly(this);
+        }
+    }
+
+    @Override
+    public Buffer readDoubles(double[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(destination.length, destPos, length, Double.BYTES);
+        requireNonNull(order, "order");
+        checkRead(roff, byteLength);
+        bbslice(rmem, roff, byteLength).order(order).asDoubleBuffer().get(destination, destPos, length);
+        roff += byteLength;
+        return this;
+    }
+
     @Override
     public ByteCursor openCursor() {
         return openCursor(readerOffset(), readableBytes());
@@ -1242,6 +1381,16 @@ final class NioBuffer extends AdaptableBuffer<NioBuffer>
                 "[read 0 to " + woff + ", write 0 to " + rmem.capacity() + "].");
     }
 
+    @Override
+    public Object searchableMemory() {
+        return rmem;
+    }
+
+    @Override
+    public long searchableOffset(int offset) {
+        return offset;
+    }
+
     ByteBuffer recoverable() {
         return base;
     }
@@ -1278,6 +1427,18 @@ final class NioBuffer extends AdaptableBuffer<NioBuffer>
             return false;
         }
 
+        @Override
+        public int process(ByteProcessor processor) {
+            final int found = Statics.vectorizedProcess(processor, buffer, index, end - index);
+            if (found == Statics.NOT_VECTORIZED) {
+                return ByteCursor.super.process(processor);
+            }
+            // Leave the cursor in the same state as the byte-by-byte processing would.
+            index = found == -1? end : index + found + 1;
+            byteValue = buffer.get(index - 1);
+            return found;
+        }
+
         @Override
         public byte getByte() {
             return byteValue;
@@ -102,6 +102,7 @@ public final class LeakDetection {
     public static void reportLeak(LifecycleTracer tracer, String leakedObjectDescription) {
         requireNonNull(tracer, "tracer");
         requireNonNull(leakedObjectDescription, "leakedObjectDescription");
+        LeakSampler.countLeak(tracer);
         synchronized (CALLBACKS) {
             if (!CALLBACKS.isEmpty()) {
                 LeakInfo info = new InternalLeakInfo(tracer, leakedObjectDescription);
@@ -112,6 +113,37 @@ public final class LeakDetection {
         }
     }
 
+    /**
+     * Internal API for {@link MemoryManager#leakCountsByAllocationSite()}.
+     *
+     * @see MemoryManager#leakCountsByAllocationSite()
+     */
+    public static Map<String, Long> leakCountsByAllocationSite() {
+        return LeakSampler.leakCounts();
+    }
+
+    /**
+     * Enable or disable sampling leak detection.
+     * This overrides the {@code io.netty5.buffer.leakDetection.sampling} system property, and only affects buffers
+     * that are allocated afterwards.
+     *
+     * @param enabled {@code true} if only a sample of the buffers should be tracked, {@code false} if all buffers
+     *                should be tracked while leak detection is enabled.
+     */
+    public static void setSamplingEnabled(boolean enabled) {
+        LeakSampler.setEnabled(enabled);
+    }
+
+    /**
+     * Get the current sampling interval of sampling leak detection.
+     * One in this many buffers is tracked, when sampling is enabled.
+     *
+     * @return The current sampling interval.
+     */
+    public static int samplingInterval() {
+        return LeakSampler.samplingInterval();
+    }
+
     private static final class CallbackRemover extends AtomicBoolean implements SafeCloseable {
         private static final long serialVersionUID = -7883321389305330790L;
         private final Consumer<LeakInfo> callback;
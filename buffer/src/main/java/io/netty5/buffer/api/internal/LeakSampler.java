@@ -0,0 +1,229 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.buffer.api.internal;
+
+import io.netty5.util.internal.SystemPropertyUtil;
+import io.netty5.util.internal.logging.InternalLogger;
+import io.netty5.util.internal.logging.InternalLoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides which buffers are tracked, when sampling leak detection is enabled, and counts the detected leaks by
+ * allocation site.
+ * <p>
+ * Only one in every {@linkplain #samplingInterval() sampling interval} buffers is tracked, and the tracer of a sampled
+ * buffer only records the allocation site, which is the first stack frame outside of the buffer implementation.
+ * Once a leak has been seen from an allocation site, the site is <em>suspected</em>, and the next buffers that are
+ * sampled from it will record their full life-cycle, with stack traces. The suspicion wears off after a number of such
+ * buffers, unless the site leaks again.
+ * <p>
+ * The sampling interval is continuously adjusted, such that the time spent on sampling, including the time spent on
+ * the stack traces of suspected sites, stays close to the configured fraction of a single CPU core.
+ */
+final class LeakSampler {
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(LeakSampler.class);
+
+    static final String UNKNOWN_SITE = "unknown";
+
+    private static final double TARGET_OVERHEAD;
+    private static final int MAX_SAMPLING_INTERVAL;
+    private static final int MAX_SITES = 4096;
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // The number of sampled buffers that record their full life-cycle, after a leak from their site was counted.
+    static final int SUSPECT_SAMPLES = 64;
+    // The packages of the frames that are skipped, when looking for the allocation site.
+    private static final Set<String> INTERNAL_PACKAGES = Set.of(
+            "io.netty5.buffer",
+            "io.netty5.buffer.api",
+            "io.netty5.buffer.api.bytebuffer",
+            "io.netty5.buffer.api.internal",
+            "io.netty5.buffer.api.memseg",
+            "io.netty5.buffer.api.pool",
+            "io.netty5.buffer.api.unsafe",
+            "io.netty5.util");
+    private static final StackWalker SITE_WALKER = StackWalker.getInstance();
+
+    private static final ConcurrentMap<String, AllocationSite> SITES = new ConcurrentHashMap<>();
+    private static final AllocationSite UNKNOWN = new AllocationSite(UNKNOWN_SITE, null);
+    private static final LongAdder WINDOW_COST_NANOS = new LongAdder();
+
+    private static volatile boolean enabled;
+    private static volatile int samplingInterval;
+    private static volatile long windowStart;
+
+    static {
+        enabled = SystemPropertyUtil.getBoolean("io.netty5.buffer.leakDetection.sampling", false);
+        double targetOverhead;
+        try {
+            targetOverhead = Double.parseDouble(
+                    SystemPropertyUtil.get("io.netty5.buffer.leakDetection.targetOverhead", "0.01"));
+        } catch (NumberFormatException e) {
+            targetOverhead = 0.01;
+        }
+        TARGET_OVERHEAD = targetOverhead > 0 && targetOverhead <= 1? targetOverhead : 0.01;
+        MAX_SAMPLING_INTERVAL = Math.max(
+                SystemPropertyUtil.getInt("io.netty5.buffer.leakDetection.maxSamplingInterval", 1 << 16), 1);
+        samplingInterval = Math.min(128, MAX_SAMPLING_INTERVAL);
+        windowStart = System.nanoTime();
+        if (logger.isDebugEnabled()) {
+            logger.debug("-Dio.netty5.buffer.leakDetection.sampling: {}", enabled);
+            logger.debug("-Dio.netty5.buffer.leakDetection.targetOverhead: {}", TARGET_OVERHEAD);
+            logger.debug("-Dio.netty5.buffer.leakDetection.maxSamplingInterval: {}", MAX_SAMPLING_INTERVAL);
+        }
+    }
+
+    private LeakSampler() {
+    }
+
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    static void setEnabled(boolean enable) {
+        enabled = enable;
+    }
+
+    static int samplingInterval() {
+        return samplingInterval;
+    }
+
+    /**
+     * Get a tracer for a newly allocated buffer, which is either a no-op tracer, or a tracer for a sampled buffer.
+     */
+    static LifecycleTracer sample() {
+        int interval = samplingInterval;
+        if (interval > 1 && ThreadLocalRandom.current().nextInt(interval) != 0) {
+            return LifecycleTracer.NoOpTracer.INSTANCE;
+        }
+        long start = System.nanoTime();
+        AllocationSite site = SITE_WALKER.walk(frames -> frames
+                .filter(frame -> !INTERNAL_PACKAGES.contains(packageOf(frame.getClassName())))
+                .findFirst()
+                .map(LeakSampler::siteOf)
+                .orElse(UNKNOWN));
+        LifecycleTracer tracer = tracerFor(site);
+        long end = System.nanoTime();
+        recordCost(end - start, end);
+        return tracer;
+    }
+
+    static LifecycleTracer tracerFor(AllocationSite site) {
+        return site.takeSuspectSample()? LifecycleTracer.suspectTracer(site) : LifecycleTracer.sampledTracer(site);
+    }
+
+    private static String packageOf(String className) {
+        int lastDot = className.lastIndexOf('.');
+        return lastDot == -1? "" : className.substring(0, lastDot);
+    }
+
+    private static AllocationSite siteOf(StackWalker.StackFrame frame) {
+        String key = frame.getClassName() + '.' + frame.getMethodName() + ':' + frame.getLineNumber();
+        AllocationSite site = SITES.get(key);
+        if (site == null) {
+            if (SITES.size() >= MAX_SITES) {
+                return UNKNOWN;
+            }
+            site = SITES.computeIfAbsent(key, k -> new AllocationSite(k, frame.toStackTraceElement()));
+        }
+        return site;
+    }
+
+    /**
+     * Count time that was spent on sampling leak detection, towards the overhead of the current window.
+     */
+    static void recordCost(long costNanos, long now) {
+        WINDOW_COST_NANOS.add(costNanos);
+        long start = windowStart;
+        if (now - start >= WINDOW_NANOS) {
+            synchronized (LeakSampler.class) {
+                if (windowStart == start) {
+                    adjustInterval(WINDOW_COST_NANOS.sumThenReset(), now - start);
+                    windowStart = now;
+                }
+            }
+        }
+    }
+
+    private static void adjustInterval(long costNanos, long elapsedNanos) {
+        // The fraction of a core that was spent on sampling in the last window. Since the cost is proportional to the
+        // sampling rate, scaling the interval by how far we are from the target brings the overhead to the target.
+        // The adjustment is dampened, so a single unusual window does not swing the interval too far.
+        double overhead = (double) costNanos / elapsedNanos;
+        double factor = Math.max(0.5, Math.min(overhead / TARGET_OVERHEAD, 4));
+        int interval = samplingInterval;
+        long next = (long) Math.ceil(interval * factor);
+        samplingInterval = (int) Math.max(1, Math.min(next, MAX_SAMPLING_INTERVAL));
+    }
+
+    /**
+     * Count a detected leak, for the allocation site of the given tracer.
+     */
+    static void countLeak(LifecycleTracer tracer) {
+        AllocationSite site = tracer.allocationSite();
+        if (site == null) {
+            site = UNKNOWN;
+        }
+        site.leaks.increment();
+        if (site != UNKNOWN) {
+            // The next buffers from this site will be traced in full, to help find the cause of the leak.
+            site.suspectSamples.set(SUSPECT_SAMPLES);
+        }
+    }
+
+    static long windowCostNanos() {
+        return WINDOW_COST_NANOS.sum();
+    }
+
+    static Map<String, Long> leakCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        long unknown = UNKNOWN.leaks.sum();
+        if (unknown > 0) {
+            counts.put(UNKNOWN_SITE, unknown);
+        }
+        for (AllocationSite site : SITES.values()) {
+            long leaks = site.leaks.sum();
+            if (leaks > 0) {
+                counts.put(site.key, leaks);
+            }
+        }
+        return counts;
+    }
+
+    static final class AllocationSite {
+        final String key;
+        final StackTraceElement element;
+        final LongAdder leaks = new LongAdder();
+        final AtomicInteger suspectSamples = new AtomicInteger();
+
+        AllocationSite(String key, StackTraceElement element) {
+            this.key = key;
+            this.element = element;
+        }
+
+        boolean takeSuspectSample() {
+            return suspectSamples.get() > 0 && suspectSamples.getAndDecrement() > 0;
+        }
+    }
+}
@@ -47,10 +47,30 @@ public abstract class LifecycleTracer {
      * @return A new tracer for a resource.
      */
     public static LifecycleTracer get() {
-        if (!lifecycleTracingEnabled && LeakDetection.leakDetectionEnabled == 0) {
-            return NoOpTracer.INSTANCE;
+        if (!lifecycleTracingEnabled) {
+            if (LeakDetection.leakDetectionEnabled == 0) {
+                return NoOpTracer.INSTANCE;
+            }
+            if (LeakSampler.isEnabled()) {
+                return LeakSampler.sample();
+            }
         }
-        return new StackTracer();
+        return new StackTracer(StackTracer.WALKER, null);
+    }
+
+    /**
+     * Get a tracer for a sampled buffer, that only records where the buffer was allocated.
+     */
+    static LifecycleTracer sampledTracer(LeakSampler.AllocationSite site) {
+        return new SampledTracer(site);
+    }
+
+    /**
+     * Get a tracer for a sampled buffer from an allocation site that has leaked before.
+     * This tracer records the full life-cycle, with stack traces.
+     */
+    static LifecycleTracer suspectTracer(LeakSampler.AllocationSite site) {
+        return new StackTracer(StackTracer.SUSPECT_WALKER, site);
     }
 
     /**
@@ -131,8 +151,17 @@ public abstract class LifecycleTracer {
      */
     public abstract Collection<TracePoint> collectTraces();
 
-    private static final class NoOpTracer extends LifecycleTracer {
-        private static final NoOpTracer INSTANCE = new NoOpTracer();
+    /**
+     * Get the allocation site of the traced object, if it is known.
+     *
+     * @return The allocation site, or {@code null}.
+     */
+    LeakSampler.AllocationSite allocationSite() {
+        return null;
+    }
+
+    static final class NoOpTracer extends LifecycleTracer {
+        static final NoOpTracer INSTANCE = new NoOpTracer();
 
         @Override
         public void allocate() {
@@ -177,15 +206,24 @@ public abstract class LifecycleTracer {
     private static final class StackTracer extends LifecycleTracer {
         private static final int MAX_TRACE_POINTS = Math.min(SystemPropertyUtil.getInt(
                 "io.netty5.buffer.api.internal.LifecycleTracer.MAX_TRACE_POINTS", 50), 1000);
-        private static final StackWalker WALKER;
+        static final StackWalker WALKER;
+        static final StackWalker SUSPECT_WALKER;
         static {
             int depth = Trace.TRACE_LIFECYCLE_DEPTH;
-            WALKER = depth > 0 && lifecycleTracingEnabled ? StackWalker.getInstance(Set.of(), depth + 2) : null;
+            SUSPECT_WALKER = depth > 0 ? StackWalker.getInstance(Set.of(), depth + 2) : null;
+            WALKER = lifecycleTracingEnabled ? SUSPECT_WALKER : null;
         }
 
         private final ArrayDeque<Trace> traces = new ArrayDeque<>();
+        private final StackWalker walker;
+        private final LeakSampler.AllocationSite site;
         private boolean dropped;
 
+        StackTracer(StackWalker walker, LeakSampler.AllocationSite site) {
+            this.walker = walker;
+            this.site = site;
+        }
+
         @Override
         public void allocate() {
             addTrace(walk(new Trace(TraceType.ALLOCATE, 0)));
@@ -259,9 +297,22 @@ public abstract class LifecycleTracer {
             return Collections.unmodifiableCollection(Collections.synchronizedCollection(traces));
         }
 
+        @Override
+        LeakSampler.AllocationSite allocationSite() {
+            return site;
+        }
+
         Trace walk(Trace trace) {
-            if (WALKER != null) {
-                WALKER.walk(trace);
+            if (walker != null) {
+                if (site != null) {
+                    // This is a suspect tracer of sampling leak detection, so the walk counts towards its overhead.
+                    long start = System.nanoTime();
+                    walker.walk(trace);
+                    long end = System.nanoTime();
+                    LeakSampler.recordCost(end - start, end);
+                } else {
+                    walker.walk(trace);
+                }
             }
             return trace;
         }
@@ -276,6 +327,71 @@ public abstract class LifecycleTracer {
         }
     }
 
+    private static final class SampledTracer extends LifecycleTracer implements TracePoint {
+        private final LeakSampler.AllocationSite site;
+
+        SampledTracer(LeakSampler.AllocationSite site) {
+            this.site = site;
+        }
+
+        @Override
+        public void allocate() {
+        }
+
+        @Override
+        public void acquire(int acquires) {
+        }
+
+        @Override
+        public void drop(int acquires) {
+        }
+
+        @Override
+        public void close(int acquires) {
+        }
+
+        @Override
+        public void touch(Object hint) {
+        }
+
+        @Override
+        public <I extends Resource<I>, T extends ResourceSupport<I, T>> Owned<T> send(Owned<T> instance) {
+            return instance;
+        }
+
+        @Override
+        public void splitTo(LifecycleTracer splitTracer) {
+        }
+
+        @Override
+        public <E extends Throwable> E attachTrace(E throwable) {
+            throwable.addSuppressed(traceback());
+            return throwable;
+        }
+
+        @Override
+        public Collection<TracePoint> collectTraces() {
+            return Collections.singletonList(this);
+        }
+
+        @Override
+        LeakSampler.AllocationSite allocationSite() {
+            return site;
+        }
+
+        @Override
+        public Object hint() {
+            return null;
+        }
+
+        @Override
+        public Throwable traceback() {
+            Traceback traceback = new Traceback(TraceType.ALLOCATE.name() + " (sampled, at " + site.key + ").");
+            traceback.setStackTrace(site.element == null? Trace.EMPTY_TRACE : new StackTraceElement[] { site.element });
+            return traceback;
+        }
+    }
+
     static final class Trace implements Function<Stream<StackWalker.StackFrame>, Trace>, LeakInfo.TracePoint {
         private static final int TRACE_LIFECYCLE_DEPTH;
         public static final StackTraceElement[] EMPTY_TRACE = new StackTraceElement[0];
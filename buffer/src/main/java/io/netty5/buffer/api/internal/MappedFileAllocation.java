@@ -0,0 +1,122 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.buffer.api.internal;
+
+import io.netty5.buffer.api.AllocationType;
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.Drop;
+import io.netty5.util.internal.PlatformDependent;
+import io.netty5.util.internal.UnstableApi;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * An {@link AllocationType} for off-heap buffer allocations that map a region of a file into memory, read-only.
+ * <p>
+ * The mapping is released when the buffer, and all buffers that share its memory, have been closed.
+ */
+@UnstableApi
+public final class MappedFileAllocation implements AllocationType {
+    private final FileChannel channel;
+    private final long position;
+    private final int length;
+
+    public MappedFileAllocation(FileChannel channel, long position, int length) {
+        this.channel = channel;
+        this.position = position;
+        this.length = length;
+    }
+
+    public FileChannel getChannel() {
+        return channel;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Map the file region into memory, as a read-only {@link MappedByteBuffer}.
+     *
+     * @return The mapped file region.
+     * @throws UncheckedIOException If the region could not be mapped.
+     */
+    public MappedByteBuffer map() {
+        try {
+            return channel.map(MapMode.READ_ONLY, position, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Create a {@link Drop} that unmaps the given buffer, which was obtained from {@link #map()}, when dropped.
+     * The drop is guarded by an {@link ArcDrop}, so the mapping is only released once all buffers sharing the
+     * memory have been closed.
+     *
+     * @param mapped The mapped buffer to release.
+     * @return A drop that releases the mapping.
+     */
+    public static Drop<Buffer> unmapOnDrop(MappedByteBuffer mapped) {
+        return ArcDrop.wrap(new Unmap(mapped));
+    }
+
+    @Override
+    public boolean isDirect() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "MappedFileAllocation(" + channel + ", position " + position + ", " + length + " bytes)";
+    }
+
+    private static final class Unmap implements Drop<Buffer> {
+        private final MappedByteBuffer mapped;
+
+        Unmap(MappedByteBuffer mapped) {
+            this.mapped = mapped;
+        }
+
+        @Override
+        public void drop(Buffer obj) {
+            // Release the mapping right away, instead of waiting for the mapped buffer to be garbage collected.
+            PlatformDependent.freeDirectBuffer(mapped);
+        }
+
+        @Override
+        public Drop<Buffer> fork() {
+            throw new IllegalStateException(this + " cannot fork. Must be guarded by an ArcDrop.");
+        }
+
+        @Override
+        public void attach(Buffer obj) {
+        }
+
+        @Override
+        public String toString() {
+            return "Unmap(" + mapped.capacity() + " bytes)";
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.buffer.api.internal;
+
+/**
+ * Implemented by buffers that can hand their memory directly to {@link VectorizedSearch}.
+ */
+public interface SearchableMemory {
+    /**
+     * The object holding the memory of this buffer, in a form understood by {@link VectorizedSearch}.
+     * This is either a {@code byte[]}, a {@link java.nio.ByteBuffer}, a {@code java.lang.foreign.MemorySegment},
+     * or {@code null} for native memory.
+     *
+     * @return The memory object.
+     */
+    Object searchableMemory();
+
+    /**
+     * Translate a buffer offset into an offset into the {@link #searchableMemory()}.
+     * For native memory, this is the native address.
+     *
+     * @param offset The offset in the buffer.
+     * @return The offset into the memory object, or the native address.
+     */
+    long searchableOffset(int offset);
+}
@@ -22,6 +22,7 @@ import io.netty5.buffer.api.Drop;
 import io.netty5.buffer.api.MemoryManager;
 import io.netty5.buffer.api.ReadableComponent;
 import io.netty5.util.AsciiString;
+import io.netty5.util.ByteProcessor;
 import io.netty5.util.internal.PlatformDependent;
 
 import java.lang.invoke.MethodHandle;
@@ -30,6 +31,7 @@ import java.lang.invoke.MethodHandles.Lookup;
 import java.lang.invoke.MethodType;
 import java.lang.invoke.VarHandle;
 import java.lang.ref.Cleaner;
+import java.lang.ref.Reference;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.Arrays;
@@ -69,6 +71,10 @@ public interface Statics {
      * because on-heap buffers will be backed by byte-arrays.
      */
     int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+    /**
+     * Returned by {@link #vectorizedProcess(ByteProcessor, Object, long, int)} when the search cannot be vectorized.
+     */
+    int NOT_VECTORIZED = -2;
 
     static MethodHandle getByteBufferSliceOffsetsMethodHandle() {
         try {
@@ -145,6 +151,27 @@ public interface Statics {
         }
     }
 
+    /**
+     * Check the array arguments of the bulk primitive transfer methods, such as {@link Buffer#writeInts}.
+     *
+     * @param arrayLength The length of the array.
+     * @param arrayPos The position in the array of the first element to transfer.
+     * @param length The number of elements to transfer.
+     * @param elementSize The size of the elements, in bytes.
+     * @return The number of bytes to transfer.
+     */
+    static int checkBulkTransferArgs(int arrayLength, int arrayPos, int length, int elementSize) {
+        checkLength(length);
+        if (arrayPos < 0 || arrayLength - length < arrayPos) {
+            throw new IndexOutOfBoundsException("The array position and length are out of bounds: " +
+                    "position = " + arrayPos + ", length = " + length + ", array length = " + arrayLength + '.');
+        }
+        if (length > MAX_BUFFER_SIZE / elementSize) {
+            throw new IndexOutOfBoundsException("The length is beyond the maximum buffer size: " + length + '.');
+        }
+        return length * elementSize;
+    }
+
     static void copyToViaReverseLoop(Buffer src, int srcPos, Buffer dest, int destPos, int length) {
         checkLength(length);
         if (length == 0) {
@@ -345,6 +372,23 @@ public interface Statics {
             return false;
         }
 
+        if (length >= VectorizedSearch.minLength() &&
+                a instanceof SearchableMemory && b instanceof SearchableMemory &&
+                a.isAccessible() && b.isAccessible() &&
+                VectorizedSearch.isSearchable(((SearchableMemory) a).searchableMemory()) &&
+                VectorizedSearch.isSearchable(((SearchableMemory) b).searchableMemory())) {
+            SearchableMemory memA = (SearchableMemory) a;
+            SearchableMemory memB = (SearchableMemory) b;
+            try {
+                return VectorizedSearch.mismatch(memA.searchableMemory(), memA.searchableOffset(aStartIndex),
+                                                 memB.searchableMemory(), memB.searchableOffset(bStartIndex),
+                                                 length) == -1;
+            } finally {
+                Reference.reachabilityFence(a);
+                Reference.reachabilityFence(b);
+            }
+        }
+
         return equalsInner(a, aStartIndex, b, bStartIndex, length);
     }
 
@@ -428,6 +472,47 @@ public interface Statics {
         return 0;
     }
 
+    /**
+     * Find the first byte that the given processor would stop at, using {@link VectorizedSearch}.
+     * This only works for the well known search processors in {@link ByteProcessor}, such as
+     * {@link ByteProcessor#FIND_NUL}, {@link ByteProcessor#FIND_CRLF} and {@link ByteProcessor#FIND_NON_ASCII}.
+     *
+     * @param processor The processor to emulate.
+     * @param memory The memory object, as returned by {@link SearchableMemory#searchableMemory()}.
+     * @param offset The offset into the memory object, as returned by {@link SearchableMemory#searchableOffset(int)}.
+     * @param length The number of bytes to search.
+     * @return The index of the byte the processor would stop at, relative to the offset, {@code -1} if the processor
+     * would process all bytes, or {@link #NOT_VECTORIZED} if the search cannot be vectorized.
+     */
+    static int vectorizedProcess(ByteProcessor processor, Object memory, long offset, int length) {
+        if (length < VectorizedSearch.minLength() || !VectorizedSearch.isSearchable(memory)) {
+            return NOT_VECTORIZED;
+        }
+        final byte needle;
+        if (processor == ByteProcessor.FIND_NUL) {
+            needle = 0;
+        } else if (processor == ByteProcessor.FIND_CR) {
+            needle = '\r';
+        } else if (processor == ByteProcessor.FIND_LF) {
+            needle = '\n';
+        } else if (processor == ByteProcessor.FIND_SEMI_COLON) {
+            needle = ';';
+        } else if (processor == ByteProcessor.FIND_COMMA) {
+            needle = ',';
+        } else if (processor == ByteProcessor.FIND_ASCII_SPACE) {
+            needle = ' ';
+        } else if (processor == ByteProcessor.FIND_CRLF) {
+            return VectorizedSearch.indexOfEither(memory, offset, length, (byte) '\r', (byte) '\n');
+        } else if (processor == ByteProcessor.FIND_LINEAR_WHITESPACE) {
+            return VectorizedSearch.indexOfEither(memory, offset, length, (byte) ' ', (byte) '\t');
+        } else if (processor == ByteProcessor.FIND_NON_ASCII) {
+            return VectorizedSearch.indexOfNonAscii(memory, offset, length);
+        } else {
+            return NOT_VECTORIZED;
+        }
+        return VectorizedSearch.indexOf(memory, offset, length, needle);
+    }
+
     /**
      * This interface provides the fastest possible offsetted byte-access to a buffer.
      * Used by {@link #bytesBefore(Buffer, UncheckedLoadByte, Buffer, UncheckedLoadByte)} to access memory faster.
@@ -472,6 +557,22 @@ public interface Statics {
 
         int needleStart = needle.readerOffset();
         int haystackStart = haystack.readerOffset();
+        if (haystackLen >= VectorizedSearch.minLength() &&
+                haystack instanceof SearchableMemory && needle instanceof SearchableMemory &&
+                VectorizedSearch.isSearchable(((SearchableMemory) haystack).searchableMemory()) &&
+                VectorizedSearch.isSearchable(((SearchableMemory) needle).searchableMemory())) {
+            SearchableMemory haystackMem = (SearchableMemory) haystack;
+            SearchableMemory needleMem = (SearchableMemory) needle;
+            try {
+                return VectorizedSearch.indexOf(
+                        haystackMem.searchableMemory(), haystackMem.searchableOffset(haystackStart), haystackLen,
+                        needleMem.searchableMemory(), needleMem.searchableOffset(needleStart), needleLen);
+            } finally {
+                Reference.reachabilityFence(haystack);
+                Reference.reachabilityFence(needle);
+            }
+        }
+
         long suffixes =  maxFixes(needle, nl, needleLen, needleStart, true);
         long prefixes = maxFixes(needle, nl, needleLen, needleStart, false);
         int maxSuffix = Math.max((int) (suffixes >> 32), (int) (prefixes >> 32));
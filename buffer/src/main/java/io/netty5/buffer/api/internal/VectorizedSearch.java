@@ -0,0 +1,108 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.buffer.api.internal;
+
+/**
+ * Search and compare primitives that are implemented with the {@code jdk.incubator.vector} API.
+ * <p>
+ * The vector API is only used on Java 22 or newer, where this class is replaced by the implementation in the
+ * versioned section of the multi-release jar, and only when the {@code jdk.incubator.vector} module has been added
+ * to the module graph, for instance with {@code --add-modules jdk.incubator.vector}.
+ * Otherwise, {@link #isAvailable()} returns {@code false}, and callers must use their scalar code.
+ * <p>
+ * The memory that the methods operate on is described by a memory object and an offset, as returned by
+ * {@link SearchableMemory#searchableMemory()} and {@link SearchableMemory#searchableOffset(int)}.
+ */
+public final class VectorizedSearch {
+    private VectorizedSearch() {
+    }
+
+    /**
+     * @return {@code true} if the vectorized implementations are available.
+     */
+    public static boolean isAvailable() {
+        return false;
+    }
+
+    /**
+     * The smallest number of bytes where the vectorized implementations are expected to be faster than scalar code.
+     * This is {@link Integer#MAX_VALUE} if the vectorized implementations are not available, so checking a length
+     * against this value is enough to decide which implementation to use.
+     *
+     * @return The minimum length for vectorized operations.
+     */
+    public static int minLength() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Check if the given memory object can be passed to the search methods.
+     *
+     * @param memory The memory object, as returned by {@link SearchableMemory#searchableMemory()}.
+     * @return {@code true} if the memory can be searched by the vectorized implementations.
+     */
+    public static boolean isSearchable(Object memory) {
+        return false;
+    }
+
+    /**
+     * Find the first occurrence of the given byte.
+     *
+     * @return The index of the needle relative to the given offset, or {@code -1} if not found.
+     */
+    public static int indexOf(Object memory, long offset, int length, byte needle) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Find the first occurrence of either of the given bytes.
+     *
+     * @return The index of the first byte matching either needle, relative to the given offset,
+     * or {@code -1} if not found.
+     */
+    public static int indexOfEither(Object memory, long offset, int length, byte needleA, byte needleB) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Find the first byte that is not {@code US-ASCII}.
+     *
+     * @return The index of the first negative byte, relative to the given offset, or {@code -1} if not found.
+     */
+    public static int indexOfNonAscii(Object memory, long offset, int length) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Find the first occurrence of the needle bytes, which must be at least two bytes long.
+     *
+     * @return The index of the needle relative to the given offset, or {@code -1} if not found.
+     */
+    public static int indexOf(Object memory, long offset, int length,
+                              Object needleMemory, long needleOffset, int needleLength) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Find the first index where the two memory regions of equal length differ.
+     *
+     * @return The index of the first mismatching byte, relative to the given offsets, or {@code -1} if the two
+     * regions are equal.
+     */
+    public static int mismatch(Object memoryA, long offsetA, Object memoryB, long offsetB, int length) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.netty5.buffer.api.memseg;
+
+import io.netty5.buffer.api.AllocationType;
+import io.netty5.buffer.api.AllocatorControl;
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.Drop;
+import io.netty5.buffer.api.MemoryManager;
+
+import java.util.function.Function;
+
+/**
+ * This memory manager produces and manages {@link Buffer} instances that are backed by
+ * {@code java.lang.foreign.MemorySegment} instances.
+ * <p>
+ * The {@code java.lang.foreign} API is only available on Java 22 or newer, where this class is replaced by the
+ * implementation in the versioned section of the multi-release jar.
+ * On older Java versions the constructor throws an {@link UnsupportedOperationException}, which makes
+ * {@link MemoryManager#lookupImplementation(String)} skip this implementation.
+ * <p>
+ * Memory managers are normally not used directly.
+ * Instead, you likely want to use the {@link io.netty5.buffer.api.DefaultBufferAllocators}, or the static methods on
+ * {@link io.netty5.buffer.api.BufferAllocator}.
+ */
+public final class MemSegMemoryManager implements MemoryManager {
+    public MemSegMemoryManager() {
+        throw notSupported();
+    }
+
+    @Override
+    public Buffer allocateShared(AllocatorControl allocatorControl, long size,
+                                 Function<Drop<Buffer>, Drop<Buffer>> dropDecorator,
+                                 AllocationType allocationType) {
+        throw notSupported();
+    }
+
+    @Override
+    public Buffer allocateConstChild(Buffer readOnlyConstParent) {
+        throw notSupported();
+    }
+
+    @Override
+    public Object unwrapRecoverableMemory(Buffer buf) {
+        throw notSupported();
+    }
+
+    @Override
+    public Buffer recoverMemory(AllocatorControl allocatorControl, Object recoverableMemory, Drop<Buffer> drop) {
+        throw notSupported();
+    }
+
+    @Override
+    public Object sliceMemory(Object memory, int offset, int length) {
+        throw notSupported();
+    }
+
+    @Override
+    public void clearMemory(Object memory) {
+        throw notSupported();
+    }
+
+    @Override
+    public String implementationName() {
+        return "MemorySegment";
+    }
+
+    private static UnsupportedOperationException notSupported() {
+        return new UnsupportedOperationException(
+                "The MemorySegment implementation requires Java 22 or newer, running on Java " +
+                System.getProperty("java.specification.version") + '.');
+    }
+}
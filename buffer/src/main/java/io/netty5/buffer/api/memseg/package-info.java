@@ -0,0 +1,22 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * A {@link io.netty5.buffer.api.Buffer} implementation that is based on {@code java.lang.foreign.MemorySegment}.
+ * <p>
+ * The implementation requires Java 22 or newer, and is loaded from the versioned section of the multi-release jar.
+ */
+package io.netty5.buffer.api.memseg;
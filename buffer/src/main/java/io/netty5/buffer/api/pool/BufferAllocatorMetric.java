@@ -61,4 +61,12 @@ public interface BufferAllocatorMetric {
      * {@link BufferAllocator}, or {@code -1} if unknown.
      */
     long pinnedMemory();
+
+    /**
+     * Returns the number of bytes of memory that have been released back to the system, because the chunks they
+     * belonged to were no longer used, or {@code -1} if unknown.
+     */
+    default long reclaimedMemory() {
+        return -1;
+    }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.buffer.api.pool;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.util.internal.PlatformDependent;
+import io.netty5.util.internal.logging.InternalLogger;
+import io.netty5.util.internal.logging.InternalLoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.regex.Pattern;
+
+/**
+ * Places the memory of direct pool chunks on transparent huge pages, and on the NUMA node of the threads that use
+ * the arena.
+ * <p>
+ * Both are only advice to the operating system. Whenever the platform does not support it, the chunk memory is
+ * simply left as it was allocated by the {@link io.netty5.buffer.api.MemoryManager}.
+ */
+final class ChunkPlacement {
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(ChunkPlacement.class);
+
+    static final int HUGE_PAGE_SIZE = 2 * 1024 * 1024;
+
+    private static final Pattern NODE_DIRECTORY = Pattern.compile("node[0-9]+");
+    private static final boolean HUGE_PAGES_SUPPORTED;
+    private static final int NUM_NUMA_NODES;
+
+    static {
+        boolean linux = "linux".equals(PlatformDependent.normalizedOs());
+        HUGE_PAGES_SUPPORTED = linux && NativeMemoryCalls.isAvailable() && transparentHugePagesEnabled();
+        NUM_NUMA_NODES = linux && NativeMemoryCalls.isMbindAvailable() ? numaNodes() : 1;
+        if (logger.isDebugEnabled()) {
+            logger.debug("Transparent huge pages for pool chunks supported: {}", HUGE_PAGES_SUPPORTED);
+            logger.debug("NUMA nodes available for pool chunks: {}", NUM_NUMA_NODES);
+        }
+    }
+
+    private ChunkPlacement() {
+    }
+
+    /**
+     * Returns {@code true} if chunk memory can be advised to use transparent huge pages.
+     */
+    static boolean isHugePageSupported() {
+        return HUGE_PAGES_SUPPORTED;
+    }
+
+    /**
+     * Returns {@code true} if this machine has more than one NUMA node, and chunk memory can be placed on them.
+     */
+    static boolean isNumaSupported() {
+        return NUM_NUMA_NODES > 1;
+    }
+
+    /**
+     * Returns the NUMA node the calling thread is currently running on, or {@code -1} if unknown.
+     */
+    static int currentNumaNode() {
+        return isNumaSupported() ? NativeMemoryCalls.currentNumaNode() : -1;
+    }
+
+    /**
+     * Advise the operating system about the memory of the given chunk base buffer.
+     *
+     * @param base The chunk base buffer.
+     * @param hugePages {@code true} if the chunk should be backed by transparent huge pages.
+     * @param numaNode The NUMA node the chunk memory should be placed on, or {@code -1} for no preference.
+     * @return {@code true} if the chunk was advised to use huge pages.
+     */
+    static boolean place(Buffer base, boolean hugePages, int numaNode) {
+        long[] region = new long[2];
+        base.forEachWritable(0, (index, component) -> {
+            region[0] = component.writableNativeAddress();
+            region[1] = component.writableBytes();
+            return false;
+        });
+        long address = region[0];
+        long length = region[1];
+        if (address == 0) {
+            // Not native memory.
+            return false;
+        }
+        long pageSize = NativeMemoryCalls.pageSize();
+        if (numaNode >= 0 && pageSize > 0) {
+            // Memory policies can only be applied to whole pages.
+            long start = alignUp(address, pageSize);
+            long end = alignDown(address + length, pageSize);
+            if (start < end && !NativeMemoryCalls.preferNode(start, end - start, numaNode)) {
+                logger.debug("Failed to place chunk memory on NUMA node {}.", numaNode);
+            }
+        }
+        if (hugePages) {
+            // Only the huge page aligned part of the chunk can be backed by huge pages.
+            long start = alignUp(address, HUGE_PAGE_SIZE);
+            long end = alignDown(address + length, HUGE_PAGE_SIZE);
+            if (start < end) {
+                return NativeMemoryCalls.adviseHugePages(start, end - start);
+            }
+        }
+        return false;
+    }
+
+    private static long alignUp(long value, long alignment) {
+        return value + alignment - 1 & -alignment;
+    }
+
+    private static long alignDown(long value, long alignment) {
+        return value & -alignment;
+    }
+
+    private static boolean transparentHugePagesEnabled() {
+        // The active mode is in brackets, like "always [madvise] never".
+        String enabled = readFile("/sys/kernel/mm/transparent_hugepage/enabled");
+        return enabled != null && (enabled.contains("[always]") || enabled.contains("[madvise]"));
+    }
+
+    private static int numaNodes() {
+        File[] nodes = new File("/sys/devices/system/node").listFiles(
+                (dir, name) -> NODE_DIRECTORY.matcher(name).matches());
+        return nodes == null ? 1 : Math.max(1, nodes.length);
+    }
+
+    private static String readFile(String path) {
+        try {
+            return new String(Files.readAllBytes(new File(path).toPath()), StandardCharsets.US_ASCII);
+        } catch (IOException | SecurityException e) {
+            return null;
+        }
+    }
+}
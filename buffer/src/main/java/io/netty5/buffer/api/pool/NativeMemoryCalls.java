@@ -0,0 +1,70 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.buffer.api.pool;
+
+/**
+ * The few libc calls that are needed for placing pool chunks on huge pages and NUMA nodes.
+ * <p>
+ * Native calls require the {@code java.lang.foreign} API, which is only available on Java 22 or newer, where this
+ * class is replaced by the implementation in the versioned section of the multi-release jar.
+ * On older Java versions nothing is available, and the pool falls back to ordinary allocations.
+ */
+final class NativeMemoryCalls {
+    private NativeMemoryCalls() {
+    }
+
+    /**
+     * Returns {@code true} if the native calls in this class are available on this platform.
+     */
+    static boolean isAvailable() {
+        return false;
+    }
+
+    /**
+     * Returns {@code true} if {@code mbind(2)} can be called on this platform.
+     */
+    static boolean isMbindAvailable() {
+        return false;
+    }
+
+    /**
+     * Returns the size of a regular memory page of the operating system, or {@code -1} if unknown.
+     */
+    static int pageSize() {
+        return -1;
+    }
+
+    /**
+     * Returns the NUMA node of the CPU the calling thread is currently running on, or {@code -1} if unknown.
+     */
+    static int currentNumaNode() {
+        return -1;
+    }
+
+    /**
+     * Call {@code madvise(address, length, MADV_HUGEPAGE)}. Returns {@code true} on success.
+     */
+    static boolean adviseHugePages(long address, long length) {
+        return false;
+    }
+
+    /**
+     * Call {@code mbind(address, length, MPOL_PREFERRED, {node}, ..., MPOL_MF_MOVE)}. Returns {@code true} on success.
+     */
+    static boolean preferNode(long address, long length, int node) {
+        return false;
+    }
+}
@@ -17,6 +17,7 @@ package io.netty5.buffer.api.pool;
 
 import io.netty5.buffer.api.AllocationType;
 import io.netty5.buffer.api.MemoryManager;
+import io.netty5.buffer.api.StandardAllocationTypes;
 import io.netty5.util.internal.StringUtil;
 
 import java.lang.invoke.MethodHandles;
@@ -44,6 +45,7 @@ class PoolArena extends SizeClasses implements PoolArenaMetric {
     final int numSmallSubpagePools;
     final int directMemoryCacheAlignment;
     private final PoolSubpage[] smallSubpagePools;
+    private final PoolMagazines magazines;
 
     private final PoolChunkList q050;
     private final PoolChunkList q025;
@@ -68,13 +70,24 @@ class PoolArena extends SizeClasses implements PoolArenaMetric {
     // We need to use the LongAdder here as this is not guarded via synchronized block.
     private final LongAdder deallocationsHuge = new LongAdder();
 
+    // Bytes of empty chunks that have been released to the system by reclaimEmptyChunks.
+    private final LongAdder reclaimedBytes = new LongAdder();
+
     // Number of thread caches backed by this arena.
     final AtomicInteger numThreadCaches = new AtomicInteger();
 
+    // Chunk placement, see ChunkPlacement.
+    private final boolean hugePages;
+    final boolean numaAware;
+    // The NUMA node of the threads that use this arena, or -1 if not (yet) bound to a node.
+    final AtomicInteger numaNode = new AtomicInteger(-1);
+    private volatile boolean hugePageBacked;
+
     private final ReentrantLock lock = new ReentrantLock();
 
     protected PoolArena(PooledBufferAllocator parent, MemoryManager manager, AllocationType allocationType,
-                        int pageSize, int pageShifts, int chunkSize, int cacheAlignment) {
+                        int pageSize, int pageShifts, int chunkSize, int cacheAlignment, int magazineSize,
+                        boolean hugePages, boolean numaAware) {
         super(pageSize, pageShifts, chunkSize, cacheAlignment);
         this.parent = parent;
         this.manager = manager;
@@ -99,6 +112,13 @@ class PoolArena extends SizeClasses implements PoolArenaMetric {
         qInit.prevList(qInit);
 
         chunkListMetrics = List.of(qInit, q000, q025, q050, q075, q100);
+
+        boolean direct = allocationType == StandardAllocationTypes.OFF_HEAP;
+        this.hugePages = hugePages && direct && ChunkPlacement.isHugePageSupported();
+        this.numaAware = numaAware && direct;
+
+        magazines = magazineSize > 0?
+                new PoolMagazines(this, magazineSize, PooledBufferAllocator.DEFAULT_MAX_CACHED_BUFFER_CAPACITY) : null;
     }
 
     private static PoolSubpage newSubpagePoolHead() {
@@ -133,6 +153,12 @@ class PoolArena extends SizeClasses implements PoolArenaMetric {
             // was able to allocate out of the cache so move on
             return memory;
         }
+        if (magazines != null) {
+            memory = magazines.allocate(cache, size, sizeIdx);
+            if (memory != null) {
+                return memory;
+            }
+        }
 
         /*
          * Synchronize on the head. This is needed as {@link PoolChunk#allocateSubpage(int)} and
@@ -175,6 +201,12 @@ class PoolArena extends SizeClasses implements PoolArenaMetric {
             // was able to allocate out of the cache so move on
             return memory;
         }
+        if (magazines != null) {
+            memory = magazines.allocate(cache, size, sizeIdx);
+            if (memory != null) {
+                return memory;
+            }
+        }
         lock();
         try {
             memory = allocateNormal(size, sizeIdx, cache);
@@ -232,6 +264,10 @@ class PoolArena extends SizeClasses implements PoolArenaMetric {
             // cached so not free it.
             return;
         }
+        if (magazines != null && magazines.add(chunk, handle, normCapacity, size2SizeIdx(normCapacity))) {
+            // parked in a magazine so not free it either.
+            return;
+        }
         freeChunk(chunk, handle, normCapacity, sizeClass);
     }
 
@@ -260,6 +296,42 @@ class PoolArena extends SizeClasses implements PoolArenaMetric {
         }
     }
 
+    /**
+     * Free everything that is parked in the magazines back to the chunks it came from.
+     * Returns the number of entries freed.
+     */
+    int freeMagazines() {
+        return magazines != null? magazines.free() : 0;
+    }
+
+    /**
+     * Destroy the chunks that have no memory allocated from them, except for {@code keep} of them.
+     * Returns the number of bytes that were released.
+     */
+    long reclaimEmptyChunks(int keep) {
+        List<PoolChunk> removed = new ArrayList<>();
+        lock();
+        try {
+            // Empty chunks can only be found in the lists with the lowest usage.
+            keep = qInit.removeEmptyChunks(keep, removed);
+            q000.removeEmptyChunks(keep, removed);
+        } finally {
+            unlock();
+        }
+        long bytes = 0;
+        for (PoolChunk chunk : removed) {
+            // destroyChunk not need to be called while holding the synchronized lock.
+            chunk.destroy();
+            bytes += chunk.chunkSize();
+        }
+        reclaimedBytes.add(bytes);
+        return bytes;
+    }
+
+    long numReclaimedBytes() {
+        return reclaimedBytes.longValue();
+    }
+
     PoolSubpage findSubpagePoolHead(int sizeIdx) {
         PoolSubpage head = (PoolSubpage) SUBPAGE_ARRAY.getVolatile(smallSubpagePools, sizeIdx);
         if (head == null) {
@@ -451,7 +523,23 @@ class PoolArena extends SizeClasses implements PoolArenaMetric {
     }
 
     protected final PoolChunk newChunk(int pageSize, int maxPageIdx, int pageShifts, int chunkSize) {
-        return new PoolChunk(this, pageSize, pageShifts, chunkSize, maxPageIdx);
+        PoolChunk chunk = new PoolChunk(this, pageSize, pageShifts, chunkSize, maxPageIdx);
+        if (hugePages || numaAware) {
+            if (ChunkPlacement.place(chunk.base, hugePages, numaAware? numaNode.get() : -1)) {
+                hugePageBacked = true;
+            }
+        }
+        return chunk;
+    }
+
+    @Override
+    public int numaNode() {
+        return numaAware? numaNode.get() : -1;
+    }
+
+    @Override
+    public boolean isHugePageBacked() {
+        return hugePageBacked;
     }
 
     @Override
@@ -512,6 +600,9 @@ class PoolArena extends SizeClasses implements PoolArenaMetric {
     }
 
     public void close() {
+        if (magazines != null) {
+            magazines.free();
+        }
         for (int i = 0, len = smallSubpagePools.length; i < len; i++) {
             PoolSubpage page = (PoolSubpage) SUBPAGE_ARRAY.getVolatile(smallSubpagePools, i);
             if (page != null) {
@@ -531,4 +622,8 @@ class PoolArena extends SizeClasses implements PoolArenaMetric {
     void unlock() {
         lock.unlock();
     }
+
+    boolean isHeldByCurrentThread() {
+        return lock.isHeldByCurrentThread();
+    }
 }
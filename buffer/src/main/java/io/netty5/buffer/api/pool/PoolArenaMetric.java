@@ -116,4 +116,16 @@ public interface PoolArenaMetric extends SizeClassesMetric {
      * Return the number of bytes that are currently pinned to buffer instances, by the arena.
      */
     long numPinnedBytes();
+
+    /**
+     * Return the NUMA node that the chunk memory of this arena is placed on, or {@code -1} if the arena is not
+     * NUMA-aware, or has not been bound to a node yet.
+     */
+    int numaNode();
+
+    /**
+     * Return {@code true} if the chunk memory of this arena has been advised to be backed by transparent huge pages,
+     * or {@code false} if it is backed by regular pages.
+     */
+    boolean isHugePageBacked();
 }
@@ -478,7 +478,10 @@ final class PoolChunk implements PoolChunkMetric {
             }
         }
 
-        //start free run
+        freeRun(handle, runSize);
+    }
+
+    private void freeRun(long handle, int runSize) {
         runsAvailLock.lock();
         try {
             // collapse continuous runs, successfully collapsed runs
@@ -497,6 +500,34 @@ final class PoolChunk implements PoolChunkMetric {
         }
     }
 
+    /**
+     * Free the runs of all subpages that have none of their elements in use. Unlike {@link #free(long, int)}, this
+     * also frees the last subpage of a given size in the arena, so the chunk can become completely empty.
+     * Must be called while holding the arena lock.
+     */
+    void releaseUnusedSubpages() {
+        assert arena.isHeldByCurrentThread();
+        for (int i = 0; i < subpages.length; i++) {
+            PoolSubpage subpage = subpages[i];
+            if (subpage == null) {
+                continue;
+            }
+            PoolSubpage head = arena.findSubpagePoolHead(arena.size2SizeIdx(subpage.elemSize));
+            long handle;
+            head.lock();
+            try {
+                handle = subpage.releaseIfUnused();
+                if (handle == -1) {
+                    continue;
+                }
+                subpages[i] = null;
+            } finally {
+                head.unlock();
+            }
+            freeRun(handle, runSize(pageShifts, handle));
+        }
+    }
+
     private long collapseRuns(long handle) {
         return collapseNext(collapsePast(handle));
     }
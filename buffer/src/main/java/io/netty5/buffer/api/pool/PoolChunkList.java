@@ -244,6 +244,32 @@ final class PoolChunkList implements PoolChunkListMetric {
         return buf.toString();
     }
 
+    /**
+     * Remove the {@link PoolChunk}s that have no memory allocated from them, but leave {@code keep} of them in place.
+     * The removed chunks are added to {@code removed}, and the number of chunks that are still left to keep is
+     * returned.
+     */
+    int removeEmptyChunks(int keep, List<PoolChunk> removed) {
+        PoolChunk cur = head;
+        while (cur != null) {
+            PoolChunk next = cur.next;
+            cur.releaseUnusedSubpages();
+            if (cur.freeBytes == cur.chunkSize()) {
+                if (keep > 0) {
+                    keep--;
+                } else {
+                    remove(cur);
+                    cur.prev = null;
+                    cur.next = null;
+                    cur.parent = null;
+                    removed.add(cur);
+                }
+            }
+            cur = next;
+        }
+        return keep;
+    }
+
     void destroy() {
         PoolChunk chunk = head;
         while (chunk != null) {
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.buffer.api.pool;
+
+import io.netty5.util.NettyRuntime;
+import io.netty5.util.concurrent.FastThreadLocal;
+import io.netty5.util.internal.MathUtil;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.netty5.buffer.api.pool.PoolChunk.isSubpage;
+
+/**
+ * A striped, lock-free front-end that sits between the {@link PoolThreadCache} and the locked sections of a
+ * {@link PoolArena}.
+ * <p>
+ * Every stripe holds one fixed size magazine per cached size index. Freed runs and subpage elements that did not fit
+ * into the thread cache of the releasing thread are parked in the magazine of the stripe the thread maps to, and
+ * allocations that miss the thread cache will look there before taking the arena lock. Slots are claimed and
+ * released with a single compare-and-set, so threads never block each other in here. Every trim of a thread cache
+ * drains the magazines of its arena, so memory does not sit in them forever.
+ * <p>
+ * This mostly benefits threads that have no (or only a very small) {@link PoolThreadCache}, for instance when
+ * {@code useCacheForAllThreads} is {@code false}, and arenas that are shared by many event loops.
+ */
+final class PoolMagazines {
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Entry[].class);
+    private static final VarHandle MAGAZINES = MethodHandles.arrayElementVarHandle(Entry[][].class);
+
+    // How many stripes we look at, before we give up and fall back to the arena.
+    private static final int MAX_PROBES = 2;
+
+    // Threads are given stripes round-robin, the first time they touch any magazines.
+    private static final AtomicInteger NEXT_STRIPE = new AtomicInteger();
+    private static final FastThreadLocal<Integer> STRIPE = new FastThreadLocal<>() {
+        @Override
+        protected Integer initialValue() {
+            return NEXT_STRIPE.getAndIncrement();
+        }
+    };
+
+    private final PoolArena arena;
+    private final int magazineSize;
+    private final int numCachedSizes;
+    private final int stripeMask;
+    // Magazines are created lazily and indexed by: stripe * numCachedSizes + sizeIdx
+    private final Entry[][] magazines;
+
+    PoolMagazines(PoolArena arena, int magazineSize, int maxCachedBufferCapacity) {
+        this.arena = arena;
+        this.magazineSize = magazineSize;
+        int max = Math.min(arena.chunkSize, maxCachedBufferCapacity);
+        int numCachedSizes = 0;
+        while (numCachedSizes < arena.nSizes && arena.sizeIdx2size(numCachedSizes) <= max) {
+            numCachedSizes++;
+        }
+        this.numCachedSizes = numCachedSizes;
+        int stripes = MathUtil.safeFindNextPositivePowerOfTwo(NettyRuntime.availableProcessors());
+        stripeMask = stripes - 1;
+        magazines = new Entry[stripes * numCachedSizes][];
+    }
+
+    /**
+     * Try to allocate memory of the given size index out of the magazines. Returns {@code null} if no cached memory
+     * was found.
+     */
+    UntetheredMemory allocate(PoolThreadCache cache, int size, int sizeIdx) {
+        if (sizeIdx >= numCachedSizes) {
+            return null;
+        }
+        int stripe = stripe();
+        for (int i = 0, probes = Math.min(MAX_PROBES, stripeMask + 1); i < probes; i++) {
+            Entry[] magazine = (Entry[]) MAGAZINES.getAcquire(magazines, index(stripe + i, sizeIdx));
+            if (magazine == null) {
+                continue;
+            }
+            Entry entry = take(magazine);
+            if (entry != null) {
+                PoolChunk chunk = entry.chunk;
+                long handle = entry.handle;
+                return isSubpage(handle)?
+                        chunk.allocateBufferWithSubpage(handle, size, cache) :
+                        chunk.allocateBuffer(handle, size, cache);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Park the given chunk and handle in the magazine of the current stripe, if there is room.
+     * Returns {@code true} if it was added, {@code false} otherwise.
+     */
+    boolean add(PoolChunk chunk, long handle, int normCapacity, int sizeIdx) {
+        if (sizeIdx >= numCachedSizes) {
+            return false;
+        }
+        Entry[] magazine = magazine(index(stripe(), sizeIdx));
+        Entry entry = new Entry(chunk, handle, normCapacity);
+        for (int i = 0; i < magazine.length; i++) {
+            if (SLOTS.getAcquire(magazine, i) == null && SLOTS.compareAndSet(magazine, i, null, entry)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Release everything that is held by the magazines back to the arena. Returns the number of entries freed.
+     */
+    int free() {
+        int numFreed = 0;
+        for (int i = 0; i < magazines.length; i++) {
+            Entry[] magazine = (Entry[]) MAGAZINES.getAcquire(magazines, i);
+            if (magazine == null) {
+                continue;
+            }
+            Entry entry;
+            while ((entry = take(magazine)) != null) {
+                arena.freeChunk(entry.chunk, entry.handle, entry.normCapacity,
+                        isSubpage(entry.handle)? PoolArena.SizeClass.Small : PoolArena.SizeClass.Normal);
+                numFreed++;
+            }
+        }
+        return numFreed;
+    }
+
+    private static Entry take(Entry[] magazine) {
+        for (int i = 0; i < magazine.length; i++) {
+            Entry entry = (Entry) SLOTS.getAcquire(magazine, i);
+            if (entry != null && SLOTS.compareAndSet(magazine, i, entry, null)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private Entry[] magazine(int index) {
+        Entry[] magazine = (Entry[]) MAGAZINES.getAcquire(magazines, index);
+        if (magazine == null) {
+            Entry[] created = new Entry[magazineSize];
+            magazine = (Entry[]) MAGAZINES.compareAndExchange(magazines, index, null, created);
+            if (magazine == null) {
+                // We won the race.
+                magazine = created;
+            }
+        }
+        return magazine;
+    }
+
+    private int index(int stripe, int sizeIdx) {
+        return (stripe & stripeMask) * numCachedSizes + sizeIdx;
+    }
+
+    private static int stripe() {
+        return STRIPE.get();
+    }
+
+    private static final class Entry {
+        final PoolChunk chunk;
+        final long handle;
+        final int normCapacity;
+
+        Entry(PoolChunk chunk, long handle, int normCapacity) {
+            this.chunk = chunk;
+            this.handle = handle;
+            this.normCapacity = normCapacity;
+        }
+    }
+}
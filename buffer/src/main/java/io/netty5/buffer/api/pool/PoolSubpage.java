@@ -139,6 +139,24 @@ final class PoolSubpage implements PoolSubpageMetric {
         }
     }
 
+    /**
+     * Remove this subpage from the pool if none of its elements are in use, even if it is the last subpage of its
+     * size in the pool. Must be called while holding the lock of the pool head.
+     *
+     * @return the handle of the run that backs this subpage, which can now be freed, or {@code -1} if the subpage
+     *         is still in use.
+     */
+    long releaseIfUnused() {
+        if (!doNotDestroy || elemSize == 0 || numAvail != maxNumElems) {
+            return -1;
+        }
+        doNotDestroy = false;
+        if (prev != null) {
+            removeFromPool();
+        }
+        return toHandle(0);
+    }
+
     private void addToPool(PoolSubpage head) {
         assert prev == null && next == null;
         prev = head;
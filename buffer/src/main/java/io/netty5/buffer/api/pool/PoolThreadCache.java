@@ -52,14 +52,26 @@ final class PoolThreadCache {
     private final MemoryRegionCache[] normalCaches;
 
     private final int freeSweepAllocationThreshold;
+    private final boolean adaptiveTrim;
 
     private int allocations;
 
     PoolThreadCache(PoolArena arena,
                     int smallCacheSize, int normalCacheSize, int maxCachedBufferCapacity,
                     int freeSweepAllocationThreshold) {
+        this(arena, smallCacheSize, normalCacheSize, maxCachedBufferCapacity, freeSweepAllocationThreshold, false);
+    }
+
+    /**
+     * @param adaptiveTrim If {@code true}, trimming sizes every cache by how much it was used since the last trim,
+     * instead of by how often it was allocated from, and releases empty chunks of the arena to the system.
+     */
+    PoolThreadCache(PoolArena arena,
+                    int smallCacheSize, int normalCacheSize, int maxCachedBufferCapacity,
+                    int freeSweepAllocationThreshold, boolean adaptiveTrim) {
         checkPositiveOrZero(maxCachedBufferCapacity, "maxCachedBufferCapacity");
         this.freeSweepAllocationThreshold = freeSweepAllocationThreshold;
+        this.adaptiveTrim = adaptiveTrim;
         if (arena != null) {
             // Create the caches for the heap allocations
             MemoryRegionCache[] smallSubPageCaches = createSubPageCaches(
@@ -219,25 +231,38 @@ final class PoolThreadCache {
 
     void trim() {
         if (arena != null) {
-            trim(smallSubPageCaches);
-            trim(normalCaches);
+            int numFreed = trim(smallSubPageCaches, adaptiveTrim) + trim(normalCaches, adaptiveTrim);
+            // Memory parked in the magazines of the arena is not used by anyone, but it keeps its chunks from ever
+            // becoming empty, so drain them as well.
+            numFreed += arena.freeMagazines();
+            if (adaptiveTrim && numFreed > 0) {
+                // Give empty chunks back to the system. Keep one around unless memory is getting scarce, so we don't
+                // churn chunks when the traffic is steady. Only bother when entries went back to the arena, as that
+                // is the only way trimming can leave chunks empty, and the walk holds the arena lock.
+                arena.reclaimEmptyChunks(arena.parent.isUnderMemoryPressure()? 0 : 1);
+            }
         }
     }
 
-    private static void trim(MemoryRegionCache[] caches) {
+    private static int trim(MemoryRegionCache[] caches, boolean adaptive) {
         if (caches == null) {
-            return;
+            return 0;
         }
+        int numFreed = 0;
         for (MemoryRegionCache c: caches) {
-            trim(c);
+            numFreed += trim(c, adaptive);
         }
+        return numFreed;
     }
 
-    private static void trim(MemoryRegionCache cache) {
+    private static int trim(MemoryRegionCache cache, boolean adaptive) {
         if (cache == null) {
-            return;
+            return 0;
         }
-        cache.trim();
+        if (adaptive) {
+            return cache.trimAdaptive();
+        }
+        return cache.trim();
     }
 
     private MemoryRegionCache cacheForSmall(int sizeIdx) {
@@ -296,6 +321,7 @@ final class PoolThreadCache {
         private final Queue<Entry> queue;
         private final SizeClass sizeClass;
         private int allocations;
+        private int misses;
 
         MemoryRegionCache(int size, SizeClass sizeClass) {
             this.size = MathUtil.safeFindNextPositivePowerOfTwo(size);
@@ -329,6 +355,8 @@ final class PoolThreadCache {
         public final UntetheredMemory allocate(int size, PoolThreadCache threadCache) {
             Entry entry = queue.poll();
             if (entry == null) {
+                // misses are not thread-safe either, for the same reason as allocations.
+                misses++;
                 return null;
             }
             UntetheredMemory buffer = allocBuf(entry.chunk, entry.handle, size, threadCache);
@@ -363,14 +391,34 @@ final class PoolThreadCache {
         /**
          * Free up cached {@link PoolChunk}s if not allocated frequently enough.
          */
-        public final void trim() {
+        public final int trim() {
             int free = size - allocations;
             allocations = 0;
+            misses = 0;
 
             // We not even allocated all the number that are
             if (free > 0) {
-                free(free);
+                return free(free);
             }
+            return 0;
+        }
+
+        /**
+         * Free up cached {@link PoolChunk}s beyond what was asked of this cache since the last trim.
+         * <p>
+         * A cache that was not used at all is emptied. Otherwise, it keeps as many entries as were requested from it,
+         * hits and misses alike, so caches that are too small for the current load are not trimmed further.
+         */
+        public final int trimAdaptive() {
+            int demand = allocations + misses;
+            allocations = 0;
+            misses = 0;
+
+            int free = queue.size() - Math.min(size, demand);
+            if (free > 0) {
+                return free(free);
+            }
+            return 0;
         }
 
         private  void freeEntry(Entry entry) {
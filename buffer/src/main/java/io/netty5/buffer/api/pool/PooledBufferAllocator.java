@@ -39,6 +39,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 
 import static io.netty5.buffer.api.internal.Statics.allocatorClosedException;
@@ -61,6 +62,11 @@ public class PooledBufferAllocator implements BufferAllocator, BufferAllocatorMe
     private static final boolean DEFAULT_USE_CACHE_FOR_ALL_THREADS;
     private static final int DEFAULT_DIRECT_MEMORY_CACHE_ALIGNMENT;
     static final int DEFAULT_MAX_CACHED_BYTEBUFFERS_PER_CHUNK;
+    private static final int DEFAULT_MAGAZINE_SIZE;
+    private static final boolean DEFAULT_HUGE_PAGES;
+    private static final boolean DEFAULT_NUMA_AWARE;
+    private static final boolean DEFAULT_ADAPTIVE_CACHE_TRIM;
+    private static final int DEFAULT_MEMORY_PRESSURE_PERCENT;
 
     private static final int MIN_PAGE_SIZE = 4096;
     private static final int MAX_CHUNK_SIZE = (int) (((long) Integer.MAX_VALUE + 1) / 2);
@@ -143,6 +149,22 @@ public class PooledBufferAllocator implements BufferAllocator, BufferAllocatorMe
         DEFAULT_MAX_CACHED_BYTEBUFFERS_PER_CHUNK = SystemPropertyUtil.getInt(
                 "io.netty5.allocator.maxCachedByteBuffersPerChunk", 1023);
 
+        // The number of entries per size class in each of the striped lock-free magazines that sit in front of the
+        // arenas. Disabled by default.
+        DEFAULT_MAGAZINE_SIZE = Math.max(0, SystemPropertyUtil.getInt("io.netty5.allocator.magazineSize", 0));
+
+        // Advise the OS to back direct chunks with transparent huge pages, and to place them on the NUMA node of the
+        // threads using the arena. Both fall back to ordinary allocations where the platform has no support for it.
+        DEFAULT_HUGE_PAGES = SystemPropertyUtil.getBoolean("io.netty5.allocator.hugePages", false);
+        DEFAULT_NUMA_AWARE = SystemPropertyUtil.getBoolean("io.netty5.allocator.numaAware", false);
+
+        // Trim thread local caches by how much they have been used since the last trim, and release empty chunks
+        // back to the system when trimming. All empty chunks are released when the memory usage of the process is
+        // above the memory pressure percentage of the maximum memory.
+        DEFAULT_ADAPTIVE_CACHE_TRIM = SystemPropertyUtil.getBoolean("io.netty5.allocator.adaptiveCacheTrim", false);
+        DEFAULT_MEMORY_PRESSURE_PERCENT = Math.min(100, Math.max(0, SystemPropertyUtil.getInt(
+                "io.netty5.allocator.memoryPressurePercent", 75)));
+
         if (logger.isDebugEnabled()) {
             logger.debug("-Dio.netty5.allocator.numArenas: {}", DEFAULT_NUM_HEAP_ARENA);
             logger.debug("-Dio.netty5.allocator.numDirectArenas: {}", DEFAULT_NUM_DIRECT_ARENA);
@@ -165,6 +187,11 @@ public class PooledBufferAllocator implements BufferAllocator, BufferAllocatorMe
             logger.debug("-Dio.netty5.allocator.useCacheForAllThreads: {}", DEFAULT_USE_CACHE_FOR_ALL_THREADS);
             logger.debug("-Dio.netty5.allocator.maxCachedByteBuffersPerChunk: {}",
                     DEFAULT_MAX_CACHED_BYTEBUFFERS_PER_CHUNK);
+            logger.debug("-Dio.netty5.allocator.magazineSize: {}", DEFAULT_MAGAZINE_SIZE);
+            logger.debug("-Dio.netty5.allocator.hugePages: {}", DEFAULT_HUGE_PAGES);
+            logger.debug("-Dio.netty5.allocator.numaAware: {}", DEFAULT_NUMA_AWARE);
+            logger.debug("-Dio.netty5.allocator.adaptiveCacheTrim: {}", DEFAULT_ADAPTIVE_CACHE_TRIM);
+            logger.debug("-Dio.netty5.allocator.memoryPressurePercent: {}", DEFAULT_MEMORY_PRESSURE_PERCENT);
         }
     }
 
@@ -173,6 +200,7 @@ public class PooledBufferAllocator implements BufferAllocator, BufferAllocatorMe
     private final PoolArena[] arenas;
     private final int smallCacheSize;
     private final int normalCacheSize;
+    private final IntSupplier numaNodeResolver;
     private final List<PoolArenaMetric> arenaMetrics;
     private final List<PoolArenaMetric> arenaMetricsView;
     private final PoolThreadLocalCache threadCache;
@@ -204,11 +232,42 @@ public class PooledBufferAllocator implements BufferAllocator, BufferAllocatorMe
     public PooledBufferAllocator(MemoryManager manager, boolean direct, int numArenas, int pageSize, int maxOrder,
                                  int smallCacheSize, int normalCacheSize,
                                  boolean useCacheForAllThreads, int directMemoryCacheAlignment) {
+        this(manager, direct, numArenas, pageSize, maxOrder,
+             smallCacheSize, normalCacheSize,
+             useCacheForAllThreads, directMemoryCacheAlignment, DEFAULT_MAGAZINE_SIZE);
+    }
+
+    /**
+     * Create a new pooled allocator.
+     * <p>
+     * If {@code magazineSize} is greater than zero, every arena gets striped, lock-free magazines of that size for
+     * each of the small and normal size classes up to the maximum cached buffer capacity. Allocations that can not be
+     * served from the thread local cache are tried against these magazines before the arena is locked, and memory
+     * that does not fit into the thread local cache is parked there when released.
+     */
+    public PooledBufferAllocator(MemoryManager manager, boolean direct, int numArenas, int pageSize, int maxOrder,
+                                 int smallCacheSize, int normalCacheSize,
+                                 boolean useCacheForAllThreads, int directMemoryCacheAlignment, int magazineSize) {
+        this(manager, direct, numArenas, pageSize, maxOrder,
+             smallCacheSize, normalCacheSize,
+             useCacheForAllThreads, directMemoryCacheAlignment, magazineSize,
+             DEFAULT_NUMA_AWARE && ChunkPlacement.isNumaSupported()? ChunkPlacement::currentNumaNode : null);
+    }
+
+    /**
+     * Create a new pooled allocator, that binds the direct arenas to the NUMA nodes that are returned by the given
+     * resolver for the threads that use them, or is not NUMA-aware if the resolver is {@code null}.
+     */
+    PooledBufferAllocator(MemoryManager manager, boolean direct, int numArenas, int pageSize, int maxOrder,
+                          int smallCacheSize, int normalCacheSize,
+                          boolean useCacheForAllThreads, int directMemoryCacheAlignment, int magazineSize,
+                          IntSupplier numaNodeResolver) {
         this.manager = requireNonNull(manager, "MemoryManager");
         allocationType = direct? StandardAllocationTypes.OFF_HEAP : StandardAllocationTypes.ON_HEAP;
         threadCache = new PoolThreadLocalCache(useCacheForAllThreads);
         this.smallCacheSize = smallCacheSize;
         this.normalCacheSize = normalCacheSize;
+        this.numaNodeResolver = numaNodeResolver;
 
         if (directMemoryCacheAlignment != 0) {
             if (!PlatformDependent.hasAlignDirectByteBuffer()) {
@@ -225,6 +284,7 @@ public class PooledBufferAllocator implements BufferAllocator, BufferAllocatorMe
         checkPositiveOrZero(numArenas, "numArenas");
 
         checkPositiveOrZero(directMemoryCacheAlignment, "directMemoryCacheAlignment");
+        checkPositiveOrZero(magazineSize, "magazineSize");
         if (directMemoryCacheAlignment > 0 && !isDirectMemoryCacheAlignmentSupported()) {
             throw new IllegalArgumentException("directMemoryCacheAlignment is not supported");
         }
@@ -242,7 +302,7 @@ public class PooledBufferAllocator implements BufferAllocator, BufferAllocatorMe
             for (int i = 0; i < arenas.length; i ++) {
                 PoolArena arena = new PoolArena(this, manager, allocationType,
                         pageSize, pageShifts, chunkSize,
-                        directMemoryCacheAlignment);
+                        directMemoryCacheAlignment, magazineSize, DEFAULT_HUGE_PAGES, numaNodeResolver != null);
                 arenas[i] = arena;
                 metrics.add(arena);
             }
@@ -419,6 +479,35 @@ public class PooledBufferAllocator implements BufferAllocator, BufferAllocatorMe
         return DEFAULT_NORMAL_CACHE_SIZE;
     }
 
+    /**
+     * Default magazine size - System Property: io.netty5.allocator.magazineSize - default 0 (disabled)
+     */
+    public static int defaultMagazineSize() {
+        return DEFAULT_MAGAZINE_SIZE;
+    }
+
+    /**
+     * Default adaptive cache trimming behavior - System Property: io.netty5.allocator.adaptiveCacheTrim
+     * - default false
+     */
+    public static boolean defaultAdaptiveCacheTrim() {
+        return DEFAULT_ADAPTIVE_CACHE_TRIM;
+    }
+
+    /**
+     * Default huge pages behavior - System Property: io.netty5.allocator.hugePages - default false
+     */
+    public static boolean defaultHugePages() {
+        return DEFAULT_HUGE_PAGES;
+    }
+
+    /**
+     * Default NUMA awareness - System Property: io.netty5.allocator.numaAware - default false
+     */
+    public static boolean defaultNumaAware() {
+        return DEFAULT_NUMA_AWARE;
+    }
+
     /**
      * Return {@code true} if direct memory cache alignment is supported, {@code false} otherwise.
      */
@@ -443,7 +532,8 @@ public class PooledBufferAllocator implements BufferAllocator, BufferAllocatorMe
 
         @Override
         protected synchronized PoolThreadCache initialValue() {
-            final PoolArena arena = leastUsedArena(arenas);
+            final PoolArena arena = numaNodeResolver != null?
+                    leastUsedArena(arenas, numaNodeResolver.getAsInt()) : leastUsedArena(arenas);
 
             final Thread current = Thread.currentThread();
             final EventExecutor executor = ThreadExecutorMap.currentExecutor();
@@ -455,7 +545,7 @@ public class PooledBufferAllocator implements BufferAllocator, BufferAllocatorMe
                 executor != null) {
                 final PoolThreadCache cache = new PoolThreadCache(
                         arena, smallCacheSize, normalCacheSize,
-                        DEFAULT_MAX_CACHED_BUFFER_CAPACITY, DEFAULT_CACHE_TRIM_INTERVAL);
+                        DEFAULT_MAX_CACHED_BUFFER_CAPACITY, DEFAULT_CACHE_TRIM_INTERVAL, DEFAULT_ADAPTIVE_CACHE_TRIM);
 
                 if (DEFAULT_CACHE_TRIM_INTERVAL_MILLIS > 0) {
                     if (executor != null) {
@@ -491,6 +581,31 @@ public class PooledBufferAllocator implements BufferAllocator, BufferAllocatorMe
         return minArena;
     }
 
+    /**
+     * Find the least used arena among those that are bound to the given NUMA node, or not bound to any node yet.
+     * If the chosen arena was not bound yet, it is bound to the node.
+     */
+    static PoolArena leastUsedArena(PoolArena[] arenas, int numaNode) {
+        if (arenas == null || arenas.length == 0 || numaNode < 0 || !arenas[0].numaAware) {
+            return leastUsedArena(arenas);
+        }
+
+        PoolArena minArena = null;
+        for (PoolArena arena : arenas) {
+            int arenaNode = arena.numaNode.get();
+            if ((arenaNode == numaNode || arenaNode == -1) &&
+                (minArena == null || arena.numThreadCaches.get() < minArena.numThreadCaches.get())) {
+                minArena = arena;
+            }
+        }
+        if (minArena == null) {
+            // All arenas are bound to other nodes.
+            return leastUsedArena(arenas);
+        }
+        minArena.numaNode.compareAndSet(-1, numaNode);
+        return minArena;
+    }
+
     @Override
     public BufferAllocatorMetric metric() {
         return metric;
@@ -597,6 +712,59 @@ public class PooledBufferAllocator implements BufferAllocator, BufferAllocatorMe
         return false;
     }
 
+    /**
+     * Destroy all chunks of all arenas that currently have no memory allocated from them, and so give their memory
+     * back to the system. Memory that is held by thread local caches still counts as allocated, so it can be useful to
+     * call {@link #trimCurrentThreadCache()} first.
+     *
+     * Returns the number of bytes that were released.
+     */
+    public long reclaimEmptyChunks() {
+        if (arenas == null) {
+            return 0;
+        }
+        long reclaimed = 0;
+        for (PoolArena arena : arenas) {
+            if (arena != null) {
+                arena.freeMagazines();
+                reclaimed += arena.reclaimEmptyChunks(0);
+            }
+        }
+        return reclaimed;
+    }
+
+    final long reclaimedMemory() {
+        if (arenas == null) {
+            return 0;
+        }
+        long reclaimed = 0;
+        for (PoolArena arena : arenas) {
+            if (arena != null) {
+                reclaimed += arena.numReclaimedBytes();
+            }
+        }
+        return reclaimed;
+    }
+
+    /**
+     * Returns {@code true} if the memory that this allocator allocates from is above the
+     * {@code io.netty5.allocator.memoryPressurePercent} of the maximum that is available to it.
+     */
+    final boolean isUnderMemoryPressure() {
+        long used;
+        long max;
+        if (allocationType == StandardAllocationTypes.OFF_HEAP) {
+            // The JDK may not be tracking the direct memory, so take our own usage into account as well.
+            used = Math.max(PlatformDependent.usedDirectMemory(), usedMemory());
+            max = PlatformDependent.maxDirectMemory();
+        } else {
+            Runtime runtime = Runtime.getRuntime();
+            used = runtime.totalMemory() - runtime.freeMemory();
+            max = runtime.maxMemory();
+        }
+        return max > 0 && used >= max / 100 * DEFAULT_MEMORY_PRESSURE_PERCENT;
+    }
+
     /**
      * Returns the status of the allocator (which contains all metrics) as string. Be aware this may be expensive
      * and so should not be called too frequently.
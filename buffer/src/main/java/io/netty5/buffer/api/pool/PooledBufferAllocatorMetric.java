@@ -70,12 +70,18 @@ final class PooledBufferAllocatorMetric implements BufferAllocatorMetric {
         return allocator.pinnedMemory();
     }
 
+    @Override
+    public long reclaimedMemory() {
+        return allocator.reclaimedMemory();
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder(256);
         sb.append(StringUtil.simpleClassName(this))
                 .append("(usedMemory: ").append(usedMemory())
                 .append("; pinnedMemory: ").append(pinnedMemory())
+                .append("; reclaimedMemory: ").append(reclaimedMemory())
                 .append("; numArenas: ").append(numArenas())
                 .append("; smallCacheSize: ").append(smallCacheSize())
                 .append("; normalCacheSize: ").append(normalCacheSize())
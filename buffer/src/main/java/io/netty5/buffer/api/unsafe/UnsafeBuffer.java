@@ -31,9 +31,12 @@ import io.netty5.buffer.api.WritableComponent;
 import io.netty5.buffer.api.WritableComponentProcessor;
 import io.netty5.buffer.api.internal.AdaptableBuffer;
 import io.netty5.buffer.api.internal.NotReadOnlyReadableComponent;
+import io.netty5.buffer.api.internal.SearchableMemory;
 import io.netty5.buffer.api.internal.SingleComponentIterator;
 import io.netty5.buffer.api.internal.Statics;
 import io.netty5.buffer.api.internal.Statics.UncheckedLoadByte;
+import io.netty5.buffer.api.internal.VectorizedSearch;
+import io.netty5.util.ByteProcessor;
 import io.netty5.util.internal.PlatformDependent;
 import io.netty5.util.internal.UnsafeAccess;
 import sun.misc.Unsafe;
@@ -50,15 +53,18 @@ import java.nio.channels.WritableByteChannel;
 import static io.netty5.buffer.api.internal.Statics.MAX_BUFFER_SIZE;
 import static io.netty5.buffer.api.internal.Statics.bbslice;
 import static io.netty5.buffer.api.internal.Statics.bufferIsReadOnly;
+import static io.netty5.buffer.api.internal.Statics.checkBulkTransferArgs;
 import static io.netty5.buffer.api.internal.Statics.checkImplicitCapacity;
 import static io.netty5.buffer.api.internal.Statics.checkLength;
 import static io.netty5.buffer.api.internal.Statics.nativeAddressWithOffset;
 import static io.netty5.util.internal.ObjectUtil.checkPositiveOrZero;
 import static io.netty5.util.internal.PlatformDependent.roundToPowerOfTwo;
+import static java.util.Objects.requireNonNull;
 
 @UnsafeAccess
 final class UnsafeBuffer extends AdaptableBuffer<UnsafeBuffer>
-        implements ReadableComponent, WritableComponent, NotReadOnlyReadableComponent, ComponentIterator.Next {
+        implements ReadableComponent, WritableComponent, NotReadOnlyReadableComponent, ComponentIterator.Next,
+                   SearchableMemory {
     private static final int CLOSED_SIZE = -1;
     private static final boolean ACCESS_UNALIGNED = PlatformDependent.isUnaligned();
     private static final boolean FLIP_BYTES = ByteOrder.BIG_ENDIAN != ByteOrder.nativeOrder();
@@ -399,6 +405,9 @@ final class UnsafeBuffer extends AdaptableBuffer<UnsafeBuffer>
             final int end = woff;
             final long addr = address;
 
+            if (length >= VectorizedSearch.minLength() && VectorizedSearch.isSearchable(base)) {
+                return VectorizedSearch.indexOf(base, searchableOffset(offset), length, needle);
+            }
             if (length > 7) {
                 final long pattern = (needle & 0xFFL) * 0x101010101010101L;
                 for (final int longEnd = offset + (length >>> 3) * Long.BYTES;
@@ -451,6 +460,236 @@ final class UnsafeBuffer extends AdaptableBuffer<UnsafeBuffer>
         return UNSAFE.getByte(unsafeBuffer.base, unsafeBuffer.address + offset);
     }
 
+    @Override
+    public Buffer writeShorts(short[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(source.length, srcPos, length, Short.BYTES);
+        boolean reverse = requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        checkWrite(woff, byteLength, true);
+        long offset = address + woff;
+        try {
+            if (order == ByteOrder.nativeOrder()) {
+                long arrayOffset = Unsafe.ARRAY_SHORT_BASE_OFFSET + (long) srcPos * Short.BYTES;
+                PlatformDependent.copyMemory(source, arrayOffset, base, offset, byteLength);
+            } else {
+                for (int i = srcPos, end = srcPos + length; i < end; i++, offset += Short.BYTES) {
+                    short value = source[i];
+                    storeShort(offset, reverse? Short.reverseBytes(value) : value);
+                }
+            }
+        } finally {
+            Reference.reachabilityFence(memory);
+        }
+        woff += byteLength;
+        return this;
+    }
+
+    @Override
+    public Buffer readShorts(short[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(destination.length, destPos, length, Short.BYTES);
+        boolean reverse = requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        checkRead(roff, byteLength);
+        long offset = address + roff;
+        try {
+            if (order == ByteOrder.nativeOrder()) {
+                long arrayOffset = Unsafe.ARRAY_SHORT_BASE_OFFSET + (long) destPos * Short.BYTES;
+                PlatformDependent.copyMemory(base, offset, destination, arrayOffset, byteLength);
+            } else {
+                for (int i = destPos, end = destPos + length; i < end; i++, offset += Short.BYTES) {
+                    short value = loadShort(offset);
+                    destination[i] = reverse? Short.reverseBytes(value) : value;
+                }
+            }
+        } finally {
+            Reference.reachabilityFence(memory);
+        }
+        roff += byteLength;
+        return this;
+    }
+
+    @Override
+    public Buffer writeInts(int[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(source.length, srcPos, length, Integer.BYTES);
+        boolean reverse = requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        checkWrite(woff, byteLength, true);
+        long offset = address + woff;
+        try {
+            if (order == ByteOrder.nativeOrder()) {
+                long arrayOffset = Unsafe.ARRAY_INT_BASE_OFFSET + (long) srcPos * Integer.BYTES;
+                PlatformDependent.copyMemory(source, arrayOffset, base, offset, byteLength);
+            } else {
+                for (int i = srcPos, end = srcPos + length; i < end; i++, offset += Integer.BYTES) {
+                    int value = source[i];
+                    storeInt(offset, reverse? Integer.reverseBytes(value) : value);
+                }
+            }
+        } finally {
+            Reference.reachabilityFence(memory);
+        }
+        woff += byteLength;
+        return this;
+    }
+
+    @Override
+    public Buffer readInts(int[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(destination.length, destPos, length, Integer.BYTES);
+        boolean reverse = requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        checkRead(roff, byteLength);
+        long offset = address + roff;
+        try {
+            if (order == ByteOrder.nativeOrder()) {
+                long arrayOffset = Unsafe.ARRAY_INT_BASE_OFFSET + (long) destPos * Integer.BYTES;
+                PlatformDependent.copyMemory(base, offset, destination, arrayOffset, byteLength);
+            } else {
+                for (int i = destPos, end = destPos + length; i < end; i++, offset += Integer.BYTES) {
+                    int value = loadInt(offset);
+                    destination[i] = reverse? Integer.reverseBytes(value) : value;
+                }
+            }
+        } finally {
+            Reference.reachabilityFence(memory);
+        }
+        roff += byteLength;
+        return this;
+    }
+
+    @Override
+    public Buffer writeLongs(long[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(source.length, srcPos, length, Long.BYTES);
+        boolean reverse = requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        checkWrite(woff, byteLength, true);
+        long offset = address + woff;
+        try {
+            if (order == ByteOrder.nativeOrder()) {
+                long arrayOffset = Unsafe.ARRAY_LONG_BASE_OFFSET + (long) srcPos * Long.BYTES;
+                PlatformDependent.copyMemory(source, arrayOffset, base, offset, byteLength);
+            } else {
+                for (int i = srcPos, end = srcPos + length; i < end; i++, offset += Long.BYTES) {
+                    long value = source[i];
+                    storeLong(offset, reverse? Long.reverseBytes(value) : value);
+                }
+            }
+        } finally {
+            Reference.reachabilityFence(memory);
+        }
+        woff += byteLength;
+        return this;
+    }
+
+    @Override
+    public Buffer readLongs(long[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(destination.length, destPos, length, Long.BYTES);
+        boolean reverse = requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        checkRead(roff, byteLength);
+        long offset = address + roff;
+        try {
+            if (order == ByteOrder.nativeOrder()) {
+                long arrayOffset = Unsafe.ARRAY_LONG_BASE_OFFSET + (long) destPos * Long.BYTES;
+                PlatformDependent.copyMemory(base, offset, destination, arrayOffset, byteLength);
+            } else {
+                for (int i = destPos, end = destPos + length; i < end; i++, offset += Long.BYTES) {
+                    long value = loadLong(offset);
+                    destination[i] = reverse? Long.reverseBytes(value) : value;
+                }
+            }
+        } finally {
+            Reference.reachabilityFence(memory);
+        }
+        roff += byteLength;
+        return this;
+    }
+
+    @Override
+    public Buffer writeFloats(float[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(source.length, srcPos, length, Float.BYTES);
+        boolean reverse = requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        checkWrite(woff, byteLength, true);
+        long offset = address + woff;
+        try {
+            if (order == ByteOrder.nativeOrder()) {
+                long arrayOffset = Unsafe.ARRAY_FLOAT_BASE_OFFSET + (long) srcPos * Float.BYTES;
+                PlatformDependent.copyMemory(source, arrayOffset, base, offset, byteLength);
+            } else {
+                for (int i = srcPos, end = srcPos + length; i < end; i++, offset += Float.BYTES) {
+                    int value = Float.floatToRawIntBits(source[i]);
+                    storeInt(offset, reverse? Integer.reverseBytes(value) : value);
+                }
+            }
+        } finally {
+            Reference.reachabilityFence(memory);
+        }
+        woff += byteLength;
+        return this;
+    }
+
+    @Override
+    public Buffer readFloats(float[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(destination.length, destPos, length, Float.BYTES);
+        boolean reverse = requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        checkRead(roff, byteLength);
+        long offset = address + roff;
+        try {
+            if (order == ByteOrder.nativeOrder()) {
+                long arrayOffset = Unsafe.ARRAY_FLOAT_BASE_OFFSET + (long) destPos * Float.BYTES;
+                PlatformDependent.copyMemory(base, offset, destination, arrayOffset, byteLength);
+            } else {
+                for (int i = destPos, end = destPos + length; i < end; i++, offset += Float.BYTES) {
+                    int value = loadInt(offset);
+                    destination[i] = Float.intBitsToFloat(reverse? Integer.reverseBytes(value) : value);
+                }
+            }
+        } finally {
+            Reference.reachabilityFence(memory);
+        }
+        roff += byteLength;
+        return this;
+    }
+
+    @Override
+    public Buffer writeDoubles(double[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(source.length, srcPos, length, Double.BYTES);
+        boolean reverse = requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        checkWrite(woff, byteLength, true);
+        long offset = address + woff;
+        try {
+            if (order == ByteOrder.nativeOrder()) {
+                long arrayOffset = Unsafe.ARRAY_DOUBLE_BASE_OFFSET + (long) srcPos * Double.BYTES;
+                PlatformDependent.copyMemory(source, arrayOffset, base, offset, byteLength);
+            } else {
+                for (int i = srcPos, end = srcPos + length; i < end; i++, offset += Double.BYTES) {
+                    long value = Double.doubleToRawLongBits(source[i]);
+                    storeLong(offset, reverse? Long.reverseBytes(value) : value);
+                }
+            }
+        } finally {
+            Reference.reachabilityFence(memory);
+        }
+        woff += byteLength;
+        return this;
+    }
+
+    @Override
+    public Buffer readDoubles(double[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(destination.length, destPos, length, Double.BYTES);
+        boolean reverse = requireNonNull(order, "order") != ByteOrder.BIG_ENDIAN;
+        checkRead(roff, byteLength);
+        long offset = address + roff;
+        try {
+            if (order == ByteOrder.nativeOrder()) {
+                long arrayOffset = Unsafe.ARRAY_DOUBLE_BASE_OFFSET + (long) destPos * Double.BYTES;
+                PlatformDependent.copyMemory(base, offset, destination, arrayOffset, byteLength);
+            } else {
+                for (int i = destPos, end = destPos + length; i < end; i++, offset += Double.BYTES) {
+                    long value = loadLong(offset);
+                    destination[i] = Double.longBitsToDouble(reverse? Long.reverseBytes(value) : value);
+                }
+            }
+        } finally {
+            Reference.reachabilityFence(memory);
+        }
+        roff += byteLength;
+        return this;
+    }
+
     @Override
     public ByteCursor openCursor() {
         return openCursor(readerOffset(), readableBytes());
@@ -1639,6 +1878,21 @@ final class UnsafeBuffer extends AdaptableBuffer<UnsafeBuffer>
         storeLong(offset, Double.doubleToRawLongBits(value));
     }
 
+    @Override
+    public Object searchableMemory() {
+        return base;
+    }
+
+    @Override
+    public long searchableOffset(int offset) {
+        return searchableOffset(base, address, offset);
+    }
+
+    private static long searchableOffset(Object base, long address, int offset) {
+        // Heap memory is searched by array index, and native memory by address.
+        return base == null? address + offset : address + offset - PlatformDependent.byteArrayBaseOffset();
+    }
+
     Object recover() {
         return memory;
     }
@@ -1682,6 +1936,28 @@ final class UnsafeBuffer extends AdaptableBuffer<UnsafeBuffer>
             return false;
         }
 
+        @Override
+        public int process(ByteProcessor processor) {
+            final int found;
+            try {
+                found = Statics.vectorizedProcess(
+                        processor, baseObj, searchableOffset(baseObj, baseAddress, index), end - index);
+            } finally {
+                Reference.reachabilityFence(memory);
+            }
+            if (found == Statics.NOT_VECTORIZED) {
+                return ByteCursor.super.process(processor);
+            }
+            // Leave the cursor in the same state as the byte-by-byte processing would.
+            index = found == -1? end : index + found + 1;
+            try {
+                byteValue = PlatformDependent.getByte(baseObj, baseAddress + index - 1);
+            } finally {
+                Reference.reachabilityFence(memory);
+            }
+            return found;
+        }
+
         @Override
         public byte getByte() {
             return byteValue;
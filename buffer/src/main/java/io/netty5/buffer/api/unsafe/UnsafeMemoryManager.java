@@ -22,12 +22,14 @@ import io.netty5.buffer.api.Drop;
 import io.netty5.buffer.api.MemoryManager;
 import io.netty5.buffer.api.StandardAllocationTypes;
 import io.netty5.buffer.api.internal.ArcDrop;
+import io.netty5.buffer.api.internal.MappedFileAllocation;
 import io.netty5.buffer.api.internal.Statics;
 import io.netty5.buffer.api.internal.WrappingAllocation;
 import io.netty5.util.internal.PlatformDependent;
 import io.netty5.util.internal.SystemPropertyUtil;
 
 import java.lang.ref.Cleaner;
+import java.nio.MappedByteBuffer;
 import java.util.function.Function;
 
 import static io.netty5.buffer.api.internal.Statics.convert;
@@ -85,6 +87,12 @@ public final class UnsafeMemoryManager implements MemoryManager {
             base = ((WrappingAllocation) allocationType).getArray();
             address = PlatformDependent.byteArrayBaseOffset();
             memory = new UnsafeMemory(base, address, size32);
+        } else if (allocationType instanceof MappedFileAllocation) {
+            MappedByteBuffer mapped = ((MappedFileAllocation) allocationType).map();
+            base = null;
+            address = PlatformDependent.directBufferAddress(mapped);
+            memory = new UnsafeMemory(base, address, size32);
+            drop = MappedFileAllocation.unmapOnDrop(mapped);
         } else {
             throw new IllegalArgumentException("Unknown allocation type: " + allocationType);
         }
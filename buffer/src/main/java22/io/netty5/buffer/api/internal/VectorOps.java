@@ -0,0 +1,137 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.buffer.api.internal;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteOrder;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+
+/**
+ * The vector API code behind {@link VectorizedSearch}.
+ * This class must only be loaded when the {@code jdk.incubator.vector} module is present.
+ */
+final class VectorOps {
+    // The needle search turns a mask into a long, which only works for species of at most 64 lanes.
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED.length() <= Long.SIZE?
+            ByteVector.SPECIES_PREFERRED : ByteVector.SPECIES_512;
+    private static final ByteOrder ORDER = ByteOrder.nativeOrder();
+
+    private VectorOps() {
+    }
+
+    static int vectorLength() {
+        return SPECIES.length();
+    }
+
+    static int indexOf(MemorySegment segment, byte needle) {
+        final int length = (int) segment.byteSize();
+        final int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            VectorMask<Byte> found = load(segment, i).eq(needle);
+            if (found.anyTrue()) {
+                return i + found.firstTrue();
+            }
+        }
+        for (; i < length; i++) {
+            if (segment.get(JAVA_BYTE, i) == needle) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int indexOfEither(MemorySegment segment, byte needleA, byte needleB) {
+        final int length = (int) segment.byteSize();
+        final int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            ByteVector vector = load(segment, i);
+            VectorMask<Byte> found = vector.eq(needleA).or(vector.eq(needleB));
+            if (found.anyTrue()) {
+                return i + found.firstTrue();
+            }
+        }
+        for (; i < length; i++) {
+            byte value = segment.get(JAVA_BYTE, i);
+            if (value == needleA || value == needleB) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int indexOfNonAscii(MemorySegment segment) {
+        final int length = (int) segment.byteSize();
+        final int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            VectorMask<Byte> found = load(segment, i).lt((byte) 0);
+            if (found.anyTrue()) {
+                return i + found.firstTrue();
+            }
+        }
+        for (; i < length; i++) {
+            if (segment.get(JAVA_BYTE, i) < 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int indexOf(MemorySegment haystack, MemorySegment needle) {
+        final int length = (int) haystack.byteSize();
+        final int needleLength = (int) needle.byteSize();
+        final int last = needleLength - 1;
+        final byte first = needle.get(JAVA_BYTE, 0);
+        final byte lastByte = needle.get(JAVA_BYTE, last);
+        // Compare the first and last needle bytes against a whole vector of candidate positions at a time,
+        // and only check the full needle at the positions where both of them match.
+        final int vectorLength = SPECIES.length();
+        int i = 0;
+        for (; i + last + vectorLength <= length; i += vectorLength) {
+            VectorMask<Byte> candidates = load(haystack, i).eq(first).and(load(haystack, i + last).eq(lastByte));
+            long bits = candidates.toLong();
+            while (bits != 0) {
+                int index = i + Long.numberOfTrailingZeros(bits);
+                if (matches(haystack, index, needle, needleLength)) {
+                    return index;
+                }
+                bits &= bits - 1;
+            }
+        }
+        for (; i + last < length; i++) {
+            if (haystack.get(JAVA_BYTE, i) == first && haystack.get(JAVA_BYTE, i + last) == lastByte &&
+                    matches(haystack, i, needle, needleLength)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean matches(MemorySegment haystack, int index, MemorySegment needle, int needleLength) {
+        return MemorySegment.mismatch(haystack, index, index + needleLength, needle, 0, needleLength) == -1;
+    }
+
+    private static ByteVector load(MemorySegment segment, long offset) {
+        return ByteVector.fromMemorySegment(SPECIES, segment, offset, ORDER);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.buffer.api.internal;
+
+import io.netty5.util.internal.SystemPropertyUtil;
+import io.netty5.util.internal.logging.InternalLogger;
+import io.netty5.util.internal.logging.InternalLoggerFactory;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+
+/**
+ * Search and compare primitives that are implemented with the {@code jdk.incubator.vector} API.
+ * <p>
+ * The vector API is an incubator module, so it is only used when it has been added to the module graph, for instance
+ * with {@code --add-modules jdk.incubator.vector}. It can be turned off with the
+ * {@code io.netty5.buffer.vectorizedSearch} system property.
+ * <p>
+ * Native memory that is only known by its address can only be searched when native access has been enabled for this
+ * module, for instance with {@code --enable-native-access=io.netty5.buffer}, or {@code ALL-UNNAMED} on the class
+ * path. Otherwise, wrapping the address would print a warning, and {@link #isSearchable(Object)} returns
+ * {@code false} for such memory, so that callers use their scalar code instead.
+ * <p>
+ * The memory that the methods operate on is described by a memory object and an offset, as returned by
+ * {@link SearchableMemory#searchableMemory()} and {@link SearchableMemory#searchableOffset(int)}.
+ */
+public final class VectorizedSearch {
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(VectorizedSearch.class);
+    private static final boolean AVAILABLE;
+    private static final int MIN_LENGTH;
+    private static final boolean NATIVE_ACCESS = VectorizedSearch.class.getModule().isNativeAccessEnabled();
+
+    static {
+        boolean available = false;
+        int minLength = Integer.MAX_VALUE;
+        if (SystemPropertyUtil.getBoolean("io.netty5.buffer.vectorizedSearch", true) &&
+                ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                int vectorLength = VectorOps.vectorLength();
+                // Scalar code is as fast for regions that only fill a few vectors.
+                minLength = Math.max(32, 2 * vectorLength);
+                available = vectorLength > 1;
+            } catch (Throwable e) {
+                logger.debug("The vector API is not usable.", e);
+            }
+        }
+        AVAILABLE = available;
+        MIN_LENGTH = available? minLength : Integer.MAX_VALUE;
+        logger.debug("-Dio.netty5.buffer.vectorizedSearch: {}", AVAILABLE);
+        logger.debug("Vectorized search of native addresses: {}", AVAILABLE && NATIVE_ACCESS);
+    }
+
+    private VectorizedSearch() {
+    }
+
+    /**
+     * @return {@code true} if the vectorized implementations are available.
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * The smallest number of bytes where the vectorized implementations are expected to be faster than scalar code.
+     * This is {@link Integer#MAX_VALUE} if the vectorized implementations are not available, so checking a length
+     * against this value is enough to decide which implementation to use.
+     *
+     * @return The minimum length for vectorized operations.
+     */
+    public static int minLength() {
+        return MIN_LENGTH;
+    }
+
+    /**
+     * Check if the given memory object can be passed to the search methods.
+     *
+     * @param memory The memory object, as returned by {@link SearchableMemory#searchableMemory()}.
+     * @return {@code true} if the memory can be searched by the vectorized implementations.
+     */
+    public static boolean isSearchable(Object memory) {
+        return AVAILABLE && (memory != null || NATIVE_ACCESS);
+    }
+
+    /**
+     * Find the first occurrence of the given byte.
+     *
+     * @return The index of the needle relative to the given offset, or {@code -1} if not found.
+     */
+    public static int indexOf(Object memory, long offset, int length, byte needle) {
+        return VectorOps.indexOf(segment(memory, offset, length), needle);
+    }
+
+    /**
+     * Find the first occurrence of either of the given bytes.
+     *
+     * @return The index of the first byte matching either needle, relative to the given offset,
+     * or {@code -1} if not found.
+     */
+    public static int indexOfEither(Object memory, long offset, int length, byte needleA, byte needleB) {
+        return VectorOps.indexOfEither(segment(memory, offset, length), needleA, needleB);
+    }
+
+    /**
+     * Find the first byte that is not {@code US-ASCII}.
+     *
+     * @return The index of the first negative byte, relative to the given offset, or {@code -1} if not found.
+     */
+    public static int indexOfNonAscii(Object memory, long offset, int length) {
+        return VectorOps.indexOfNonAscii(segment(memory, offset, length));
+    }
+
+    /**
+     * Find the first occurrence of the needle bytes, which must be at least two bytes long.
+     *
+     * @return The index of the needle relative to the given offset, or {@code -1} if not found.
+     */
+    public static int indexOf(Object memory, long offset, int length,
+                              Object needleMemory, long needleOffset, int needleLength) {
+        return VectorOps.indexOf(segment(memory, offset, length),
+                segment(needleMemory, needleOffset, needleLength));
+    }
+
+    /**
+     * Find the first index where the two memory regions of equal length differ.
+     *
+     * @return The index of the first mismatching byte, relative to the given offsets, or {@code -1} if the two
+     * regions are equal.
+     */
+    public static int mismatch(Object memoryA, long offsetA, Object memoryB, long offsetB, int length) {
+        return (int) segment(memoryA, offsetA, length).mismatch(segment(memoryB, offsetB, length));
+    }
+
+    private static MemorySegment segment(Object memory, long offset, int length) {
+        if (memory == null) {
+            return MemorySegment.ofAddress(offset).reinterpret(length);
+        }
+        if (memory instanceof byte[]) {
+            return MemorySegment.ofArray((byte[]) memory).asSlice(offset, length);
+        }
+        if (memory instanceof ByteBuffer) {
+            // The segment of a buffer only covers the region between its position and limit.
+            ByteBuffer buffer = (ByteBuffer) memory;
+            if (buffer.position() != 0 || buffer.limit() != buffer.capacity()) {
+                buffer = buffer.duplicate().clear();
+            }
+            return MemorySegment.ofBuffer(buffer).asSlice(offset, length);
+        }
+        return ((MemorySegment) memory).asSlice(offset, length);
+    }
+}
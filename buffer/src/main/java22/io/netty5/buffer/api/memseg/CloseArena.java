@@ -0,0 +1,58 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.netty5.buffer.api.memseg;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.Drop;
+import io.netty5.buffer.api.internal.Statics;
+
+import java.lang.foreign.Arena;
+
+class CloseArena implements Runnable, Drop<Buffer> {
+    private final Arena arena;
+    private final long size;
+
+    CloseArena(Arena arena, long size) {
+        this.arena = arena;
+        this.size = size;
+    }
+
+    @Override
+    public void run() {
+        arena.close();
+        Statics.MEM_USAGE_NATIVE.add(-size);
+    }
+
+    @Override
+    public void drop(Buffer obj) {
+        run();
+    }
+
+    @Override
+    public Drop<Buffer> fork() {
+        throw new IllegalStateException(this + " cannot fork. Must be guarded by an ArcDrop.");
+    }
+
+    @Override
+    public void attach(Buffer obj) {
+    }
+
+    @Override
+    public String toString() {
+        return "CloseArena(" + arena + ", " + size + " bytes)";
+    }
+}
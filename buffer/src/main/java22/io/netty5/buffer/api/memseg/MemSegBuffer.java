@@ -0,0 +1,1352 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.netty5.buffer.api.memseg;
+
+import io.netty5.buffer.api.AllocatorControl;
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.buffer.api.BufferClosedException;
+import io.netty5.buffer.api.BufferReadOnlyException;
+import io.netty5.buffer.api.ByteCursor;
+import io.netty5.buffer.api.ComponentIterator;
+import io.netty5.buffer.api.ComponentIterator.Next;
+import io.netty5.buffer.api.Drop;
+import io.netty5.buffer.api.Owned;
+import io.netty5.buffer.api.ReadableComponent;
+import io.netty5.buffer.api.ReadableComponentProcessor;
+import io.netty5.buffer.api.WritableComponent;
+import io.netty5.buffer.api.WritableComponentProcessor;
+import io.netty5.buffer.api.internal.AdaptableBuffer;
+import io.netty5.buffer.api.internal.NotReadOnlyReadableComponent;
+import io.netty5.buffer.api.internal.SearchableMemory;
+import io.netty5.buffer.api.internal.SingleComponentIterator;
+import io.netty5.buffer.api.internal.Statics;
+import io.netty5.buffer.api.internal.Statics.UncheckedLoadByte;
+import io.netty5.buffer.api.internal.VectorizedSearch;
+import io.netty5.util.ByteProcessor;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.ref.Reference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import static io.netty5.buffer.api.internal.Statics.MAX_BUFFER_SIZE;
+import static io.netty5.buffer.api.internal.Statics.bufferIsReadOnly;
+import static io.netty5.buffer.api.internal.Statics.checkBulkTransferArgs;
+import static io.netty5.buffer.api.internal.Statics.checkImplicitCapacity;
+import static io.netty5.buffer.api.internal.Statics.checkLength;
+import static io.netty5.buffer.api.internal.Statics.nativeAddressWithOffset;
+import static io.netty5.util.internal.ObjectUtil.checkPositiveOrZero;
+import static io.netty5.util.internal.PlatformDependent.roundToPowerOfTwo;
+
+final class MemSegBuffer extends AdaptableBuffer<MemSegBuffer>
+        implements ReadableComponent, WritableComponent, NotReadOnlyReadableComponent, ComponentIterator.Next,
+                   SearchableMemory {
+    private static final MemorySegment CLOSED_SEGMENT = MemorySegment.ofArray(new byte[0]);
+    private static final ValueLayout.OfByte JAVA_BYTE = ValueLayout.JAVA_BYTE;
+    private static final ValueLayout.OfChar JAVA_CHAR = ValueLayout.JAVA_CHAR_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfShort JAVA_SHORT =
+            ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfInt JAVA_INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfFloat JAVA_FLOAT =
+            ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfLong JAVA_LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfDouble JAVA_DOUBLE =
+            ValueLayout.JAVA_DOUBLE_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+    private MemorySegment base; // The recoverable memory; the whole allocation this buffer is a view of.
+    private MemorySegment seg; // For reading.
+    private MemorySegment wseg; // For writing; the closed segment if the buffer is read-only.
+    private int roff;
+    private int woff;
+    private int implicitCapacityLimit;
+
+    MemSegBuffer(MemorySegment base, MemorySegment view, AllocatorControl control, Drop<MemSegBuffer> drop) {
+        super(drop, control);
+        this.base = base;
+        seg = view;
+        wseg = view;
+        implicitCapacityLimit = MAX_BUFFER_SIZE;
+    }
+
+    /**
+     * Constructor for {@linkplain BufferAllocator#constBufferSupplier(byte[]) const buffers}.
+     */
+    private MemSegBuffer(MemSegBuffer parent, Drop<MemSegBuffer> drop) {
+        super(drop, parent.control);
+        implicitCapacityLimit = parent.implicitCapacityLimit;
+        base = parent.base;
+        seg = parent.seg;
+        wseg = CLOSED_SEGMENT;
+        roff = parent.roff;
+        woff = parent.woff;
+    }
+
+    @Override
+    public String toString() {
+        return "Buffer[roff:" + roff + ", woff:" + woff + ", cap:" + seg.byteSize() + ']';
+    }
+
+    @Override
+    protected RuntimeException createResourceClosedException() {
+        return Statics.bufferIsClosed(this);
+    }
+
+    @Override
+    public int capacity() {
+        return (int) seg.byteSize();
+    }
+
+    @Override
+    public int readerOffset() {
+        return roff;
+    }
+
+    @Override
+    public Buffer readerOffset(int offset) {
+        checkRead(offset, 0);
+        roff = offset;
+        return this;
+    }
+
+    @Override
+    public int writerOffset() {
+        return woff;
+    }
+
+    @Override
+    public Buffer writerOffset(int offset) {
+        if (readOnly()) {
+            throw bufferIsReadOnly(this);
+        }
+        checkWrite(offset, 0, false);
+        woff = offset;
+        return this;
+    }
+
+    @Override
+    public int readableBytes() {
+        return super.readableBytes();
+    }
+
+    @Override
+    public int writableBytes() {
+        return super.writableBytes();
+    }
+
+    @Override
+    public MemSegBuffer skipReadableBytes(int delta) {
+        return (MemSegBuffer) super.skipReadableBytes(delta);
+    }
+
+    @Override
+    public MemSegBuffer skipWritableBytes(int delta) {
+        return (MemSegBuffer) super.skipWritableBytes(delta);
+    }
+
+    @Override
+    public Buffer fill(byte value) {
+        checkSet(0, capacity());
+        if (seg == CLOSED_SEGMENT) {
+            throw bufferIsClosed();
+        }
+        wseg.fill(value);
+        return this;
+    }
+
+    private long nativeAddress() {
+        return seg.isNative()? seg.address() : 0;
+    }
+
+    @Override
+    public Buffer makeReadOnly() {
+        wseg = CLOSED_SEGMENT;
+        return this;
+    }
+
+    @Override
+    public boolean readOnly() {
+        return wseg == CLOSED_SEGMENT && seg != CLOSED_SEGMENT;
+    }
+
+    @Override
+    public boolean isDirect() {
+        return seg.isNative();
+    }
+
+    @Override
+    public Buffer implicitCapacityLimit(int limit) {
+        checkImplicitCapacity(limit,  capacity());
+        implicitCapacityLimit = limit;
+        return this;
+    }
+
+    @Override
+    public int implicitCapacityLimit() {
+        return implicitCapacityLimit;
+    }
+
+    @Override
+    public Buffer copy(int offset, int length, boolean readOnly) {
+        checkLength(length);
+        checkGet(offset, length);
+        if (readOnly && readOnly()) {
+            // If both this buffer and the copy are read-only, they can safely share the memory.
+            MemSegBuffer copy = newConstChild();
+            copy.seg = seg.asSlice(offset, length);
+            copy.roff = 0;
+            copy.woff = length;
+            return copy;
+        }
+        Buffer copy = control.getAllocator().allocate(length);
+        try {
+            copyInto(offset, copy, 0, length);
+            copy.writerOffset(length);
+            if (readOnly) {
+                copy.makeReadOnly();
+            }
+            return copy;
+        } catch (Throwable e) {
+            copy.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void copyInto(int srcPos, byte[] dest, int destPos, int length) {
+        checkCopyIntoArgs(srcPos, length, destPos, dest.length);
+        MemorySegment.copy(seg, JAVA_BYTE, srcPos, dest, destPos, length);
+    }
+
+    @Override
+    public void copyInto(int srcPos, ByteBuffer dest, int destPos, int length) {
+        checkCopyIntoArgs(srcPos, length, destPos, dest.capacity());
+        if (dest.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        MemorySegment.copy(seg, srcPos, MemorySegment.ofBuffer(dest.duplicate().clear()), destPos, length);
+    }
+
+    private void checkCopyIntoArgs(int srcPos, int length, int destPos, int destLength) {
+        if (seg == CLOSED_SEGMENT) {
+            throw bufferIsClosed();
+        }
+        if (srcPos < 0) {
+            throw new IndexOutOfBoundsException("The srcPos cannot be negative: " + srcPos + '.');
+        }
+        checkLength(length);
+        if (capacity() < srcPos + length) {
+            throw new IndexOutOfBoundsException("The srcPos + length is beyond the end of the buffer: " +
+                    "srcPos = " + srcPos + ", length = " + length + '.');
+        }
+        if (destPos < 0) {
+            throw new IndexOutOfBoundsException("The destPos cannot be negative: " + destPos + '.');
+        }
+        if (destLength < destPos + length) {
+            throw new IndexOutOfBoundsException("The destPos + length is beyond the end of the destination: " +
+                    "destPos = " + destPos + ", length = " + length + '.');
+        }
+    }
+
+    @Override
+    public void copyInto(int srcPos, Buffer dest, int destPos, int length) {
+        if (!dest.isAccessible()) {
+            throw Statics.bufferIsClosed(dest);
+        }
+        checkCopyIntoArgs(srcPos, length, destPos, dest.capacity());
+        if (dest.readOnly()) {
+            throw bufferIsReadOnly(dest);
+        }
+        if (dest instanceof MemSegBuffer) {
+            MemSegBuffer destSeg = (MemSegBuffer) dest;
+            MemorySegment.copy(seg, srcPos, destSeg.wseg, destPos, length);
+        } else {
+            Statics.copyToViaReverseLoop(this, srcPos, dest, destPos, length);
+        }
+    }
+
+    @Override
+    public int transferTo(WritableByteChannel channel, int length) throws IOException {
+        if (!isAccessible()) {
+            throw bufferIsClosed();
+        }
+        length = Math.min(readableBytes(), length);
+        if (length == 0) {
+            return 0;
+        }
+        checkGet(readerOffset(), length);
+        int bytesWritten = channel.write(readableBuffer().limit(length));
+        skipReadableBytes(bytesWritten);
+        return bytesWritten;
+    }
+
+    @Override
+    public int transferFrom(FileChannel channel, long position, int length) throws IOException {
+        checkPositiveOrZero(position, "position");
+        checkPositiveOrZero(length, "length");
+        if (!isAccessible()) {
+            throw bufferIsClosed();
+        }
+        if (readOnly()) {
+            throw bufferIsReadOnly(this);
+        }
+        length = Math.min(writableBytes(), length);
+        if (length == 0) {
+            return 0;
+        }
+        checkSet(writerOffset(), length);
+        int bytesRead = channel.read(writableBuffer().limit(length), position);
+        if (bytesRead > 0) { // Don't skipWritable if bytesRead is 0 or -1
+            skipWritableBytes(bytesRead);
+        }
+        return bytesRead;
+    }
+
+    @Override
+    public int transferFrom(ReadableByteChannel channel, int length) throws IOException {
+        if (!isAccessible()) {
+            throw bufferIsClosed();
+        }
+        if (readOnly()) {
+            throw bufferIsReadOnly(this);
+        }
+        length = Math.min(writableBytes(), length);
+        if (length == 0) {
+            return 0;
+        }
+        checkSet(writerOffset(), length);
+        int bytesRead = channel.read(writableBuffer().limit(length));
+        if (bytesRead != -1) {
+            skipWritableBytes(bytesRead);
+        }
+        return bytesRead;
+    }
+
+    @Override
+    public int bytesBefore(byte needle) {
+        // For the details of this algorithm, see Hacker's Delight, Chapter 6, Searching Words.
+        // Richard Startin also describes this on his blog: https://richardstartin.github.io/posts/finding-bytes
+        if (!isAccessible()) {
+            throw bufferIsClosed();
+        }
+        final MemorySegment seg = this.seg;
+        int offset = roff;
+        final int length = woff - roff;
+        final int end = woff;
+
+        if (length >= VectorizedSearch.minLength()) {
+            return VectorizedSearch.indexOf(seg, offset, length, needle);
+        }
+        if (length > 7) {
+            final long pattern = (needle & 0xFFL) * 0x101010101010101L;
+            for (final int longEnd = offset + (length >>> 3) * Long.BYTES;
+                 offset < longEnd;
+                 offset += Long.BYTES) {
+                final long word = seg.get(JAVA_LONG, offset);
+
+                long input = word ^ pattern;
+                long tmp = (input & 0x7F7F7F7F7F7F7F7FL) + 0x7F7F7F7F7F7F7F7FL;
+                tmp = ~(tmp | input | 0x7F7F7F7F7F7F7F7FL);
+                final int binaryPosition = Long.numberOfLeadingZeros(tmp);
+
+                int index = binaryPosition >>> 3;
+                if (index < Long.BYTES) {
+                    return offset + index - roff;
+                }
+            }
+        }
+        for (; offset < end; offset++) {
+            if (seg.get(JAVA_BYTE, offset) == needle) {
+                return offset - roff;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int bytesBefore(Buffer needle) {
+        UncheckedLoadByte uncheckedLoadByte = MemSegBuffer::uncheckedLoadByte;
+        return Statics.bytesBefore(this, uncheckedLoadByte,
+                                   needle, needle instanceof MemSegBuffer ? uncheckedLoadByte : null);
+    }
+
+    /**
+     * Used by {@link #bytesBefore(Buffer)}.
+     */
+    private static byte uncheckedLoadByte(Buffer buffer, int offset) {
+        return ((MemSegBuffer) buffer).seg.get(JAVA_BYTE, offset);
+    }
+
+    @Override
+    public Buffer writeShorts(short[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(source.length, srcPos, length, Short.BYTES);
+        checkWrite(woff, byteLength, true);
+        MemorySegment.copy(source, srcPos, wseg, JAVA_SHORT.withOrder(order), woff, length);
+        woff += byteLength;
+        return this;
+    }
+
+    @Override
+    public Buffer readShorts(short[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(destination.length, destPos, length, Short.BYTES);
+        checkRead(roff, byteLength);
+        MemorySegment.copy(seg, JAVA_SHORT.withOrder(order), roff, destination, destPos, length);
+        roff += byteLength;
+        return this;
+    }
+
+    @Override
+    public Buffer writeInts(int[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(source.length, srcPos, length, Integer.BYTES);
+        checkWrite(woff, byteLength, true);
+        MemorySegment.copy(source, srcPos, wseg, JAVA_INT.withOrder(order), woff, length);
+        woff += byteLength;
+        return this;
+    }
+
+    @Override
+    public Buffer readInts(int[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(destination.length, destPos, length, Integer.BYTES);
+        checkRead(roff, byteLength);
+        MemorySegment.copy(seg, JAVA_INT.withOrder(order), roff, destination, destPos, length);
+        roff += byteLength;
+        return this;
+    }
+
+    @Override
+    public Buffer writeLongs(long[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(source.length, srcPos, length, Long.BYTES);
+        checkWrite(woff, byteLength, true);
+        MemorySegment.copy(source, srcPos, wseg, JAVA_LONG.withOrder(order), woff, length);
+        woff += byteLength;
+        return this;
+    }
+
+    @Override
+    public Buffer readLongs(long[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(destination.length, destPos, length, Long.BYTES);
+        checkRead(roff, byteLength);
+        MemorySegment.copy(seg, JAVA_LONG.withOrder(order), roff, destination, destPos, length);
+        roff += byteLength;
+        return this;
+    }
+
+    @Override
+    public Buffer writeFloats(float[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(source.length, srcPos, length, Float.BYTES);
+        checkWrite(woff, byteLength, true);
+        MemorySegment.copy(source, srcPos, wseg, JAVA_FLOAT.withOrder(order), woff, length);
+        woff += byteLength;
+        return this;
+    }
+
+    @Override
+    public Buffer readFloats(float[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(destination.length, destPos, length, Float.BYTES);
+        checkRead(roff, byteLength);
+        MemorySegment.copy(seg, JAVA_FLOAT.withOrder(order), roff, destination, destPos, length);
+        roff += byteLength;
+        return this;
+    }
+
+    @Override
+    public Buffer writeDoubles(double[] source, int srcPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(source.length, srcPos, length, Double.BYTES);
+        checkWrite(woff, byteLength, true);
+        MemorySegment.copy(source, srcPos, wseg, JAVA_DOUBLE.withOrder(order), woff, length);
+        woff += byteLength;
+        return this;
+    }
+
+    @Override
+    public Buffer readDoubles(double[] destination, int destPos, int length, ByteOrder order) {
+        int byteLength = checkBulkTransferArgs(destination.length, destPos, length, Double.BYTES);
+        checkRead(roff, byteLength);
+        MemorySegment.copy(seg, JAVA_DOUBLE.withOrder(order), roff, destination, destPos, length);
+        roff += byteLength;
+        return this;
+    }
+
+    @Override
+    public ByteCursor openCursor() {
+        return openCursor(readerOffset(), readableBytes());
+    }
+
+    @Override
+    public ByteCursor openCursor(int fromOffset, int length) {
+        if (seg == CLOSED_SEGMENT) {
+            throw bufferIsClosed();
+        }
+        if (fromOffset < 0) {
+            throw new IndexOutOfBoundsException("The fromOffset cannot be negative: " + fromOffset + '.');
+        }
+        checkLength(length);
+        if (capacity() < fromOffset + length) {
+            throw new IndexOutOfBoundsException("The fromOffset + length is beyond the end of the buffer: " +
+                    "fromOffset = " + fromOffset + ", length = " + length + '.');
+        }
+        return new ForwardMemSegByteCursor(seg, fromOffset, length);
+    }
+
+    @Override
+    public ByteCursor openReverseCursor(int fromOffset, int length) {
+        if (seg == CLOSED_SEGMENT) {
+            throw bufferIsClosed();
+        }
+        if (fromOffset < 0) {
+            throw new IndexOutOfBoundsException("The fromOffset cannot be negative: " + fromOffset + '.');
+        }
+        checkLength(length);
+        if (capacity() <= fromOffset) {
+            throw new IndexOutOfBoundsException("The fromOffset is beyond the end of the buffer: " + fromOffset + '.');
+        }
+        if (fromOffset - length < -1) {
+            throw new IndexOutOfBoundsException("The fromOffset - length would underflow the buffer: " +
+                    "fromOffset = " + fromOffset + ", length = " + length + '.');
+        }
+        return new ReverseMemSegByteCursor(seg, fromOffset, length);
+    }
+
+    @Override
+    public Buffer ensureWritable(int size, int minimumGrowth, boolean allowCompaction) {
+        if (!isAccessible()) {
+            throw bufferIsClosed();
+        }
+        if (!isOwned()) {
+            throw attachTrace(new IllegalStateException(
+                    "Buffer is not owned. Only owned buffers can call ensureWritable."));
+        }
+        if (size < 0) {
+            throw new IllegalArgumentException("Cannot ensure writable for a negative size: " + size + '.');
+        }
+        if (minimumGrowth < 0) {
+            throw new IllegalArgumentException("The minimum growth cannot be negative: " + minimumGrowth + '.');
+        }
+        if (seg != wseg) {
+            throw bufferIsReadOnly(this);
+        }
+        if (writableBytes() >= size) {
+            // We already have enough space.
+            return this;
+        }
+
+        if (allowCompaction && writableBytes() + readerOffset() >= size) {
+            // We can solve this with compaction.
+            return compact();
+        }
+
+        // Allocate a bigger buffer.
+        long newSize = capacity() + (long) Math.max(size - writableBytes(), minimumGrowth);
+        Statics.assertValidBufferSize(newSize);
+        MemSegBuffer buffer = (MemSegBuffer) control.getAllocator().allocate((int) newSize);
+
+        // Copy contents.
+        copyInto(0, buffer, 0, capacity());
+
+        // Release the old memory and install the new:
+        Drop<MemSegBuffer> drop = buffer.unsafeGetDrop();
+        disconnectDrop(drop);
+        attachNewBuffer(buffer, drop);
+        return this;
+    }
+
+    private void disconnectDrop(Drop<MemSegBuffer> newDrop) {
+        var drop = (Drop<MemSegBuffer>) unsafeGetDrop();
+        int roff = this.roff;
+        int woff = this.woff;
+        drop.drop(this);
+        unsafeSetDrop(newDrop);
+        this.roff = roff;
+        this.woff = woff;
+    }
+
+    private void attachNewBuffer(MemSegBuffer buffer, Drop<MemSegBuffer> drop) {
+        base = buffer.base;
+        seg = buffer.seg;
+        wseg = buffer.wseg;
+        drop.attach(this);
+    }
+
+    @Override
+    public Buffer split(int splitOffset) {
+        if (splitOffset < 0) {
+            throw new IllegalArgumentException("The split offset cannot be negative: " + splitOffset + '.');
+        }
+        if (capacity() < splitOffset) {
+            throw new IllegalArgumentException("The split offset cannot be greater than the buffer capacity, " +
+                    "but the split offset was " + splitOffset + ", and capacity is " + capacity() + '.');
+        }
+        if (!isAccessible()) {
+            throw bufferIsClosed();
+        }
+        if (!isOwned()) {
+            throw attachTrace(new IllegalStateException("Cannot split a buffer that is not owned."));
+        }
+        var drop = unsafeGetDrop().fork();
+        var splitBuffer = new MemSegBuffer(base, seg.asSlice(0, splitOffset), control, drop);
+        drop.attach(splitBuffer);
+        splitBuffer.woff = Math.min(woff, splitOffset);
+        splitBuffer.roff = Math.min(roff, splitOffset);
+        boolean readOnly = readOnly();
+        if (readOnly) {
+            splitBuffer.makeReadOnly();
+        }
+        // Split preserves const-state.
+        seg = seg.asSlice(splitOffset);
+        if (!readOnly) {
+            wseg = seg;
+        }
+        woff = Math.max(woff, splitOffset) - splitOffset;
+        roff = Math.max(roff, splitOffset) - splitOffset;
+        return splitBuffer;
+    }
+
+    @Override
+    public Buffer compact() {
+        if (!isAccessible()) {
+            throw bufferIsClosed();
+        }
+        if (!isOwned()) {
+            throw attachTrace(new IllegalStateException("Buffer must be owned in order to compact."));
+        }
+        if (readOnly()) {
+            throw new BufferReadOnlyException("Buffer must be writable in order to compact, but was read-only.");
+        }
+        if (roff == 0) {
+            return this;
+        }
+        // MemorySegment.copy behaves as if the source is first copied to an intermediate segment,
+        // so the overlapping regions are handled correctly.
+        MemorySegment.copy(wseg, roff, wseg, 0, woff - roff);
+        woff -= roff;
+        roff = 0;
+        return this;
+    }
+
+    @Override
+    public int countComponents() {
+        return 1;
+    }
+
+    @Override
+    public int countReadableComponents() {
+        return readableBytes() > 0? 1 : 0;
+    }
+
+    @Override
+    public int countWritableComponents() {
+        return writableBytes() > 0? 1 : 0;
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="Readable/WritableComponent implementation.">
+    @Override
+    public boolean hasReadableArray() {
+        return !seg.isNative() && seg != CLOSED_SEGMENT;
+    }
+
+    @Override
+    public byte[] readableArray() {
+        checkHasReadableArray();
+        return (byte[]) seg.heapBase().orElseThrow();
+    }
+
+    @Override
+    public int readableArrayOffset() {
+        checkHasReadableArray();
+        // The address of a heap segment is its offset into the backing array.
+        return Math.toIntExact(seg.address() + roff);
+    }
+
+    private void checkHasReadableArray() {
+        if (!hasReadableArray()) {
+            throw new UnsupportedOperationException("No readable array available.");
+        }
+    }
+
+    @Override
+    public int readableArrayLength() {
+        return woff - roff;
+    }
+
+    @Override
+    public long readableNativeAddress() {
+        return nativeAddressWithOffset(nativeAddress(), roff);
+    }
+
+    @Override
+    public ByteBuffer readableBuffer() {
+        return mutableReadableBuffer().asReadOnlyBuffer();
+    }
+
+    @Override
+    public ByteBuffer mutableReadableBuffer() {
+        return seg.asSlice(roff, readableBytes()).asByteBuffer();
+    }
+
+    @Override
+    public boolean hasWritableArray() {
+        return hasReadableArray();
+    }
+
+    @Override
+    public byte[] writableArray() {
+        checkHasWritableArray();
+        return (byte[]) seg.heapBase().orElseThrow();
+    }
+
+    @Override
+    public int writableArrayOffset() {
+        checkHasWritableArray();
+        return Math.toIntExact(seg.address() + woff);
+    }
+
+    private void checkHasWritableArray() {
+        if (!hasReadableArray()) {
+            throw new UnsupportedOperationException("No writable array available.");
+        }
+    }
+
+    @Override
+    public int writableArrayLength() {
+        return capacity() - woff;
+    }
+
+    @Override
+    public long writableNativeAddress() {
+        return nativeAddressWithOffset(nativeAddress(), woff);
+    }
+
+    @Override
+    public ByteBuffer writableBuffer() {
+        return seg.asSlice(woff, writableBytes()).asByteBuffer();
+    }
+
+    @Override
+    public <N extends Next> N next() {
+        return null; // There is no "next" component in our external-iteration of components.
+    }
+    // </editor-fold>
+
+    @Override
+    public <E extends Exception> int forEachReadable(int initialIndex, ReadableComponentProcessor<E> processor)
+            throws E {
+        if (!isAccessible()) {
+            throw bufferIsClosed();
+        }
+        int readableBytes = readableBytes();
+        if (readableBytes == 0) {
+            return 0;
+        }
+        checkRead(readerOffset(), readableBytes);
+        try {
+            return processor.process(initialIndex, this)? 1 : -1;
+        } finally {
+            Reference.reachabilityFence(this);
+        }
+    }
+
+    @Override
+    public <T extends ReadableComponent & Next> ComponentIterator<T> forEachReadable() {
+        return new SingleComponentIterator<>(acquire(), readableBytes() > 0 ? this : null);
+    }
+
+    @Override
+    public <E extends Exception> int forEachWritable(int initialIndex, WritableComponentProcessor<E> processor)
+            throws E {
+        if (!isAccessible()) {
+            throw bufferIsClosed();
+        }
+        int writableBytes = writableBytes();
+        if (writableBytes == 0) {
+            return 0;
+        }
+        checkWrite(writerOffset(), writableBytes, false);
+        try {
+            return processor.process(initialIndex, this)? 1 : -1;
+        } finally {
+            Reference.reachabilityFence(this);
+        }
+    }
+
+    @Override
+    public <T extends WritableComponent & Next> ComponentIterator<T> forEachWritable() {
+        checkWrite(writerOffset(), writableBytes(), false);
+        return new SingleComponentIterator<>(acquire(), writableBytes() > 0 ? this : null);
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="Primitive accessors implementation.">
+    @Override
+    public byte readByte() {
+        checkRead(roff, Byte.BYTES);
+        byte value = seg.get(JAVA_BYTE, roff);
+        roff += Byte.BYTES;
+        return value;
+    }
+
+    @Override
+    public byte getByte(int roff) {
+        checkGet(roff, Byte.BYTES);
+        return seg.get(JAVA_BYTE, roff);
+    }
+
+    @Override
+    public int readUnsignedByte() {
+        return readByte() & 0xFF;
+    }
+
+    @Override
+    public int getUnsignedByte(int roff) {
+        return getByte(roff) & 0xFF;
+    }
+
+    @Override
+    public Buffer writeByte(byte value) {
+        checkWrite(woff, Byte.BYTES, true);
+        wseg.set(JAVA_BYTE, woff, value);
+        woff += Byte.BYTES;
+        return this;
+    }
+
+    @Override
+    public Buffer setByte(int woff, byte value) {
+        checkSet(woff, Byte.BYTES);
+        wseg.set(JAVA_BYTE, woff, value);
+        return this;
+    }
+
+    @Override
+    public Buffer writeUnsignedByte(int value) {
+        checkWrite(woff, Byte.BYTES, true);
+        wseg.set(JAVA_BYTE, woff, (byte) (value & 0xFF));
+        woff += Byte.BYTES;
+        return this;
+    }
+
+    @Override
+    public Buffer setUnsignedByte(int woff, int value) {
+        checkSet(woff, Byte.BYTES);
+        wseg.set(JAVA_BYTE, woff, (byte) (value & 0xFF));
+        return this;
+    }
+
+    @Override
+    public char readChar() {
+        checkRead(roff, Character.BYTES);
+        char value = seg.get(JAVA_CHAR, roff);
+        roff += Character.BYTES;
+        return value;
+    }
+
+    @Override
+    public char getChar(int roff) {
+        checkGet(roff, Character.BYTES);
+        return seg.get(JAVA_CHAR, roff);
+    }
+
+    @Override
+    public Buffer writeChar(char value) {
+        checkWrite(woff, Character.BYTES, true);
+        wseg.set(JAVA_CHAR, woff, value);
+        woff += Character.BYTES;
+        return this;
+    }
+
+    @Override
+    public Buffer setChar(int woff, char value) {
+        checkSet(woff, Character.BYTES);
+        wseg.set(JAVA_CHAR, woff, value);
+        return this;
+    }
+
+    @Override
+    public short readShort() {
+        checkRead(roff, Short.BYTES);
+        short value = seg.get(JAVA_SHORT, roff);
+        roff += Short.BYTES;
+        return value;
+    }
+
+    @Override
+    public short getShort(int roff) {
+        checkGet(roff, Short.BYTES);
+        return seg.get(JAVA_SHORT, roff);
+    }
+
+    @Override
+    public int readUnsignedShort() {
+        return readShort() & 0xFFFF;
+    }
+
+    @Override
+    public int getUnsignedShort(int roff) {
+        return getShort(roff) & 0xFFFF;
+    }
+
+    @Override
+    public Buffer writeShort(short value) {
+        checkWrite(woff, Short.BYTES, true);
+        wseg.set(JAVA_SHORT, woff, value);
+        woff += Short.BYTES;
+        return this;
+    }
+
+    @Override
+    public Buffer setShort(int woff, short value) {
+        checkSet(woff, Short.BYTES);
+        wseg.set(JAVA_SHORT, woff, value);
+        return this;
+    }
+
+    @Override
+    public Buffer writeUnsignedShort(int value) {
+        checkWrite(woff, Short.BYTES, true);
+        wseg.set(JAVA_SHORT, woff, (short) (value & 0xFFFF));
+        woff += Short.BYTES;
+        return this;
+    }
+
+    @Override
+    public Buffer setUnsignedShort(int woff, int value) {
+        checkSet(woff, Short.BYTES);
+        wseg.set(JAVA_SHORT, woff, (short) (value & 0xFFFF));
+        return this;
+    }
+
+    @Override
+    public int readMedium() {
+        checkRead(roff, 3);
+        int value = loadMedium(roff);
+        roff += 3;
+        return value;
+    }
+
+    @Override
+    public int getMedium(int roff) {
+        checkGet(roff, 3);
+        return loadMedium(roff);
+    }
+
+    @Override
+    public int readUnsignedMedium() {
+        checkRead(roff, 3);
+        int value = loadMedium(roff) & 0xFFFFFF;
+        roff += 3;
+        return value;
+    }
+
+    @Override
+    public int getUnsignedMedium(int roff) {
+        checkGet(roff, 3);
+        return loadMedium(roff) & 0xFFFFFF;
+    }
+
+    @Override
+    public Buffer writeMedium(int value) {
+        checkWrite(woff, 3, true);
+        storeMedium(woff, value);
+        woff += 3;
+        return this;
+    }
+
+    @Override
+    public Buffer setMedium(int woff, int value) {
+        checkSet(woff, 3);
+        storeMedium(woff, value);
+        return this;
+    }
+
+    @Override
+    public Buffer writeUnsignedMedium(int value) {
+        checkWrite(woff, 3, true);
+        storeMedium(woff, value);
+        woff += 3;
+        return this;
+    }
+
+    @Override
+    public Buffer setUnsignedMedium(int woff, int value) {
+        checkSet(woff, 3);
+        storeMedium(woff, value);
+        return this;
+    }
+
+    @Override
+    public int readInt() {
+        checkRead(roff, Integer.BYTES);
+        int value = seg.get(JAVA_INT, roff);
+        roff += Integer.BYTES;
+        return value;
+    }
+
+    @Override
+    public int getInt(int roff) {
+        checkGet(roff, Integer.BYTES);
+        return seg.get(JAVA_INT, roff);
+    }
+
+    @Override
+    public long readUnsignedInt() {
+        return readInt() & 0x0000_0000_FFFF_FFFFL;
+    }
+
+    @Override
+    public long getUnsignedInt(int roff) {
+        return getInt(roff) & 0x0000_0000_FFFF_FFFFL;
+    }
+
+    @Override
+    public Buffer writeInt(int value) {
+        checkWrite(woff, Integer.BYTES, true);
+        wseg.set(JAVA_INT, woff, value);
+        woff += Integer.BYTES;
+        return this;
+    }
+
+    @Override
+    public Buffer setInt(int woff, int value) {
+        checkSet(woff, Integer.BYTES);
+        wseg.set(JAVA_INT, woff, value);
+        return this;
+    }
+
+    @Override
+    public Buffer writeUnsignedInt(long value) {
+        checkWrite(woff, Integer.BYTES, true);
+        wseg.set(JAVA_INT, woff, (int) (value & 0xFFFF_FFFFL));
+        woff += Integer.BYTES;
+        return this;
+    }
+
+    @Override
+    public Buffer setUnsignedInt(int woff, long value) {
+        checkSet(woff, Integer.BYTES);
+        wseg.set(JAVA_INT, woff, (int) (value & 0xFFFF_FFFFL));
+        return this;
+    }
+
+    @Override
+    public float readFloat() {
+        checkRead(roff, Float.BYTES);
+        float value = seg.get(JAVA_FLOAT, roff);
+        roff += Float.BYTES;
+        return value;
+    }
+
+    @Override
+    public float getFloat(int roff) {
+        checkGet(roff, Float.BYTES);
+        return seg.get(JAVA_FLOAT, roff);
+    }
+
+    @Override
+    public Buffer writeFloat(float value) {
+        checkWrite(woff, Float.BYTES, true);
+        wseg.set(JAVA_FLOAT, woff, value);
+        woff += Float.BYTES;
+        return this;
+    }
+
+    @Override
+    public Buffer setFloat(int woff, float value) {
+        checkSet(woff, Float.BYTES);
+        wseg.set(JAVA_FLOAT, woff, value);
+        return this;
+    }
+
+    @Override
+    public long readLong() {
+        checkRead(roff, Long.BYTES);
+        long value = seg.get(JAVA_LONG, roff);
+        roff += Long.BYTES;
+        return value;
+    }
+
+    @Override
+    public long getLong(int roff) {
+        checkGet(roff, Long.BYTES);
+        return seg.get(JAVA_LONG, roff);
+    }
+
+    @Override
+    public Buffer writeLong(long value) {
+        checkWrite(woff, Long.BYTES, true);
+        wseg.set(JAVA_LONG, woff, value);
+        woff += Long.BYTES;
+        return this;
+    }
+
+    @Override
+    public Buffer setLong(int woff, long value) {
+        checkSet(woff, Long.BYTES);
+        wseg.set(JAVA_LONG, woff, value);
+        return this;
+    }
+
+    @Override
+    public double readDouble() {
+        checkRead(roff, Double.BYTES);
+        double value = seg.get(JAVA_DOUBLE, roff);
+        roff += Double.BYTES;
+        return value;
+    }
+
+    @Override
+    public double getDouble(int roff) {
+        checkGet(roff, Double.BYTES);
+        return seg.get(JAVA_DOUBLE, roff);
+    }
+
+    @Override
+    public Buffer writeDouble(double value) {
+        checkWrite(woff, Double.BYTES, true);
+        wseg.set(JAVA_DOUBLE, woff, value);
+        woff += Double.BYTES;
+        return this;
+    }
+
+    @Override
+    public Buffer setDouble(int woff, double value) {
+        checkSet(woff, Double.BYTES);
+        wseg.set(JAVA_DOUBLE, woff, value);
+        return this;
+    }
+    // </editor-fold>
+
+    @Override
+    protected Owned<MemSegBuffer> prepareSend() {
+        int roff = this.roff;
+        int woff = this.woff;
+        boolean readOnly = readOnly();
+        int implicitCapacityLimit = this.implicitCapacityLimit;
+        MemorySegment base = this.base;
+        MemorySegment seg = this.seg;
+        AllocatorControl control = this.control;
+        return drop -> {
+            MemSegBuffer copy = new MemSegBuffer(base, seg, control, drop);
+            copy.roff = roff;
+            copy.woff = woff;
+            copy.implicitCapacityLimit = implicitCapacityLimit;
+            if (readOnly) {
+                copy.makeReadOnly();
+            }
+            return copy;
+        };
+    }
+
+    @Override
+    protected void makeInaccessible() {
+        base = CLOSED_SEGMENT;
+        seg = CLOSED_SEGMENT;
+        wseg = CLOSED_SEGMENT;
+        roff = 0;
+        woff = 0;
+    }
+
+    private void checkRead(int index, int size) {
+        if (index < 0 | woff < index + size) {
+            throw readAccessCheckException(index, size);
+        }
+    }
+
+    private void checkGet(int index, int size) {
+        if (index < 0 | seg.byteSize() < index + size) {
+            throw readAccessCheckException(index, size);
+        }
+    }
+
+    private void checkWrite(int index, int size, boolean mayExpand) {
+        if (index < roff | wseg.byteSize() < index + size) {
+            handleWriteAccessBoundsFailure(index, size, mayExpand);
+        }
+    }
+
+    private void checkSet(int index, int size) {
+        if (index < 0 | wseg.byteSize() < index + size) {
+            handleWriteAccessBoundsFailure(index, size, false);
+        }
+    }
+
+    private RuntimeException readAccessCheckException(int index, int size) {
+        if (seg == CLOSED_SEGMENT) {
+            throw bufferIsClosed();
+        }
+        return outOfBounds(index, size);
+    }
+
+    private void handleWriteAccessBoundsFailure(int index, int size, boolean mayExpand) {
+        if (seg == CLOSED_SEGMENT) {
+            throw bufferIsClosed();
+        }
+        if (wseg != seg) {
+            throw bufferIsReadOnly(this);
+        }
+        int capacity = capacity();
+        if (mayExpand && index >= 0 && index <= capacity && woff + size <= implicitCapacityLimit && isOwned()) {
+            // Grow into next power-of-two, but not beyond the implicit limit.
+            int minimumGrowth = Math.min(
+                    Math.max(roundToPowerOfTwo(capacity * 2), size),
+                    implicitCapacityLimit) - capacity;
+            ensureWritable(size, minimumGrowth, false);
+            checkSet(index, size); // Verify writing is now possible, without recursing.
+            return;
+        }
+        throw outOfBounds(index, size);
+    }
+
+    private BufferClosedException bufferIsClosed() {
+        return attachTrace(Statics.bufferIsClosed(this));
+    }
+
+    private IndexOutOfBoundsException outOfBounds(int index, int size) {
+        return new IndexOutOfBoundsException(
+                "Access at index " + index + " of size " + size + " is out of bounds: " +
+                "[read 0 to " + woff + ", write 0 to " + seg.byteSize() + "].");
+    }
+
+    private int loadMedium(int offset) {
+        MemorySegment seg = this.seg;
+        return seg.get(JAVA_BYTE, offset) << 16 |
+               (seg.get(JAVA_BYTE, offset + 1) & 0xFF) << 8 |
+               seg.get(JAVA_BYTE, offset + 2) & 0xFF;
+    }
+
+    private void storeMedium(int offset, int value) {
+        MemorySegment wseg = this.wseg;
+        wseg.set(JAVA_BYTE, offset, (byte) (value >> 16));
+        wseg.set(JAVA_BYTE, offset + 1, (byte) (value >> 8 & 0xFF));
+        wseg.set(JAVA_BYTE, offset + 2, (byte) (value & 0xFF));
+    }
+
+    @Override
+    public Object searchableMemory() {
+        return seg;
+    }
+
+    @Override
+    public long searchableOffset(int offset) {
+        return offset;
+    }
+
+    MemorySegment recoverable() {
+        return base;
+    }
+
+    MemSegBuffer newConstChild() {
+        assert readOnly();
+        Drop<MemSegBuffer> drop = unsafeGetDrop().fork();
+        MemSegBuffer child = new MemSegBuffer(this, drop);
+        drop.attach(child);
+        return child;
+    }
+
+    private static final class ForwardMemSegByteCursor implements ByteCursor {
+        final MemorySegment segment;
+        int index;
+        final int end;
+        byte byteValue;
+
+        ForwardMemSegByteCursor(MemorySegment segment, int fromOffset, int length) {
+            this.segment = segment;
+            index = fromOffset;
+            end = index + length;
+            byteValue = -1;
+        }
+
+        @Override
+        public boolean readByte() {
+            if (index < end) {
+                byteValue = segment.get(JAVA_BYTE, index);
+                index++;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public int process(ByteProcessor processor) {
+            final int found = Statics.vectorizedProcess(processor, segment, index, end - index);
+            if (found == Statics.NOT_VECTORIZED) {
+                return ByteCursor.super.process(processor);
+            }
+            // Leave the cursor in the same state as the byte-by-byte processing would.
+            index = found == -1? end : index + found + 1;
+            byteValue = segment.get(JAVA_BYTE, index - 1);
+            return found;
+        }
+
+        @Override
+        public byte getByte() {
+            return byteValue;
+        }
+
+        @Override
+        public int currentOffset() {
+            return index;
+        }
+
+        @Override
+        public int bytesLeft() {
+            return end - index;
+        }
+    }
+
+    private static final class ReverseMemSegByteCursor implements ByteCursor {
+        final MemorySegment segment;
+        int index;
+        final int end;
+        byte byteValue;
+
+        ReverseMemSegByteCursor(MemorySegment segment, int fromOffset, int length) {
+            this.segment = segment;
+            index = fromOffset;
+            end = index - length;
+            byteValue = -1;
+        }
+
+        @Override
+        public boolean readByte() {
+            if (index > end) {
+                byteValue = segment.get(JAVA_BYTE, index);
+                index--;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public byte getByte() {
+            return byteValue;
+        }
+
+        @Override
+        public int currentOffset() {
+            return index;
+        }
+
+        @Override
+        public int bytesLeft() {
+            return index - end;
+        }
+    }
+}
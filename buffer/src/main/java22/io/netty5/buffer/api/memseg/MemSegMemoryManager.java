@@ -0,0 +1,139 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.netty5.buffer.api.memseg;
+
+import io.netty5.buffer.api.AllocationType;
+import io.netty5.buffer.api.AllocatorControl;
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.Drop;
+import io.netty5.buffer.api.MemoryManager;
+import io.netty5.buffer.api.StandardAllocationTypes;
+import io.netty5.buffer.api.internal.ArcDrop;
+import io.netty5.buffer.api.internal.MappedFileAllocation;
+import io.netty5.buffer.api.internal.Statics;
+import io.netty5.buffer.api.internal.WrappingAllocation;
+import io.netty5.util.internal.SystemPropertyUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.function.Function;
+
+import static io.netty5.buffer.api.internal.Statics.convert;
+
+/**
+ * This memory manager produces and manages {@link Buffer} instances that are backed by {@link MemorySegment}
+ * instances.
+ * <p>
+ * All memory accesses are bounds-checked by the {@link MemorySegment} API, and no {@code sun.misc.Unsafe} is used.
+ * Off-heap memory is by default allocated in a {@linkplain Arena#ofShared() shared arena} per allocation, which is
+ * closed, and the memory released, when the buffer is {@linkplain Buffer#close() closed}.
+ * Closing a shared arena is relatively expensive, so this implementation works best with the pooling allocators.
+ * <p>
+ * Memory managers are normally not used directly.
+ * Instead, you likely want to use the {@link io.netty5.buffer.api.DefaultBufferAllocators}, or the static methods on
+ * {@link io.netty5.buffer.api.BufferAllocator}.
+ */
+public final class MemSegMemoryManager implements MemoryManager {
+    private static final boolean FREE_IMMEDIATELY = SystemPropertyUtil.getBoolean(
+            "io.netty5.buffer.api.memseg.MemSegMemoryManager.freeDirectMemoryImmediately", true);
+
+    @Override
+    public Buffer allocateShared(AllocatorControl allocatorControl, long size,
+                                 Function<Drop<Buffer>, Drop<Buffer>> dropDecorator,
+                                 AllocationType allocationType) {
+        final MemorySegment segment;
+        Drop<Buffer> drop = Statics.NO_OP_DROP;
+        if (allocationType == StandardAllocationTypes.OFF_HEAP) {
+            Statics.MEM_USAGE_NATIVE.add(size);
+            if (FREE_IMMEDIATELY) {
+                Arena arena = Arena.ofShared();
+                segment = arena.allocate(size);
+                drop = ArcDrop.wrap(new CloseArena(arena, size));
+            } else {
+                Arena arena = Arena.ofAuto();
+                segment = arena.allocate(size);
+                // The segments reference the arena scope, so the scope becomes unreachable with the last segment.
+                Statics.CLEANER.register(arena.scope(), () -> Statics.MEM_USAGE_NATIVE.add(-size));
+            }
+        } else if (allocationType == StandardAllocationTypes.ON_HEAP) {
+            segment = MemorySegment.ofArray(new byte[Math.toIntExact(size)]);
+        } else if (allocationType instanceof WrappingAllocation) {
+            segment = MemorySegment.ofArray(((WrappingAllocation) allocationType).getArray());
+        } else if (allocationType instanceof MappedFileAllocation) {
+            MappedFileAllocation mapping = (MappedFileAllocation) allocationType;
+            Arena arena = Arena.ofShared();
+            try {
+                segment = mapping.getChannel().map(
+                        MapMode.READ_ONLY, mapping.getPosition(), mapping.getLength(), arena);
+            } catch (IOException e) {
+                arena.close();
+                throw new UncheckedIOException(e);
+            } catch (Throwable e) {
+                arena.close();
+                throw e;
+            }
+            // Closing the arena unmaps the file region. Mapped memory does not count towards native memory usage.
+            drop = ArcDrop.wrap(new CloseArena(arena, 0));
+        } else {
+            throw new IllegalArgumentException("Unknown allocation type: " + allocationType);
+        }
+        return createBuffer(segment, allocatorControl, dropDecorator.apply(drop));
+    }
+
+    @Override
+    public Buffer allocateConstChild(Buffer readOnlyConstParent) {
+        MemSegBuffer buf = (MemSegBuffer) readOnlyConstParent;
+        return buf.newConstChild();
+    }
+
+    @Override
+    public Object unwrapRecoverableMemory(Buffer buf) {
+        return ((MemSegBuffer) buf).recoverable();
+    }
+
+    @Override
+    public Buffer recoverMemory(AllocatorControl allocatorControl, Object recoverableMemory, Drop<Buffer> drop) {
+        MemorySegment segment = (MemorySegment) recoverableMemory;
+        return createBuffer(segment, allocatorControl, drop);
+    }
+
+    private static MemSegBuffer createBuffer(MemorySegment segment, AllocatorControl allocatorControl,
+                                             Drop<Buffer> drop) {
+        Drop<MemSegBuffer> concreteDrop = convert(drop);
+        MemSegBuffer buffer = new MemSegBuffer(segment, segment, allocatorControl, concreteDrop);
+        concreteDrop.attach(buffer);
+        return buffer;
+    }
+
+    @Override
+    public Object sliceMemory(Object memory, int offset, int length) {
+        return ((MemorySegment) memory).asSlice(offset, length);
+    }
+
+    @Override
+    public void clearMemory(Object memory) {
+        ((MemorySegment) memory).fill((byte) 0);
+    }
+
+    @Override
+    public String implementationName() {
+        return "MemorySegment";
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.buffer.api.pool;
+
+import io.netty5.util.internal.PlatformDependent;
+import io.netty5.util.internal.logging.InternalLogger;
+import io.netty5.util.internal.logging.InternalLoggerFactory;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SymbolLookup;
+import java.lang.invoke.MethodHandle;
+
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+/**
+ * The few libc calls that are needed for placing pool chunks on huge pages and NUMA nodes, implemented with the
+ * {@code java.lang.foreign} API.
+ */
+final class NativeMemoryCalls {
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(NativeMemoryCalls.class);
+
+    private static final int MADV_HUGEPAGE = 14;
+    private static final long MPOL_PREFERRED = 1;
+    private static final long MPOL_MF_MOVE = 1 << 1;
+    // The kernel expects the number of bits in the node mask, plus one.
+    private static final long MAX_NODE = Long.SIZE + 1;
+
+    private static final MethodHandle MADVISE;
+    private static final MethodHandle GETCPU;
+    private static final MethodHandle SYSCALL;
+    private static final long SYS_MBIND;
+    private static final int PAGE_SIZE;
+
+    static {
+        MethodHandle madvise = null;
+        MethodHandle getpagesize = null;
+        MethodHandle getcpu = null;
+        MethodHandle syscall = null;
+        int pageSize = -1;
+        if ("linux".equals(PlatformDependent.normalizedOs())) {
+            try {
+                Linker linker = Linker.nativeLinker();
+                SymbolLookup libc = linker.defaultLookup();
+                madvise = libc.find("madvise").map(addr -> linker.downcallHandle(
+                        addr, FunctionDescriptor.of(JAVA_INT, ADDRESS, JAVA_LONG, JAVA_INT))).orElse(null);
+                getpagesize = libc.find("getpagesize").map(addr -> linker.downcallHandle(
+                        addr, FunctionDescriptor.of(JAVA_INT))).orElse(null);
+                // getcpu(3) is only exposed by glibc 2.29 and newer.
+                getcpu = libc.find("getcpu").map(addr -> linker.downcallHandle(
+                        addr, FunctionDescriptor.of(JAVA_INT, ADDRESS, ADDRESS))).orElse(null);
+                // mbind(2) has no libc wrapper, so it must go through syscall(2) which is variadic.
+                syscall = libc.find("syscall").map(addr -> linker.downcallHandle(
+                        addr, FunctionDescriptor.of(JAVA_LONG, JAVA_LONG, JAVA_LONG, JAVA_LONG, JAVA_LONG,
+                                JAVA_LONG, JAVA_LONG, JAVA_LONG),
+                        Linker.Option.firstVariadicArg(1))).orElse(null);
+                if (getpagesize != null) {
+                    pageSize = (int) getpagesize.invokeExact();
+                }
+            } catch (Throwable e) {
+                logger.debug("Native memory calls are not available.", e);
+                madvise = null;
+                getcpu = null;
+                syscall = null;
+            }
+        }
+        MADVISE = madvise;
+        GETCPU = getcpu;
+        SYSCALL = syscall;
+        PAGE_SIZE = pageSize;
+
+        String arch = PlatformDependent.normalizedArch();
+        if ("x86_64".equals(arch)) {
+            SYS_MBIND = 237;
+        } else if ("aarch_64".equals(arch)) {
+            SYS_MBIND = 235;
+        } else {
+            SYS_MBIND = -1;
+        }
+    }
+
+    private NativeMemoryCalls() {
+    }
+
+    static boolean isAvailable() {
+        return MADVISE != null && PAGE_SIZE > 0;
+    }
+
+    static boolean isMbindAvailable() {
+        return isAvailable() && SYSCALL != null && GETCPU != null && SYS_MBIND > 0;
+    }
+
+    static int pageSize() {
+        return PAGE_SIZE;
+    }
+
+    static int currentNumaNode() {
+        if (GETCPU == null) {
+            return -1;
+        }
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment node = arena.allocate(JAVA_INT);
+            int result = (int) GETCPU.invokeExact(MemorySegment.NULL, node);
+            return result == 0? node.get(JAVA_INT, 0) : -1;
+        } catch (Throwable e) {
+            return -1;
+        }
+    }
+
+    static boolean adviseHugePages(long address, long length) {
+        if (MADVISE == null) {
+            return false;
+        }
+        try {
+            int result = (int) MADVISE.invokeExact(MemorySegment.ofAddress(address), length, MADV_HUGEPAGE);
+            return result == 0;
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    static boolean preferNode(long address, long length, int node) {
+        if (SYSCALL == null || SYS_MBIND < 0 || node < 0 || node >= Long.SIZE) {
+            return false;
+        }
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment nodeMask = arena.allocate(JAVA_LONG);
+            nodeMask.set(JAVA_LONG, 0, 1L << node);
+            long result = (long) SYSCALL.invokeExact(SYS_MBIND, address, length, MPOL_PREFERRED,
+                    nodeMask.address(), MAX_NODE, MPOL_MF_MOVE);
+            return result == 0;
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+}
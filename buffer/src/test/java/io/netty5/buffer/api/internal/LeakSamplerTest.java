@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.buffer.api.internal;
+
+import io.netty5.buffer.api.LeakInfo.TracePoint;
+import io.netty5.buffer.api.internal.LeakSampler.AllocationSite;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LeakSamplerTest {
+
+    @Test
+    public void suspicionOfAllocationSiteMustWearOff() {
+        AllocationSite site = new AllocationSite("test", null);
+        assertFalse(tracesHints(LeakSampler.tracerFor(site)));
+
+        LeakSampler.countLeak(LeakSampler.tracerFor(site));
+        for (int i = 0; i < LeakSampler.SUSPECT_SAMPLES; i++) {
+            assertTrue(tracesHints(LeakSampler.tracerFor(site)));
+        }
+        assertFalse(tracesHints(LeakSampler.tracerFor(site)));
+
+        // Another leak makes the site suspected again.
+        LeakSampler.countLeak(LeakSampler.tracerFor(site));
+        assertTrue(tracesHints(LeakSampler.tracerFor(site)));
+    }
+
+    @Test
+    public void suspectTracingMustCountTowardsOverhead() {
+        AllocationSite site = new AllocationSite("test", null);
+        LeakSampler.countLeak(LeakSampler.tracerFor(site));
+        LifecycleTracer tracer = LeakSampler.tracerFor(site);
+        boolean counted = false;
+        // The window may roll over, and reset the cost, while we trace. So try a few times.
+        for (int i = 0; i < 10 && !counted; i++) {
+            long before = LeakSampler.windowCostNanos();
+            tracer.touch("hint");
+            counted = LeakSampler.windowCostNanos() > before;
+        }
+        assertTrue(counted);
+    }
+
+    private static boolean tracesHints(LifecycleTracer tracer) {
+        tracer.touch("hint");
+        for (TracePoint tracePoint : tracer.collectTraces()) {
+            if ("hint".equals(tracePoint.hint())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
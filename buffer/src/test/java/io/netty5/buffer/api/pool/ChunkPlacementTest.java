@@ -0,0 +1,98 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.buffer.api.pool;
+
+import io.netty5.buffer.api.MemoryManager;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ChunkPlacementTest {
+
+    private static PooledBufferAllocator newAllocator(boolean direct, AtomicInteger numaNode) {
+        // The node of the current thread is taken from the test, so this works on machines with a single node too.
+        return new PooledBufferAllocator(MemoryManager.instance(), direct, 2, 8192, 9, 0, 0, false, 0, 0,
+                numaNode::get);
+    }
+
+    @Test
+    public void threadsMustUseArenasOfTheirNumaNode() throws Exception {
+        AtomicInteger numaNode = new AtomicInteger();
+        try (PooledBufferAllocator allocator = newAllocator(true, numaNode)) {
+            List<PoolArenaMetric> arenas = allocator.metric().arenaMetrics();
+            assertEquals(-1, arenas.get(0).numaNode());
+            assertEquals(-1, arenas.get(1).numaNode());
+
+            // The first thread binds an arena to its node.
+            numaNode.set(0);
+            allocateInNewThread(allocator);
+            PoolArenaMetric node0 = arenas.get(0).numThreadCaches() == 1? arenas.get(0) : arenas.get(1);
+            assertEquals(1, node0.numThreadCaches());
+            assertEquals(0, node0.numaNode());
+            assertEquals(1, node0.numSmallAllocations());
+
+            // A thread on another node must not share it, and binds the other arena.
+            numaNode.set(1);
+            allocateInNewThread(allocator);
+            PoolArenaMetric node1 = node0 == arenas.get(0)? arenas.get(1) : arenas.get(0);
+            assertEquals(1, node1.numThreadCaches());
+            assertEquals(1, node1.numaNode());
+            assertEquals(1, node1.numSmallAllocations());
+
+            // Threads on the first node keep using its arena, even though it is the more used one.
+            numaNode.set(0);
+            allocateInNewThread(allocator);
+            assertEquals(2, node0.numThreadCaches());
+            assertEquals(2, node0.numSmallAllocations());
+            assertEquals(1, node1.numThreadCaches());
+        }
+    }
+
+    @Test
+    public void threadsOnUnknownNodeMustUseLeastUsedArena() throws Exception {
+        AtomicInteger numaNode = new AtomicInteger(-1);
+        try (PooledBufferAllocator allocator = newAllocator(true, numaNode)) {
+            List<PoolArenaMetric> arenas = allocator.metric().arenaMetrics();
+            allocateInNewThread(allocator);
+            allocateInNewThread(allocator);
+            for (PoolArenaMetric arena : arenas) {
+                assertEquals(1, arena.numThreadCaches());
+                assertEquals(-1, arena.numaNode());
+            }
+        }
+    }
+
+    @Test
+    public void heapArenasMustNotBeBoundToNumaNodes() throws Exception {
+        AtomicInteger numaNode = new AtomicInteger(1);
+        try (PooledBufferAllocator allocator = newAllocator(false, numaNode)) {
+            allocateInNewThread(allocator);
+            for (PoolArenaMetric arena : allocator.metric().arenaMetrics()) {
+                assertEquals(-1, arena.numaNode());
+            }
+        }
+    }
+
+    private static void allocateInNewThread(PooledBufferAllocator allocator) throws InterruptedException {
+        // The arena of a thread is chosen on its first allocation.
+        Thread thread = new Thread(() -> allocator.allocate(64).close());
+        thread.start();
+        thread.join();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.buffer.api.pool;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.Drop;
+import io.netty5.buffer.api.MemoryManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PoolThreadCacheTest {
+    private static final int SMALL_SIZE = 64;
+    private static final int CACHE_SIZE = 8;
+
+    private PooledBufferAllocator allocator;
+    private PoolArena arena;
+    private PoolThreadCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        // No thread local caches and no magazines of its own, so the arena only sees what our cache gives back.
+        allocator = new PooledBufferAllocator(MemoryManager.instance(), false, 1, 8192, 9, 0, 0, false, 0, 0);
+        arena = (PoolArena) allocator.metric().arenaMetrics().get(0);
+        cache = new PoolThreadCache(arena, CACHE_SIZE, CACHE_SIZE, 32 * 1024, Integer.MAX_VALUE, true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cache.free();
+        allocator.close();
+    }
+
+    @Test
+    public void adaptiveTrimMustSizeCacheByDemand() {
+        // Every allocation misses the empty cache, and every release is cached.
+        allocateAndRelease(4);
+        assertEquals(4, cachedEntries());
+        cache.trim();
+        assertEquals(4, cachedEntries());
+
+        // An idle cache is emptied.
+        cache.trim();
+        assertEquals(0, cachedEntries());
+
+        // Demand that goes up lets the cache grow again, hits and misses alike.
+        allocateAndRelease(2);
+        allocateAndRelease(6);
+        assertEquals(6, cachedEntries());
+        cache.trim();
+        assertEquals(6, cachedEntries());
+
+        // And demand that goes down shrinks it.
+        allocateAndRelease(2);
+        cache.trim();
+        assertEquals(2, cachedEntries());
+    }
+
+    @Test
+    public void adaptiveTrimMustNotKeepMoreThanCacheSize() {
+        allocateAndRelease(CACHE_SIZE * 2);
+        assertEquals(CACHE_SIZE, cachedEntries());
+        cache.trim();
+        assertEquals(CACHE_SIZE, cachedEntries());
+    }
+
+    private void allocateAndRelease(int count) {
+        List<Buffer> buffers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UntetheredMemory memory = arena.allocate(cache, SMALL_SIZE);
+            Drop<Buffer> drop = memory.drop();
+            Buffer buffer = arena.manager.recoverMemory(allocator.getPooledAllocatorControl(), memory.memory(), drop);
+            drop.attach(buffer);
+            buffers.add(buffer);
+        }
+        for (Buffer buffer : buffers) {
+            buffer.close();
+        }
+    }
+
+    private long cachedEntries() {
+        // Cached memory is still allocated as far as the arena is concerned.
+        return arena.numActiveSmallAllocations();
+    }
+}
@@ -18,6 +18,7 @@ package io.netty5.buffer.api.tests;
 import io.netty5.buffer.api.Buffer;
 import io.netty5.buffer.api.BufferAllocator;
 import io.netty5.buffer.api.pool.BufferAllocatorMetric;
+import io.netty5.buffer.api.pool.PoolArenaMetric;
 import io.netty5.buffer.api.pool.PooledBufferAllocator;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -37,6 +38,49 @@ class BufferAllocatorMetricTest extends BufferTestSupport {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("pooledAllocators")
+    void chunkPlacementMustBeOffByDefault(Fixture fixture) {
+        try (BufferAllocator allocator = fixture.createAllocator()) {
+            if (allocator instanceof PooledBufferAllocator) {
+                PooledBufferAllocator pooledBufferAllocator = (PooledBufferAllocator) allocator;
+                try (Buffer ignore = allocator.allocate(1024)) {
+                    for (PoolArenaMetric arena : pooledBufferAllocator.metric().arenaMetrics()) {
+                        assertEquals(-1, arena.numaNode());
+                        assertThat(arena.isHugePageBacked()).isFalse();
+                    }
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("pooledAllocators")
+    void reclaimEmptyChunksMustReleaseUnusedChunks(Fixture fixture) {
+        try (BufferAllocator allocator = fixture.createAllocator()) {
+            if (allocator instanceof PooledBufferAllocator) {
+                PooledBufferAllocator pooledBufferAllocator = (PooledBufferAllocator) allocator;
+                BufferAllocatorMetric metric = pooledBufferAllocator.metric();
+                assertEquals(0, metric.reclaimedMemory());
+                try (Buffer ignore = allocator.allocate(1024)) {
+                    // Chunks with allocations must not be released.
+                    assertEquals(0, pooledBufferAllocator.reclaimEmptyChunks());
+                    assertThat(metric.usedMemory()).isEqualTo(metric.chunkSize());
+                }
+                pooledBufferAllocator.trimCurrentThreadCache();
+                assertThat(pooledBufferAllocator.reclaimEmptyChunks()).isEqualTo(metric.chunkSize());
+                assertEquals(0, metric.usedMemory());
+                assertThat(metric.reclaimedMemory()).isEqualTo(metric.chunkSize());
+
+                // The allocator must still work after its chunks were released.
+                try (Buffer buffer = allocator.allocate(1024)) {
+                    buffer.writeLong(42);
+                    assertEquals(42, buffer.readLong());
+                }
+            }
+        }
+    }
+
     private static void testUsedMemory(Fixture fixture, int initialCapacity) {
         try (BufferAllocator allocator = fixture.createAllocator()) {
             if (allocator instanceof PooledBufferAllocator) {
@@ -17,6 +17,7 @@ package io.netty5.buffer.api.tests;
 
 import io.netty5.buffer.api.Buffer;
 import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.buffer.api.BufferReadOnlyException;
 import io.netty5.buffer.api.internal.ResourceSupport;
 import io.netty5.buffer.api.internal.Statics;
 import io.netty5.util.Resource;
@@ -25,6 +26,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 
 import static java.util.Arrays.asList;
@@ -868,6 +870,102 @@ public class BufferBulkAccessTest extends BufferTestSupport {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("allocators")
+    public void writeIntsMustWriteValuesInGivenByteOrder(Fixture fixture) {
+        try (BufferAllocator allocator = fixture.createAllocator();
+             Buffer buffer = allocator.allocate(16)) {
+            int[] values = { 0x01020304, 0x05060708, 0x090A0B0C, 0x0D0E0F10 };
+            buffer.writeInts(values, 1, 2, ByteOrder.BIG_ENDIAN);
+            buffer.writeInts(values, 1, 2, ByteOrder.LITTLE_ENDIAN);
+            assertThat(buffer.writerOffset()).isEqualTo(16);
+            assertThat(buffer.readInt()).isEqualTo(0x05060708);
+            assertThat(buffer.readInt()).isEqualTo(0x090A0B0C);
+            assertThat(buffer.readInt()).isEqualTo(0x08070605);
+            assertThat(buffer.readInt()).isEqualTo(0x0C0B0A09);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("allocators")
+    public void bulkPrimitiveTransfersMustRoundTrip(Fixture fixture) {
+        try (BufferAllocator allocator = fixture.createAllocator();
+             Buffer buffer = allocator.allocate(256)) {
+            for (ByteOrder order : new ByteOrder[] { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN }) {
+                short[] shorts = { 1, -2, 0x0102, Short.MIN_VALUE, Short.MAX_VALUE };
+                long[] longs = { 1, -2, 0x0102030405060708L, Long.MIN_VALUE, Long.MAX_VALUE };
+                float[] floats = { 1.5f, -2.25f, Float.NaN, Float.MIN_VALUE, Float.MAX_VALUE };
+                double[] doubles = { 1.5, -2.25, Double.NaN, Double.MIN_VALUE, Double.MAX_VALUE };
+                buffer.resetOffsets().writeByte((byte) 1); // Make the values unaligned.
+                buffer.writeShorts(shorts, 0, shorts.length, order)
+                      .writeLongs(longs, 0, longs.length, order)
+                      .writeFloats(floats, 0, floats.length, order)
+                      .writeDoubles(doubles, 0, doubles.length, order);
+                assertThat(buffer.readableBytes()).isEqualTo(1 + 5 * (Short.BYTES + Long.BYTES + Float.BYTES +
+                                                                     Double.BYTES));
+                assertThat(buffer.getLong(1 + 5 * Short.BYTES + Long.BYTES * 2)).isEqualTo(
+                        order == ByteOrder.BIG_ENDIAN? 0x0102030405060708L : 0x0807060504030201L);
+
+                short[] shortsRead = new short[6];
+                long[] longsRead = new long[6];
+                float[] floatsRead = new float[6];
+                double[] doublesRead = new double[6];
+                buffer.skipReadableBytes(1);
+                buffer.readShorts(shortsRead, 1, 5, order)
+                      .readLongs(longsRead, 1, 5, order)
+                      .readFloats(floatsRead, 1, 5, order)
+                      .readDoubles(doublesRead, 1, 5, order);
+                assertThat(buffer.readableBytes()).isZero();
+                assertThat(shortsRead).containsExactly(0, 1, -2, 0x0102, Short.MIN_VALUE, Short.MAX_VALUE);
+                assertThat(longsRead).containsExactly(0, 1, -2, 0x0102030405060708L, Long.MIN_VALUE, Long.MAX_VALUE);
+                assertThat(floatsRead).containsExactly(0, 1.5f, -2.25f, Float.NaN, Float.MIN_VALUE, Float.MAX_VALUE);
+                assertThat(doublesRead).containsExactly(0, 1.5, -2.25, Double.NaN, Double.MIN_VALUE, Double.MAX_VALUE);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("allocators")
+    public void writeLongsMustExpandImplicitly(Fixture fixture) {
+        try (BufferAllocator allocator = fixture.createAllocator();
+             Buffer buffer = allocator.allocate(8)) {
+            long[] values = { 1, 2, 3, 4 };
+            buffer.writeLongs(values, 0, values.length, ByteOrder.nativeOrder());
+            assertThat(buffer.capacity()).isGreaterThanOrEqualTo(32);
+            long[] read = new long[4];
+            buffer.readLongs(read, 0, read.length, ByteOrder.nativeOrder());
+            assertThat(read).containsExactly(values);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("allocators")
+    public void bulkPrimitiveTransfersMustCheckBounds(Fixture fixture) {
+        try (BufferAllocator allocator = fixture.createAllocator();
+             Buffer buffer = allocator.allocate(8)) {
+            int[] values = new int[4];
+            buffer.writeInt(42);
+            assertThrows(IndexOutOfBoundsException.class,
+                         () -> buffer.readInts(values, 0, 2, ByteOrder.BIG_ENDIAN));
+            assertThrows(IndexOutOfBoundsException.class,
+                         () -> buffer.readInts(values, 3, 2, ByteOrder.BIG_ENDIAN));
+            assertThrows(IndexOutOfBoundsException.class,
+                         () -> buffer.writeInts(values, -1, 1, ByteOrder.BIG_ENDIAN));
+            assertThat(buffer.readerOffset()).isZero();
+            assertThat(buffer.writerOffset()).isEqualTo(4);
+            buffer.implicitCapacityLimit(buffer.capacity());
+            int[] tooMany = new int[buffer.capacity() / Integer.BYTES];
+            assertThrows(IndexOutOfBoundsException.class,
+                         () -> buffer.writeInts(tooMany, 0, tooMany.length, ByteOrder.BIG_ENDIAN));
+            assertThat(buffer.writerOffset()).isEqualTo(4);
+            buffer.makeReadOnly();
+            assertThrows(BufferReadOnlyException.class,
+                         () -> buffer.writeInts(values, 0, 1, ByteOrder.BIG_ENDIAN));
+            buffer.readInts(values, 0, 1, ByteOrder.BIG_ENDIAN);
+            assertThat(values[0]).isEqualTo(42);
+        }
+    }
+
     @ParameterizedTest
     @MethodSource("directAllocators")
     public void offHeapBuffersMustBeDirect(Fixture fixture) {
@@ -35,6 +35,7 @@ import static io.netty5.buffer.api.internal.Statics.isOwned;
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -193,6 +194,77 @@ public class BufferCompositionTest extends BufferTestSupport {
         }
     }
 
+    @Test
+    public void cumulatingManySmallComponentsMustKeepOffsetsConsistent() {
+        try (BufferAllocator allocator = BufferAllocator.onHeapUnpooled();
+             CompositeBuffer composite = allocator.compose()) {
+            int read = 0;
+            int discarded = 0;
+            for (int i = 0; i < 1000; i++) {
+                composite.extendWith(allocator.allocate(4).writeInt(i).send());
+                if (i % 3 == 2) {
+                    assertEquals(read++, composite.readInt());
+                }
+                if (i % 64 == 63) {
+                    // Discard the read components, like the composite cumulator does.
+                    composite.readSplit(0).close();
+                    discarded = read;
+                }
+            }
+            assertEquals(1000 - discarded, composite.countComponents());
+            assertEquals(4 * (read - discarded), composite.readerOffset());
+            assertEquals(4 * (1000 - read), composite.readableBytes());
+            composite.readerOffset(0);
+            for (int i = discarded; i < 1000; i++) {
+                assertEquals(i, composite.readInt());
+            }
+            assertThat(composite.writableBytes()).isZero();
+        }
+    }
+
+    @Test
+    public void splittingCompositeBufferMustNotAffectOpenCursors() {
+        try (BufferAllocator allocator = BufferAllocator.onHeapUnpooled();
+             CompositeBuffer composite = allocator.compose(asList(
+                     allocator.allocate(4).writeInt(0x01020304).send(),
+                     allocator.allocate(4).writeInt(0x05060708).send(),
+                     allocator.allocate(4).writeInt(0x090A0B0C).send()))) {
+            var cursor = composite.openCursor();
+            assertTrue(cursor.readByte());
+            assertEquals((byte) 0x01, cursor.getByte());
+            try (Buffer split = composite.split(4)) {
+                for (int i = 2; i <= 12; i++) {
+                    assertTrue(cursor.readByte());
+                    assertEquals((byte) i, cursor.getByte());
+                }
+                assertFalse(cursor.readByte());
+                assertEquals(0x01020304, split.readInt());
+            }
+            assertEquals(0x05060708, composite.readInt());
+        }
+    }
+
+    @Test
+    public void closingComponentIteratorTwiceMustNotAffectOtherIterations() {
+        try (BufferAllocator allocator = BufferAllocator.onHeapUnpooled();
+             CompositeBuffer composite = allocator.compose(asList(
+                     allocator.allocate(4).writeInt(1).send(),
+                     allocator.allocate(8).writeLong(2).send()))) {
+            var first = composite.forEachReadable();
+            first.close();
+            try (var second = composite.forEachReadable()) {
+                var component = second.first();
+                first.close();
+                assertEquals(4, component.readableBytes());
+                component = component.next();
+                assertEquals(8, component.readableBytes());
+                assertNull(component.next());
+            }
+            assertTrue(isOwned((ResourceSupport<?, ?>) composite));
+            assertEquals(12, composite.readableBytes());
+        }
+    }
+
     @Test
     public void extendingCompositeBufferWithNullMustThrow() {
         try (BufferAllocator allocator = BufferAllocator.onHeapUnpooled();
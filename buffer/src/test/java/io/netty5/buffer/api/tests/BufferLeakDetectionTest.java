@@ -19,9 +19,11 @@ import io.netty5.buffer.api.Buffer;
 import io.netty5.buffer.api.BufferAllocator;
 import io.netty5.buffer.api.LeakInfo;
 import io.netty5.buffer.api.MemoryManager;
+import io.netty5.buffer.api.internal.LeakDetection;
 import io.netty5.util.Send;
 import io.netty5.util.internal.logging.InternalLogger;
 import io.netty5.util.internal.logging.InternalLoggerFactory;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.parallel.Isolated;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -34,6 +36,7 @@ import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -182,6 +185,42 @@ public class BufferLeakDetectionTest extends BufferTestSupport {
                 .isNotNull();
     }
 
+    @Test
+    public void sampledLeaksMustBeCountedByAllocationSite() throws Exception {
+        LeakDetection.setSamplingEnabled(true);
+        Semaphore gcEvents = new Semaphore(0);
+        try (var ignore1 = MemoryManager.onLeakDetected(leak -> { });
+             var ignore2 = installGcEventListener(() -> gcEvents.release());
+             BufferAllocator allocator = BufferAllocator.onHeapUnpooled()) {
+            long leaksBefore = countLeaksFromThisClass();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+            while (countLeaksFromThisClass() == leaksBefore && System.nanoTime() < deadline) {
+                leakBuffers(allocator, 10_000);
+                System.gc();
+                gcEvents.tryAcquire(100, TimeUnit.MILLISECONDS);
+            }
+            assertThat(countLeaksFromThisClass())
+                    .as("No sampled leak was counted by allocation site in 20 seconds.")
+                    .isGreaterThan(leaksBefore);
+        } finally {
+            LeakDetection.setSamplingEnabled(false);
+        }
+    }
+
+    private static void leakBuffers(BufferAllocator allocator, int count) {
+        for (int i = 0; i < count; i++) {
+            allocator.allocate(8).writeLong(i);
+        }
+    }
+
+    private static long countLeaksFromThisClass() {
+        String prefix = BufferLeakDetectionTest.class.getName() + '.';
+        return MemoryManager.leakCountsByAllocationSite().entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(prefix))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
     private static String makeHint(TestInfo testInfo) {
         return new String("for test \"" + testInfo.getDisplayName() + '"');
     }
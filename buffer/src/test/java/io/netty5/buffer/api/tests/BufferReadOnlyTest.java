@@ -17,7 +17,9 @@ package io.netty5.buffer.api.tests;
 
 import io.netty5.buffer.api.Buffer;
 import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.buffer.api.BufferClosedException;
 import io.netty5.buffer.api.BufferReadOnlyException;
+import io.netty5.buffer.api.SharedBuffer;
 import io.netty5.util.Send;
 import io.netty5.buffer.api.internal.ResourceSupport;
 import org.junit.jupiter.api.Assertions;
@@ -320,4 +322,54 @@ public class BufferReadOnlyTest extends BufferTestSupport {
             }
         }
     }
+
+    @ParameterizedTest
+    @MethodSource("allocators")
+    public void sharedBufferViewsMustShareMemory(Fixture fixture) {
+        try (BufferAllocator allocator = fixture.createAllocator()) {
+            Buffer buf = allocator.allocate(8).writeLong(0x0102030405060708L);
+            assertEquals(0x01, buf.readByte());
+            Buffer first;
+            Buffer second;
+            try (SharedBuffer shared = SharedBuffer.share(buf)) {
+                assertTrue(buf.readOnly());
+                assertEquals(7, shared.readableBytes());
+                first = shared.get();
+                second = shared.get();
+            }
+            // The views stay accessible after the shared buffer is closed.
+            try (first; second) {
+                assertTrue(first.readOnly());
+                assertTrue(second.readOnly());
+                assertEquals(7, first.readableBytes());
+                assertEquals(0x02030405, first.readInt());
+                assertEquals(3, first.readableBytes());
+                assertEquals(7, second.readableBytes());
+                assertEquals(0x02, second.getByte(second.readerOffset()));
+                if (fixture.isDirect() && !fixture.isComposite()) {
+                    assertEquals(nativeAddress(first) - 4, nativeAddress(second));
+                }
+                verifyWriteInaccessible(first, BufferReadOnlyException.class);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("allocators")
+    public void closedSharedBufferMustNotHandOutViews(Fixture fixture) {
+        try (BufferAllocator allocator = fixture.createAllocator()) {
+            SharedBuffer shared = SharedBuffer.share(allocator.allocate(8).writeInt(42));
+            shared.close();
+            assertThrows(BufferClosedException.class, shared::get);
+        }
+    }
+
+    private static long nativeAddress(Buffer buf) {
+        long[] address = new long[1];
+        buf.forEachReadable(0, (index, component) -> {
+            address[0] = component.readableNativeAddress();
+            return false;
+        });
+        return address[0];
+    }
 }
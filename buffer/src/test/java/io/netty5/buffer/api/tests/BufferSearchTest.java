@@ -17,6 +17,8 @@ package io.netty5.buffer.api.tests;
 
 import io.netty5.buffer.api.Buffer;
 import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.buffer.api.ByteCursor;
+import io.netty5.util.ByteProcessor;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -295,6 +297,69 @@ public class BufferSearchTest extends BufferTestSupport {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("allocators")
+    public void bytesBeforeMustFindNeedlesInLargeBuffers(Fixture fixture) {
+        // Large enough for the vectorized search to kick in, when it is available.
+        try (BufferAllocator allocator = fixture.createAllocator();
+             Buffer haystack = allocator.allocate(1024);
+             Buffer needle = allocator.copyOf("xyz", StandardCharsets.US_ASCII);
+             Buffer copy = allocator.allocate(1024)) {
+            for (int i = 0; i < 1000; i++) {
+                haystack.writeByte((byte) ('a' + i % 23));
+            }
+            for (int position = 997; position >= 0; position -= 31) {
+                haystack.setByte(position, (byte) 'x');
+                haystack.setByte(position + 1, (byte) 'y');
+                haystack.setByte(position + 2, (byte) 'z');
+                haystack.readerOffset(0);
+                assertThat(haystack.bytesBefore(needle)).isEqualTo(position);
+                haystack.readerOffset(position / 2);
+                assertThat(haystack.bytesBefore(needle)).isEqualTo(position - position / 2);
+                haystack.readerOffset(0).copyInto(0, copy, 0, 1000);
+                assertThat(haystack).isEqualTo(copy.writerOffset(1000));
+                copy.setByte(position + 1, (byte) 'Y');
+                assertThat(haystack).isNotEqualTo(copy);
+            }
+            haystack.readerOffset(0).setByte(999, (byte) '%');
+            assertThat(haystack.bytesBefore((byte) '%')).isEqualTo(999);
+            assertThat(haystack.bytesBefore((byte) '!')).isEqualTo(-1);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("allocators")
+    public void cursorProcessMustStopAtSearchedBytesInLargeBuffers(Fixture fixture) {
+        try (BufferAllocator allocator = fixture.createAllocator();
+             Buffer buffer = allocator.allocate(1024)) {
+            for (int i = 0; i < 1000; i++) {
+                buffer.writeByte((byte) ('a' + i % 23));
+            }
+            buffer.setByte(700, (byte) ';');
+            buffer.setByte(800, (byte) '\n');
+            buffer.setByte(900, (byte) 0x80);
+            buffer.readerOffset(3);
+
+            assertCursorStopsAt(buffer, ByteProcessor.FIND_SEMI_COLON, 700, (byte) ';');
+            assertCursorStopsAt(buffer, ByteProcessor.FIND_CRLF, 800, (byte) '\n');
+            assertCursorStopsAt(buffer, ByteProcessor.FIND_NON_ASCII, 900, (byte) 0x80);
+            assertCursorStopsAt(buffer, ByteProcessor.FIND_NUL, -1, buffer.getByte(999));
+        }
+    }
+
+    private static void assertCursorStopsAt(Buffer buffer, ByteProcessor processor, int offset, byte value) {
+        ByteCursor cursor = buffer.openCursor();
+        int start = buffer.readerOffset();
+        if (offset == -1) {
+            assertThat(cursor.process(processor)).isEqualTo(-1);
+            assertThat(cursor.bytesLeft()).isZero();
+        } else {
+            assertThat(cursor.process(processor)).isEqualTo(offset - start);
+            assertThat(cursor.currentOffset()).isEqualTo(offset + 1);
+        }
+        assertThat(cursor.getByte()).isEqualTo(value);
+    }
+
     private static void fillBuffer(Buffer buf) {
         ThreadLocalRandom rng = ThreadLocalRandom.current();
         int len = buf.capacity() / Long.BYTES;
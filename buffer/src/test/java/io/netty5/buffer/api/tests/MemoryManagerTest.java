@@ -23,9 +23,15 @@ import io.netty5.buffer.api.internal.ResourceSupport;
 import io.netty5.util.internal.logging.InternalLogger;
 import io.netty5.util.internal.logging.InternalLoggerFactory;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ServiceConfigurationError;
@@ -199,6 +205,74 @@ public class MemoryManagerTest {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("managers")
+    public void mappedFileBufferMustHaveFileContents(MemoryManager manager, @TempDir Path dir) throws IOException {
+        Path file = writeFile(dir, 1024);
+        try (FileChannel channel = FileChannel.open(file);
+             Buffer buffer = mapFile(manager, channel, 100, 800)) {
+            assertThat(buffer.capacity()).isEqualTo(800);
+            assertThat(buffer.readableBytes()).isEqualTo(800);
+            assertTrue(buffer.isDirect());
+            for (int i = 0; i < 800; i++) {
+                assertEquals((byte) (100 + i), buffer.readByte());
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("managers")
+    public void mappedFileBufferIsReadOnly(MemoryManager manager, @TempDir Path dir) throws IOException {
+        Path file = writeFile(dir, 64);
+        try (FileChannel channel = FileChannel.open(file);
+             Buffer buffer = mapFile(manager, channel, 0, 64)) {
+            assertTrue(buffer.readOnly());
+            verifyWriteInaccessible(buffer, BufferReadOnlyException.class);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("managers")
+    public void mappedFileBufferMustOutliveFileChannel(MemoryManager manager, @TempDir Path dir) throws IOException {
+        Path file = writeFile(dir, 64);
+        Buffer buffer;
+        try (FileChannel channel = FileChannel.open(file)) {
+            buffer = mapFile(manager, channel, 8, 8);
+        }
+        try (Buffer copy = buffer.copy(0, 8, true)) {
+            buffer.close();
+            assertEquals(0x08090A0B0C0D0E0FL, copy.readLong());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("managers")
+    public void mappingFileMustRejectInvalidRegions(MemoryManager manager, @TempDir Path dir) throws IOException {
+        Path file = writeFile(dir, 64);
+        try (FileChannel channel = FileChannel.open(file)) {
+            assertThrows(IllegalArgumentException.class, () -> mapFile(manager, channel, -1, 8));
+            assertThrows(IllegalArgumentException.class, () -> mapFile(manager, channel, 0, -1));
+        }
+    }
+
+    private static Path writeFile(Path dir, int size) throws IOException {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        return Files.write(dir.resolve("mapped.bin"), bytes);
+    }
+
+    private static Buffer mapFile(MemoryManager manager, FileChannel channel, long position, int length) {
+        return MemoryManager.using(manager, () -> {
+            try {
+                return MemoryManager.mapFile(channel, position, length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
     private static Buffer wrap(MemoryManager manager, byte[] bytes) {
         return MemoryManager.using(manager, () -> {
             return MemoryManager.unsafeWrap(bytes);
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.buffer.api.tests;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.MemoryManager;
+import io.netty5.buffer.api.pool.PoolArenaMetric;
+import io.netty5.buffer.api.pool.PooledBufferAllocator;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PooledBufferAllocatorMagazineTest extends BufferTestSupport {
+
+    private static PooledBufferAllocator newAllocator(boolean direct, int magazineSize) {
+        // No thread local caches at all, so everything that is reused must come from the magazines.
+        return new PooledBufferAllocator(MemoryManager.instance(), direct, 1,
+                PooledBufferAllocator.defaultPageSize(), PooledBufferAllocator.defaultMaxOrder(),
+                0, 0, false, 0, magazineSize);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    public void releasedSmallMemoryMustBeReusedFromMagazine(boolean direct) {
+        try (PooledBufferAllocator allocator = newAllocator(direct, 16)) {
+            PoolArenaMetric arena = allocator.metric().arenaMetrics().get(0);
+            for (int i = 0; i < 10; i++) {
+                try (Buffer buf = allocator.allocate(64)) {
+                    buf.writeLong(i);
+                    assertThat(buf.readLong()).isEqualTo(i);
+                }
+            }
+            assertThat(arena.numSmallAllocations()).isOne();
+            assertThat(arena.numSmallDeallocations()).isZero();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    public void releasedNormalMemoryMustBeReusedFromMagazine(boolean direct) {
+        try (PooledBufferAllocator allocator = newAllocator(direct, 16)) {
+            PoolArenaMetric arena = allocator.metric().arenaMetrics().get(0);
+            for (int i = 0; i < 10; i++) {
+                try (Buffer buf = allocator.allocate(32768)) {
+                    buf.writeLong(i);
+                    assertThat(buf.readLong()).isEqualTo(i);
+                }
+            }
+            assertThat(arena.numNormalAllocations()).isOne();
+            assertThat(arena.numNormalDeallocations()).isZero();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    public void fullMagazineMustReleaseToArena(boolean direct) {
+        try (PooledBufferAllocator allocator = newAllocator(direct, 1)) {
+            PoolArenaMetric arena = allocator.metric().arenaMetrics().get(0);
+            Buffer a = allocator.allocate(32768);
+            Buffer b = allocator.allocate(32768);
+            a.close();
+            b.close();
+            assertThat(arena.numNormalAllocations()).isEqualTo(2);
+            assertThat(arena.numNormalDeallocations()).isOne();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    public void trimMustDrainMagazines(boolean direct) {
+        try (PooledBufferAllocator allocator = newAllocator(direct, 16)) {
+            PoolArenaMetric arena = allocator.metric().arenaMetrics().get(0);
+            allocator.allocate(64).close();
+            allocator.allocate(32768).close();
+            assertThat(arena.numSmallDeallocations()).isZero();
+            assertThat(arena.numNormalDeallocations()).isZero();
+            assertThat(allocator.trimCurrentThreadCache()).isTrue();
+            assertThat(arena.numSmallDeallocations()).isOne();
+            assertThat(arena.numNormalDeallocations()).isOne();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    public void magazinesMustBeDisabledWithZeroSize(boolean direct) {
+        try (PooledBufferAllocator allocator = newAllocator(direct, 0)) {
+            PoolArenaMetric arena = allocator.metric().arenaMetrics().get(0);
+            for (int i = 0; i < 3; i++) {
+                allocator.allocate(32768).close();
+            }
+            assertThat(arena.numNormalAllocations()).isEqualTo(3);
+            assertThat(arena.numNormalDeallocations()).isEqualTo(3);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    public void concurrentAllocationsMustNotShareMemory(boolean direct) throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (PooledBufferAllocator allocator = newAllocator(direct, 8)) {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long seed = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                    for (int i = 0; i < 2000; i++) {
+                        int size = rnd.nextBoolean()? 16 + rnd.nextInt(512) : 8192 + rnd.nextInt(16384);
+                        try (Buffer buf = allocator.allocate(size)) {
+                            long value = seed << 32 | i;
+                            buf.setLong(0, value);
+                            buf.setLong(size - Long.BYTES, value);
+                            Thread.yield();
+                            assertThat(buf.getLong(0)).isEqualTo(value);
+                            assertThat(buf.getLong(size - Long.BYTES)).isEqualTo(value);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -110,6 +110,11 @@ public interface ByteProcessor {
      */
     ByteProcessor FIND_NON_CRLF = value -> value == CARRIAGE_RETURN || value == LINE_FEED;
 
+    /**
+     * Aborts on a byte which is not {@code US-ASCII}, that is, a byte with the highest bit set.
+     */
+    ByteProcessor FIND_NON_ASCII = value -> value >= 0;
+
     /**
      * Aborts on a linear whitespace (a ({@code ' '} or a {@code '\t'}).
      */
@@ -39,6 +39,7 @@ public abstract class AbstractScheduledEventExecutor extends AbstractEventExecut
             EMPTY_RUNNABLE_SCHEDULED_FUTURE_NODES = new RunnableScheduledFutureNode<?>[0];
 
     private PriorityQueue<RunnableScheduledFutureNode<?>> scheduledTaskQueue;
+    private ScheduledTaskTimingWheel timingWheel;
 
     protected AbstractScheduledEventExecutor() {
     }
@@ -93,6 +94,35 @@ public abstract class AbstractScheduledEventExecutor extends AbstractEventExecut
         return scheduledTaskQueue;
     }
 
+    /**
+     * Keep the scheduled tasks in a {@link ScheduledTaskTimingWheel} with the given tick duration from now on,
+     * instead of in the priority queue.
+     * <p>
+     * This method MUST be called only when {@link #inEventLoop()} is {@code true}.
+     */
+    final void useTimingWheel(long tickNanos) {
+        assert inEventLoop();
+        ScheduledTaskTimingWheel oldTimingWheel = timingWheel;
+        if (oldTimingWheel != null && oldTimingWheel.tickNanos() == tickNanos) {
+            return;
+        }
+        ScheduledTaskTimingWheel timingWheel = new ScheduledTaskTimingWheel(
+                tickNanos, getCurrentTimeNanos(), SCHEDULED_FUTURE_TASK_COMPARATOR);
+        if (oldTimingWheel != null) {
+            for (RunnableScheduledFutureNode<?> task : oldTimingWheel.tasks()) {
+                oldTimingWheel.remove(task);
+                timingWheel.add(task);
+            }
+        } else if (scheduledTaskQueue != null) {
+            RunnableScheduledFutureNode<?> task;
+            while ((task = scheduledTaskQueue.poll()) != null) {
+                timingWheel.add(task);
+            }
+            scheduledTaskQueue = null;
+        }
+        this.timingWheel = timingWheel;
+    }
+
     private static boolean isNullOrEmpty(Queue<RunnableScheduledFutureNode<?>> queue) {
         return queue == null || queue.isEmpty();
     }
@@ -104,6 +134,14 @@ public abstract class AbstractScheduledEventExecutor extends AbstractEventExecut
      */
     protected final void cancelScheduledTasks() {
         assert inEventLoop();
+        ScheduledTaskTimingWheel timingWheel = this.timingWheel;
+        if (timingWheel != null) {
+            for (RunnableScheduledFutureNode<?> task : timingWheel.tasks()) {
+                task.cancel();
+            }
+            timingWheel.clearIgnoringIndexes();
+            return;
+        }
         PriorityQueue<RunnableScheduledFutureNode<?>> scheduledTaskQueue = this.scheduledTaskQueue;
         if (isNullOrEmpty(scheduledTaskQueue)) {
             return;
@@ -134,6 +172,10 @@ public abstract class AbstractScheduledEventExecutor extends AbstractEventExecut
      */
     protected final RunnableScheduledFuture<?> pollScheduledTask(long nanoTime) {
         assert inEventLoop();
+        ScheduledTaskTimingWheel timingWheel = this.timingWheel;
+        if (timingWheel != null) {
+            return timingWheel.poll(nanoTime);
+        }
 
         Queue<RunnableScheduledFutureNode<?>> scheduledTaskQueue = this.scheduledTaskQueue;
         RunnableScheduledFutureNode<?> scheduledTask = scheduledTaskQueue == null? null : scheduledTaskQueue.peek();
@@ -154,15 +196,31 @@ public abstract class AbstractScheduledEventExecutor extends AbstractEventExecut
      * This method MUST be called only when {@link #inEventLoop()} is {@code true}.
      */
     protected final long nextScheduledTaskNano() {
-        Queue<RunnableScheduledFutureNode<?>> scheduledTaskQueue = this.scheduledTaskQueue;
-        RunnableScheduledFutureNode<?> scheduledTask = scheduledTaskQueue == null? null : scheduledTaskQueue.peek();
-        if (scheduledTask == null) {
+        long deadlineNanos = nextScheduledTaskDeadlineNanos();
+        if (deadlineNanos == -1) {
             return -1;
         }
-        return Math.max(0, scheduledTask.deadlineNanos() - getCurrentTimeNanos());
+        return Math.max(0, deadlineNanos - getCurrentTimeNanos());
+    }
+
+    /**
+     * Return the deadline of the scheduled task that is ready to be run next or {@code -1} if no task is scheduled.
+     * If the tasks are kept in a timing wheel, this may be earlier than the deadline of any task, and the executor
+     * should just check for ready tasks at this point in time.
+     */
+    final long nextScheduledTaskDeadlineNanos() {
+        ScheduledTaskTimingWheel timingWheel = this.timingWheel;
+        if (timingWheel != null) {
+            return timingWheel.nextDeadlineNanos(getCurrentTimeNanos());
+        }
+        Queue<RunnableScheduledFutureNode<?>> scheduledTaskQueue = this.scheduledTaskQueue;
+        RunnableScheduledFutureNode<?> scheduledTask = scheduledTaskQueue == null? null : scheduledTaskQueue.peek();
+        return scheduledTask == null ? -1 : scheduledTask.deadlineNanos();
     }
 
     final RunnableScheduledFuture<?> peekScheduledTask() {
+        // Only used by executors that never switch to a timing wheel.
+        assert timingWheel == null;
         Queue<RunnableScheduledFutureNode<?>> scheduledTaskQueue = this.scheduledTaskQueue;
         if (scheduledTaskQueue == null) {
             return null;
@@ -177,6 +235,10 @@ public abstract class AbstractScheduledEventExecutor extends AbstractEventExecut
      */
     protected final boolean hasScheduledTasks() {
         assert inEventLoop();
+        if (timingWheel != null) {
+            long deadlineNanos = nextScheduledTaskDeadlineNanos();
+            return deadlineNanos != -1 && deadlineNanos <= getCurrentTimeNanos();
+        }
         Queue<RunnableScheduledFutureNode<?>> scheduledTaskQueue = this.scheduledTaskQueue;
         RunnableScheduledFutureNode<?> scheduledTask = scheduledTaskQueue == null? null : scheduledTaskQueue.peek();
         return scheduledTask != null && scheduledTask.deadlineNanos() <= getCurrentTimeNanos();
@@ -263,12 +325,22 @@ public abstract class AbstractScheduledEventExecutor extends AbstractEventExecut
         } else {
             node = new DefaultRunnableScheduledFutureNode<>(task);
         }
-        scheduledTaskQueue().add(node);
+        ScheduledTaskTimingWheel timingWheel = this.timingWheel;
+        if (timingWheel != null) {
+            timingWheel.add(node);
+        } else {
+            scheduledTaskQueue().add(node);
+        }
     }
 
     final void removeScheduled(final RunnableScheduledFutureNode<?> task) {
         if (inEventLoop()) {
-            scheduledTaskQueue().removeTyped(task);
+            ScheduledTaskTimingWheel timingWheel = this.timingWheel;
+            if (timingWheel != null) {
+                timingWheel.remove(task);
+            } else {
+                scheduledTaskQueue().removeTyped(task);
+            }
         } else {
             execute(() -> removeScheduled(task));
         }
@@ -295,11 +367,26 @@ public abstract class AbstractScheduledEventExecutor extends AbstractEventExecut
     }
 
     interface RunnableScheduledFutureNode<V> extends PriorityQueueNode, RunnableScheduledFuture<V> {
+        /**
+         * Returns the previous task in the same slot of a {@link ScheduledTaskTimingWheel}.
+         */
+        RunnableScheduledFutureNode<?> previousNode();
+
+        void previousNode(RunnableScheduledFutureNode<?> node);
+
+        /**
+         * Returns the next task in the same slot of a {@link ScheduledTaskTimingWheel}.
+         */
+        RunnableScheduledFutureNode<?> nextNode();
+
+        void nextNode(RunnableScheduledFutureNode<?> node);
     }
 
     private static final class DefaultRunnableScheduledFutureNode<V> implements RunnableScheduledFutureNode<V> {
         private final RunnableScheduledFuture<V> future;
         private int queueIndex = INDEX_NOT_IN_QUEUE;
+        private RunnableScheduledFutureNode<?> previousNode;
+        private RunnableScheduledFutureNode<?> nextNode;
 
         DefaultRunnableScheduledFutureNode(RunnableScheduledFuture<V> future) {
             this.future = future;
@@ -353,6 +440,26 @@ public abstract class AbstractScheduledEventExecutor extends AbstractEventExecut
             queueIndex = i;
         }
 
+        @Override
+        public RunnableScheduledFutureNode<?> previousNode() {
+            return previousNode;
+        }
+
+        @Override
+        public void previousNode(RunnableScheduledFutureNode<?> node) {
+            previousNode = node;
+        }
+
+        @Override
+        public RunnableScheduledFutureNode<?> nextNode() {
+            return nextNode;
+        }
+
+        @Override
+        public void nextNode(RunnableScheduledFutureNode<?> node) {
+            nextNode = node;
+        }
+
         @Override
         public void run() {
             future.run();
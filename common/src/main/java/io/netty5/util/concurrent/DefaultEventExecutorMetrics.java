@@ -0,0 +1,160 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.util.concurrent;
+
+import io.netty5.util.internal.UnstableApi;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.netty5.util.internal.ObjectUtil.checkPositive;
+
+/**
+ * {@link EventExecutorMetrics} that keeps counters, which can be read at any time with {@link #snapshot()}.
+ * <p>
+ * The counters that are updated by other threads are striped, so submitting threads do not contend on them. All
+ * other counters have a single writer, the executor thread, and are updated without atomic read-modify-write
+ * operations. For this reason, an instance must only be used by a single executor.
+ * <p>
+ * Measuring the time a task spends in the task queue needs a timestamp, and an extra object to carry it. By default,
+ * only one of every {@value #DEFAULT_TASK_LATENCY_SAMPLE_INTERVAL} tasks is timed.
+ */
+@UnstableApi
+public final class DefaultEventExecutorMetrics implements EventExecutorMetrics {
+    public static final int DEFAULT_TASK_LATENCY_SAMPLE_INTERVAL = 16;
+
+    // The counters are padded by a cache line on both sides, so the writes of the executor thread do not share a cache
+    // line with the striped counters, which are updated by the submitting threads.
+    private static final int PADDING = 8;
+    private static final int EXECUTED_TASKS = PADDING + 0;
+    private static final int TASK_NANOS = PADDING + 1;
+    private static final int IO_RUNS = PADDING + 2;
+    private static final int IO_HANDLED = PADDING + 3;
+    private static final int IO_WAIT_NANOS = PADDING + 4;
+    private static final int IO_NANOS = PADDING + 5;
+    private static final int TASK_QUEUE_DEPTH = PADDING + 6;
+    private static final int MAX_TASK_QUEUE_DEPTH = PADDING + 7;
+    private static final int TIMED_TASKS = PADDING + 8;
+    private static final int TASK_QUEUE_LATENCY_NANOS = PADDING + 9;
+    private static final int MAX_TASK_QUEUE_LATENCY_NANOS = PADDING + 10;
+    private static final int SCHEDULED_TASKS = PADDING + 11;
+    private static final int SCHEDULED_TASK_LATENESS_NANOS = PADDING + 12;
+    private static final int MAX_SCHEDULED_TASK_LATENESS_NANOS = PADDING + 13;
+    private static final int COUNTERS = PADDING + 14 + PADDING;
+
+    private final LongAdder submittedTasks = new LongAdder();
+    private final LongAdder wakeups = new LongAdder();
+    private final AtomicLongArray counters = new AtomicLongArray(COUNTERS);
+    private final int taskLatencySampleInterval;
+
+    /**
+     * Create a new instance, which times one of every {@value #DEFAULT_TASK_LATENCY_SAMPLE_INTERVAL} tasks.
+     */
+    public DefaultEventExecutorMetrics() {
+        this(DEFAULT_TASK_LATENCY_SAMPLE_INTERVAL);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param taskLatencySampleInterval one of every {@code taskLatencySampleInterval} tasks is timed, use {@code 1}
+     *                                  to time all tasks.
+     */
+    public DefaultEventExecutorMetrics(int taskLatencySampleInterval) {
+        this.taskLatencySampleInterval = checkPositive(taskLatencySampleInterval, "taskLatencySampleInterval");
+    }
+
+    @Override
+    public boolean taskSubmitted() {
+        submittedTasks.increment();
+        return taskLatencySampleInterval == 1 || ThreadLocalRandom.current().nextInt(taskLatencySampleInterval) == 0;
+    }
+
+    @Override
+    public void wakeup() {
+        wakeups.increment();
+    }
+
+    @Override
+    public void taskQueueDepth(int pendingTasks) {
+        counters.lazySet(TASK_QUEUE_DEPTH, pendingTasks);
+        max(MAX_TASK_QUEUE_DEPTH, pendingTasks);
+    }
+
+    @Override
+    public void taskExecuted(long queueLatencyNanos) {
+        add(TIMED_TASKS, 1);
+        add(TASK_QUEUE_LATENCY_NANOS, queueLatencyNanos);
+        max(MAX_TASK_QUEUE_LATENCY_NANOS, queueLatencyNanos);
+    }
+
+    @Override
+    public void scheduledTaskExecuted(long latenessNanos) {
+        add(SCHEDULED_TASKS, 1);
+        add(SCHEDULED_TASK_LATENESS_NANOS, latenessNanos);
+        max(MAX_SCHEDULED_TASK_LATENESS_NANOS, latenessNanos);
+    }
+
+    @Override
+    public void tasksRun(int tasks, long nanos) {
+        add(EXECUTED_TASKS, tasks);
+        add(TASK_NANOS, nanos);
+    }
+
+    @Override
+    public void ioRun(int handled, long waitNanos, long nanos) {
+        add(IO_RUNS, 1);
+        add(IO_HANDLED, handled);
+        add(IO_WAIT_NANOS, waitNanos);
+        add(IO_NANOS, nanos);
+    }
+
+    /**
+     * Returns the current values of all counters. This method can be called from any thread.
+     * <p>
+     * The counters are read one after the other, while the executor may still update them, so values that belong
+     * together, like {@link EventExecutorMetricsSnapshot#timedTasks()} and
+     * {@link EventExecutorMetricsSnapshot#taskQueueLatencyNanos()}, may be off by the most recent update.
+     */
+    public EventExecutorMetricsSnapshot snapshot() {
+        return new EventExecutorMetricsSnapshot(
+                submittedTasks.sum(), wakeups.sum(), counters.get(EXECUTED_TASKS), counters.get(TASK_NANOS),
+                counters.get(IO_RUNS), counters.get(IO_HANDLED), counters.get(IO_WAIT_NANOS),
+                counters.get(IO_NANOS),
+                (int) counters.get(TASK_QUEUE_DEPTH), (int) counters.get(MAX_TASK_QUEUE_DEPTH),
+                counters.get(TIMED_TASKS), counters.get(TASK_QUEUE_LATENCY_NANOS),
+                counters.get(MAX_TASK_QUEUE_LATENCY_NANOS),
+                counters.get(SCHEDULED_TASKS), counters.get(SCHEDULED_TASK_LATENESS_NANOS),
+                counters.get(MAX_SCHEDULED_TASK_LATENESS_NANOS));
+    }
+
+    // Only the executor thread writes to the counters, so there is no need for an atomic read-modify-write.
+    private void add(int counter, long delta) {
+        counters.lazySet(counter, counters.get(counter) + delta);
+    }
+
+    private void max(int counter, long value) {
+        if (value > counters.get(counter)) {
+            counters.lazySet(counter, value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultEventExecutorMetrics(" + snapshot() + ')';
+    }
+}
@@ -30,6 +30,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -45,6 +46,12 @@ public class DefaultPromise<V> implements Promise<V>, Future<V>,
     @SuppressWarnings("rawtypes")
     private static final AtomicReferenceFieldUpdater<DefaultPromise, Object> RESULT_UPDATER =
             AtomicReferenceFieldUpdater.newUpdater(DefaultPromise.class, Object.class, "result");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<DefaultPromise, Object> LISTENERS_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(DefaultPromise.class, Object.class, "listeners");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<DefaultPromise, WaitNode> WAITERS_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(DefaultPromise.class, WaitNode.class, "waiters");
     private static final Object SUCCESS = new Object();
     private static final Object UNCANCELLABLE = new Object();
     private static final CauseHolder CANCELLATION_CAUSE_HOLDER = new CauseHolder(
@@ -62,13 +69,16 @@ public class DefaultPromise<V> implements Promise<V>, Future<V>,
      * Note that if a {@link FutureContextListener} is added, we immediately upgrade to a {@link DefaultFutureListeners}
      * as we otherwise wouldn't have room to store the associated context object.
      * <p>
-     * Threading - synchronized(this). We must support adding listeners when there is no EventExecutor.
+     * Threading - updated with CAS. We must support adding listeners when there is no EventExecutor.
      */
-    private Object listeners;
+    private volatile Object listeners;
     /**
-     * Threading - synchronized(this). We are required to hold the monitor to use Java's underlying wait()/notifyAll().
+     * The threads that wait for this promise to complete, which are parked until then. Only created by the first
+     * thread that has to wait.
+     * <p>
+     * Threading - updated with CAS.
      */
-    private short waiters;
+    private volatile WaitNode waiters;
 
     /**
      * Creates a new unfulfilled promise.
@@ -249,16 +259,7 @@ public class DefaultPromise<V> implements Promise<V>, Future<V>,
 
         checkDeadLock();
 
-        synchronized (this) {
-            while (!isDone()) {
-                incWaiters();
-                try {
-                    wait();
-                } finally {
-                    decWaiters();
-                }
-            }
-        }
+        awaitDone(false, 0, true);
         return this;
     }
 
@@ -425,28 +426,15 @@ public class DefaultPromise<V> implements Promise<V>, Future<V>,
 
     @SuppressWarnings({ "unchecked", "MethodOnlyUsedFromInnerClass" })
     private void notifyListenersNow() {
+        // Only proceed if there are listeners to notify. Listeners that are added while notifying are picked up by
+        // the next iteration.
         Object listeners;
-        synchronized (this) {
-            // Only proceed if there are listeners to notify.
-            if (this.listeners == null) {
-                return;
-            }
-            listeners = this.listeners;
-            this.listeners = null;
-        }
-        for (;;) {
+        while ((listeners = LISTENERS_UPDATER.getAndSet(this, null)) != null) {
             if (listeners instanceof DefaultFutureListeners) {
                 notifyListeners0((DefaultFutureListeners) listeners);
             } else {
                 notifyListener0(this, (FutureListener<V>) listeners);
             }
-            synchronized (this) {
-                if (this.listeners == null) {
-                    return;
-                }
-                listeners = this.listeners;
-                this.listeners = null;
-            }
         }
     }
 
@@ -464,18 +452,22 @@ public class DefaultPromise<V> implements Promise<V>, Future<V>,
         }
     }
 
-    private synchronized void addListener0(Object listener, Object context) {
-        if (listeners == null && context == null) {
-            listeners = listener;
-        } else if (listeners instanceof DefaultFutureListeners) {
-            ((DefaultFutureListeners) listeners).add(listener, context);
-        } else {
-            DefaultFutureListeners listeners = new DefaultFutureListeners();
-            if (this.listeners != null) {
-                listeners.add(this.listeners, null);
+    private void addListener0(Object listener, Object context) {
+        for (;;) {
+            Object listeners = this.listeners;
+            Object newListeners;
+            if (listeners == null && context == null) {
+                // Fast path for the common case of a single listener.
+                newListeners = listener;
+            } else if (listeners == null || listeners instanceof DefaultFutureListeners) {
+                newListeners = new DefaultFutureListeners(listener, context, (DefaultFutureListeners) listeners);
+            } else {
+                newListeners = new DefaultFutureListeners(
+                        listener, context, new DefaultFutureListeners(listeners, null, null));
+            }
+            if (LISTENERS_UPDATER.compareAndSet(this, listeners, newListeners)) {
+                return;
             }
-            listeners.add(listener, context);
-            this.listeners = listeners;
         }
     }
 
@@ -502,24 +494,23 @@ public class DefaultPromise<V> implements Promise<V>, Future<V>,
      * Check if there are any waiters and if so notify these.
      * @return {@code true} if there are any listeners attached to the promise, {@code false} otherwise.
      */
-    private synchronized boolean checkNotifyWaiters() {
-        if (waiters > 0) {
-            notifyAll();
+    private boolean checkNotifyWaiters() {
+        WaitNode waiters;
+        while ((waiters = this.waiters) != null) {
+            if (WAITERS_UPDATER.compareAndSet(this, waiters, null)) {
+                for (WaitNode node = waiters; node != null; node = node.next) {
+                    Thread thread = node.thread;
+                    if (thread != null) {
+                        node.thread = null;
+                        LockSupport.unpark(thread);
+                    }
+                }
+                break;
+            }
         }
         return listeners != null;
     }
 
-    private void incWaiters() {
-        if (waiters == Short.MAX_VALUE) {
-            throw new IllegalStateException("too many waiters: " + this);
-        }
-        ++waiters;
-    }
-
-    private void decWaiters() {
-        --waiters;
-    }
-
     private void rethrowIfFailed() {
         Throwable cause = cause();
         if (cause == null) {
@@ -546,40 +537,82 @@ public class DefaultPromise<V> implements Promise<V>, Future<V>,
 
         checkDeadLock();
 
-        // Start counting time from here instead of the first line of this method,
-        // to avoid/postpone performance cost of System.nanoTime().
-        final long startTime = System.nanoTime();
-        synchronized (this) {
-            boolean interrupted = false;
-            try {
-                long waitTime = timeoutNanos;
-                while (!isDone() && waitTime > 0) {
-                    incWaiters();
-                    try {
-                        wait(waitTime / 1000000, (int) (waitTime % 1000000));
-                    } catch (InterruptedException e) {
-                        if (interruptable) {
-                            throw e;
-                        } else {
-                            interrupted = true;
-                        }
-                    } finally {
-                        decWaiters();
+        return awaitDone(true, timeoutNanos, interruptable);
+    }
+
+    /**
+     * Park the current thread until this promise is done, the timeout expired, or the thread was interrupted.
+     *
+     * @return {@code true} if this promise is done.
+     */
+    private boolean awaitDone(boolean timed, long timeoutNanos, boolean interruptable) throws InterruptedException {
+        // Start counting time from here instead of the first line of await0, to avoid/postpone performance cost of
+        // System.nanoTime().
+        final long deadline = timed ? System.nanoTime() + timeoutNanos : 0;
+        WaitNode node = null;
+        boolean interrupted = false;
+        try {
+            for (;;) {
+                // Check isDone() again after the node was pushed, as the promise may have been completed and its
+                // waiters been woken up in between.
+                if (isDone()) {
+                    return true;
+                }
+                if (node == null) {
+                    node = new WaitNode();
+                    do {
+                        node.next = waiters;
+                    } while (!WAITERS_UPDATER.compareAndSet(this, node.next, node));
+                    continue;
+                }
+                if (timed) {
+                    long waitTime = deadline - System.nanoTime();
+                    if (waitTime <= 0) {
+                        return isDone();
                     }
-                    // Check isDone() in advance, try to avoid calculating the elapsed time later.
-                    if (isDone()) {
-                        return true;
+                    LockSupport.parkNanos(this, waitTime);
+                } else {
+                    LockSupport.park(this);
+                }
+                if (Thread.interrupted()) {
+                    if (interruptable) {
+                        throw new InterruptedException(toString());
                     }
-                    // Calculate the elapsed time here instead of in the while condition,
-                    // try to avoid performance cost of System.nanoTime() in the first loop of while.
-                    waitTime = timeoutNanos - (System.nanoTime() - startTime);
+                    interrupted = true;
                 }
-                return isDone();
-            } finally {
-                if (interrupted) {
-                    Thread.currentThread().interrupt();
+            }
+        } finally {
+            if (node != null) {
+                removeWaiter(node);
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Unlink the node of a waiter that stopped waiting, together with the ones of any other waiters that stopped.
+     */
+    private void removeWaiter(WaitNode node) {
+        node.thread = null;
+        retry:
+        for (;;) {
+            for (WaitNode previous = null, current = waiters, next; current != null; current = next) {
+                next = current.next;
+                if (current.thread != null) {
+                    previous = current;
+                } else if (previous != null) {
+                    previous.next = next;
+                    if (previous.thread == null) {
+                        // The previous node was removed concurrently, start over.
+                        continue retry;
+                    }
+                } else if (!WAITERS_UPDATER.compareAndSet(this, current, next)) {
+                    continue retry;
                 }
             }
+            return;
         }
     }
 
@@ -591,6 +624,11 @@ public class DefaultPromise<V> implements Promise<V>, Future<V>,
         return result != null && result != UNCANCELLABLE;
     }
 
+    private static final class WaitNode {
+        volatile Thread thread = Thread.currentThread();
+        volatile WaitNode next;
+    }
+
     private static final class CauseHolder {
         final Throwable cause;
         CauseHolder(Throwable cause) {
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.util.concurrent;
+
+import io.netty5.util.internal.UnstableApi;
+
+/**
+ * Records what a {@link SingleThreadEventExecutor} spends its time on. Recording is opt-in, see
+ * {@link SingleThreadEventExecutor#setMetrics(EventExecutorMetrics)}, and {@link DefaultEventExecutorMetrics} is the
+ * implementation that is usually used.
+ * <p>
+ * Apart from {@link #taskSubmitted()} and {@link #wakeup()}, all methods are called from the thread of the executor.
+ * Implementations are called on the hot path of the executor, so they must be cheap and must never throw.
+ */
+@UnstableApi
+public interface EventExecutorMetrics {
+
+    /**
+     * Called when a task is submitted, from the submitting thread.
+     *
+     * @return {@code true} if the time the task spends in the task queue should be measured, in which case
+     * {@link #taskExecuted(long)} will be called when the task is run.
+     */
+    boolean taskSubmitted();
+
+    /**
+     * Called when a thread that is not the executor thread wakes up the executor, to run a submitted task.
+     */
+    void wakeup();
+
+    /**
+     * Called before the executor drains its task queue.
+     *
+     * @param pendingTasks the number of tasks in the task queue.
+     */
+    void taskQueueDepth(int pendingTasks);
+
+    /**
+     * Called before a task, for which {@link #taskSubmitted()} returned {@code true}, is run.
+     *
+     * @param queueLatencyNanos the time between the submission of the task and now.
+     */
+    void taskExecuted(long queueLatencyNanos);
+
+    /**
+     * Called before a scheduled task is run.
+     *
+     * @param latenessNanos the time between the deadline of the task and now.
+     */
+    void scheduledTaskExecuted(long latenessNanos);
+
+    /**
+     * Called after the executor ran tasks.
+     *
+     * @param tasks the number of tasks that were run.
+     * @param nanos the time it took to run them.
+     */
+    void tasksRun(int tasks, long nanos);
+
+    /**
+     * Called after an executor that also handles I/O, like an event loop, was waiting for and processing I/O.
+     *
+     * @param handled the number of handles for which I/O was processed.
+     * @param waitNanos the time that was spent blocked, waiting for I/O to become ready or for a task to be
+     *                  submitted.
+     * @param nanos the time that was spent processing I/O, which does not include {@code waitNanos}.
+     */
+    void ioRun(int handled, long waitNanos, long nanos);
+}
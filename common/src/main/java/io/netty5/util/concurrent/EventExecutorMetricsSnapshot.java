@@ -0,0 +1,213 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.util.concurrent;
+
+import io.netty5.util.internal.UnstableApi;
+
+/**
+ * The values recorded by {@link DefaultEventExecutorMetrics}, at the time
+ * {@link DefaultEventExecutorMetrics#snapshot()} was called. All counts and times accumulate from the creation of the
+ * {@link DefaultEventExecutorMetrics}, so the difference between two snapshots gives the values of the period in
+ * between.
+ */
+@UnstableApi
+public final class EventExecutorMetricsSnapshot {
+    private final long submittedTasks;
+    private final long wakeups;
+    private final long executedTasks;
+    private final long taskNanos;
+    private final long ioRuns;
+    private final long ioHandled;
+    private final long ioWaitNanos;
+    private final long ioNanos;
+    private final int taskQueueDepth;
+    private final int maxTaskQueueDepth;
+    private final long timedTasks;
+    private final long taskQueueLatencyNanos;
+    private final long maxTaskQueueLatencyNanos;
+    private final long scheduledTasks;
+    private final long scheduledTaskLatenessNanos;
+    private final long maxScheduledTaskLatenessNanos;
+
+    EventExecutorMetricsSnapshot(long submittedTasks, long wakeups, long executedTasks, long taskNanos,
+                                 long ioRuns, long ioHandled, long ioWaitNanos, long ioNanos,
+                                 int taskQueueDepth, int maxTaskQueueDepth,
+                                 long timedTasks, long taskQueueLatencyNanos, long maxTaskQueueLatencyNanos,
+                                 long scheduledTasks, long scheduledTaskLatenessNanos,
+                                 long maxScheduledTaskLatenessNanos) {
+        this.submittedTasks = submittedTasks;
+        this.wakeups = wakeups;
+        this.executedTasks = executedTasks;
+        this.taskNanos = taskNanos;
+        this.ioRuns = ioRuns;
+        this.ioHandled = ioHandled;
+        this.ioWaitNanos = ioWaitNanos;
+        this.ioNanos = ioNanos;
+        this.taskQueueDepth = taskQueueDepth;
+        this.maxTaskQueueDepth = maxTaskQueueDepth;
+        this.timedTasks = timedTasks;
+        this.taskQueueLatencyNanos = taskQueueLatencyNanos;
+        this.maxTaskQueueLatencyNanos = maxTaskQueueLatencyNanos;
+        this.scheduledTasks = scheduledTasks;
+        this.scheduledTaskLatenessNanos = scheduledTaskLatenessNanos;
+        this.maxScheduledTaskLatenessNanos = maxScheduledTaskLatenessNanos;
+    }
+
+    /**
+     * Returns the number of tasks that were submitted to the executor.
+     */
+    public long submittedTasks() {
+        return submittedTasks;
+    }
+
+    /**
+     * Returns the number of times the executor was woken up by other threads, to run a submitted task.
+     */
+    public long wakeups() {
+        return wakeups;
+    }
+
+    /**
+     * Returns the number of tasks, including scheduled tasks, that were run by the executor.
+     */
+    public long executedTasks() {
+        return executedTasks;
+    }
+
+    /**
+     * Returns the time the executor spent running tasks.
+     */
+    public long taskNanos() {
+        return taskNanos;
+    }
+
+    /**
+     * Returns the number of times the executor was waiting for and processing I/O.
+     */
+    public long ioRuns() {
+        return ioRuns;
+    }
+
+    /**
+     * Returns the number of handles for which I/O was processed, summed over all {@link #ioRuns()}.
+     */
+    public long ioHandled() {
+        return ioHandled;
+    }
+
+    /**
+     * Returns the time the executor spent blocked, waiting for I/O to become ready or for a task to be submitted.
+     */
+    public long ioWaitNanos() {
+        return ioWaitNanos;
+    }
+
+    /**
+     * Returns the time the executor spent processing I/O, which does not include {@link #ioWaitNanos()}.
+     */
+    public long ioNanos() {
+        return ioNanos;
+    }
+
+    /**
+     * Returns the number of pending tasks the last time the executor drained its task queue.
+     */
+    public int taskQueueDepth() {
+        return taskQueueDepth;
+    }
+
+    /**
+     * Returns the highest number of pending tasks the executor found when it drained its task queue.
+     */
+    public int maxTaskQueueDepth() {
+        return maxTaskQueueDepth;
+    }
+
+    /**
+     * Returns the number of tasks for which the time between submission and execution was measured.
+     */
+    public long timedTasks() {
+        return timedTasks;
+    }
+
+    /**
+     * Returns the time the {@link #timedTasks()} spent in the task queue, summed over all of them.
+     */
+    public long taskQueueLatencyNanos() {
+        return taskQueueLatencyNanos;
+    }
+
+    /**
+     * Returns the longest time a task spent in the task queue.
+     */
+    public long maxTaskQueueLatencyNanos() {
+        return maxTaskQueueLatencyNanos;
+    }
+
+    /**
+     * Returns the average time a task spent in the task queue, or {@code 0} if no task was timed.
+     */
+    public long meanTaskQueueLatencyNanos() {
+        return timedTasks == 0 ? 0 : taskQueueLatencyNanos / timedTasks;
+    }
+
+    /**
+     * Returns the number of scheduled tasks that were run.
+     */
+    public long scheduledTasks() {
+        return scheduledTasks;
+    }
+
+    /**
+     * Returns the time by which the {@link #scheduledTasks()} missed their deadline, summed over all of them.
+     */
+    public long scheduledTaskLatenessNanos() {
+        return scheduledTaskLatenessNanos;
+    }
+
+    /**
+     * Returns the longest time by which a scheduled task missed its deadline.
+     */
+    public long maxScheduledTaskLatenessNanos() {
+        return maxScheduledTaskLatenessNanos;
+    }
+
+    /**
+     * Returns the average time by which a scheduled task missed its deadline, or {@code 0} if none was run.
+     */
+    public long meanScheduledTaskLatenessNanos() {
+        return scheduledTasks == 0 ? 0 : scheduledTaskLatenessNanos / scheduledTasks;
+    }
+
+    @Override
+    public String toString() {
+        return "EventExecutorMetricsSnapshot(submittedTasks: " + submittedTasks +
+                ", wakeups: " + wakeups +
+                ", executedTasks: " + executedTasks +
+                ", taskNanos: " + taskNanos +
+                ", ioRuns: " + ioRuns +
+                ", ioHandled: " + ioHandled +
+                ", ioWaitNanos: " + ioWaitNanos +
+                ", ioNanos: " + ioNanos +
+                ", taskQueueDepth: " + taskQueueDepth +
+                ", maxTaskQueueDepth: " + maxTaskQueueDepth +
+                ", meanTaskQueueLatencyNanos: " + meanTaskQueueLatencyNanos() +
+                ", maxTaskQueueLatencyNanos: " + maxTaskQueueLatencyNanos +
+                ", scheduledTasks: " + scheduledTasks +
+                ", meanScheduledTaskLatenessNanos: " + meanScheduledTaskLatenessNanos() +
+                ", maxScheduledTaskLatenessNanos: " + maxScheduledTaskLatenessNanos + ')';
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.util.concurrent;
+
+import io.netty5.util.internal.UnstableApi;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToLongFunction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link EventExecutorChooserFactory} which chooses the {@link EventExecutor} with the lowest load, according to a
+ * load metric that is maintained by the executors themselves, like the number of pending tasks.
+ * <p>
+ * The load is read while other threads change it, and it may not yet reflect the executors that were chosen
+ * shortly before. {@link #powerOfTwoChoices(ToLongFunction)} is less sensitive to this than
+ * {@link #leastLoaded(ToLongFunction)}, as it does not send every choice made during a burst to the same executor,
+ * and it only reads the load of two executors per choice.
+ */
+@UnstableApi
+public final class LoadAwareEventExecutorChooserFactory implements EventExecutorChooserFactory {
+    private static final ToLongFunction<EventExecutor> PENDING_TASKS = executor ->
+            executor instanceof SingleThreadEventExecutor ? ((SingleThreadEventExecutor) executor).pendingTasks() : 0;
+
+    private final ToLongFunction<? super EventExecutor> load;
+    private final boolean powerOfTwoChoices;
+
+    private LoadAwareEventExecutorChooserFactory(ToLongFunction<? super EventExecutor> load,
+                                                 boolean powerOfTwoChoices) {
+        this.load = requireNonNull(load, "load");
+        this.powerOfTwoChoices = powerOfTwoChoices;
+    }
+
+    /**
+     * Returns a factory whose choosers compare the load of all executors, and choose the one with the lowest load.
+     * Executors with the same load are chosen in random order.
+     *
+     * @param load returns the current load of an executor, which must not be negative.
+     */
+    public static LoadAwareEventExecutorChooserFactory leastLoaded(ToLongFunction<? super EventExecutor> load) {
+        return new LoadAwareEventExecutorChooserFactory(load, false);
+    }
+
+    /**
+     * Returns a factory whose choosers pick two executors at random, and choose the one with the lower load.
+     *
+     * @param load returns the current load of an executor, which must not be negative.
+     */
+    public static LoadAwareEventExecutorChooserFactory powerOfTwoChoices(ToLongFunction<? super EventExecutor> load) {
+        return new LoadAwareEventExecutorChooserFactory(load, true);
+    }
+
+    /**
+     * Returns a factory whose choosers choose the executor with the fewest
+     * {@linkplain SingleThreadEventExecutor#pendingTasks() pending tasks}.
+     */
+    public static LoadAwareEventExecutorChooserFactory leastPendingTasks() {
+        return leastLoaded(PENDING_TASKS);
+    }
+
+    @Override
+    public EventExecutorChooser newChooser(EventExecutor[] executors) {
+        if (executors.length == 1) {
+            return DefaultEventExecutorChooserFactory.INSTANCE.newChooser(executors);
+        }
+        if (powerOfTwoChoices) {
+            return new PowerOfTwoChoicesEventExecutorChooser(executors, load);
+        }
+        return new LeastLoadedEventExecutorChooser(executors, load);
+    }
+
+    private static final class LeastLoadedEventExecutorChooser implements EventExecutorChooser {
+        private final EventExecutor[] executors;
+        private final ToLongFunction<? super EventExecutor> load;
+
+        LeastLoadedEventExecutorChooser(EventExecutor[] executors, ToLongFunction<? super EventExecutor> load) {
+            this.executors = executors;
+            this.load = load;
+        }
+
+        @Override
+        public EventExecutor next() {
+            // Start at a random executor, so executors with the same load are chosen evenly.
+            int length = executors.length;
+            int start = ThreadLocalRandom.current().nextInt(length);
+            EventExecutor leastLoaded = executors[start];
+            long leastLoad = load.applyAsLong(leastLoaded);
+            for (int i = 1; i < length && leastLoad > 0; i++) {
+                int index = start + i;
+                EventExecutor executor = executors[index < length ? index : index - length];
+                long executorLoad = load.applyAsLong(executor);
+                if (executorLoad < leastLoad) {
+                    leastLoaded = executor;
+                    leastLoad = executorLoad;
+                }
+            }
+            return leastLoaded;
+        }
+    }
+
+    private static final class PowerOfTwoChoicesEventExecutorChooser implements EventExecutorChooser {
+        private final EventExecutor[] executors;
+        private final ToLongFunction<? super EventExecutor> load;
+
+        PowerOfTwoChoicesEventExecutorChooser(EventExecutor[] executors, ToLongFunction<? super EventExecutor> load) {
+            this.executors = executors;
+            this.load = load;
+        }
+
+        @Override
+        public EventExecutor next() {
+            int length = executors.length;
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int first = random.nextInt(length);
+            // Pick the second one from the other executors, so the two are always distinct.
+            int second = first + 1 + random.nextInt(length - 1);
+            EventExecutor a = executors[first];
+            EventExecutor b = executors[second < length ? second : second - length];
+            return load.applyAsLong(b) < load.applyAsLong(a) ? b : a;
+        }
+    }
+}
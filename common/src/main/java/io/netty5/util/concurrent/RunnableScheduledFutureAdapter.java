@@ -33,6 +33,8 @@ final class RunnableScheduledFutureAdapter<V> implements AbstractScheduledEventE
     private final long periodNanos;
 
     private int queueIndex = INDEX_NOT_IN_QUEUE;
+    private AbstractScheduledEventExecutor.RunnableScheduledFutureNode<?> previousNode;
+    private AbstractScheduledEventExecutor.RunnableScheduledFutureNode<?> nextNode;
 
     private final AbstractScheduledEventExecutor executor;
     private final Promise<V> promise;
@@ -217,6 +219,26 @@ final class RunnableScheduledFutureAdapter<V> implements AbstractScheduledEventE
         queueIndex = i;
     }
 
+    @Override
+    public AbstractScheduledEventExecutor.RunnableScheduledFutureNode<?> previousNode() {
+        return previousNode;
+    }
+
+    @Override
+    public void previousNode(AbstractScheduledEventExecutor.RunnableScheduledFutureNode<?> node) {
+        previousNode = node;
+    }
+
+    @Override
+    public AbstractScheduledEventExecutor.RunnableScheduledFutureNode<?> nextNode() {
+        return nextNode;
+    }
+
+    @Override
+    public void nextNode(AbstractScheduledEventExecutor.RunnableScheduledFutureNode<?> node) {
+        nextNode = node;
+    }
+
     @Override
     public String toString() {
         StringBuilder buf = new StringBuilder(64)
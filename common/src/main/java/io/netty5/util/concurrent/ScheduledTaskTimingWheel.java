@@ -0,0 +1,282 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.util.concurrent;
+
+import io.netty5.util.concurrent.AbstractScheduledEventExecutor.RunnableScheduledFutureNode;
+import io.netty5.util.internal.DefaultPriorityQueue;
+import io.netty5.util.internal.PriorityQueue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static io.netty5.util.internal.PriorityQueueNode.INDEX_NOT_IN_QUEUE;
+
+/**
+ * Hierarchical timing wheel that holds the scheduled tasks of an {@link AbstractScheduledEventExecutor}, as an
+ * alternative to the priority queue for executors that hold a lot of timers which are mostly cancelled before they
+ * expire, like the ones of idle and timeout handlers.
+ * <p>
+ * Time is divided into ticks of a fixed duration. The wheel has {@value #LEVELS} levels of {@value #SLOTS} slots, and
+ * a slot of level {@code n} spans {@code 64^n} ticks. A task is put into the slot of the lowest level at which its tick
+ * shares all higher digits with the current tick, so adding or removing it only links or unlinks it from the list of
+ * its slot.
+ * When the current tick enters a slot, all its tasks are moved down one or more levels at once, and the tasks of the
+ * current tick end up in a small priority queue, so they still run in the order of their deadlines and never early.
+ * Tasks too far in the future for the wheel are kept in a priority queue as well, until the wheel can hold them.
+ * <p>
+ * While a task is in a slot, its {@link io.netty5.util.internal.PriorityQueueNode} index encodes the slot, and its
+ * links point to its neighbours in the list of the slot. This class is not thread-safe, and must only be used from
+ * the thread of the executor.
+ */
+final class ScheduledTaskTimingWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+    private static final int WHEEL_BITS = SLOT_BITS * LEVELS;
+    // The indexes of tasks in a slot are below INDEX_NOT_IN_QUEUE, the ones of the priority queues are positive.
+    private static final int FIRST_SLOT_INDEX = INDEX_NOT_IN_QUEUE - 1;
+
+    private final long tickNanos;
+    private final RunnableScheduledFutureNode<?>[] slots = new RunnableScheduledFutureNode<?>[LEVELS * SLOTS];
+    // One bit per non-empty slot of each level.
+    private final long[] occupied = new long[LEVELS];
+    // Tasks whose tick is not after the current tick.
+    private final PriorityQueue<RunnableScheduledFutureNode<?>> due;
+    // Tasks whose tick is beyond the range of the wheel.
+    private final PriorityQueue<RunnableScheduledFutureNode<?>> overflow;
+    private long currentTick;
+    private int size;
+
+    ScheduledTaskTimingWheel(long tickNanos, long currentTimeNanos,
+                             Comparator<RunnableScheduledFutureNode<?>> comparator) {
+        this.tickNanos = tickNanos;
+        due = new DefaultPriorityQueue<>(comparator, 11);
+        overflow = new DefaultPriorityQueue<>(comparator, 11);
+        currentTick = tick(currentTimeNanos);
+    }
+
+    long tickNanos() {
+        return tickNanos;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    private long tick(long nanos) {
+        return Math.max(0, nanos) / tickNanos;
+    }
+
+    void add(RunnableScheduledFutureNode<?> node) {
+        insert(node);
+        size++;
+    }
+
+    private void insert(RunnableScheduledFutureNode<?> node) {
+        long tick = tick(node.deadlineNanos());
+        if (tick <= currentTick) {
+            due.add(node);
+            return;
+        }
+        // The level is the one of the highest digit in which the tick differs from the current tick.
+        int level = (Long.SIZE - 1 - Long.numberOfLeadingZeros(tick ^ currentTick)) / SLOT_BITS;
+        if (level >= LEVELS) {
+            overflow.add(node);
+            return;
+        }
+        int slot = (int) (tick >>> level * SLOT_BITS) & SLOT_MASK;
+        int index = level * SLOTS + slot;
+        RunnableScheduledFutureNode<?> head = slots[index];
+        node.nextNode(head);
+        if (head != null) {
+            head.previousNode(node);
+        }
+        slots[index] = node;
+        occupied[level] |= 1L << slot;
+        node.priorityQueueIndex(null, FIRST_SLOT_INDEX - index);
+    }
+
+    boolean remove(RunnableScheduledFutureNode<?> node) {
+        int i = node.priorityQueueIndex(null);
+        if (i <= FIRST_SLOT_INDEX) {
+            int index = FIRST_SLOT_INDEX - i;
+            RunnableScheduledFutureNode<?> previous = node.previousNode();
+            RunnableScheduledFutureNode<?> next = node.nextNode();
+            if (previous == null) {
+                if (slots[index] != node) {
+                    return false;
+                }
+                slots[index] = next;
+                if (next == null) {
+                    occupied[index / SLOTS] &= ~(1L << (index & SLOT_MASK));
+                }
+            } else {
+                previous.nextNode(next);
+            }
+            if (next != null) {
+                next.previousNode(previous);
+            }
+            unlinked(node);
+        } else if (!due.removeTyped(node) && !overflow.removeTyped(node)) {
+            return false;
+        }
+        size--;
+        return true;
+    }
+
+    private static void unlinked(RunnableScheduledFutureNode<?> node) {
+        node.previousNode(null);
+        node.nextNode(null);
+        node.priorityQueueIndex(null, INDEX_NOT_IN_QUEUE);
+    }
+
+    /**
+     * Remove and return the task with the earliest deadline, if the deadline is not after the given time.
+     */
+    RunnableScheduledFutureNode<?> poll(long nanoTime) {
+        advance(nanoTime);
+        RunnableScheduledFutureNode<?> node = due.peek();
+        if (node == null || node.deadlineNanos() > nanoTime) {
+            return null;
+        }
+        due.poll();
+        size--;
+        return node;
+    }
+
+    /**
+     * Returns the time at which {@link #poll(long)} should be called next, or {@code -1} if the wheel is empty. This
+     * is the earliest deadline if a task is due in the current tick, and the start of the next non-empty slot
+     * otherwise, which is never after the deadlines of its tasks.
+     */
+    long nextDeadlineNanos(long nanoTime) {
+        advance(nanoTime);
+        RunnableScheduledFutureNode<?> node = due.peek();
+        if (node != null) {
+            return node.deadlineNanos();
+        }
+        long tick = nextSlotTick();
+        return tick < 0 ? -1 : tick * tickNanos;
+    }
+
+    private void advance(long nanoTime) {
+        long nowTick = tick(nanoTime);
+        while (currentTick < nowTick) {
+            long tick = nextSlotTick();
+            if (tick < 0 || tick > nowTick) {
+                // No slot starts before the given time, so skip all the empty slots in between.
+                currentTick = nowTick;
+                return;
+            }
+            currentTick = tick;
+            cascade(tick);
+        }
+    }
+
+    /**
+     * Returns the tick at which the next non-empty slot starts, or {@code -1} if there are no tasks after the
+     * current tick.
+     */
+    private long nextSlotTick() {
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = level * SLOT_BITS;
+            int digit = (int) (currentTick >>> shift) & SLOT_MASK;
+            // Only the slots after the digit of the current tick can hold tasks, the others have been cascaded.
+            long later = occupied[level] & (-2L << digit);
+            if (later != 0) {
+                long slot = Long.numberOfTrailingZeros(later);
+                return (currentTick >>> shift + SLOT_BITS << shift + SLOT_BITS) | (slot << shift);
+            }
+        }
+        RunnableScheduledFutureNode<?> node = overflow.peek();
+        if (node == null) {
+            return -1;
+        }
+        return wheelStartTick(node);
+    }
+
+    /**
+     * Returns the tick from which on the wheel can hold the given task.
+     */
+    private long wheelStartTick(RunnableScheduledFutureNode<?> node) {
+        return tick(node.deadlineNanos()) >>> WHEEL_BITS << WHEEL_BITS;
+    }
+
+    /**
+     * Move the tasks of all the slots that start at the given tick, which is the current tick, down the wheel.
+     */
+    private void cascade(long tick) {
+        for (;;) {
+            RunnableScheduledFutureNode<?> node = overflow.peek();
+            if (node == null || wheelStartTick(node) > tick) {
+                break;
+            }
+            overflow.poll();
+            insert(node);
+        }
+        for (int level = LEVELS - 1; level >= 0; level--) {
+            int slot = (int) (tick >>> level * SLOT_BITS) & SLOT_MASK;
+            if ((occupied[level] & 1L << slot) == 0) {
+                continue;
+            }
+            int index = level * SLOTS + slot;
+            RunnableScheduledFutureNode<?> node = slots[index];
+            slots[index] = null;
+            occupied[level] &= ~(1L << slot);
+            while (node != null) {
+                RunnableScheduledFutureNode<?> next = node.nextNode();
+                unlinked(node);
+                // All tasks share the digits of the current tick up to this level, so they go to a lower one.
+                insert(node);
+                node = next;
+            }
+        }
+    }
+
+    /**
+     * Remove all tasks, without resetting their indexes and links, see
+     * {@link PriorityQueue#clearIgnoringIndexes()}.
+     */
+    void clearIgnoringIndexes() {
+        Arrays.fill(slots, null);
+        Arrays.fill(occupied, 0);
+        due.clearIgnoringIndexes();
+        overflow.clearIgnoringIndexes();
+        size = 0;
+    }
+
+    /**
+     * Returns all the tasks, in no particular order.
+     */
+    List<RunnableScheduledFutureNode<?>> tasks() {
+        List<RunnableScheduledFutureNode<?>> tasks = new ArrayList<>(size);
+        tasks.addAll(due);
+        tasks.addAll(overflow);
+        for (RunnableScheduledFutureNode<?> head : slots) {
+            for (RunnableScheduledFutureNode<?> node = head; node != null; node = node.nextNode()) {
+                tasks.add(node);
+            }
+        }
+        return tasks;
+    }
+}
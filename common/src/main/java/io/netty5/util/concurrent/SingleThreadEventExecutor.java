@@ -38,6 +38,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
+import static io.netty5.util.internal.ObjectUtil.checkPositive;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -85,6 +86,7 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
     private final RejectedExecutionHandler rejectedExecutionHandler;
 
     private long lastExecutionTime;
+    private volatile EventExecutorMetrics metrics;
 
     @SuppressWarnings({ "FieldMayBeFinal", "unused" })
     private volatile int state = ST_NOT_STARTED;
@@ -210,8 +212,8 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
 
         BlockingQueue<Runnable> taskQueue = (BlockingQueue<Runnable>) this.taskQueue;
         for (;;) {
-            RunnableScheduledFuture<?> scheduledTask = peekScheduledTask();
-            if (scheduledTask == null) {
+            long deadlineNanos = nextScheduledTaskDeadlineNanos();
+            if (deadlineNanos == -1) {
                 Runnable task = null;
                 try {
                     task = taskQueue.take();
@@ -223,7 +225,7 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
                 }
                 return task;
             } else {
-                long delayNanos = scheduledTask.delayNanos();
+                long delayNanos = deadlineNanos - getCurrentTimeNanos();
                 Runnable task = null;
                 if (delayNanos > 0) {
                     try {
@@ -347,6 +349,12 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
      */
     protected int runAllTasks(int maxTasks) {
         assert inEventLoop();
+        EventExecutorMetrics metrics = this.metrics;
+        long startTime = 0;
+        if (metrics != null) {
+            metrics.taskQueueDepth(taskQueue.size());
+            startTime = getCurrentTimeNanos();
+        }
         boolean fetchedAll;
         int processedTasks = 0;
         do {
@@ -358,7 +366,11 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
                 }
 
                 try {
-                    runTask(task);
+                    if (metrics == null) {
+                        runTask(task);
+                    } else {
+                        runTask(task, metrics);
+                    }
                 } catch (Throwable t) {
                     logger.warn("A task raised an exception.", t);
                 }
@@ -369,9 +381,20 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
             // Only call if we at least executed one task.
             updateLastExecutionTime();
         }
+        if (metrics != null) {
+            metrics.tasksRun(processedTasks, getCurrentTimeNanos() - startTime);
+        }
         return processedTasks;
     }
 
+    private void runTask(Runnable task, EventExecutorMetrics metrics) {
+        if (task instanceof RunnableScheduledFuture) {
+            long latenessNanos = getCurrentTimeNanos() - ((RunnableScheduledFuture<?>) task).deadlineNanos();
+            metrics.scheduledTaskExecuted(Math.max(0, latenessNanos));
+        }
+        runTask(task);
+    }
+
     /**
      * Returns the amount of time left until the scheduled task with the closest dead line is executed.
      *
@@ -380,12 +403,12 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
     protected final long delayNanos(long currentTimeNanos) {
         assert inEventLoop();
         currentTimeNanos -= START_TIME;
-        RunnableScheduledFuture<?> scheduledTask = peekScheduledTask();
-        if (scheduledTask == null) {
+        long deadlineNanos = nextScheduledTaskDeadlineNanos();
+        if (deadlineNanos == -1) {
             return SCHEDULE_PURGE_INTERVAL;
         }
 
-        return scheduledTask.delayNanos(currentTimeNanos);
+        return Math.max(0, deadlineNanos - currentTimeNanos);
     }
 
     /**
@@ -396,8 +419,7 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
      */
     protected final long deadlineNanos() {
         assert inEventLoop();
-        RunnableScheduledFuture<?> scheduledTask = peekScheduledTask();
-        return scheduledTask == null ? -1 : scheduledTask.deadlineNanos();
+        return nextScheduledTaskDeadlineNanos();
     }
 
     /**
@@ -426,7 +448,15 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
         do {
             Runnable task = takeTask();
             if (task != null) {
-                runTask(task);
+                EventExecutorMetrics metrics = this.metrics;
+                if (metrics == null) {
+                    runTask(task);
+                } else {
+                    metrics.taskQueueDepth(taskQueue.size() + 1);
+                    long startTime = getCurrentTimeNanos();
+                    runTask(task, metrics);
+                    metrics.tasksRun(1, getCurrentTimeNanos() - startTime);
+                }
                 updateLastExecutionTime();
             }
         } while (!confirmShutdown());
@@ -658,13 +688,15 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
         requireNonNull(task, "task");
 
         boolean inEventLoop = inEventLoop();
-        addTask(task);
+        EventExecutorMetrics metrics = this.metrics;
+        Runnable queuedTask = metrics != null && metrics.taskSubmitted() ? new TimedTask(task, metrics) : task;
+        addTask(queuedTask);
         if (!inEventLoop) {
             startThread();
             if (isShutdown()) {
                 boolean reject = false;
                 try {
-                    if (removeTask(task)) {
+                    if (removeTask(queuedTask)) {
                         reject = true;
                     }
                 } catch (UnsupportedOperationException e) {
@@ -679,10 +711,54 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
         }
 
         if (!addTaskWakesUp && wakesUpForTask(task)) {
+            if (metrics != null && !inEventLoop) {
+                metrics.wakeup();
+            }
             wakeup(inEventLoop);
         }
     }
 
+    /**
+     * Set the {@link EventExecutorMetrics} that record what this executor spends its time on, or {@code null} to stop
+     * recording, which is the default. This method can be called from any thread, and takes effect for the tasks
+     * submitted after it returned.
+     */
+    public final void setMetrics(EventExecutorMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the {@link EventExecutorMetrics} that were set via {@link #setMetrics(EventExecutorMetrics)}, or
+     * {@code null} if none were set.
+     */
+    public final EventExecutorMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Keep the tasks that are scheduled on this executor in a hierarchical timing wheel instead of a priority queue,
+     * which makes scheduling and cancelling a task O(1) instead of O(log n). This pays off when a lot of timers are
+     * scheduled and then cancelled or rescheduled before they expire, as is the case for the timeouts of idle
+     * connections. The tasks still run in the order of their deadlines, and never before.
+     * <p>
+     * The tasks are moved out of the wheel one tick at a time. A coarser tick moves more tasks at once and so needs
+     * fewer of these moves, but keeps more tasks in the priority queue of the current tick. This method can be called
+     * from any thread, and again to change the tick duration. If not called from the executor thread, it takes effect
+     * asynchronously.
+     *
+     * @param tickDuration the duration of one tick of the wheel.
+     * @param unit the {@link TimeUnit} of {@code tickDuration}.
+     */
+    public final void useTimingWheel(long tickDuration, TimeUnit unit) {
+        checkPositive(tickDuration, "tickDuration");
+        long tickNanos = requireNonNull(unit, "unit").toNanos(tickDuration);
+        if (inEventLoop()) {
+            useTimingWheel(tickNanos);
+        } else {
+            execute(() -> useTimingWheel(tickNanos));
+        }
+    }
+
     /**
      * Returns the {@link ThreadProperties} of the {@link Thread} that powers the {@link SingleThreadEventExecutor}.
      * If the {@link SingleThreadEventExecutor} is not started yet, this operation will start it and block until
@@ -856,6 +932,32 @@ public class SingleThreadEventExecutor extends AbstractScheduledEventExecutor im
         return numTasks;
     }
 
+    /**
+     * Wraps a submitted task, to measure how long it was waiting in the task queue.
+     */
+    private final class TimedTask implements Runnable {
+        private final Runnable task;
+        private final EventExecutorMetrics metrics;
+        private final long submitTime;
+
+        TimedTask(Runnable task, EventExecutorMetrics metrics) {
+            this.task = task;
+            this.metrics = metrics;
+            submitTime = getCurrentTimeNanos();
+        }
+
+        @Override
+        public void run() {
+            metrics.taskExecuted(getCurrentTimeNanos() - submitTime);
+            task.run();
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+
     private static final class DefaultThreadProperties implements ThreadProperties {
         private final Thread t;
 
@@ -0,0 +1,327 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.util.concurrent;
+
+import io.netty5.util.internal.UnstableApi;
+import io.netty5.util.internal.logging.InternalLogger;
+import io.netty5.util.internal.logging.InternalLoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link EventExecutorGroup} which runs its tasks on virtual threads, so that blocking calls made by the tasks do not
+ * tie up a platform thread. This requires Java 21 or later, see {@link #isAvailable()}.
+ * <p>
+ * Every call to {@link #next()} returns a new {@link OrderedEventExecutor}, which runs its tasks one after the other
+ * on a virtual thread that is only started while the executor has work to do. Use one executor per {@code Channel}
+ * (or per any other unit that needs its tasks to run in order) to offload blocking work from the event loop, without
+ * having to size a thread pool for the number of blocking calls that may be in flight at the same time. Tasks that
+ * are submitted to the group itself are not ordered, each of them runs on its own virtual thread.
+ * <p>
+ * The executors are not tracked by the group, and so {@link #iterator()} does not return any of them.
+ */
+@UnstableApi
+public final class VirtualThreadEventExecutorGroup implements EventExecutorGroup {
+    private static final InternalLogger logger =
+            InternalLoggerFactory.getInstance(VirtualThreadEventExecutorGroup.class);
+
+    private static final Method OF_VIRTUAL;
+    private static final Method NAME;
+    private static final Method FACTORY;
+    private static final Throwable UNAVAILABILITY_CAUSE;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        Throwable cause = null;
+        try {
+            // Thread.ofVirtual() is only part of the API since Java 21, so look it up reflectively.
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            name = builderClass.getMethod("name", String.class, long.class);
+            factory = builderClass.getMethod("factory");
+            // On Java 19 and 20 virtual threads are a preview feature, and this fails unless it was enabled.
+            factory.invoke(ofVirtual.invoke(null));
+        } catch (Throwable t) {
+            cause = t;
+            logger.debug("Virtual threads: unavailable", t);
+        }
+        if (cause == null) {
+            OF_VIRTUAL = ofVirtual;
+            NAME = name;
+            FACTORY = factory;
+        } else {
+            OF_VIRTUAL = null;
+            NAME = null;
+            FACTORY = null;
+        }
+        UNAVAILABILITY_CAUSE = cause;
+    }
+
+    private final Executor executor;
+    private final Set<VirtualThreadEventExecutor> running = ConcurrentHashMap.newKeySet();
+    private final Promise<Void> terminationFuture = GlobalEventExecutor.INSTANCE.newPromise();
+    private volatile boolean shutdown;
+
+    /**
+     * Returns {@code true} if virtual threads can be used on the running JVM.
+     */
+    public static boolean isAvailable() {
+        return UNAVAILABILITY_CAUSE == null;
+    }
+
+    /**
+     * Throws the cause of virtual threads not being available, if {@link #isAvailable()} returns {@code false}.
+     */
+    public static void ensureAvailability() {
+        if (UNAVAILABILITY_CAUSE != null) {
+            throw (UnsupportedOperationException) new UnsupportedOperationException(
+                    "Virtual threads are not available on this JVM, Java 21 or later is required")
+                    .initCause(UNAVAILABILITY_CAUSE);
+        }
+    }
+
+    /**
+     * Returns the cause of virtual threads not being available, or {@code null} if {@link #isAvailable()} returns
+     * {@code true}.
+     */
+    public static Throwable unavailabilityCause() {
+        return UNAVAILABILITY_CAUSE;
+    }
+
+    /**
+     * Creates a new instance whose virtual threads are named after this class.
+     *
+     * @throws UnsupportedOperationException if virtual threads are not available.
+     */
+    public VirtualThreadEventExecutorGroup() {
+        this(DefaultThreadFactory.toPoolName(VirtualThreadEventExecutorGroup.class));
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param threadNamePrefix the prefix of the names of the virtual threads, which are numbered from {@code 0}.
+     * @throws UnsupportedOperationException if virtual threads are not available.
+     */
+    public VirtualThreadEventExecutorGroup(String threadNamePrefix) {
+        requireNonNull(threadNamePrefix, "threadNamePrefix");
+        ensureAvailability();
+        executor = new ThreadPerTaskExecutor(newVirtualThreadFactory(threadNamePrefix + '-'));
+    }
+
+    private static ThreadFactory newVirtualThreadFactory(String prefix) {
+        try {
+            Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), prefix, 0L);
+            return (ThreadFactory) FACTORY.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create a virtual thread factory", e);
+        }
+    }
+
+    @Override
+    public boolean isShuttingDown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminationFuture.isDone();
+    }
+
+    /**
+     * Stops accepting new tasks. The tasks that were already submitted are still run, but tasks that are only
+     * scheduled to run later are cancelled. The quiet period is ignored.
+     */
+    @Override
+    public Future<Void> shutdownGracefully(long quietPeriod, long timeout, TimeUnit unit) {
+        shutdown = true;
+        for (VirtualThreadEventExecutor executor : running) {
+            // Wake up executors that wait for their scheduled tasks, so they cancel them and stop.
+            executor.wakeup();
+        }
+        tryTerminate();
+        return terminationFuture();
+    }
+
+    @Override
+    public Future<Void> terminationFuture() {
+        return terminationFuture.asFuture();
+    }
+
+    private void tryTerminate() {
+        if (shutdown && running.isEmpty()) {
+            terminationFuture.trySuccess(null);
+        }
+    }
+
+    @Override
+    public EventExecutor next() {
+        return new VirtualThreadEventExecutor(this);
+    }
+
+    @Override
+    public Iterator<EventExecutor> iterator() {
+        return Collections.emptyIterator();
+    }
+
+    private static final class VirtualThreadEventExecutor extends AbstractScheduledEventExecutor
+            implements Runnable, OrderedEventExecutor {
+        private static final Runnable WAKEUP_TASK = () -> {
+            // Do nothing.
+        };
+
+        private static final int NONE = 0;
+        private static final int RUNNING = 1;
+
+        private final VirtualThreadEventExecutorGroup parent;
+        private final BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+        private final AtomicInteger state = new AtomicInteger();
+        private volatile Thread thread;
+
+        VirtualThreadEventExecutor(VirtualThreadEventExecutorGroup parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void run() {
+            thread = Thread.currentThread();
+            for (;;) {
+                Runnable task = pollTask();
+                if (task != null) {
+                    safeExecute(task);
+                    continue;
+                }
+                if (parent.isShuttingDown()) {
+                    cancelScheduledTasks();
+                }
+                thread = null;
+                // Deregister before the state change, so it can not undo the registration of a new thread.
+                parent.running.remove(this);
+                state.set(NONE);
+                // Same as in NonStickyEventExecutorGroup: a producer may have added a task after the poll above,
+                // but not seen the state change, in which case this thread has to keep running.
+                if (tasks.isEmpty() || !state.compareAndSet(NONE, RUNNING)) {
+                    parent.tryTerminate();
+                    return;
+                }
+                parent.running.add(this);
+                thread = Thread.currentThread();
+            }
+        }
+
+        private Runnable pollTask() {
+            for (;;) {
+                Runnable scheduledTask = pollScheduledTask();
+                if (scheduledTask != null) {
+                    return scheduledTask;
+                }
+                long delayNanos = nextScheduledTaskNano();
+                if (delayNanos < 0 || parent.isShuttingDown()) {
+                    return tasks.poll();
+                }
+                try {
+                    // Parking a virtual thread is cheap, so just wait for the next scheduled task.
+                    Runnable task = tasks.poll(delayNanos, TimeUnit.NANOSECONDS);
+                    if (task != null) {
+                        return task;
+                    }
+                } catch (InterruptedException ignore) {
+                    // Check the scheduled tasks again.
+                }
+            }
+        }
+
+        void wakeup() {
+            tasks.offer(WAKEUP_TASK);
+        }
+
+        @Override
+        public boolean inEventLoop(Thread thread) {
+            return thread == this.thread;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            requireNonNull(task, "task");
+            if (parent.isShuttingDown()) {
+                throw new RejectedExecutionException("event executor terminated");
+            }
+            tasks.offer(task);
+            if (state.compareAndSet(NONE, RUNNING)) {
+                // Register before starting the thread, so the group can not terminate while the task is pending.
+                parent.running.add(this);
+                try {
+                    parent.executor.execute(this);
+                } catch (Throwable t) {
+                    tasks.remove(task);
+                    state.set(NONE);
+                    parent.running.remove(this);
+                    parent.tryTerminate();
+                    throw t;
+                }
+            }
+        }
+
+        @Override
+        public boolean isShuttingDown() {
+            return parent.isShuttingDown();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return parent.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return parent.isTerminated();
+        }
+
+        /**
+         * Shuts down the whole {@link VirtualThreadEventExecutorGroup}, as its executors have no life cycle of their
+         * own.
+         */
+        @Override
+        public Future<Void> shutdownGracefully(long quietPeriod, long timeout, TimeUnit unit) {
+            return parent.shutdownGracefully(quietPeriod, timeout, unit);
+        }
+
+        @Override
+        public Future<Void> terminationFuture() {
+            return parent.terminationFuture();
+        }
+    }
+}
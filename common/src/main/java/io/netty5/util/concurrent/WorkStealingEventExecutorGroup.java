@@ -0,0 +1,269 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.util.concurrent;
+
+import io.netty5.util.internal.UnstableApi;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.netty5.util.internal.ObjectUtil.checkPositive;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link EventExecutorGroup} that balances the tasks, which are submitted to the group itself, between the
+ * {@link EventExecutor}s of the wrapped group by work stealing.
+ * <p>
+ * A task that is submitted via {@link #execute(Runnable)} or one of the {@code submit} methods of this group is
+ * queued for the executor that {@link EventExecutorGroup#next()} of the wrapped group returns. If that executor is
+ * still busy with earlier work, an idle executor of the group is woken up, and it takes the queued tasks of its busy
+ * siblings. So these tasks may run on any executor, in any order, and must not depend on each other.
+ * <p>
+ * The executors returned by {@link #next()} and {@link #iterator()} are the ones of the wrapped group, so the tasks
+ * submitted to them directly, like all the work of a {@code Channel}, stay on that executor and keep their order.
+ * Scheduled tasks are not stolen either.
+ */
+@UnstableApi
+public final class WorkStealingEventExecutorGroup implements EventExecutorGroup {
+    private final EventExecutorGroup group;
+    private final Worker[] workers;
+    private final Map<EventExecutor, Worker> workerByExecutor = new IdentityHashMap<>();
+
+    /**
+     * Creates a new instance.
+     */
+    public WorkStealingEventExecutorGroup(EventExecutorGroup group) {
+        this(group, 1024);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param group                 the {@link EventExecutorGroup} whose executors run the tasks.
+     * @param maxTaskExecutePerRun  the maximum number of tasks that an executor runs, before it gives other work that
+     *                              was submitted to it a chance to run.
+     */
+    public WorkStealingEventExecutorGroup(EventExecutorGroup group, int maxTaskExecutePerRun) {
+        this.group = requireNonNull(group, "group");
+        checkPositive(maxTaskExecutePerRun, "maxTaskExecutePerRun");
+        for (EventExecutor executor : group) {
+            workerByExecutor.put(executor, new Worker(executor, maxTaskExecutePerRun));
+        }
+        if (workerByExecutor.isEmpty()) {
+            throw new IllegalArgumentException("EventExecutorGroup " + group + " contains no EventExecutors");
+        }
+        workers = workerByExecutor.values().toArray(new Worker[0]);
+        for (int i = 0; i < workers.length; i++) {
+            workers[i].index = i;
+        }
+    }
+
+    @Override
+    public boolean isShuttingDown() {
+        return group.isShuttingDown();
+    }
+
+    @Override
+    public Future<Void> shutdownGracefully() {
+        return group.shutdownGracefully();
+    }
+
+    @Override
+    public Future<Void> shutdownGracefully(long quietPeriod, long timeout, TimeUnit unit) {
+        return group.shutdownGracefully(quietPeriod, timeout, unit);
+    }
+
+    @Override
+    public Future<Void> terminationFuture() {
+        return group.terminationFuture();
+    }
+
+    @Override
+    public EventExecutor next() {
+        return group.next();
+    }
+
+    @Override
+    public Iterator<EventExecutor> iterator() {
+        return group.iterator();
+    }
+
+    @Override
+    public Future<Void> submit(Runnable task) {
+        return submit(task, null);
+    }
+
+    @Override
+    public <T> Future<T> submit(Runnable task, T result) {
+        return submit(Executors.callable(requireNonNull(task, "task"), result));
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        requireNonNull(task, "task");
+        Worker worker = nextWorker();
+        RunnableFuture<T> futureTask = new RunnableFutureAdapter<>(worker.executor.newPromise(), task);
+        worker.execute(futureTask);
+        return futureTask;
+    }
+
+    @Override
+    public Future<Void> schedule(Runnable task, long delay, TimeUnit unit) {
+        return group.schedule(task, delay, unit);
+    }
+
+    @Override
+    public <V> Future<V> schedule(Callable<V> task, long delay, TimeUnit unit) {
+        return group.schedule(task, delay, unit);
+    }
+
+    @Override
+    public Future<Void> scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return group.scheduleAtFixedRate(task, initialDelay, period, unit);
+    }
+
+    @Override
+    public Future<Void> scheduleWithFixedDelay(Runnable task, long initialDelay, long delay, TimeUnit unit) {
+        return group.scheduleWithFixedDelay(task, initialDelay, delay, unit);
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return group.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return group.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return group.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        nextWorker().execute(requireNonNull(task, "task"));
+    }
+
+    private Worker nextWorker() {
+        Worker worker = workerByExecutor.get(group.next());
+        // Fall back to the first worker, if the wrapped group returned an executor that it did not contain before.
+        return worker == null ? workers[0] : worker;
+    }
+
+    private final class Worker implements Runnable {
+        private static final int NONE = 0;
+        private static final int SUBMITTED = 1;
+        private static final int RUNNING = 2;
+
+        private final EventExecutor executor;
+        // Tasks are taken by the owner and by thieves, so this needs to be a multi-consumer queue.
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger state = new AtomicInteger();
+        private final int maxTaskExecutePerRun;
+        private int index;
+
+        Worker(EventExecutor executor, int maxTaskExecutePerRun) {
+            this.executor = executor;
+            this.maxTaskExecutePerRun = maxTaskExecutePerRun;
+        }
+
+        void execute(Runnable task) {
+            tasks.offer(task);
+            if (state.compareAndSet(NONE, SUBMITTED)) {
+                try {
+                    executor.execute(this);
+                } catch (Throwable cause) {
+                    tasks.remove(task);
+                    state.set(NONE);
+                    throw cause;
+                }
+            } else {
+                // This executor did not get to its tasks yet, let an idle sibling help out.
+                wakeupIdleSibling();
+            }
+        }
+
+        private void wakeupIdleSibling() {
+            for (int i = 1; i < workers.length; i++) {
+                Worker sibling = workers[(index + i) % workers.length];
+                if (sibling.state.get() == NONE && sibling.state.compareAndSet(NONE, SUBMITTED)) {
+                    try {
+                        sibling.executor.execute(sibling);
+                        return;
+                    } catch (Throwable ignore) {
+                        // The sibling is most likely shut down, try the next one.
+                        sibling.state.set(NONE);
+                    }
+                }
+            }
+        }
+
+        private Runnable pollOrSteal() {
+            Runnable task = tasks.poll();
+            for (int i = 1; task == null && i < workers.length; i++) {
+                task = workers[(index + i) % workers.length].tasks.poll();
+            }
+            return task;
+        }
+
+        @Override
+        public void run() {
+            if (!state.compareAndSet(SUBMITTED, RUNNING)) {
+                return;
+            }
+            for (;;) {
+                int i = 0;
+                try {
+                    for (; i < maxTaskExecutePerRun; i++) {
+                        Runnable task = pollOrSteal();
+                        if (task == null) {
+                            break;
+                        }
+                        AbstractEventExecutor.safeExecute(task);
+                    }
+                } finally {
+                    if (i == maxTaskExecutePerRun) {
+                        try {
+                            state.set(SUBMITTED);
+                            executor.execute(this);
+                            return; // done
+                        } catch (Throwable ignore) {
+                            // Reset the state back to running as we will keep on executing tasks.
+                            state.set(RUNNING);
+                        }
+                    } else {
+                        state.set(NONE);
+                        // Look at our own tasks one more time, see NonStickyEventExecutorGroup for the details of
+                        // this race. The tasks of the siblings are not our concern, as each sibling does the same.
+                        if (tasks.isEmpty() || !state.compareAndSet(NONE, RUNNING)) {
+                            return; // done
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
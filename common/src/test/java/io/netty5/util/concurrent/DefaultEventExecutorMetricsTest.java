@@ -0,0 +1,121 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.util.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DefaultEventExecutorMetricsTest {
+
+    @Test
+    public void testInvalidSampleInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new DefaultEventExecutorMetrics(0));
+    }
+
+    @Test
+    public void testTaskMetrics() throws Exception {
+        SingleThreadEventExecutor executor = new SingleThreadEventExecutor();
+        try {
+            assertNull(executor.metrics());
+            DefaultEventExecutorMetrics metrics = new DefaultEventExecutorMetrics(1);
+            executor.setMetrics(metrics);
+            assertSame(metrics, executor.metrics());
+
+            // Block the executor, so the tasks below have to wait in the task queue.
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch blocked = new CountDownLatch(1);
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            CountDownLatch latch = new CountDownLatch(10);
+            for (int i = 0; i < 10; i++) {
+                executor.execute(latch::countDown);
+            }
+            Thread.sleep(50);
+            blocked.countDown();
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            // The counters are updated after a task ran, so run another one to see all updates of the ones above.
+            executor.submit(() -> { }).asStage().sync();
+
+            EventExecutorMetricsSnapshot snapshot = metrics.snapshot();
+            assertEquals(12, snapshot.submittedTasks());
+            assertTrue(snapshot.executedTasks() >= 11);
+            assertTrue(snapshot.timedTasks() >= 11);
+            assertTrue(snapshot.maxTaskQueueLatencyNanos() >= TimeUnit.MILLISECONDS.toNanos(50));
+            assertTrue(snapshot.meanTaskQueueLatencyNanos() <= snapshot.maxTaskQueueLatencyNanos());
+            assertTrue(snapshot.maxTaskQueueDepth() >= 10);
+            assertTrue(snapshot.taskNanos() >= TimeUnit.MILLISECONDS.toNanos(50));
+            assertEquals(0, snapshot.ioRuns());
+        } finally {
+            executor.shutdownGracefully(0, 0, TimeUnit.SECONDS).asStage().sync();
+        }
+    }
+
+    @Test
+    public void testScheduledTaskLateness() throws Exception {
+        SingleThreadEventExecutor executor = new SingleThreadEventExecutor();
+        try {
+            DefaultEventExecutorMetrics metrics = new DefaultEventExecutorMetrics();
+            executor.setMetrics(metrics);
+
+            // Keep the executor busy, past the deadline of the scheduled task.
+            Future<Void> scheduled = executor.submit(() -> {
+                Future<Void> future = executor.schedule(() -> { }, 1, TimeUnit.MILLISECONDS);
+                Thread.sleep(50);
+                return future;
+            }).asStage().get();
+            scheduled.asStage().sync();
+            executor.submit(() -> { }).asStage().sync();
+
+            EventExecutorMetricsSnapshot snapshot = metrics.snapshot();
+            assertEquals(1, snapshot.scheduledTasks());
+            assertTrue(snapshot.maxScheduledTaskLatenessNanos() >= TimeUnit.MILLISECONDS.toNanos(40));
+            assertEquals(snapshot.scheduledTaskLatenessNanos(), snapshot.meanScheduledTaskLatenessNanos());
+        } finally {
+            executor.shutdownGracefully(0, 0, TimeUnit.SECONDS).asStage().sync();
+        }
+    }
+
+    @Test
+    public void testRecordingStops() throws Exception {
+        SingleThreadEventExecutor executor = new SingleThreadEventExecutor();
+        try {
+            DefaultEventExecutorMetrics metrics = new DefaultEventExecutorMetrics();
+            executor.setMetrics(metrics);
+            executor.submit(() -> { }).asStage().sync();
+            executor.setMetrics(null);
+            executor.submit(() -> { }).asStage().sync();
+            executor.submit(() -> { }).asStage().sync();
+            assertEquals(1, metrics.snapshot().submittedTasks());
+        } finally {
+            executor.shutdownGracefully(0, 0, TimeUnit.SECONDS).asStage().sync();
+        }
+    }
+}
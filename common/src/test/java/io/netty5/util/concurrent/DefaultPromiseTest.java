@@ -24,6 +24,7 @@ import org.junit.jupiter.api.Timeout;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
@@ -469,6 +470,118 @@ public class DefaultPromiseTest {
         assertThrows(IllegalStateException.class, () -> promise.cause());
     }
 
+    @Test
+    @Timeout(value = 10000, unit = TimeUnit.MILLISECONDS)
+    public void concurrentlyAddedListenersAreNotifiedOnce() throws Exception {
+        final int threads = 4;
+        final int listenersPerThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int attempt = 0; attempt < 20; attempt++) {
+                final DefaultPromise<Void> promise = new DefaultPromise<>(INSTANCE);
+                final List<BlockingQueue<Integer>> notified = new ArrayList<>(threads);
+                final CountDownLatch start = new CountDownLatch(1);
+                final CountDownLatch added = new CountDownLatch(threads);
+                for (int t = 0; t < threads; t++) {
+                    final BlockingQueue<Integer> queue = new LinkedBlockingQueue<>();
+                    notified.add(queue);
+                    executor.execute(() -> {
+                        try {
+                            start.await();
+                            for (int i = 0; i < listenersPerThread; i++) {
+                                final int index = i;
+                                promise.addListener(future -> queue.add(index));
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            added.countDown();
+                        }
+                    });
+                }
+                start.countDown();
+                // Complete the promise while the listeners are still being added.
+                promise.setSuccess(null);
+                added.await();
+
+                for (BlockingQueue<Integer> queue : notified) {
+                    assertEquals(listenersPerThread, queue.size());
+                    assertEquals(listenersPerThread, new HashSet<>(queue).size());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @Timeout(value = 10000, unit = TimeUnit.MILLISECONDS)
+    public void allWaitersAreWokenOnCompletion() throws Exception {
+        final int waiters = 16;
+        final EventExecutor executor = new TestEventExecutor();
+        final DefaultPromise<Void> promise = new DefaultPromise<>(executor);
+        final CountDownLatch started = new CountDownLatch(waiters);
+        final CountDownLatch woken = new CountDownLatch(waiters);
+        List<Thread> threads = new ArrayList<>(waiters);
+        for (int i = 0; i < waiters; i++) {
+            final boolean timed = (i & 1) == 0;
+            Thread thread = new Thread(() -> {
+                started.countDown();
+                try {
+                    if (timed) {
+                        if (promise.asStage().await(1, TimeUnit.MINUTES)) {
+                            woken.countDown();
+                        }
+                    } else {
+                        promise.asStage().await();
+                        woken.countDown();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        started.await();
+        promise.setSuccess(null);
+        assertTrue(woken.await(5, TimeUnit.SECONDS));
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        executor.shutdownGracefully();
+    }
+
+    @Test
+    @Timeout(value = 10000, unit = TimeUnit.MILLISECONDS)
+    public void timedOutAndInterruptedWaitersDoNotPreventCompletion() throws Exception {
+        final EventExecutor executor = new TestEventExecutor();
+        final DefaultPromise<String> promise = new DefaultPromise<>(executor);
+        assertFalse(promise.asStage().await(10, TimeUnit.MILLISECONDS));
+
+        final BlockingQueue<Object> result = new LinkedBlockingQueue<>();
+        Thread thread = new Thread(() -> {
+            try {
+                promise.asStage().await();
+                result.add("woken");
+            } catch (InterruptedException e) {
+                result.add(e);
+            }
+        });
+        thread.start();
+        thread.interrupt();
+        assertThat(result.poll(5, TimeUnit.SECONDS)).isInstanceOf(InterruptedException.class);
+        thread.join();
+
+        final CountDownLatch notified = new CountDownLatch(1);
+        promise.addListener(future -> notified.countDown());
+        promise.setSuccess("done");
+        assertTrue(promise.asStage().await(0, TimeUnit.MILLISECONDS));
+        assertEquals("done", promise.getNow());
+        assertTrue(notified.await(5, TimeUnit.SECONDS));
+        executor.shutdownGracefully();
+    }
+
     private static void testStackOverFlowChainedFuturesA(int promiseChainLength, final EventExecutor executor,
                                                          boolean runTestInExecutorThread)
             throws InterruptedException {
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.util.concurrent;
+
+import io.netty5.util.concurrent.EventExecutorChooserFactory.EventExecutorChooser;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LoadAwareEventExecutorChooserFactoryTest {
+
+    private static EventExecutor[] newExecutors(int n) {
+        EventExecutor[] executors = new EventExecutor[n];
+        for (int i = 0; i < n; i++) {
+            // The executors are never started, so they do not need to be shut down.
+            executors[i] = new TestEventExecutor();
+        }
+        return executors;
+    }
+
+    @Test
+    public void testRoundRobin() {
+        for (int n : new int[] { 1, 3, 4 }) {
+            EventExecutor[] executors = newExecutors(n);
+            EventExecutorChooser chooser = DefaultEventExecutorChooserFactory.INSTANCE.newChooser(executors);
+            for (int i = 0; i < 3 * n; i++) {
+                assertSame(executors[i % n], chooser.next());
+            }
+        }
+    }
+
+    @Test
+    public void testLeastLoaded() {
+        EventExecutor[] executors = newExecutors(4);
+        Map<EventExecutor, Long> load = new IdentityHashMap<>();
+        load.put(executors[0], 5L);
+        load.put(executors[1], 2L);
+        load.put(executors[2], 7L);
+        load.put(executors[3], 3L);
+        EventExecutorChooser chooser = LoadAwareEventExecutorChooserFactory.leastLoaded(load::get)
+                .newChooser(executors);
+        for (int i = 0; i < 100; i++) {
+            assertSame(executors[1], chooser.next());
+        }
+
+        // Executors with the same load are all chosen.
+        load.put(executors[3], 2L);
+        Map<EventExecutor, Integer> chosen = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            chosen.merge(chooser.next(), 1, Integer::sum);
+        }
+        assertEquals(2, chosen.size());
+        assertTrue(chosen.get(executors[1]) > 100);
+        assertTrue(chosen.get(executors[3]) > 100);
+    }
+
+    @Test
+    public void testPowerOfTwoChoices() {
+        EventExecutor[] executors = newExecutors(4);
+        Map<EventExecutor, Long> load = new IdentityHashMap<>();
+        for (EventExecutor executor : executors) {
+            load.put(executor, 1L);
+        }
+        load.put(executors[2], 100L);
+        EventExecutorChooser chooser = LoadAwareEventExecutorChooserFactory.powerOfTwoChoices(load::get)
+                .newChooser(executors);
+        Map<EventExecutor, Integer> chosen = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            EventExecutor executor = chooser.next();
+            // The most loaded executor always loses against the other one of the two choices.
+            assertNotSame(executors[2], executor);
+            chosen.merge(executor, 1, Integer::sum);
+        }
+        assertEquals(3, chosen.size());
+    }
+
+    @Test
+    public void testLeastPendingTasks() throws Exception {
+        EventExecutorGroup group = new DefaultEventExecutorGroup(2);
+        CountDownLatch blocked = new CountDownLatch(1);
+        try {
+            EventExecutor[] executors = new EventExecutor[2];
+            CountDownLatch started = new CountDownLatch(2);
+            for (int i = 0; i < executors.length; i++) {
+                executors[i] = group.next();
+                // Block the executors, so the tasks below stay pending.
+                executors[i].execute(() -> {
+                    started.countDown();
+                    try {
+                        blocked.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            executors[0].execute(() -> { });
+            executors[0].execute(() -> { });
+            executors[1].execute(() -> { });
+            EventExecutorChooser chooser = LoadAwareEventExecutorChooserFactory.leastPendingTasks()
+                    .newChooser(executors);
+            assertSame(executors[1], chooser.next());
+        } finally {
+            blocked.countDown();
+            group.shutdownGracefully();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.util.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ScheduledTaskTimingWheelTest {
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void testSameOrderAsPriorityQueue() {
+        Random random = new Random(42);
+        TestScheduledEventExecutor queueExecutor = new TestScheduledEventExecutor();
+        TestScheduledEventExecutor wheelExecutor = new TestScheduledEventExecutor();
+        wheelExecutor.useTimingWheel(TICK_NANOS);
+        List<Future<?>> queueFutures = new ArrayList<>();
+        List<Future<?>> wheelFutures = new ArrayList<>();
+        List<Integer> queueRuns = new ArrayList<>();
+        List<Integer> wheelRuns = new ArrayList<>();
+
+        for (int round = 0; round < 2000; round++) {
+            for (int i = 0; i < 10; i++) {
+                final int id = queueFutures.size();
+                long delayNanos = randomDelayNanos(random);
+                queueFutures.add(queueExecutor.schedule(() -> queueRuns.add(id), delayNanos, TimeUnit.NANOSECONDS));
+                wheelFutures.add(wheelExecutor.schedule(() -> wheelRuns.add(id), delayNanos, TimeUnit.NANOSECONDS));
+            }
+            for (int i = 0; i < 5; i++) {
+                int id = random.nextInt(queueFutures.size());
+                assertEquals(queueFutures.get(id).cancel(), wheelFutures.get(id).cancel());
+            }
+            long elapsedNanos = random.nextInt(4) == 0 ? TimeUnit.SECONDS.toNanos(random.nextInt(100)) :
+                    random.nextInt((int) TimeUnit.MILLISECONDS.toNanos(20));
+            queueExecutor.time += elapsedNanos;
+            wheelExecutor.time += elapsedNanos;
+
+            assertEquals(queueExecutor.nextScheduledTaskNano() == -1, wheelExecutor.nextScheduledTaskNano() == -1);
+            // The wheel may ask to be checked earlier, but never later than the next deadline.
+            assertTrue(wheelExecutor.nextScheduledTaskNano() <= queueExecutor.nextScheduledTaskNano());
+            assertEquals(queueExecutor.hasScheduledTasks(), wheelExecutor.hasScheduledTasks());
+            queueExecutor.runScheduledTasks();
+            wheelExecutor.runScheduledTasks();
+            assertEquals(queueRuns, wheelRuns);
+        }
+        assertFalse(queueRuns.isEmpty());
+    }
+
+    private static long randomDelayNanos(Random random) {
+        switch (random.nextInt(5)) {
+        case 0:
+            return random.nextInt((int) TimeUnit.MILLISECONDS.toNanos(10));
+        case 1:
+            return TimeUnit.MILLISECONDS.toNanos(random.nextInt(100_000));
+        case 2:
+            return TimeUnit.SECONDS.toNanos(random.nextInt(100_000));
+        case 3:
+            // Beyond the range of the wheel.
+            return TimeUnit.DAYS.toNanos(1000 + random.nextInt(1000));
+        default:
+            return random.nextInt(3) - 1;
+        }
+    }
+
+    @Test
+    public void testSwitchToTimingWheel() {
+        TestScheduledEventExecutor executor = new TestScheduledEventExecutor();
+        Future<Void> first = executor.schedule(() -> { }, 10, TimeUnit.MILLISECONDS);
+        Future<Void> second = executor.schedule(() -> { }, 20, TimeUnit.SECONDS);
+        executor.useTimingWheel(TICK_NANOS);
+        executor.useTimingWheel(TICK_NANOS * 10);
+
+        executor.time += TimeUnit.MILLISECONDS.toNanos(9);
+        assertNull(executor.pollScheduledTask());
+        executor.time += TimeUnit.MILLISECONDS.toNanos(1);
+        assertSame(first, executor.pollScheduledTask());
+        assertNull(executor.pollScheduledTask());
+        executor.time += TimeUnit.SECONDS.toNanos(20);
+        assertSame(second, executor.pollScheduledTask());
+        assertEquals(-1, executor.nextScheduledTaskNano());
+    }
+
+    @Test
+    public void testCancelScheduledTasks() {
+        TestScheduledEventExecutor executor = new TestScheduledEventExecutor();
+        executor.useTimingWheel(TICK_NANOS);
+        List<Future<Void>> futures = new ArrayList<>();
+        futures.add(executor.schedule(() -> { }, 0, TimeUnit.MILLISECONDS));
+        futures.add(executor.schedule(() -> { }, 10, TimeUnit.MINUTES));
+        futures.add(executor.schedule(() -> { }, 10_000, TimeUnit.DAYS));
+        executor.cancelScheduledTasks();
+        for (Future<Void> future : futures) {
+            assertTrue(future.isCancelled());
+        }
+        assertEquals(-1, executor.nextScheduledTaskNano());
+        assertNull(executor.pollScheduledTask());
+    }
+
+    @Test
+    public void testPeriodicTask() {
+        TestScheduledEventExecutor executor = new TestScheduledEventExecutor();
+        executor.useTimingWheel(TICK_NANOS);
+        List<Long> runs = new ArrayList<>();
+        Future<Void> future = executor.scheduleAtFixedRate(
+                () -> runs.add(executor.time), 5, 100, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 1000; i++) {
+            executor.time += TimeUnit.MILLISECONDS.toNanos(1);
+            executor.runScheduledTasks();
+        }
+        assertEquals(10, runs.size());
+        for (int i = 0; i < runs.size(); i++) {
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(5 + 100 * i), (long) runs.get(i));
+        }
+        assertTrue(future.cancel());
+        assertEquals(-1, executor.nextScheduledTaskNano());
+    }
+
+    @Test
+    public void testSingleThreadEventExecutor() throws Exception {
+        SingleThreadEventExecutor executor = new SingleThreadEventExecutor();
+        try {
+            executor.useTimingWheel(1, TimeUnit.MILLISECONDS);
+            BlockingQueue<Integer> runs = new LinkedBlockingQueue<>();
+            long start = System.nanoTime();
+            Future<?> cancelled = executor.schedule(() -> runs.add(-1), 20, TimeUnit.MILLISECONDS);
+            for (int i = 9; i >= 0; i--) {
+                final int id = i;
+                executor.schedule(() -> runs.add(id), 10 + i * 5, TimeUnit.MILLISECONDS);
+            }
+            assertTrue(cancelled.cancel());
+            for (int i = 0; i < 10; i++) {
+                assertEquals(i, (int) runs.take());
+            }
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(55));
+            assertNull(runs.poll(20, TimeUnit.MILLISECONDS));
+        } finally {
+            executor.shutdownGracefully(0, 0, TimeUnit.SECONDS).asStage().sync();
+        }
+    }
+
+    private static final class TestScheduledEventExecutor extends AbstractScheduledEventExecutor {
+        long time;
+
+        @Override
+        protected long getCurrentTimeNanos() {
+            return time;
+        }
+
+        void runScheduledTasks() {
+            for (;;) {
+                RunnableScheduledFuture<?> task = pollScheduledTask();
+                if (task == null) {
+                    return;
+                }
+                // Never run a task before its deadline.
+                assertTrue(task.deadlineNanos() <= time);
+                task.run();
+            }
+        }
+
+        @Override
+        public boolean isShuttingDown() {
+            return false;
+        }
+
+        @Override
+        public boolean inEventLoop(Thread thread) {
+            return true;
+        }
+
+        @Override
+        public Future<Void> shutdownGracefully(long quietPeriod, long timeout, TimeUnit unit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Future<Void> terminationFuture() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return false;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.util.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class VirtualThreadEventExecutorGroupTest {
+
+    private VirtualThreadEventExecutorGroup group;
+
+    @BeforeEach
+    public void setUp() {
+        if (VirtualThreadEventExecutorGroup.isAvailable()) {
+            group = new VirtualThreadEventExecutorGroup("test");
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        if (group != null) {
+            group.shutdownGracefully().asStage().sync();
+        }
+    }
+
+    @Test
+    public void testUnavailable() {
+        assumeFalse(VirtualThreadEventExecutorGroup.isAvailable());
+        assertNotNull(VirtualThreadEventExecutorGroup.unavailabilityCause());
+        assertThrows(UnsupportedOperationException.class, VirtualThreadEventExecutorGroup::new);
+    }
+
+    @Test
+    @Timeout(value = 10000, unit = TimeUnit.MILLISECONDS)
+    public void testTasksRunInOrder() throws Exception {
+        assumeTrue(VirtualThreadEventExecutorGroup.isAvailable());
+        EventExecutor executor = group.next();
+        assertNotSame(executor, group.next());
+        List<Integer> results = new ArrayList<>();
+        Future<Void> last = null;
+        for (int i = 0; i < 1000; i++) {
+            final int value = i;
+            last = executor.submit(() -> {
+                assertTrue(executor.inEventLoop());
+                if (value % 100 == 0) {
+                    // Yield the virtual thread, which must not let the next task overtake this one.
+                    Thread.sleep(1);
+                }
+                results.add(value);
+                return null;
+            });
+        }
+        last.asStage().sync();
+        assertEquals(1000, results.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, (int) results.get(i));
+        }
+        assertFalse(executor.inEventLoop());
+    }
+
+    @Test
+    @Timeout(value = 10000, unit = TimeUnit.MILLISECONDS)
+    public void testBlockingTasksRunConcurrently() throws Exception {
+        assumeTrue(VirtualThreadEventExecutorGroup.isAvailable());
+        int executors = 1000;
+        CountDownLatch blocked = new CountDownLatch(executors);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>(executors);
+        for (int i = 0; i < executors; i++) {
+            futures.add(group.next().submit(() -> {
+                blocked.countDown();
+                release.await();
+                return null;
+            }));
+        }
+        // All tasks block at the same time, far more than a thread pool would usually be sized for.
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        for (Future<Void> future : futures) {
+            future.asStage().sync();
+        }
+    }
+
+    @Test
+    @Timeout(value = 10000, unit = TimeUnit.MILLISECONDS)
+    public void testScheduledTask() throws Exception {
+        assumeTrue(VirtualThreadEventExecutorGroup.isAvailable());
+        EventExecutor executor = group.next();
+        long start = System.nanoTime();
+        AtomicBoolean inEventLoop = new AtomicBoolean();
+        executor.schedule(() -> inEventLoop.set(executor.inEventLoop()), 100, TimeUnit.MILLISECONDS)
+                .asStage().sync();
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(inEventLoop.get());
+
+        Future<Void> cancelled = executor.schedule(() -> { }, 1, TimeUnit.DAYS);
+        assertTrue(cancelled.cancel());
+        assertTrue(cancelled.isCancelled());
+    }
+
+    @Test
+    @Timeout(value = 10000, unit = TimeUnit.MILLISECONDS)
+    public void testShutdown() throws Exception {
+        assumeTrue(VirtualThreadEventExecutorGroup.isAvailable());
+        EventExecutor executor = group.next();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Void> running = executor.submit(() -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        Future<Void> pending = executor.submit(() -> { });
+        Future<Void> scheduled = group.next().schedule(() -> { }, 1, TimeUnit.DAYS);
+        started.await();
+
+        Future<Void> terminationFuture = group.shutdownGracefully();
+        assertTrue(group.isShuttingDown());
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        assertFalse(terminationFuture.isDone());
+
+        release.countDown();
+        terminationFuture.asStage().sync();
+        assertTrue(group.isTerminated());
+        assertTrue(running.isSuccess());
+        assertTrue(pending.isSuccess());
+        assertTrue(scheduled.isCancelled());
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.util.concurrent;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WorkStealingEventExecutorGroupTest {
+
+    @Test
+    public void testInvalidMaxTaskExecutePerRun() {
+        EventExecutorGroup group = new DefaultEventExecutorGroup(1);
+        try {
+            assertThrows(IllegalArgumentException.class, () -> new WorkStealingEventExecutorGroup(group, 0));
+        } finally {
+            group.shutdownGracefully();
+        }
+    }
+
+    @Test
+    public void testNextReturnsExecutorsOfGroup() {
+        EventExecutorGroup group = new DefaultEventExecutorGroup(2);
+        try {
+            WorkStealingEventExecutorGroup stealingGroup = new WorkStealingEventExecutorGroup(group);
+            Set<EventExecutor> executors = ConcurrentHashMap.newKeySet();
+            group.forEach(executors::add);
+            for (int i = 0; i < 4; i++) {
+                assertTrue(executors.contains(stealingGroup.next()));
+            }
+            assertSame(group.terminationFuture(), stealingGroup.terminationFuture());
+        } finally {
+            group.shutdownGracefully();
+        }
+    }
+
+    @Test
+    @Timeout(value = 10000, unit = TimeUnit.MILLISECONDS)
+    public void testSubmit() throws Exception {
+        EventExecutorGroup group = new DefaultEventExecutorGroup(2);
+        try {
+            WorkStealingEventExecutorGroup stealingGroup = new WorkStealingEventExecutorGroup(group);
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                int value = i;
+                futures.add(stealingGroup.submit(() -> value));
+            }
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i, (int) futures.get(i).asStage().get());
+            }
+            assertEquals("result", stealingGroup.submit(() -> { }, "result").asStage().get());
+        } finally {
+            group.shutdownGracefully();
+        }
+    }
+
+    @Test
+    @Timeout(value = 10000, unit = TimeUnit.MILLISECONDS)
+    public void testIdleExecutorStealsFromBusyExecutor() throws Exception {
+        testIdleExecutorStealsFromBusyExecutor(1024);
+    }
+
+    @Test
+    @Timeout(value = 10000, unit = TimeUnit.MILLISECONDS)
+    public void testIdleExecutorStealsFromBusyExecutorSmallRuns() throws Exception {
+        testIdleExecutorStealsFromBusyExecutor(1);
+    }
+
+    private static void testIdleExecutorStealsFromBusyExecutor(int maxTaskExecutePerRun) throws Exception {
+        EventExecutorGroup group = new DefaultEventExecutorGroup(2);
+        CountDownLatch blocked = new CountDownLatch(1);
+        try {
+            WorkStealingEventExecutorGroup stealingGroup =
+                    new WorkStealingEventExecutorGroup(group, maxTaskExecutePerRun);
+            // Block one executor, half of the tasks below are queued for it.
+            EventExecutor busy = group.next();
+            CountDownLatch started = new CountDownLatch(1);
+            busy.execute(() -> {
+                started.countDown();
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            int tasks = 100;
+            CountDownLatch done = new CountDownLatch(tasks);
+            Set<Thread> threads = ConcurrentHashMap.newKeySet();
+            for (int i = 0; i < tasks; i++) {
+                stealingGroup.execute(() -> {
+                    threads.add(Thread.currentThread());
+                    done.countDown();
+                });
+            }
+            // All tasks complete, while the busy executor is still blocked.
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(1, threads.size());
+        } finally {
+            blocked.countDown();
+            group.shutdownGracefully();
+        }
+    }
+}
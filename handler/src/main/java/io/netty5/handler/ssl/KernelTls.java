@@ -0,0 +1,161 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.ssl;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.channel.unix.KernelTlsCryptoInfo;
+
+import javax.crypto.spec.SecretKeySpec;
+import javax.net.ssl.SSLEngine;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Derives the keys that are handed to the kernel, when {@link SslHandler} offloads the encryption of outbound records
+ * to a {@link io.netty5.channel.unix.KernelTlsChannel}.
+ * <p>
+ * Only TLS 1.2 with AEAD ciphers is supported. The engines do not expose the traffic secrets of TLS 1.3, and TLS 1.3
+ * key updates would need the kernel and the engine to agree on every key change. In TLS 1.2, the write keys follow
+ * from the master secret and the hello randoms of the handshake, see
+ * <a href="https://tools.ietf.org/html/rfc5246#section-6.3">RFC 5246, section 6.3</a>. The randoms are taken from the
+ * hello messages, which are sent in plaintext.
+ */
+final class KernelTls {
+    private static final int RANDOM_LENGTH = 32;
+    // Record header (5 bytes), handshake header (4 bytes) and client or server version (2 bytes).
+    private static final int RANDOM_OFFSET = 11;
+    private static final int RECORD_HEADER_LENGTH = 5;
+    private static final byte CONTENT_TYPE_CHANGE_CIPHER_SPEC = 20;
+    private static final byte CONTENT_TYPE_HANDSHAKE = 22;
+    /**
+     * The record count of {@link #countRecordsAfterChangeCipherSpec(Buffer, int, int)}, if no
+     * {@code ChangeCipherSpec} record was seen yet or the records could not be followed.
+     */
+    static final int UNKNOWN_RECORD_COUNT = -1;
+    static final byte CLIENT_HELLO = 1;
+    static final byte SERVER_HELLO = 2;
+    private static final byte[] KEY_EXPANSION = "key expansion".getBytes(US_ASCII);
+
+    private KernelTls() {
+    }
+
+    /**
+     * Returns the random of the hello message of the given type, if it starts at the given offset of the buffer,
+     * or {@code null} otherwise.
+     */
+    static byte[] helloRandom(Buffer buffer, int offset, byte helloType) {
+        if (buffer.writerOffset() - offset < RANDOM_OFFSET + RANDOM_LENGTH ||
+                buffer.getByte(offset) != CONTENT_TYPE_HANDSHAKE || buffer.getByte(offset + 5) != helloType) {
+            return null;
+        }
+        byte[] random = new byte[RANDOM_LENGTH];
+        buffer.copyInto(offset + RANDOM_OFFSET, random, 0, RANDOM_LENGTH);
+        return random;
+    }
+
+    /**
+     * Returns the number of records that were written after the {@code ChangeCipherSpec} record, once the given
+     * buffer, which holds whole records from the given offset, was written.
+     *
+     * @param records the number of records that were written after the {@code ChangeCipherSpec} record before, or
+     *                {@link #UNKNOWN_RECORD_COUNT}.
+     */
+    static int countRecordsAfterChangeCipherSpec(Buffer buffer, int offset, int records) {
+        int end = buffer.writerOffset();
+        while (end - offset >= RECORD_HEADER_LENGTH) {
+            if (buffer.getByte(offset) == CONTENT_TYPE_CHANGE_CIPHER_SPEC) {
+                records = 0;
+            } else if (records != UNKNOWN_RECORD_COUNT) {
+                records++;
+            }
+            offset += RECORD_HEADER_LENGTH + buffer.getUnsignedShort(offset + 3);
+        }
+        // A partial record means we lost track of the record boundaries.
+        return offset == end? records : UNKNOWN_RECORD_COUNT;
+    }
+
+    /**
+     * Derive the keys of the outbound direction of the given engine, whose handshake has just completed.
+     *
+     * @param recordSequence the sequence number of the next record, which is the number of records the engine wrote
+     *                       after its {@code ChangeCipherSpec} record.
+     * @return the keys, or {@code null} if the negotiated protocol or cipher suite is not supported.
+     */
+    static KernelTlsCryptoInfo txCryptoInfo(SSLEngine engine, byte[] clientRandom, byte[] serverRandom,
+                                            int recordSequence) {
+        // At least the Finished message must have been encrypted with the keys.
+        if (!(engine instanceof ReferenceCountedOpenSslEngine) || clientRandom == null || serverRandom == null ||
+                recordSequence < 1 ||
+                !SslProtocols.TLS_v1_2.equals(engine.getSession().getProtocol())) {
+            return null;
+        }
+        String cipherSuite = engine.getSession().getCipherSuite();
+        final int cipher;
+        final int keyLength;
+        final int ivLength;
+        final String prf;
+        if (cipherSuite.endsWith("_WITH_AES_128_GCM_SHA256")) {
+            cipher = KernelTlsCryptoInfo.CIPHER_AES_GCM_128;
+            keyLength = 16;
+            ivLength = 4;
+            prf = "HmacSHA256";
+        } else if (cipherSuite.endsWith("_WITH_AES_256_GCM_SHA384")) {
+            cipher = KernelTlsCryptoInfo.CIPHER_AES_GCM_256;
+            keyLength = 32;
+            ivLength = 4;
+            prf = "HmacSHA384";
+        } else if (cipherSuite.endsWith("_WITH_CHACHA20_POLY1305_SHA256")) {
+            cipher = KernelTlsCryptoInfo.CIPHER_CHACHA20_POLY1305;
+            keyLength = 32;
+            ivLength = 12;
+            prf = "HmacSHA256";
+        } else {
+            return null;
+        }
+        SecretKeySpec masterKey = ((ReferenceCountedOpenSslEngine) engine).masterKey();
+        if (masterKey == null) {
+            return null;
+        }
+
+        byte[] seed = Arrays.copyOf(serverRandom, RANDOM_LENGTH * 2);
+        System.arraycopy(clientRandom, 0, seed, RANDOM_LENGTH, RANDOM_LENGTH);
+        // The AEAD ciphers have no MAC keys, so the key block is:
+        // client_write_key, server_write_key, client_write_IV, server_write_IV
+        byte[] keyBlock = PseudoRandomFunction.hash(
+                masterKey.getEncoded(), KEY_EXPANSION, seed, 2 * keyLength + 2 * ivLength, prf);
+        boolean client = engine.getUseClientMode();
+        int keyOffset = client? 0 : keyLength;
+        int ivOffset = 2 * keyLength + (client? 0 : ivLength);
+        byte[] key = Arrays.copyOfRange(keyBlock, keyOffset, keyOffset + keyLength);
+        byte[] fixedIv = Arrays.copyOfRange(keyBlock, ivOffset, ivOffset + ivLength);
+        Arrays.fill(keyBlock, (byte) 0);
+
+        // The records after ChangeCipherSpec, starting with Finished, were encrypted with these keys.
+        byte[] sequence = new byte[8];
+        for (int i = 7, s = recordSequence; i >= 0; i--, s >>>= 8) {
+            sequence[i] = (byte) s;
+        }
+        if (cipher == KernelTlsCryptoInfo.CIPHER_CHACHA20_POLY1305) {
+            return new KernelTlsCryptoInfo(KernelTlsCryptoInfo.TLS_1_2_VERSION, cipher, key, fixedIv,
+                    new byte[0], sequence);
+        }
+        // For AES-GCM, the fixed IV is the salt of the nonce, and the explicit part of the nonce is sent with every
+        // record. Like OpenSSL, we start it from the record sequence number.
+        return new KernelTlsCryptoInfo(KernelTlsCryptoInfo.TLS_1_2_VERSION, cipher, key, sequence,
+                fixedIv, sequence);
+    }
+}
@@ -29,6 +29,10 @@ import io.netty5.channel.ChannelHandler;
 import io.netty5.channel.ChannelHandlerContext;
 import io.netty5.channel.ChannelOption;
 import io.netty5.channel.ChannelPipeline;
+import io.netty5.channel.FileRegion;
+import io.netty5.channel.unix.KernelTlsChannel;
+import io.netty5.channel.unix.KernelTlsCryptoInfo;
+import io.netty5.channel.unix.KernelTlsRecord;
 import io.netty5.channel.unix.UnixChannel;
 import io.netty5.handler.codec.ByteToMessageDecoder;
 import io.netty5.handler.codec.DecoderException;
@@ -182,6 +186,16 @@ public class SslHandler extends ByteToMessageDecoder {
      */
     private static final int STATE_FIRE_CHANNEL_READ = 1 << 8;
     private static final int STATE_UNWRAP_REENTRY = 1 << 9;
+    /**
+     * Set once the outbound records are encrypted by the kernel, see {@link #setKernelTlsOffload(boolean)}.
+     */
+    private static final int STATE_KERNEL_TLS = 1 << 10;
+    private static final int STATE_KERNEL_TLS_CLOSE_NOTIFY = 1 << 11;
+    /**
+     * Set while the records that were wrapped by the {@link SSLEngine} are sent, before the keys are handed to the
+     * kernel. Pending writes are held back until then.
+     */
+    private static final int STATE_KERNEL_TLS_PENDING = 1 << 12;
 
     /**
      * <a href="https://tools.ietf.org/html/rfc5246#section-6.2">2^14</a> which is the maximum sized plaintext chunk
@@ -328,6 +342,11 @@ public class SslHandler extends ByteToMessageDecoder {
     private volatile long closeNotifyFlushTimeoutMillis = 3000;
     private volatile long closeNotifyReadTimeoutMillis;
     volatile int wrapDataSize = MAX_PLAINTEXT_LENGTH;
+    private volatile boolean kernelTlsOffload;
+    // The hello randoms, which are only captured when kernel TLS offload is requested.
+    private byte[] clientRandom;
+    private byte[] serverRandom;
+    private int kernelTlsRecordSequence = KernelTls.UNKNOWN_RECORD_COUNT;
 
     /**
      * Creates a new instance which runs all delegated tasks directly on the {@link EventExecutor}.
@@ -419,6 +438,42 @@ public class SslHandler extends ByteToMessageDecoder {
         this.wrapDataSize = wrapDataSize;
     }
 
+    /**
+     * Sets if the encryption of outbound records should be handed over to the kernel once the handshake completed.
+     * <p>
+     * This is only done if the channel is a {@link KernelTlsChannel} that supports it, the {@link SSLEngine} is
+     * a {@link SslProvider#OPENSSL} engine, and TLS 1.2 was negotiated with an AES-GCM or ChaCha20-Poly1305 cipher
+     * suite, and the kernel accepts the keys. Otherwise, the records are encrypted by the {@link SSLEngine} as usual.
+     * Inbound records are always decrypted by the {@link SSLEngine}, and renegotiation is not supported once the kernel
+     * took over.
+     * <p>
+     * Once the kernel took over, {@link FileRegion}s can be written as well, which are then sent without copying
+     * their content into user space.
+     * <p>
+     * This must be set before the handshake starts.
+     */
+    @UnstableApi
+    public final void setKernelTlsOffload(boolean kernelTlsOffload) {
+        this.kernelTlsOffload = kernelTlsOffload;
+    }
+
+    /**
+     * Returns {@code true} if the encryption of outbound records should be handed over to the kernel, see
+     * {@link #setKernelTlsOffload(boolean)}.
+     */
+    @UnstableApi
+    public final boolean isKernelTlsOffload() {
+        return kernelTlsOffload;
+    }
+
+    /**
+     * Returns {@code true} if the outbound records of this connection are encrypted by the kernel.
+     */
+    @UnstableApi
+    public final boolean isKernelTlsActive() {
+        return isStateSet(STATE_KERNEL_TLS);
+    }
+
     /**
      * @deprecated use {@link #getCloseNotifyFlushTimeoutMillis()}
      */
@@ -622,6 +677,11 @@ public class SslHandler extends ByteToMessageDecoder {
 
     @Override
     public Future<Void> write(final ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof FileRegion && isStateSet(STATE_KERNEL_TLS) && pendingUnencryptedWrites != null) {
+            // The kernel encrypts the file content, so it can be sent without copying it into a Buffer first.
+            pendingUnencryptedWrites.writeAndRemoveAll(ctx);
+            return ctx.write(msg);
+        }
         if (!(msg instanceof Buffer)) {
             UnsupportedMessageTypeException exception = new UnsupportedMessageTypeException(msg, Buffer.class);
             logger.warn(exception);
@@ -693,6 +753,15 @@ public class SslHandler extends ByteToMessageDecoder {
             // Only continue to loop if the handler was not removed in the meantime.
             // See https://github.com/netty/netty/issues/5860
             outer: while (!ctx.isRemoved()) {
+                if (isStateSet(STATE_KERNEL_TLS)) {
+                    // The kernel encrypts everything from here on.
+                    pendingUnencryptedWrites.writeAndRemoveAll(ctx);
+                    break;
+                }
+                if (isStateSet(STATE_KERNEL_TLS_PENDING) && !isStateSet(STATE_OUTBOUND_CLOSED)) {
+                    // It is not known yet whether the kernel or the engine encrypts the pending writes.
+                    break;
+                }
                 Promise<Void> promise = ctx.newPromise();
                 Buffer buf = wrapDataSize > 0 ?
                         pendingUnencryptedWrites.remove(alloc, wrapDataSize, promise) :
@@ -881,17 +950,112 @@ public class SslHandler extends ByteToMessageDecoder {
 
     private SSLEngineResult wrap(SSLEngine engine, Buffer in, Buffer out)
             throws SSLException {
+        if (isStateSet(STATE_KERNEL_TLS)) {
+            return wrapKernelTls(engine);
+        }
+        final int offset = out.writerOffset();
         for (;;) {
             SSLEngineResult result = engineWrapper.wrap(in, out);
 
             if (result.getStatus() == Status.BUFFER_OVERFLOW) {
                 out.ensureWritable(engine.getSession().getPacketBufferSize());
             } else {
+                if (kernelTlsOffload && !handshakePromise.isDone()) {
+                    captureHelloRandom(out, offset, engine.getUseClientMode(), true);
+                    // The kernel must continue with the sequence number of the records that we wrote with the keys.
+                    kernelTlsRecordSequence = KernelTls.countRecordsAfterChangeCipherSpec(
+                            out, offset, kernelTlsRecordSequence);
+                }
                 return result;
             }
         }
     }
 
+    /**
+     * The {@link SSLEngine} must not produce records once the kernel took over, as it does not know their sequence
+     * numbers. The only record that is still needed is the {@code close_notify} alert, which is sent by the kernel.
+     */
+    private SSLEngineResult wrapKernelTls(SSLEngine engine) throws SSLException {
+        if (!engine.isOutboundDone() && !engine.isInboundDone()) {
+            throw new SSLException("Renegotiation is not supported with kernel TLS");
+        }
+        writeKernelTlsCloseNotify(ctx);
+        return new SSLEngineResult(Status.CLOSED, HandshakeStatus.NOT_HANDSHAKING, 0, 0);
+    }
+
+    private Future<Void> writeKernelTlsCloseNotify(ChannelHandlerContext ctx) {
+        if (isStateSet(STATE_KERNEL_TLS_CLOSE_NOTIFY)) {
+            return ctx.newSucceededFuture();
+        }
+        setState(STATE_KERNEL_TLS_CLOSE_NOTIFY);
+        pendingUnencryptedWrites.writeAndRemoveAll(ctx);
+        return ctx.write(KernelTlsRecord.closeNotify());
+    }
+
+    /**
+     * Remember the random of the hello message that was wrapped or is about to be unwrapped, as it is needed to derive
+     * the keys for the kernel.
+     */
+    private void captureHelloRandom(Buffer buffer, int offset, boolean clientMode, boolean outbound) {
+        if (clientMode == outbound) {
+            if (clientRandom == null) {
+                clientRandom = KernelTls.helloRandom(buffer, offset, KernelTls.CLIENT_HELLO);
+            }
+        } else if (serverRandom == null) {
+            serverRandom = KernelTls.helloRandom(buffer, offset, KernelTls.SERVER_HELLO);
+        }
+    }
+
+    /**
+     * Hand the outbound direction over to the kernel, if requested and possible. This is prepared right after the
+     * {@code Finished} message was written, and done once it was sent, so all records after it are encrypted by the
+     * kernel.
+     */
+    private void enableKernelTls() {
+        byte[] clientRandom = this.clientRandom;
+        byte[] serverRandom = this.serverRandom;
+        int recordSequence = kernelTlsRecordSequence;
+        this.clientRandom = null;
+        this.serverRandom = null;
+        kernelTlsRecordSequence = KernelTls.UNKNOWN_RECORD_COUNT;
+        Channel channel = ctx.channel();
+        if (!kernelTlsOffload || isStateSet(STATE_OUTBOUND_CLOSED) || !(channel instanceof KernelTlsChannel)) {
+            return;
+        }
+        KernelTlsCryptoInfo cryptoInfo = KernelTls.txCryptoInfo(engine, clientRandom, serverRandom, recordSequence);
+        if (cryptoInfo == null) {
+            logger.debug("{} Kernel TLS not enabled", channel);
+            return;
+        }
+        // The channel only takes the keys once everything before was sent, which is the case once this empty write
+        // completed, as writes complete in order. Pending writes are held back until then.
+        setState(STATE_KERNEL_TLS_PENDING);
+        ctx.writeAndFlush(ctx.bufferAllocator().allocate(0)).addListener(
+                future -> ctx.executor().execute(() -> attachKernelTls(cryptoInfo)));
+    }
+
+    private void attachKernelTls(KernelTlsCryptoInfo cryptoInfo) {
+        clearState(STATE_KERNEL_TLS_PENDING);
+        Channel channel = ctx.channel();
+        if (ctx.isRemoved() || isStateSet(STATE_OUTBOUND_CLOSED)) {
+            return;
+        }
+        if (((KernelTlsChannel) channel).attachKernelTls(cryptoInfo)) {
+            setState(STATE_KERNEL_TLS);
+            logger.debug("{} Kernel TLS enabled", channel);
+        } else {
+            // The engine keeps encrypting, as nothing was written with the keys yet.
+            logger.debug("{} Kernel TLS not enabled", channel);
+        }
+        if (!pendingUnencryptedWrites.isEmpty()) {
+            try {
+                wrapAndFlush(ctx);
+            } catch (Throwable cause) {
+                setHandshakeFailure(ctx, cause);
+            }
+        }
+    }
+
     @Override
     public void channelInactive(ChannelHandlerContext ctx) throws Exception {
         boolean handshakeFailed = handshakePromise.isFailed();
@@ -1176,6 +1340,9 @@ public class SslHandler extends ByteToMessageDecoder {
                 // which is useful in case unwrap is called in a re-entry scenario. For example LocalChannel.read()
                 // may entry this method in a re-entry fashion and if the peer is writing into a shared buffer we may
                 // unwrap the same data multiple times.
+                if (kernelTlsOffload && !handshakePromise.isDone()) {
+                    captureHelloRandom(packet, packet.readerOffset(), engine.getUseClientMode(), false);
+                }
                 final SSLEngineResult result = engineWrapper.unwrap(packet, length, decodeOut);
                 final Status status = result.getStatus();
                 final HandshakeStatus handshakeStatus = result.getHandshakeStatus();
@@ -1631,6 +1798,9 @@ public class SslHandler extends ByteToMessageDecoder {
         // NOT_HANDSHAKING which invokes setHandshakeSuccess, and then wrapNonAppData also directly invokes this method.
         final boolean notified = !handshakePromise.isDone() && handshakePromise.trySuccess(ctx.channel());
         if (notified) {
+            if (kernelTlsOffload) {
+                enableKernelTls();
+            }
             if (logger.isDebugEnabled()) {
                 SSLSession session = engine.getSession();
                 logger.debug(
@@ -1743,7 +1913,12 @@ public class SslHandler extends ByteToMessageDecoder {
         Promise<Void> promise = ctx.newPromise();
         Promise<Void> closeNotifyPromise = ctx.newPromise();
         try {
-            flush(ctx, closeNotifyPromise);
+            if (isStateSet(STATE_KERNEL_TLS)) {
+                writeKernelTlsCloseNotify(ctx).cascadeTo(closeNotifyPromise);
+                forceFlush(ctx);
+            } else {
+                flush(ctx, closeNotifyPromise);
+            }
         } finally {
             if (!isStateSet(STATE_CLOSE_NOTIFY)) {
                 setState(STATE_CLOSE_NOTIFY);
@@ -1849,7 +2024,9 @@ public class SslHandler extends ByteToMessageDecoder {
 
     private void renegotiateOnEventLoop(final Promise<Channel> newHandshakePromise) {
         Future<Channel> oldHandshakePromise = handshakeFuture();
-        if (!oldHandshakePromise.isDone()) {
+        if (isStateSet(STATE_KERNEL_TLS)) {
+            newHandshakePromise.tryFailure(new SSLException("Renegotiation is not supported with kernel TLS"));
+        } else if (!oldHandshakePromise.isDone()) {
             // There's no need to handshake because handshake is in progress already.
             // Merge the new promise into the old one.
             oldHandshakePromise.cascadeTo(newHandshakePromise);
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.ssl;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.BufferAllocator;
+import org.junit.jupiter.api.Test;
+
+import static io.netty5.handler.ssl.KernelTls.UNKNOWN_RECORD_COUNT;
+import static io.netty5.handler.ssl.KernelTls.countRecordsAfterChangeCipherSpec;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class KernelTlsTest {
+    private static final int CHANGE_CIPHER_SPEC = 20;
+    private static final int HANDSHAKE = 22;
+    private static final int APPLICATION_DATA = 23;
+
+    @Test
+    public void recordsBeforeChangeCipherSpecAreNotCounted() {
+        try (Buffer buffer = BufferAllocator.onHeapUnpooled().allocate(256)) {
+            writeRecord(buffer, HANDSHAKE, 40);
+            assertEquals(UNKNOWN_RECORD_COUNT, countRecordsAfterChangeCipherSpec(buffer, 0, UNKNOWN_RECORD_COUNT));
+        }
+    }
+
+    @Test
+    public void recordsAfterChangeCipherSpecAreCounted() {
+        try (Buffer buffer = BufferAllocator.onHeapUnpooled().allocate(256)) {
+            writeRecord(buffer, HANDSHAKE, 40);
+            writeRecord(buffer, CHANGE_CIPHER_SPEC, 1);
+            writeRecord(buffer, HANDSHAKE, 40);
+            int records = countRecordsAfterChangeCipherSpec(buffer, 0, UNKNOWN_RECORD_COUNT);
+            assertEquals(1, records);
+
+            int offset = buffer.writerOffset();
+            writeRecord(buffer, HANDSHAKE, 60);
+            writeRecord(buffer, APPLICATION_DATA, 10);
+            assertEquals(3, countRecordsAfterChangeCipherSpec(buffer, offset, records));
+        }
+    }
+
+    @Test
+    public void partialRecordsAreNotCounted() {
+        try (Buffer buffer = BufferAllocator.onHeapUnpooled().allocate(256)) {
+            writeRecord(buffer, CHANGE_CIPHER_SPEC, 1);
+            writeRecord(buffer, HANDSHAKE, 40);
+            buffer.writerOffset(buffer.writerOffset() - 1);
+            assertEquals(UNKNOWN_RECORD_COUNT, countRecordsAfterChangeCipherSpec(buffer, 0, UNKNOWN_RECORD_COUNT));
+        }
+    }
+
+    private static void writeRecord(Buffer buffer, int contentType, int length) {
+        buffer.writeByte((byte) contentType);
+        buffer.writeShort((short) 0x0303);
+        buffer.writeShort((short) length);
+        for (int i = 0; i < length; i++) {
+            buffer.writeByte((byte) 0);
+        }
+    }
+}
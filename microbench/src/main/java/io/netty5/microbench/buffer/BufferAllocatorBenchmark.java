@@ -23,6 +23,7 @@ import io.netty5.microbench.util.AbstractMicrobenchmark;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 
 import java.util.Random;
@@ -35,9 +36,8 @@ import static io.netty5.buffer.api.DefaultBufferAllocators.preferredAllocator;
 @State(Scope.Benchmark)
 public class BufferAllocatorBenchmark extends AbstractMicrobenchmark {
 
-    private static final BufferAllocator unpooledAllocator = BufferAllocator.offHeapUnpooled();
-    private static final BufferAllocator pooledAllocator = new PooledBufferAllocator(
-            MemoryManager.instance(), true, 4, 8192, 9, 0, 0, true, 0); // Disable thread-local cache
+    private BufferAllocator unpooledAllocator;
+    private BufferAllocator pooledAllocator;
 
     private static final int MAX_LIVE_BUFFERS = 8192;
     private static final Random rand = new Random();
@@ -51,6 +51,18 @@ public class BufferAllocatorBenchmark extends AbstractMicrobenchmark {
     @Param({ "00000", "00256", "01024", "04096", "16384", "65536" })
     public int size;
 
+    @Param({ "ByteBuffer", "Unsafe", "MemorySegment" })
+    public String implementation;
+
+    @Setup
+    public void setup() {
+        MemoryManager manager = MemoryManager.lookupImplementation(implementation).orElseThrow(
+                () -> new IllegalStateException("MemoryManager implementation not available: " + implementation));
+        unpooledAllocator = MemoryManager.using(manager, BufferAllocator::offHeapUnpooled);
+        pooledAllocator = new PooledBufferAllocator(
+                manager, true, 4, 8192, 9, 0, 0, true, 0); // Disable thread-local cache
+    }
+
     @Benchmark
     public void unpooledAllocAndFree() {
         int idx = rand.nextInt(unpooledHeapBuffers.length);
@@ -17,6 +17,7 @@ package io.netty5.microbench.buffer;
 
 import io.netty5.buffer.api.Buffer;
 import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.buffer.api.MemoryManager;
 import io.netty5.microbench.util.AbstractMicrobenchmark;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Param;
@@ -34,6 +35,9 @@ public class BufferBenchmark extends AbstractMicrobenchmark {
     @Param({ "true", "false" })
     public String checkBounds;
 
+    @Param({ "ByteBuffer", "Unsafe", "MemorySegment" })
+    public String implementation;
+
     private ByteBuffer byteBuffer;
     private ByteBuffer directByteBuffer;
     private Buffer buffer;
@@ -45,9 +49,11 @@ public class BufferBenchmark extends AbstractMicrobenchmark {
         System.setProperty("io.netty5.buffer.checkBounds", checkBounds);
         byteBuffer = ByteBuffer.allocate(8);
         directByteBuffer = ByteBuffer.allocateDirect(8);
-        buffer = BufferAllocator.onHeapUnpooled().allocate(8);
-        directBuffer = BufferAllocator.onHeapUnpooled().allocate(8);
-        directBufferPooled = BufferAllocator.onHeapPooled().allocate(8);
+        MemoryManager manager = MemoryManager.lookupImplementation(implementation).orElseThrow(
+                () -> new IllegalStateException("MemoryManager implementation not available: " + implementation));
+        buffer = MemoryManager.using(manager, BufferAllocator::onHeapUnpooled).allocate(8);
+        directBuffer = MemoryManager.using(manager, BufferAllocator::offHeapUnpooled).allocate(8);
+        directBufferPooled = MemoryManager.using(manager, BufferAllocator::offHeapPooled).allocate(8);
     }
 
     @TearDown
@@ -81,4 +87,24 @@ public class BufferBenchmark extends AbstractMicrobenchmark {
     public Buffer setBufferDirectPooled() {
         return directBufferPooled.setByte(0, BYTE);
     }
+
+    @Benchmark
+    public Buffer setLongBufferHeap() {
+        return buffer.setLong(0, BYTE);
+    }
+
+    @Benchmark
+    public Buffer setLongBufferDirect() {
+        return directBuffer.setLong(0, BYTE);
+    }
+
+    @Benchmark
+    public long getLongBufferHeap() {
+        return buffer.getLong(0);
+    }
+
+    @Benchmark
+    public long getLongBufferDirect() {
+        return directBuffer.getLong(0);
+    }
 }
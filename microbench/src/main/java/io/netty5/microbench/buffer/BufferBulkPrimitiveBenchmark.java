@@ -0,0 +1,121 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.microbench.buffer;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.buffer.api.MemoryManager;
+import io.netty5.buffer.api.bytebuffer.ByteBufferMemoryManager;
+import io.netty5.buffer.api.unsafe.UnsafeMemoryManager;
+import io.netty5.microbench.util.AbstractMicrobenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Compares the bulk primitive array transfer methods, like {@link Buffer#writeInts}, with writing and reading the
+ * values one at a time.
+ */
+@Fork(value = 2, jvmArgsAppend = {
+        "-Dio.netty5.tryReflectionSetAccessible=true",
+        "--add-opens", "java.base/java.nio=ALL-UNNAMED" })
+public class BufferBulkPrimitiveBenchmark extends AbstractMicrobenchmark {
+    @Param({ "16", "256", "4096" })
+    private int length;
+    @Param({ "unsafe", "nio", "composite" })
+    private String bufferType;
+    @Param({ "true", "false" })
+    private boolean direct;
+    @Param({ "true", "false" })
+    private boolean nativeOrder;
+
+    private ByteOrder order;
+    private int[] ints;
+    private long[] longs;
+    private Buffer buffer;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        ints = new int[length];
+        longs = new long[length];
+        for (int i = 0; i < length; i++) {
+            ints[i] = random.nextInt();
+            longs[i] = random.nextLong();
+        }
+        order = nativeOrder? ByteOrder.nativeOrder() :
+                ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+        MemoryManager manager = "nio".equals(bufferType)? new ByteBufferMemoryManager() : new UnsafeMemoryManager();
+        BufferAllocator allocator = MemoryManager.using(manager, () -> direct?
+                BufferAllocator.offHeapUnpooled() : BufferAllocator.onHeapUnpooled());
+        int size = length * Long.BYTES;
+        if ("composite".equals(bufferType)) {
+            // Odd sized components, so some values are torn across components.
+            int half = size / 2 + 3;
+            buffer = allocator.compose(List.of(
+                    allocator.allocate(half).send(),
+                    allocator.allocate(size - half).send()));
+        } else {
+            buffer = allocator.allocate(size);
+        }
+    }
+
+    @Benchmark
+    public Buffer writeIntsBulk() {
+        return buffer.resetOffsets().writeInts(ints, 0, length, order);
+    }
+
+    @Benchmark
+    public Buffer writeIntsLoop() {
+        buffer.resetOffsets();
+        boolean reverse = order != ByteOrder.BIG_ENDIAN;
+        for (int value : ints) {
+            buffer.writeInt(reverse? Integer.reverseBytes(value) : value);
+        }
+        return buffer;
+    }
+
+    @Benchmark
+    public long[] writeAndReadLongsBulk() {
+        buffer.resetOffsets().writeLongs(longs, 0, length, order).readLongs(longs, 0, length, order);
+        return longs;
+    }
+
+    @Benchmark
+    public long[] writeAndReadLongsLoop() {
+        buffer.resetOffsets();
+        boolean reverse = order != ByteOrder.BIG_ENDIAN;
+        for (long value : longs) {
+            buffer.writeLong(reverse? Long.reverseBytes(value) : value);
+        }
+        for (int i = 0; i < length; i++) {
+            long value = buffer.readLong();
+            longs[i] = reverse? Long.reverseBytes(value) : value;
+        }
+        return longs;
+    }
+
+    @TearDown
+    public void tearDown() {
+        buffer.close();
+    }
+}
@@ -17,10 +17,12 @@ package io.netty5.microbench.buffer;
 
 import io.netty5.buffer.api.Buffer;
 import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.buffer.api.ByteCursor;
 import io.netty5.buffer.api.MemoryManager;
 import io.netty5.buffer.api.bytebuffer.ByteBufferMemoryManager;
 import io.netty5.buffer.api.unsafe.UnsafeMemoryManager;
 import io.netty5.microbench.util.AbstractMicrobenchmark;
+import io.netty5.util.ByteProcessor;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Level;
@@ -36,6 +38,14 @@ import org.openjdk.jmh.annotations.Warmup;
 import java.util.SplittableRandom;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Benchmarks the search and compare methods of the buffer implementations.
+ * <p>
+ * The {@code vectorized} parameter only has an effect when running on Java 22 or newer, with the
+ * {@code jdk.incubator.vector} module added to the forked JVMs, for instance with
+ * {@code -jvmArgsAppend --add-modules=jdk.incubator.vector}. It only applies to sizes that are large enough for
+ * the vectorized implementations to be used.
+ */
 @State(Scope.Benchmark)
 @OutputTimeUnit(TimeUnit.MICROSECONDS)
 @Fork(value = 2, jvmArgsAppend = {
@@ -52,6 +62,8 @@ public class BufferBytesBeforeBenchmark extends AbstractMicrobenchmark {
             "16",
             "23",
             "32",
+            "256",
+            "4096",
     })
     private int size;
 
@@ -67,6 +79,8 @@ public class BufferBytesBeforeBenchmark extends AbstractMicrobenchmark {
     private int permutations;
 
     private Buffer[] data;
+    private Buffer[] copies;
+    private Buffer[] text;
     private int i;
 
     @Param({ "-91" })
@@ -84,12 +98,21 @@ public class BufferBytesBeforeBenchmark extends AbstractMicrobenchmark {
             "true",
     })
     private boolean noUnsafe;
+    @Param({
+            "true",
+            "false",
+    })
+    private boolean vectorized;
 
     @Setup(Level.Trial)
     public void init() {
+        // Every trial runs in its own fork, so this is set before the search implementation is initialised.
+        System.setProperty("io.netty5.buffer.vectorizedSearch", String.valueOf(vectorized));
         SplittableRandom random = new SplittableRandom(seed);
         permutations = 1 << logPermutations;
         data = new Buffer[permutations];
+        copies = new Buffer[permutations];
+        text = new Buffer[permutations];
         MemoryManager memoryManager = noUnsafe ? new ByteBufferMemoryManager() : new UnsafeMemoryManager();
         BufferAllocator allocator = MemoryManager.using(memoryManager, () -> direct?
                 BufferAllocator.offHeapUnpooled() : BufferAllocator.onHeapUnpooled());
@@ -111,6 +134,14 @@ public class BufferBytesBeforeBenchmark extends AbstractMicrobenchmark {
             for (int k = 0; k < needleBufferLength; k++) {
                 data[i].setByte(data[i].capacity() - needleBufferLength + k, needleBuffer.getByte(k));
             }
+            copies[i] = data[i].copy();
+            // US-ASCII text with the line break and the first non-ASCII byte at the end.
+            text[i] = allocator.allocate(size);
+            for (int j = 0; j < size - 1; j++) {
+                text[i].writeByte((byte) random.nextInt('a', 'z' + 1));
+            }
+            text[i].writeByte(needleByte < 0? needleByte : (byte) -1);
+            text[i].setByte(size - 2, (byte) '\n');
         }
         allocator.close();
     }
@@ -119,6 +150,10 @@ public class BufferBytesBeforeBenchmark extends AbstractMicrobenchmark {
         return data[i++ & permutations - 1];
     }
 
+    private ByteCursor getTextCursor() {
+        return text[i++ & permutations - 1].openCursor();
+    }
+
     @Benchmark
     public int bytesBeforeByte() {
         return getData().bytesBefore(needleByte);
@@ -129,10 +164,32 @@ public class BufferBytesBeforeBenchmark extends AbstractMicrobenchmark {
         return getData().bytesBefore(needleBuffer);
     }
 
+    @Benchmark
+    public boolean equalsBuffer() {
+        int index = i++ & permutations - 1;
+        return data[index].equals(copies[index]);
+    }
+
+    @Benchmark
+    public int processCrlf() {
+        return getTextCursor().process(ByteProcessor.FIND_CRLF);
+    }
+
+    @Benchmark
+    public int processNonAscii() {
+        return getTextCursor().process(ByteProcessor.FIND_NON_ASCII);
+    }
+
     @TearDown
     public void releaseBuffers() {
         for (Buffer buffer : data) {
             buffer.close();
         }
+        for (Buffer buffer : copies) {
+            buffer.close();
+        }
+        for (Buffer buffer : text) {
+            buffer.close();
+        }
     }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.microbench.buffer;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.buffer.api.CompositeBuffer;
+import io.netty5.microbench.util.AbstractMicrobenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.SplittableRandom;
+
+/**
+ * Simulates how {@code ByteToMessageDecoder.COMPOSITE_CUMULATOR} grows a {@link CompositeBuffer}, when a long-lived
+ * stream arrives in many small reads, and measures component lookups and iteration on the result.
+ */
+public class CompositeBufferCumulationBenchmark extends AbstractMicrobenchmark {
+    @Param({ "16", "1000" })
+    private int components;
+    @Param({ "16", "128" })
+    private int componentSize;
+
+    private BufferAllocator allocator;
+    private byte[] data;
+    private CompositeBuffer cumulation;
+    private int[] offsets;
+
+    @Setup
+    public void setup() {
+        allocator = BufferAllocator.onHeapPooled();
+        data = new byte[componentSize];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) random.nextInt();
+        }
+        cumulation = allocator.compose();
+        for (int i = 0; i < components; i++) {
+            cumulation.extendWith(allocator.allocate(componentSize).writeBytes(data).send());
+        }
+        offsets = new int[1024];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = random.nextInt(cumulation.capacity() - Long.BYTES);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        cumulation.close();
+        allocator.close();
+    }
+
+    @Benchmark
+    public int cumulate() {
+        try (CompositeBuffer composite = allocator.compose()) {
+            int frames = 0;
+            for (int i = 0; i < components; i++) {
+                composite.extendWith(allocator.allocate(componentSize).writeBytes(data).send());
+                // Decode a frame now and then, and discard the read bytes like the cumulator does.
+                if (composite.readableBytes() >= 3 * componentSize / 2) {
+                    composite.readSplit(componentSize).close();
+                    frames++;
+                }
+                if ((i & 15) == 15) {
+                    composite.readSplit(0).close();
+                }
+            }
+            return frames;
+        }
+    }
+
+    @Benchmark
+    public long randomAccess() {
+        long sum = 0;
+        for (int offset : offsets) {
+            sum += cumulation.getLong(offset);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int iterateComponents() {
+        int readable = 0;
+        try (var iteration = cumulation.forEachReadable()) {
+            for (var c = iteration.first(); c != null; c = c.next()) {
+                readable += c.readableBytes();
+            }
+        }
+        return readable;
+    }
+
+    @Benchmark
+    public Buffer moveOffsets() {
+        cumulation.readerOffset(cumulation.readableBytes() / 2);
+        return cumulation.readerOffset(0);
+    }
+}
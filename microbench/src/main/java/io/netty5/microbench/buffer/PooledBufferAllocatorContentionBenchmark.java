@@ -0,0 +1,57 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.microbench.buffer;
+
+import io.netty5.buffer.api.MemoryManager;
+import io.netty5.buffer.api.pool.PooledBufferAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Many threads without thread local caches hammering a few shared arenas, with and without the lock-free magazines
+ * in front of the arenas.
+ */
+@Threads(64)
+public class PooledBufferAllocatorContentionBenchmark extends BufferAllocatorConcurrentBenchmark {
+
+    @Param({ "1", "4" })
+    public int numArenas;
+
+    @Param({ "0", "16" })
+    public int magazineSize;
+
+    private PooledBufferAllocator pooledAllocator;
+
+    @Setup
+    public void setUp() {
+        pooledAllocator = new PooledBufferAllocator(MemoryManager.instance(), true, numArenas,
+                PooledBufferAllocator.defaultPageSize(), PooledBufferAllocator.defaultMaxOrder(),
+                0, 0, false, 0, magazineSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pooledAllocator.close();
+    }
+
+    @Benchmark
+    public void pooledAllocateRelease() {
+        pooledAllocator.allocate(size).close();
+    }
+}
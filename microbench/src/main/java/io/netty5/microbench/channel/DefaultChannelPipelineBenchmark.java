@@ -55,7 +55,7 @@ public class DefaultChannelPipelineBenchmark extends AbstractMicrobenchmark {
         }
     };
 
-    @Param({ "4" })
+    @Param({ "4", "16", "32" })
     public int extraHandlers;
 
     private ChannelPipeline pipeline;
@@ -80,4 +80,11 @@ public class DefaultChannelPipelineBenchmark extends AbstractMicrobenchmark {
             hole.consume(pipeline.fireChannelReadComplete());
         }
     }
+
+    @Benchmark
+    public void propagateOutboundEvent(Blackhole hole) {
+        for (int i = 0; i < 100; i++) {
+            hole.consume(pipeline.read());
+        }
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.microbench.channel;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.channel.AdaptiveRecvBufferAllocator;
+import io.netty5.channel.HistogramRecvBufferAllocator;
+import io.netty5.channel.MaxMessagesRecvBufferAllocator;
+import io.netty5.channel.RecvBufferAllocator;
+import io.netty5.microbench.util.AbstractMicrobenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulates the read cycles of a channel that mostly receives small messages, with an occasional large upload. Run
+ * with {@code -prof gc} to compare the memory that the allocators allocate for the received bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RecvBufferAllocatorBenchmark extends AbstractMicrobenchmark {
+    private static final int MESSAGES = 1024;
+    private static final int LARGE_MESSAGE_SIZE = 1024 * 1024;
+
+    @Param({ "adaptive", "histogram" })
+    public String allocator;
+
+    private final int[] messageSizes = new int[MESSAGES];
+    private BufferAllocator bufferAllocator;
+    private RecvBufferAllocator.Handle handle;
+    private int message;
+    private int pending;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < MESSAGES; i++) {
+            messageSizes[i] = random.nextInt(50) == 0? LARGE_MESSAGE_SIZE : 100 + random.nextInt(300);
+        }
+        MaxMessagesRecvBufferAllocator recvBufferAllocator = "adaptive".equals(allocator)?
+                new AdaptiveRecvBufferAllocator() : new HistogramRecvBufferAllocator();
+        recvBufferAllocator.maxMessagesPerRead(16);
+        handle = recvBufferAllocator.newHandle();
+        bufferAllocator = BufferAllocator.onHeapUnpooled();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        bufferAllocator.close();
+    }
+
+    @Benchmark
+    public int readCycle() {
+        if (pending == 0) {
+            pending = messageSizes[message++ & MESSAGES - 1];
+        }
+        int totalRead = 0;
+        handle.reset();
+        do {
+            try (Buffer buffer = handle.allocate(bufferAllocator)) {
+                handle.attemptedBytesRead(buffer.writableBytes());
+                int read = Math.min(pending, buffer.writableBytes());
+                pending -= read;
+                totalRead += read;
+                handle.lastBytesRead(read);
+                handle.incMessagesRead(1);
+            }
+        } while (pending > 0 && handle.continueReading(true));
+        handle.readComplete();
+        return totalRead;
+    }
+}
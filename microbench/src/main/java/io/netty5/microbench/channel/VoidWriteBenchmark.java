@@ -0,0 +1,79 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.microbench.channel;
+
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.embedded.EmbeddedChannel;
+import io.netty5.microbench.util.AbstractMicrobenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes and flushes small messages through a pipeline whose handlers do not intercept writes, with and without
+ * allocating a promise per write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VoidWriteBenchmark extends AbstractMicrobenchmark {
+    private static final Object MESSAGE = "message";
+    private static final ChannelHandler NOOP_HANDLER = new ChannelHandler() {
+        @Override
+        public boolean isSharable() {
+            return true;
+        }
+    };
+
+    @Param({ "0", "4" })
+    public int extraHandlers;
+
+    private EmbeddedChannel channel;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        channel = new EmbeddedChannel();
+        for (int i = 0; i < extraHandlers; i++) {
+            channel.pipeline().addLast(NOOP_HANDLER);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    public Object writeAndFlush() {
+        channel.writeAndFlush(MESSAGE);
+        return channel.readOutbound();
+    }
+
+    @Benchmark
+    public Object writeAndFlushVoid() {
+        channel.writeAndFlushVoid(MESSAGE);
+        return channel.readOutbound();
+    }
+}
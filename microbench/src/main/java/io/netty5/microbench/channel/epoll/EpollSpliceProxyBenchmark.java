@@ -0,0 +1,155 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.microbench.channel.epoll;
+
+import io.netty5.bootstrap.Bootstrap;
+import io.netty5.bootstrap.ServerBootstrap;
+import io.netty5.buffer.api.Buffer;
+import io.netty5.channel.Channel;
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.ChannelInitializer;
+import io.netty5.channel.ChannelOption;
+import io.netty5.channel.EventLoopGroup;
+import io.netty5.channel.MultithreadEventLoopGroup;
+import io.netty5.channel.epoll.EpollHandler;
+import io.netty5.channel.epoll.EpollServerSocketChannel;
+import io.netty5.channel.epoll.EpollSocketChannel;
+import io.netty5.microbench.util.AbstractMicrobenchmark;
+import io.netty5.util.concurrent.Promise;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a proxy that forwards the bytes of a client to a sink, either by reading them into buffers and writing
+ * them to the outbound connection, or by splicing them with {@link EpollSocketChannel#spliceTo(EpollSocketChannel,
+ * int)}.
+ */
+public class EpollSpliceProxyBenchmark extends AbstractMicrobenchmark {
+    @Param({ "false", "true" })
+    private boolean splice;
+    @Param({ "65536", "1048576" })
+    private int size;
+
+    private EventLoopGroup group;
+    private Channel sinkChan;
+    private Channel proxyChan;
+    private Channel chan;
+    private Buffer payload;
+
+    private long sent;
+    private volatile long expected;
+    private volatile Promise<Void> received;
+
+    @Setup
+    public void setup() throws Exception {
+        // All channels use the same EventLoop, as required for splicing.
+        group = new MultithreadEventLoopGroup(1, EpollHandler.newFactory());
+
+        sinkChan = new ServerBootstrap()
+                .channel(EpollServerSocketChannel.class)
+                .group(group)
+                .childHandler(new ChannelInitializer<>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        ch.pipeline().addLast(new ChannelHandler() {
+                            private long total;
+
+                            @Override
+                            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                                try (Buffer buf = (Buffer) msg) {
+                                    total += buf.readableBytes();
+                                }
+                                Promise<Void> promise = received;
+                                if (promise != null && total >= expected) {
+                                    received = null;
+                                    promise.trySuccess(null);
+                                }
+                            }
+                        });
+                    }
+                })
+                .bind(0).asStage().get();
+
+        proxyChan = new ServerBootstrap()
+                .channel(EpollServerSocketChannel.class)
+                .group(group)
+                .childOption(ChannelOption.AUTO_READ, false)
+                .childHandler(new ChannelInitializer<>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        ch.pipeline().addLast(new ChannelHandler() {
+                            private Channel outbound;
+
+                            @Override
+                            public void channelActive(ChannelHandlerContext ctx) {
+                                new Bootstrap()
+                                        .channel(EpollSocketChannel.class)
+                                        .group(ctx.channel().executor())
+                                        .handler(new ChannelHandler() { })
+                                        .connect(sinkChan.localAddress()).addListener(f -> {
+                                            outbound = f.getNow();
+                                            if (splice) {
+                                                ((EpollSocketChannel) ctx.channel()).spliceTo(
+                                                        (EpollSocketChannel) outbound, Integer.MAX_VALUE);
+                                            } else {
+                                                ctx.channel().setOption(ChannelOption.AUTO_READ, true);
+                                            }
+                                        });
+                            }
+
+                            @Override
+                            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                                outbound.writeAndFlush(msg);
+                            }
+                        });
+                    }
+                })
+                .bind(0).asStage().get();
+
+        chan = new Bootstrap()
+                .channel(EpollSocketChannel.class)
+                .group(group)
+                .handler(new ChannelHandler() { })
+                .connect(proxyChan.localAddress()).asStage().get();
+
+        payload = chan.bufferAllocator().allocate(size);
+        payload.skipWritableBytes(size).makeReadOnly();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        chan.close().asStage().sync();
+        proxyChan.close().asStage().sync();
+        sinkChan.close().asStage().sync();
+        group.shutdownGracefully(0, 0, TimeUnit.SECONDS).asStage().sync();
+        payload.close();
+    }
+
+    @Benchmark
+    public Object forward() throws Exception {
+        sent += size;
+        expected = sent;
+        Promise<Void> promise = group.next().newPromise();
+        received = promise;
+        chan.writeAndFlush(payload.copy(true));
+        return promise.asFuture().asStage().sync();
+    }
+}
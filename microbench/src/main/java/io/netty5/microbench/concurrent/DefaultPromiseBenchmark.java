@@ -0,0 +1,60 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.microbench.concurrent;
+
+import io.netty5.microbench.util.AbstractMicrobenchmark;
+import io.netty5.util.concurrent.FutureContextListener;
+import io.netty5.util.concurrent.FutureListener;
+import io.netty5.util.concurrent.ImmediateEventExecutor;
+import io.netty5.util.concurrent.Promise;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates, listens to and completes {@link io.netty5.util.concurrent.DefaultPromise}s, as done for every write of a
+ * channel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DefaultPromiseBenchmark extends AbstractMicrobenchmark {
+    private static final FutureListener<Object> LISTENER = future -> { };
+    private static final FutureContextListener<Blackhole, Object> CONTEXT_LISTENER =
+            (blackhole, future) -> blackhole.consume(future);
+
+    @Benchmark
+    public Promise<Object> singleListener() {
+        Promise<Object> promise = ImmediateEventExecutor.INSTANCE.newPromise();
+        promise.asFuture().addListener(LISTENER);
+        return promise.setSuccess(null);
+    }
+
+    @Benchmark
+    public Promise<Object> contextListeners(Blackhole blackhole) {
+        Promise<Object> promise = ImmediateEventExecutor.INSTANCE.newPromise();
+        promise.asFuture().addListener(blackhole, CONTEXT_LISTENER);
+        promise.asFuture().addListener(blackhole, CONTEXT_LISTENER);
+        promise.asFuture().addListener(blackhole, CONTEXT_LISTENER);
+        return promise.setSuccess(null);
+    }
+}
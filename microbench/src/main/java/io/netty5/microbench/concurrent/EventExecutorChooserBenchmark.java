@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.microbench.concurrent;
+
+import io.netty5.channel.EventLoopChooserFactories;
+import io.netty5.channel.EventLoopGroup;
+import io.netty5.channel.MultithreadEventLoopGroup;
+import io.netty5.channel.local.LocalHandler;
+import io.netty5.microbench.util.AbstractMicrobenchmark;
+import io.netty5.util.concurrent.DefaultEventExecutorChooserFactory;
+import io.netty5.util.concurrent.EventExecutor;
+import io.netty5.util.concurrent.EventExecutorChooserFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the cost of {@link EventLoopGroup#next()} with the different {@link EventExecutorChooserFactory}s,
+ * compared to the round-robin that was inlined in {@code MultithreadEventExecutorGroup} before the chooser was made
+ * pluggable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class EventExecutorChooserBenchmark extends AbstractMicrobenchmark {
+
+    @Param({ "4", "16", "24" })
+    public int executors;
+
+    @Param({ "roundRobin", "leastRegisteredChannels", "leastPendingTasks", "powerOfTwoChoices" })
+    public String chooser;
+
+    private EventLoopGroup group;
+    private EventExecutor[] children;
+    private final AtomicLong idx = new AtomicLong();
+
+    @Setup
+    public void setup() {
+        EventExecutorChooserFactory chooserFactory;
+        switch (chooser) {
+        case "roundRobin":
+            chooserFactory = DefaultEventExecutorChooserFactory.INSTANCE;
+            break;
+        case "leastRegisteredChannels":
+            chooserFactory = EventLoopChooserFactories.leastRegisteredChannels();
+            break;
+        case "leastPendingTasks":
+            chooserFactory = EventLoopChooserFactories.leastPendingTasks();
+            break;
+        case "powerOfTwoChoices":
+            chooserFactory = EventLoopChooserFactories.powerOfTwoChoices();
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown chooser: " + chooser);
+        }
+        group = new MultithreadEventLoopGroup(executors, LocalHandler.newFactory(), chooserFactory);
+        children = new EventExecutor[executors];
+        int i = 0;
+        for (EventExecutor executor : group) {
+            children[i++] = executor;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        group.shutdownGracefully().asStage().sync();
+    }
+
+    @Benchmark
+    public EventExecutor next() {
+        return group.next();
+    }
+
+    @Benchmark
+    public EventExecutor inlinedRoundRobin() {
+        if ((children.length & -children.length) == children.length) {
+            return children[(int) idx.getAndIncrement() & children.length - 1];
+        }
+        return children[(int) Math.abs(idx.getAndIncrement() % children.length)];
+    }
+}
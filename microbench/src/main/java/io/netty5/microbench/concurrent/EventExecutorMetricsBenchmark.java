@@ -0,0 +1,97 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.microbench.concurrent;
+
+import io.netty5.channel.EventLoopGroup;
+import io.netty5.channel.MultithreadEventLoopGroup;
+import io.netty5.channel.local.LocalHandler;
+import io.netty5.microbench.util.AbstractMicrobenchmark;
+import io.netty5.util.concurrent.DefaultEventExecutorMetrics;
+import io.netty5.util.concurrent.SingleThreadEventExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of recording {@link DefaultEventExecutorMetrics}: the counters on their own, and the throughput of
+ * an event loop that runs bursts of tasks, without metrics and with metrics at different task latency sample rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventExecutorMetricsBenchmark extends AbstractMicrobenchmark {
+
+    private static final int BURST = 1024;
+
+    /**
+     * {@code 0} disables metrics, any other value is the task latency sample interval.
+     */
+    @Param({ "0", "1", "16" })
+    public int sampleInterval;
+
+    private EventLoopGroup group;
+    private SingleThreadEventExecutor executor;
+    private DefaultEventExecutorMetrics metrics;
+
+    @Setup
+    public void setup() {
+        group = new MultithreadEventLoopGroup(1, LocalHandler.newFactory());
+        executor = (SingleThreadEventExecutor) group.next();
+        metrics = new DefaultEventExecutorMetrics(Math.max(1, sampleInterval));
+        if (sampleInterval > 0) {
+            executor.setMetrics(metrics);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        group.shutdownGracefully().asStage().sync();
+    }
+
+    @Benchmark
+    public void recordLoopCounters() {
+        metrics.taskQueueDepth(16);
+        metrics.scheduledTaskExecuted(100);
+        metrics.tasksRun(16, 1000);
+        metrics.ioRun(4, 1000, 1000);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean recordSubmission() {
+        return metrics.taskSubmitted();
+    }
+
+    @Benchmark
+    public void executeBurst() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(BURST);
+        Runnable task = latch::countDown;
+        for (int i = 0; i < BURST; i++) {
+            executor.execute(task);
+        }
+        latch.await();
+    }
+}
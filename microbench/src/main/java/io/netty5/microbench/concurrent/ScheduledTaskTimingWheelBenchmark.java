@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.microbench.concurrent;
+
+import io.netty5.channel.EventLoopGroup;
+import io.netty5.channel.MultithreadEventLoopGroup;
+import io.netty5.channel.SingleThreadEventLoop;
+import io.netty5.channel.local.LocalHandler;
+import io.netty5.microbench.util.AbstractMicrobenchmark;
+import io.netty5.util.concurrent.Future;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reschedules the idle timeouts of many connections, as {@code IdleStateHandler} does on every read, with the
+ * scheduled tasks of the event loop kept in a priority queue and in a timing wheel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScheduledTaskTimingWheelBenchmark extends AbstractMicrobenchmark {
+    private static final Callable<Void> NO_OP = () -> null;
+    private static final int RESCHEDULES_PER_INVOCATION = 1000;
+
+    @Param({ "priorityQueue", "timingWheel" })
+    public String scheduler;
+
+    @Param({ "10000", "1000000" })
+    public int timers;
+
+    @Param("1")
+    public int tickMillis;
+
+    private EventLoopGroup group;
+    private SingleThreadEventLoop loop;
+    private Future<?>[] futures;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup
+    public void setup() throws Exception {
+        group = new MultithreadEventLoopGroup(1, LocalHandler.newFactory());
+        loop = (SingleThreadEventLoop) group.next();
+        if ("timingWheel".equals(scheduler)) {
+            loop.useTimingWheel(tickMillis, TimeUnit.MILLISECONDS);
+        } else if (!"priorityQueue".equals(scheduler)) {
+            throw new IllegalArgumentException("Unknown scheduler: " + scheduler);
+        }
+        futures = new Future<?>[timers];
+        loop.submit(() -> {
+            for (int i = 0; i < timers; i++) {
+                futures[i] = loop.schedule(NO_OP, idleTimeoutMillis(), TimeUnit.MILLISECONDS);
+            }
+        }).asStage().sync();
+    }
+
+    private long idleTimeoutMillis() {
+        // Connections were last active at different times in the last 30 seconds, with a 60 seconds timeout.
+        return 30_000 + random.nextInt(30_000);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        group.shutdownGracefully(0, 0, TimeUnit.SECONDS).asStage().sync();
+    }
+
+    @Benchmark
+    public Object reschedule() throws Exception {
+        return loop.submit(() -> {
+            for (int i = 0; i < RESCHEDULES_PER_INVOCATION; i++) {
+                int index = random.nextInt(timers);
+                futures[index].cancel();
+                futures[index] = loop.schedule(NO_OP, 60_000, TimeUnit.MILLISECONDS);
+            }
+        }).asStage().sync().future();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.microbench.concurrent;
+
+import io.netty5.microbench.util.AbstractMicrobenchmark;
+import io.netty5.util.concurrent.DefaultEventExecutorGroup;
+import io.netty5.util.concurrent.EventExecutor;
+import io.netty5.util.concurrent.EventExecutorGroup;
+import io.netty5.util.concurrent.Future;
+import io.netty5.util.concurrent.VirtualThreadEventExecutorGroup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offloads blocking calls of many channels, each with its own ordered executor, to a
+ * {@link VirtualThreadEventExecutorGroup} and to a {@link DefaultEventExecutorGroup} of a fixed size.
+ * <p>
+ * The virtual threads are only available on Java 21 or later, so run this benchmark on such a JVM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VirtualThreadEventExecutorGroupBenchmark extends AbstractMicrobenchmark {
+
+    @Param({ "virtual", "default" })
+    public String group;
+
+    @Param({ "16", "1024" })
+    public int channels;
+
+    @Param({ "0", "1000" })
+    public int blockingMicros;
+
+    @Param("4")
+    public int tasksPerChannel;
+
+    @Param("16")
+    public int defaultGroupThreads;
+
+    private EventExecutorGroup executorGroup;
+    private EventExecutor[] executors;
+    private Future<?>[] futures;
+
+    @Setup
+    public void setup() {
+        switch (group) {
+        case "virtual":
+            VirtualThreadEventExecutorGroup.ensureAvailability();
+            executorGroup = new VirtualThreadEventExecutorGroup();
+            break;
+        case "default":
+            executorGroup = new DefaultEventExecutorGroup(defaultGroupThreads);
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown group: " + group);
+        }
+        executors = new EventExecutor[channels];
+        for (int i = 0; i < channels; i++) {
+            executors[i] = executorGroup.next();
+        }
+        futures = new Future<?>[channels];
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        executorGroup.shutdownGracefully(0, 5, TimeUnit.SECONDS).asStage().sync();
+    }
+
+    @Benchmark
+    public void offloadBlockingCalls() throws Exception {
+        final long blockingNanos = TimeUnit.MICROSECONDS.toNanos(blockingMicros);
+        for (int i = 0; i < tasksPerChannel; i++) {
+            for (int j = 0; j < channels; j++) {
+                futures[j] = executors[j].submit(() -> {
+                    if (blockingNanos > 0) {
+                        TimeUnit.NANOSECONDS.sleep(blockingNanos);
+                    }
+                    return null;
+                });
+            }
+        }
+        // The tasks of every channel run in order, so waiting for the last one of each is enough.
+        for (Future<?> future : futures) {
+            future.asStage().sync();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.microbench.handler.ssl;
+
+import io.netty5.bootstrap.Bootstrap;
+import io.netty5.bootstrap.ServerBootstrap;
+import io.netty5.buffer.api.Buffer;
+import io.netty5.channel.Channel;
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.ChannelInitializer;
+import io.netty5.channel.EventLoopGroup;
+import io.netty5.channel.MultithreadEventLoopGroup;
+import io.netty5.channel.epoll.EpollHandler;
+import io.netty5.channel.epoll.EpollServerSocketChannel;
+import io.netty5.channel.epoll.EpollSocketChannel;
+import io.netty5.handler.ssl.SslHandler;
+import io.netty5.microbench.util.AbstractMicrobenchmark;
+import io.netty5.util.concurrent.Promise;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of an {@link SslHandler} over epoll sockets, either with the records encrypted by the
+ * {@link javax.net.ssl.SSLEngine}, or by the kernel, see {@link SslHandler#setKernelTlsOffload(boolean)}. If the
+ * kernel does not support TLS, both variants use the {@link javax.net.ssl.SSLEngine}.
+ */
+public class SslHandlerKernelTlsBenchmark extends AbstractMicrobenchmark {
+    @Param({ "false", "true" })
+    private boolean kernelTls;
+    @Param({ "TLS_ECDHE_RSA_WITH_AES_128_GCM_SHA256", "TLS_ECDHE_RSA_WITH_AES_256_GCM_SHA384" })
+    private String cipher;
+    @Param({ "16384", "1048576" })
+    private int size;
+
+    private EventLoopGroup group;
+    private Channel serverChan;
+    private Channel chan;
+    private Buffer payload;
+
+    private long sent;
+    private volatile long expected;
+    private volatile Promise<Void> received;
+
+    @Setup
+    public void setup() throws Exception {
+        group = new MultithreadEventLoopGroup(2, EpollHandler.newFactory());
+
+        serverChan = new ServerBootstrap()
+                .channel(EpollServerSocketChannel.class)
+                .group(group)
+                .childHandler(new ChannelInitializer<>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        ch.pipeline().addLast(AbstractSslHandlerBenchmark.SslEngineProvider.OPENSSL
+                                .newServerHandler(ch.bufferAllocator(), cipher));
+                        ch.pipeline().addLast(new ChannelHandler() {
+                            private long total;
+
+                            @Override
+                            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                                try (Buffer buf = (Buffer) msg) {
+                                    total += buf.readableBytes();
+                                }
+                                Promise<Void> promise = received;
+                                if (promise != null && total >= expected) {
+                                    received = null;
+                                    promise.trySuccess(null);
+                                }
+                            }
+                        });
+                    }
+                })
+                .bind(0).asStage().get();
+
+        chan = new Bootstrap()
+                .channel(EpollSocketChannel.class)
+                .group(group)
+                .handler(new ChannelInitializer<>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        SslHandler handler = AbstractSslHandlerBenchmark.SslEngineProvider.OPENSSL
+                                .newClientHandler(ch.bufferAllocator(), cipher);
+                        handler.setKernelTlsOffload(kernelTls);
+                        ch.pipeline().addLast(handler);
+                    }
+                })
+                .connect(serverChan.localAddress()).asStage().get();
+        chan.pipeline().get(SslHandler.class).handshakeFuture().asStage().sync();
+
+        payload = chan.bufferAllocator().allocate(size);
+        payload.skipWritableBytes(size).makeReadOnly();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        chan.close().asStage().sync();
+        serverChan.close().asStage().sync();
+        group.shutdownGracefully(0, 0, TimeUnit.SECONDS).asStage().sync();
+        payload.close();
+    }
+
+    @Benchmark
+    public Object write() throws Exception {
+        sent += size;
+        expected = sent;
+        Promise<Void> promise = group.next().newPromise();
+        received = promise;
+        chan.writeAndFlush(payload.copy(true));
+        return promise.asFuture().asStage().sync();
+    }
+}
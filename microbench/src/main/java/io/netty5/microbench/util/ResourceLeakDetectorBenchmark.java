@@ -15,9 +15,18 @@
  */
 package io.netty5.microbench.util;
 
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.buffer.api.MemoryManager;
+import io.netty5.buffer.api.internal.LeakDetection;
 import io.netty5.util.ResourceLeakDetector;
+import io.netty5.util.SafeCloseable;
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 
 public class ResourceLeakDetectorBenchmark extends AbstractMicrobenchmark {
 
@@ -33,4 +42,47 @@ public class ResourceLeakDetectorBenchmark extends AbstractMicrobenchmark {
     public Object open() {
         return detector.track(DUMMY);
     }
+
+    /**
+     * Allocating and closing a small buffer, when buffer leak detection is disabled, when every buffer is tracked,
+     * and when only a sample of the buffers is tracked.
+     */
+    @Benchmark
+    public int allocateAndCloseBuffer(BufferLeakDetectionState state) {
+        try (Buffer buffer = state.allocator.allocate(16)) {
+            return buffer.capacity();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class BufferLeakDetectionState {
+        public enum LeakDetectionMode {
+            OFF, SAMPLING, FULL
+        }
+
+        @Param
+        public LeakDetectionMode mode;
+
+        BufferAllocator allocator;
+        private SafeCloseable leakCallback;
+
+        @Setup
+        public void setup() {
+            allocator = BufferAllocator.onHeapPooled();
+            LeakDetection.setSamplingEnabled(mode == LeakDetectionMode.SAMPLING);
+            if (mode != LeakDetectionMode.OFF) {
+                // Leak detection is enabled for as long as a callback is installed.
+                leakCallback = MemoryManager.onLeakDetected(leak -> { });
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            if (leakCallback != null) {
+                leakCallback.close();
+            }
+            LeakDetection.setSamplingEnabled(false);
+            allocator.close();
+        }
+    }
 }
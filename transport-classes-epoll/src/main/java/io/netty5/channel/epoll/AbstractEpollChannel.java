@@ -220,11 +220,13 @@ abstract class AbstractEpollChannel<P extends UnixChannel>
         if (isRegistered()) {
             final EventLoop loop = executor();
             if (loop.inEventLoop()) {
-                clearEpollIn0();
+                if (!isSplicing()) {
+                    clearEpollIn0();
+                }
             } else {
                 // schedule a task to clear the EPOLLIN as it is not safe to modify it directly
                 loop.execute(() -> {
-                    if (!readPending && !isAutoRead()) {
+                    if (!readPending && !isAutoRead() && !isSplicing()) {
                         // Still no read triggered so clear it now
                         clearEpollIn0();
                     }
@@ -379,7 +381,24 @@ abstract class AbstractEpollChannel<P extends UnixChannel>
 
     protected abstract boolean maybeMoreDataToRead(RecvBufferAllocator.Handle handle);
 
-    private void executeEpollInReadyRunnable() {
+    /**
+     * Returns {@code true} if bytes are spliced from this channel, in which case {@link Native#EPOLLIN} must stay set
+     * even if no read was requested.
+     */
+    boolean isSplicing() {
+        return false;
+    }
+
+    /**
+     * Called before an {@link Native#EPOLLERR} event is processed. Returns {@code true} if the event was caused by
+     * notifications on the error queue of the socket that were handled already, in which case it does not need to be
+     * processed as an error.
+     */
+    boolean epollErrReady() {
+        return false;
+    }
+
+    final void executeEpollInReadyRunnable() {
         if (epollInReadyRunnablePending || !isActive() || shouldBreakEpollInReady()) {
             return;
         }
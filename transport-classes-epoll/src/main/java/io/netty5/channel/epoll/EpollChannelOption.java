@@ -48,6 +48,37 @@ public final class EpollChannelOption<T> extends UnixChannelOption<T> {
             ChannelOption.valueOf(EpollChannelOption.class, "TCP_DEFER_ACCEPT");
     public static final ChannelOption<Boolean> TCP_QUICKACK = valueOf(EpollChannelOption.class, "TCP_QUICKACK");
     public static final ChannelOption<Integer> SO_BUSY_POLL = valueOf(EpollChannelOption.class, "SO_BUSY_POLL");
+    /**
+     * Sets {@code SO_PREFER_BUSY_POLL} on the socket, so the kernel defers the softirq processing of the device queue
+     * of the socket while it is busy polled, for example by an event loop that uses an
+     * {@link io.netty5.channel.AdaptiveSelectStrategyFactory}. Requires Linux 5.11 or later.
+     */
+    public static final ChannelOption<Boolean> SO_PREFER_BUSY_POLL =
+            valueOf(EpollChannelOption.class, "SO_PREFER_BUSY_POLL");
+
+    /**
+     * Enables {@code SO_ZEROCOPY} on the socket, so large writes are sent with {@code MSG_ZEROCOPY} instead of being
+     * copied into the kernel. See <a href="https://docs.kernel.org/networking/msg_zerocopy.html">MSG_ZEROCOPY</a>.
+     * <p>
+     * The bytes of written buffers that are large enough to benefit are split off into a {@linkplain
+     * io.netty5.buffer.api.Buffer#readOnly() read-only} buffer, whose memory is kept alive until the kernel signals
+     * that it was transmitted. Closing the channel waits for those signals, and resets the connection if they do not
+     * arrive within {@code io.netty5.channel.epoll.zeroCopyCloseTimeoutMillis} (5000 by default).
+     */
+    public static final ChannelOption<Boolean> SO_ZEROCOPY = valueOf(EpollChannelOption.class, "SO_ZEROCOPY");
+    /**
+     * Steers new connections to the sockets of a {@link UnixChannelOption#SO_REUSEPORT} group by the CPU that
+     * processes the incoming packets. The value is the number of sockets in the group, and a connection that arrives on
+     * CPU {@code n} is accepted by the socket that joined the group as number {@code n % value}. So if the CPUs that
+     * receive the packets match the threads of the accepting sockets, no connection is handed over between CPUs.
+     * See {@code SO_ATTACH_REUSEPORT_CBPF} in <a href="https://man7.org/linux/man-pages/man7/socket.7.html">
+     * man 7 socket</a>.
+     * <p>
+     * It is enough to set this on one socket of the group, see
+     * {@link io.netty5.bootstrap.ServerBootstrap#bindPerEventLoop(java.net.SocketAddress)}.
+     */
+    public static final ChannelOption<Integer> SO_REUSEPORT_CPU_STEERING =
+            valueOf(EpollChannelOption.class, "SO_REUSEPORT_CPU_STEERING");
     public static final ChannelOption<Map<InetAddress, byte[]>> TCP_MD5SIG = valueOf("TCP_MD5SIG");
     public static final ChannelOption<Integer> MAX_DATAGRAM_PAYLOAD_SIZE = valueOf("MAX_DATAGRAM_PAYLOAD_SIZE");
     public static final ChannelOption<Boolean> UDP_GRO = valueOf("UDP_GRO");
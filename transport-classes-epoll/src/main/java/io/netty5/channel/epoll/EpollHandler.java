@@ -34,6 +34,7 @@ import io.netty5.util.internal.logging.InternalLoggerFactory;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.IntSupplier;
 
@@ -49,6 +50,9 @@ public class EpollHandler implements IoHandler {
             SystemPropertyUtil.getLong("io.netty5.channel.epoll.epollWaitThreshold", 10);
 
     private static final InternalLogger logger = InternalLoggerFactory.getInstance(EpollHandler.class);
+    // The number of drained pipes that are kept around for splicing, so we not need to create new ones all the time.
+    private static final int MAX_POOLED_PIPES =
+            SystemPropertyUtil.getInt("io.netty5.channel.epoll.maxPooledPipes", 16);
 
     static {
         // Ensure JNI is initialized by the time this class is loaded by this time!
@@ -68,6 +72,8 @@ public class EpollHandler implements IoHandler {
     // These are initialized on first use
     private IovArray iovArray;
     private NativeDatagramPacketArray datagramPacketArray;
+    private ArrayDeque<FileDescriptor[]> pipes;
+    private boolean destroyed;
 
     private final SelectStrategy selectStrategy;
     private final IntSupplier selectNowSupplier = () -> {
@@ -198,6 +204,37 @@ public class EpollHandler implements IoHandler {
         return datagramPacketArray;
     }
 
+    private FileDescriptor[] acquirePipe() throws IOException {
+        FileDescriptor[] pipe = pipes == null ? null : pipes.pollLast();
+        return pipe == null ? FileDescriptor.pipe() : pipe;
+    }
+
+    private void releasePipe(FileDescriptor[] pipe) {
+        if (destroyed) {
+            // Regions can still be closed after we were destroyed, and then there is nothing left to pool pipes for.
+            closePipe(pipe);
+            return;
+        }
+        if (pipes == null) {
+            pipes = new ArrayDeque<>();
+        }
+        if (pipes.size() < MAX_POOLED_PIPES) {
+            pipes.addLast(pipe);
+        } else {
+            closePipe(pipe);
+        }
+    }
+
+    static void closePipe(FileDescriptor[] pipe) {
+        for (FileDescriptor fd : pipe) {
+            try {
+                fd.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close a pipe.", e);
+            }
+        }
+    }
+
     @Override
     public final void register(IoHandle handle) throws Exception {
         final AbstractEpollChannel<?> epollChannel = cast(handle);
@@ -221,6 +258,16 @@ public class EpollHandler implements IoHandler {
             public NativeDatagramPacketArray cleanDatagramPacketArray() {
                 return EpollHandler.this.cleanDatagramPacketArray();
             }
+
+            @Override
+            public FileDescriptor[] acquirePipe() throws IOException {
+                return EpollHandler.this.acquirePipe();
+            }
+
+            @Override
+            public void releasePipe(FileDescriptor[] pipe) {
+                EpollHandler.this.releasePipe(pipe);
+            }
         });
         add(epollChannel);
     }
@@ -311,19 +358,30 @@ public class EpollHandler implements IoHandler {
         int handled = 0;
         try {
             int strategy = selectStrategy.calculateStrategy(selectNowSupplier, !context.canBlock());
+            final boolean select = strategy == SelectStrategy.SELECT;
             switch (strategy) {
                 case SelectStrategy.CONTINUE:
                     return 0;
 
                 case SelectStrategy.BUSY_WAIT:
-                    strategy = epollBusyWait();
+                    context.ioWaitStarted();
+                    try {
+                        strategy = epollBusyWait();
+                    } finally {
+                        context.ioWaitFinished();
+                    }
                     break;
 
                 case SelectStrategy.SELECT:
                     if (pendingWakeup) {
                         // We are going to be immediately woken so no need to reset wakenUp
                         // or check for timerfd adjustment.
-                        strategy = epollWaitTimeboxed();
+                        context.ioWaitStarted();
+                        try {
+                            strategy = epollWaitTimeboxed();
+                        } finally {
+                            context.ioWaitFinished();
+                        }
                         if (strategy != 0) {
                             break;
                         }
@@ -344,16 +402,21 @@ public class EpollHandler implements IoHandler {
                     nextWakeupNanos.set(curDeadlineNanos);
                     try {
                         if (context.canBlock()) {
-                            if (curDeadlineNanos == prevDeadlineNanos) {
-                                // No timer activity needed
-                                strategy = epollWaitNoTimerChange();
-                            } else {
-                                // Timerfd needs to be re-armed or disarmed
-                                long result = epollWait(context, curDeadlineNanos);
-                                // The result contains the actual return value and if a timer was used or not.
-                                // We need to "unpack" using the helper methods exposed in Native.
-                                strategy = Native.epollReady(result);
-                                prevDeadlineNanos = Native.epollTimerWasUsed(result) ? curDeadlineNanos : NONE;
+                            context.ioWaitStarted();
+                            try {
+                                if (curDeadlineNanos == prevDeadlineNanos) {
+                                    // No timer activity needed
+                                    strategy = epollWaitNoTimerChange();
+                                } else {
+                                    // Timerfd needs to be re-armed or disarmed
+                                    long result = epollWait(context, curDeadlineNanos);
+                                    // The result contains the actual return value and if a timer was used or not.
+                                    // We need to "unpack" using the helper methods exposed in Native.
+                                    strategy = Native.epollReady(result);
+                                    prevDeadlineNanos = Native.epollTimerWasUsed(result) ? curDeadlineNanos : NONE;
+                                }
+                            } finally {
+                                context.ioWaitFinished();
                             }
                         }
                     } finally {
@@ -366,6 +429,9 @@ public class EpollHandler implements IoHandler {
                     // fall-through
                 default:
             }
+            if (select) {
+                selectStrategy.afterSelect();
+            }
             if (strategy > 0) {
                 handled = strategy;
                 if (processReady(events, strategy)) {
@@ -420,7 +486,7 @@ public class EpollHandler implements IoHandler {
             } else if (fd == timerFd.intValue()) {
                 timerFired = true;
             } else {
-                final long ev = events.events(i);
+                long ev = events.events(i);
 
                 AbstractEpollChannel<?> ch = channels.get(fd);
                 if (ch != null) {
@@ -429,6 +495,12 @@ public class EpollHandler implements IoHandler {
                     // Re-ordering can easily introduce bugs and bad side-effects, as we found out painfully in the
                     // past.
 
+                    // Completion notifications of MSG_ZEROCOPY sends are also signalled with EPOLLERR, so give the
+                    // channel a chance to consume these first.
+                    if ((ev & Native.EPOLLERR) != 0 && ch.epollErrReady()) {
+                        ev &= ~Native.EPOLLERR;
+                    }
+
                     // First check for EPOLLOUT as we may need to fail the connect Promise before try
                     // to read from the file descriptor.
                     // See https://github.com/netty/netty/issues/3785
@@ -511,6 +583,7 @@ public class EpollHandler implements IoHandler {
                 logger.warn("Failed to close the epoll fd.", e);
             }
         } finally {
+            destroyed = true;
             // release native memory
             if (iovArray != null) {
                 iovArray.release();
@@ -520,6 +593,12 @@ public class EpollHandler implements IoHandler {
                 datagramPacketArray.release();
                 datagramPacketArray = null;
             }
+            if (pipes != null) {
+                for (FileDescriptor[] pipe : pipes) {
+                    closePipe(pipe);
+                }
+                pipes = null;
+            }
             events.free();
         }
     }
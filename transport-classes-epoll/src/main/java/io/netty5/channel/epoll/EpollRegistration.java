@@ -15,6 +15,7 @@
  */
 package io.netty5.channel.epoll;
 
+import io.netty5.channel.unix.FileDescriptor;
 import io.netty5.channel.unix.IovArray;
 
 import java.io.IOException;
@@ -43,4 +44,15 @@ interface EpollRegistration {
      * Returns a {@link NativeDatagramPacketArray} that can used for {@code sendmmsg}.
      */
     NativeDatagramPacketArray cleanDatagramPacketArray();
+
+    /**
+     * Returns an empty pipe that can be used for {@code splice}, as {@code [readEnd, writeEnd]}.
+     * Once the pipe was drained it should be given back via {@link #releasePipe(FileDescriptor[])}.
+     */
+    FileDescriptor[] acquirePipe() throws IOException;
+
+    /**
+     * Give back a drained pipe that was obtained via {@link #acquirePipe()}, so it can be reused.
+     */
+    void releasePipe(FileDescriptor[] pipe);
 }
@@ -55,6 +55,7 @@ import static io.netty5.channel.ChannelOption.SO_REUSEADDR;
 import static io.netty5.channel.ChannelOption.TCP_FASTOPEN;
 import static io.netty5.channel.epoll.Native.IS_SUPPORTING_TCP_FASTOPEN_SERVER;
 import static io.netty5.channel.unix.NativeInetAddress.address;
+import static io.netty5.util.internal.ObjectUtil.checkPositive;
 import static io.netty5.util.internal.ObjectUtil.checkPositiveOrZero;
 
 /**
@@ -79,6 +80,8 @@ import static io.netty5.util.internal.ObjectUtil.checkPositiveOrZero;
  * </tr><tr>
  * <td>{@link UnixChannelOption#SO_REUSEPORT}</td><td>X</td><td>X</td><td>-</td>
  * </tr><tr>
+ * <td>{@link EpollChannelOption#SO_REUSEPORT_CPU_STEERING}</td><td>X</td><td>X</td><td>-</td>
+ * </tr><tr>
  * <td>{@link EpollChannelOption#IP_FREEBIND}</td><td>X</td><td>X</td><td>-</td>
  * </tr><tr>
  * <td>{@link EpollChannelOption#TCP_DEFER_ACCEPT}</td><td>X</td><td>X</td><td>-</td>
@@ -110,6 +113,7 @@ public final class EpollServerSocketChannel
     private volatile int pendingFastOpenRequestsThreshold;
 
     private volatile Collection<InetAddress> tcpMd5SigAddresses = Collections.emptyList();
+    private volatile int reusePortCpuSteering;
 
     public EpollServerSocketChannel(EventLoop eventLoop, EventLoopGroup childEventLoopGroup) {
         super(eventLoop, METADATA, 0, new ServerChannelRecvBufferAllocator(), LinuxSocket.newSocketStream());
@@ -168,6 +172,9 @@ public final class EpollServerSocketChannel
             if (option == UnixChannelOption.SO_REUSEPORT) {
                 return (T) Boolean.valueOf(isReusePort());
             }
+            if (option == EpollChannelOption.SO_REUSEPORT_CPU_STEERING) {
+                return (T) Integer.valueOf(getReusePortCpuSteering());
+            }
             if (option == EpollChannelOption.TCP_MD5SIG) {
                 return null;
             }
@@ -194,6 +201,8 @@ public final class EpollServerSocketChannel
                 setTcpDeferAccept((Integer) value);
             } else if (option == UnixChannelOption.SO_REUSEPORT) {
                 setReusePort((Boolean) value);
+            } else if (option == EpollChannelOption.SO_REUSEPORT_CPU_STEERING) {
+                setReusePortCpuSteering((Integer) value);
             } else if (option == EpollChannelOption.TCP_MD5SIG) {
                 setTcpMd5Sig((Map<InetAddress, byte[]>) value);
             }
@@ -217,7 +226,7 @@ public final class EpollServerSocketChannel
     private static Set<ChannelOption<?>> supportedOptions() {
         return newSupportedIdentityOptionsSet(SO_RCVBUF, SO_REUSEADDR, SO_BACKLOG, TCP_FASTOPEN,
                 EpollChannelOption.TCP_MD5SIG, EpollChannelOption.SO_REUSEPORT, EpollChannelOption.IP_FREEBIND,
-                EpollChannelOption.TCP_DEFER_ACCEPT);
+                EpollChannelOption.TCP_DEFER_ACCEPT, EpollChannelOption.SO_REUSEPORT_CPU_STEERING);
     }
 
     private static Set<ChannelOption<?>> supportedOptionsDomainSocket() {
@@ -256,6 +265,26 @@ public final class EpollServerSocketChannel
         }
     }
 
+    private int getReusePortCpuSteering() {
+        return reusePortCpuSteering;
+    }
+
+    /**
+     * The program is attached to the group of the socket, which only exists once it listens. So if the socket does not
+     * listen yet, it is attached in {@link #doBind(SocketAddress)}.
+     */
+    private void setReusePortCpuSteering(int groupSize) {
+        checkPositive(groupSize, "groupSize");
+        reusePortCpuSteering = groupSize;
+        if (active) {
+            try {
+                socket.setReusePortCpuSteering(groupSize);
+            } catch (IOException e) {
+                throw new ChannelException(e);
+            }
+        }
+    }
+
     private void setIpFreebind(boolean reusePort) {
         try {
             socket.setIpFreeBind(reusePort);
@@ -345,6 +374,10 @@ public final class EpollServerSocketChannel
             socket.setTcpFastOpen(tcpFastopen);
         }
         socket.listen(getBacklog());
+        int reusePortCpuSteering = getReusePortCpuSteering();
+        if (reusePortCpuSteering > 0) {
+            socket.setReusePortCpuSteering(reusePortCpuSteering);
+        }
         active = true;
     }
 
@@ -27,7 +27,9 @@ import io.netty5.channel.ChannelShutdownDirection;
 import io.netty5.channel.DefaultFileRegion;
 import io.netty5.channel.EventLoop;
 import io.netty5.channel.FileRegion;
+import io.netty5.channel.MaxMessagesRecvBufferAllocator;
 import io.netty5.channel.RecvBufferAllocator;
+import io.netty5.channel.WriteBufferWaterMark;
 import io.netty5.channel.internal.ChannelUtils;
 import io.netty5.channel.socket.SocketChannel;
 import io.netty5.channel.socket.SocketProtocolFamily;
@@ -35,6 +37,9 @@ import io.netty5.channel.unix.DomainSocketReadMode;
 import io.netty5.channel.unix.FileDescriptor;
 import io.netty5.channel.unix.IntegerUnixChannelOption;
 import io.netty5.channel.unix.IovArray;
+import io.netty5.channel.unix.KernelTlsChannel;
+import io.netty5.channel.unix.KernelTlsCryptoInfo;
+import io.netty5.channel.unix.KernelTlsRecord;
 import io.netty5.channel.unix.PeerCredentials;
 import io.netty5.channel.unix.RawUnixChannelOption;
 import io.netty5.channel.unix.SocketWritableByteChannel;
@@ -44,34 +49,43 @@ import io.netty5.channel.unix.UnixChannelUtil;
 import io.netty5.util.Resource;
 import io.netty5.util.concurrent.Future;
 import io.netty5.util.concurrent.GlobalEventExecutor;
+import io.netty5.util.concurrent.Promise;
 import io.netty5.util.internal.StringUtil;
+import io.netty5.util.internal.SystemPropertyUtil;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.ProtocolFamily;
 import java.net.SocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
 import java.nio.channels.NotYetConnectedException;
 import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 import static io.netty5.channel.ChannelOption.IP_TOS;
+import static io.netty5.channel.ChannelOption.RCVBUFFER_ALLOCATOR;
 import static io.netty5.channel.ChannelOption.SO_KEEPALIVE;
 import static io.netty5.channel.ChannelOption.SO_LINGER;
 import static io.netty5.channel.ChannelOption.SO_RCVBUF;
 import static io.netty5.channel.ChannelOption.SO_REUSEADDR;
 import static io.netty5.channel.ChannelOption.SO_SNDBUF;
 import static io.netty5.channel.ChannelOption.TCP_NODELAY;
+import static io.netty5.channel.ChannelOption.WRITE_BUFFER_WATER_MARK;
 import static io.netty5.channel.epoll.Native.IS_SUPPORTING_TCP_FASTOPEN_CLIENT;
 import static io.netty5.channel.internal.ChannelUtils.MAX_BYTES_PER_GATHERING_WRITE_ATTEMPTED_LOW_THRESHOLD;
 import static io.netty5.channel.internal.ChannelUtils.WRITE_STATUS_SNDBUF_FULL;
 import static io.netty5.channel.unix.Limits.SSIZE_MAX;
 import static io.netty5.channel.unix.UnixChannelOption.DOMAIN_SOCKET_READ_MODE;
+import static io.netty5.util.internal.ObjectUtil.checkPositive;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -115,6 +129,10 @@ import static java.util.Objects.requireNonNull;
  * </tr><tr>
  * <td>{@link EpollChannelOption#SO_BUSY_POLL}</td><td>X</td><td>X</td><td>-</td>
  * </tr><tr>
+ * <td>{@link EpollChannelOption#SO_PREFER_BUSY_POLL}</td><td>X</td><td>X</td><td>-</td>
+ * </tr><tr>
+ * <td>{@link EpollChannelOption#SO_ZEROCOPY}</td><td>X</td><td>X</td><td>-</td>
+ * </tr><tr>
  * <td>{@link UnixChannelOption#SO_PEERCRED}</td><td></td><td></td><td>X</td>
  * </tr><tr>
  * <td>{@link UnixChannelOption#DOMAIN_SOCKET_READ_MODE}</td><td></td><td></td><td>X</td>
@@ -123,12 +141,19 @@ import static java.util.Objects.requireNonNull;
  */
 public final class EpollSocketChannel
         extends AbstractEpollChannel<EpollServerSocketChannel>
-        implements SocketChannel {
+        implements SocketChannel, KernelTlsChannel {
 
     private static final Set<ChannelOption<?>> SUPPORTED_OPTIONS = supportedOptions();
     private static final Set<ChannelOption<?>> SUPPORTED_OPTIONS_DOMAIN_SOCKET = supportedOptionsDomainSocket();
 
     private static final ChannelMetadata METADATA = new ChannelMetadata(false, 16);
+    // Below this size, pinning the pages and handling the completion costs more than copying the bytes.
+    private static final int ZERO_COPY_THRESHOLD = Math.max(0,
+            SystemPropertyUtil.getInt("io.netty5.channel.epoll.zeroCopyThreshold", 10 * 1024));
+    // How long closing waits for the kernel to be done with the memory of zero-copy sends, before the connection is
+    // reset instead.
+    private static final long ZERO_COPY_CLOSE_TIMEOUT_MILLIS = Math.max(0,
+            SystemPropertyUtil.getLong("io.netty5.channel.epoll.zeroCopyCloseTimeoutMillis", 5000));
     private static final String EXPECTED_TYPES =
             " (expected: " + StringUtil.simpleClassName(Buffer.class) + ", " +
                     StringUtil.simpleClassName(DefaultFileRegion.class) + ')';
@@ -145,6 +170,23 @@ public final class EpollSocketChannel
 
     private volatile boolean tcpFastopen;
 
+    private volatile boolean zeroCopy;
+    // Only accessed from the EventLoop.
+    private ZeroCopyPins zeroCopyPins;
+    // Completed once all pins were released, if the channel was closed while zero-copy sends were pending.
+    // Only accessed from the EventLoop.
+    private Promise<Executor> zeroCopyDrained;
+    // Only accessed from the EventLoop.
+    private boolean tlsUlpAttached;
+    // Set once the kernel encrypts the outbound direction. Only accessed from the EventLoop.
+    private boolean kernelTls;
+
+    // Only accessed from the EventLoop.
+    private ArrayDeque<SpliceInTask> spliceQueue;
+    // The number of bytes that were spliced into pipes, but not yet spliced out to the target channels.
+    private long splicePendingBytes;
+    private boolean splicePaused;
+
     private static final Predicate<RecvBufferAllocator.Handle> MAYBE_MORE_DATA = h ->
          h.lastBytesRead() == h.attemptedBytesRead();
 
@@ -203,6 +245,9 @@ public final class EpollSocketChannel
 
         int readableComponents = buf.countReadableComponents();
         if (readableComponents == 1) {
+            if (buf.readOnly() && isZeroCopySend(readableBytes)) {
+                return writeBytesZeroCopy(in, buf);
+            }
             return doWriteBytes(in, buf);
         } else {
             ByteBuffer[] nioBuffers = new ByteBuffer[readableComponents];
@@ -215,6 +260,42 @@ public final class EpollSocketChannel
         }
     }
 
+    /**
+     * Write the bytes of a read-only {@link Buffer} with a single readable component, with {@code MSG_ZEROCOPY}.
+     * Falls back to a regular write if the kernel cannot pin the memory.
+     */
+    private int writeBytesZeroCopy(ChannelOutboundBuffer in, Buffer buf) throws Exception {
+        final int written;
+        try (var iteration = buf.forEachReadable()) {
+            var component = iteration.first();
+            written = socket.sendAddressZeroCopy(component.readableNativeAddress(), 0, component.readableBytes());
+        }
+        if (written < 0) {
+            return doWriteBytes(in, buf);
+        }
+        if (written > 0) {
+            zeroCopyPins.sent(buf, written);
+            in.removeBytes(written);
+            return 1;
+        }
+        return WRITE_STATUS_SNDBUF_FULL;
+    }
+
+    /**
+     * Returns {@code true} if the given number of bytes should be sent with {@code MSG_ZEROCOPY}.
+     */
+    private boolean isZeroCopySend(long bytes) {
+        if (!zeroCopy || bytes < ZERO_COPY_THRESHOLD) {
+            return false;
+        }
+        if (zeroCopyPins == null) {
+            zeroCopyPins = new ZeroCopyPins();
+        }
+        // If the kernel had to copy the bytes anyway, for instance because the route does not support scatter-gather,
+        // zero-copy sends only add the overhead of the completions.
+        return !zeroCopyPins.isCopied();
+    }
+
     void setMaxBytesPerGatheringWrite(long maxBytesPerGatheringWrite) {
         this.maxBytesPerGatheringWrite = maxBytesPerGatheringWrite;
     }
@@ -257,9 +338,22 @@ public final class EpollSocketChannel
         final int cnt = array.count();
         assert cnt != 0;
 
-        final long localWrittenBytes = socket.writevAddresses(array.memoryAddress(0), cnt);
+        long localWrittenBytes = -1;
+        boolean zeroCopySend = isZeroCopySend(expectedWrittenBytes) &&
+                zeroCopyPins.isReadOnly(in, expectedWrittenBytes);
+        if (zeroCopySend) {
+            localWrittenBytes = socket.writevAddressesZeroCopy(array.memoryAddress(0), cnt);
+            zeroCopySend = localWrittenBytes >= 0;
+        }
+        if (localWrittenBytes < 0) {
+            // Either zero-copy is not used, or the kernel could not pin the memory.
+            localWrittenBytes = socket.writevAddresses(array.memoryAddress(0), cnt);
+        }
         if (localWrittenBytes > 0) {
             adjustMaxBytesPerGatheringWrite(expectedWrittenBytes, localWrittenBytes, array.maxBytes());
+            if (zeroCopySend) {
+                zeroCopyPins.sent(in, localWrittenBytes);
+            }
             in.removeBytes(localWrittenBytes);
             return 1;
         }
@@ -371,6 +465,87 @@ public final class EpollSocketChannel
         return WRITE_STATUS_SNDBUF_FULL;
     }
 
+    /**
+     * Write a {@link SplicePipeRegion}
+     * @param in the collection which contains objects to write.
+     * @param region the {@link SplicePipeRegion} from which the bytes should be spliced
+     * @return The value that should be decremented from the write quantum which starts at
+     * {@link #getWriteSpinCount()}. The typical use cases are as follows:
+     * <ul>
+     *     <li>0 - if no write was attempted. This is appropriate if an empty {@link Buffer} (or other empty content)
+     *     is encountered</li>
+     *     <li>1 - if a single call to write data was made to the OS</li>
+     *     <li>{@link ChannelUtils#WRITE_STATUS_SNDBUF_FULL} - if an attempt to write data was made to the OS, but
+     *     no data was accepted</li>
+     * </ul>
+     */
+    private int writeSplicePipeRegion(ChannelOutboundBuffer in, SplicePipeRegion region) throws Exception {
+        if (region.transferred() >= region.count()) {
+            in.remove();
+            return 0;
+        }
+
+        final int splicedAmount = region.spliceTo(socket);
+        if (splicedAmount > 0) {
+            in.progress(splicedAmount);
+            if (region.transferred() >= region.count()) {
+                in.remove();
+            }
+            return 1;
+        }
+        return WRITE_STATUS_SNDBUF_FULL;
+    }
+
+    /**
+     * Write a {@link KernelTlsRecord}
+     * @param in the collection which contains objects to write.
+     * @param record the {@link KernelTlsRecord} to send
+     * @return The value that should be decremented from the write quantum which starts at
+     * {@link #getWriteSpinCount()}. The typical use cases are as follows:
+     * <ul>
+     *     <li>1 - if a single call to write data was made to the OS</li>
+     *     <li>{@link ChannelUtils#WRITE_STATUS_SNDBUF_FULL} - if an attempt to write data was made to the OS, but
+     *     no data was accepted</li>
+     * </ul>
+     */
+    private int writeKernelTlsRecord(ChannelOutboundBuffer in, KernelTlsRecord record) throws Exception {
+        // The kernel only accepts a record with an explicit type as a whole.
+        if (socket.sendTlsRecord(record) > 0) {
+            in.remove();
+            return 1;
+        }
+        return WRITE_STATUS_SNDBUF_FULL;
+    }
+
+    @Override
+    public boolean attachKernelTls(KernelTlsCryptoInfo cryptoInfo) {
+        requireNonNull(cryptoInfo, "cryptoInfo");
+        assert executor().inEventLoop();
+        if (kernelTls) {
+            throw new IllegalStateException("kernel TLS is enabled already");
+        }
+        ChannelOutboundBuffer in = outboundBuffer();
+        if (socket.protocolFamily() == SocketProtocolFamily.UNIX || !isActive() ||
+                in == null || !in.isEmpty() || in.totalPendingWriteBytes() > 0) {
+            return false;
+        }
+        try {
+            if (!tlsUlpAttached) {
+                if (!socket.attachTlsUlp()) {
+                    return false;
+                }
+                tlsUlpAttached = true;
+            }
+            // The kernel may not support the cipher of the keys. The upper layer protocol stays attached then, but
+            // passes all bytes through unchanged, so the caller can keep encrypting them itself.
+            socket.setTlsTx(cryptoInfo);
+        } catch (IOException e) {
+            return false;
+        }
+        kernelTls = true;
+        return true;
+    }
+
     @Override
     protected void doWrite(ChannelOutboundBuffer in) throws Exception {
         int writeSpinCount = getWriteSpinCount();
@@ -437,6 +612,10 @@ public final class EpollSocketChannel
             return writeDefaultFileRegion(in, (DefaultFileRegion) msg);
         } else if (msg instanceof FileRegion) {
             return writeFileRegion(in, (FileRegion) msg);
+        } else if (msg instanceof SplicePipeRegion) {
+            return writeSplicePipeRegion(in, (SplicePipeRegion) msg);
+        } else if (msg instanceof KernelTlsRecord) {
+            return writeKernelTlsRecord(in, (KernelTlsRecord) msg);
         } else {
             // Should never reach here.
             throw new Error();
@@ -478,10 +657,23 @@ public final class EpollSocketChannel
         }
         if (msg instanceof Buffer) {
             Buffer buf = (Buffer) msg;
-            return UnixChannelUtil.isBufferCopyNeededForWrite(buf)? newDirectBuffer(buf) : buf;
+            buf = UnixChannelUtil.isBufferCopyNeededForWrite(buf)? newDirectBuffer(buf) : buf;
+            if (zeroCopy && buf.readableBytes() >= ZERO_COPY_THRESHOLD && !buf.readOnly()) {
+                // The memory must not change until the kernel is done with it, so it can only be pinned by a read-only
+                // copy if the buffer itself is read-only. Rather than making the buffer of the caller read-only, split
+                // off the bytes to write, which hands their memory over to us.
+                try (Buffer written = buf) {
+                    buf = written.split().makeReadOnly();
+                }
+            }
+            return buf;
         }
 
-        if (msg instanceof FileRegion) {
+        if (msg instanceof FileRegion || msg instanceof SplicePipeRegion) {
+            return msg;
+        }
+
+        if (kernelTls && msg instanceof KernelTlsRecord) {
             return msg;
         }
 
@@ -561,6 +753,10 @@ public final class EpollSocketChannel
 
     private void epollInReadyBytes(RecvBufferAllocator.Handle recvAlloc, BufferAllocator bufferAllocator,
                                    boolean receivedRdHup) {
+        if (isSplicing() && spliceIn()) {
+            // All the readable bytes were spliced, or we need to wait for the targets to catch up.
+            return;
+        }
         final ChannelPipeline pipeline = pipeline();
         Predicate<RecvBufferAllocator.Handle> maybeMoreData = maybeMoreData(receivedRdHup);
 
@@ -618,6 +814,273 @@ public final class EpollSocketChannel
         }
     }
 
+    /**
+     * Splice up to {@code len} bytes that are received by this channel to the given target channel, without copying
+     * them to user space. The bytes are moved from this socket into a pipe, and from the pipe into the target socket,
+     * via {@code splice(2)}.
+     * <p>
+     * The spliced bytes are not passed through the {@link ChannelPipeline} of this channel. They are written through
+     * the {@link ChannelPipeline} of the target instead, so they keep their order with the other messages that are
+     * written to the target. Splicing pauses while the bytes that were spliced, but not yet written by the target,
+     * exceed the high {@linkplain ChannelOption#WRITE_BUFFER_WATER_MARK water mark} of the target or while the target
+     * is not writable, and resumes once they drop below the low water mark.
+     * <p>
+     * Multiple splices are done one after another, in the order they were requested. Bytes are passed through the
+     * {@link ChannelPipeline} of this channel again, once all splices are done.
+     * <p>
+     * Both channels must use the same {@link EventLoop}.
+     *
+     * @param target the channel to which the bytes are spliced.
+     * @param len the number of bytes to splice, or {@link Integer#MAX_VALUE} to splice until the end of the input.
+     * @return a {@link Future} that is completed once all bytes were written to the target.
+     */
+    public Future<Void> spliceTo(EpollSocketChannel target, int len) {
+        requireNonNull(target, "target");
+        checkPositive(len, "len");
+        if (target.executor() != executor()) {
+            throw new IllegalArgumentException("EventLoops are not the same.");
+        }
+        Promise<Void> promise = newPromise();
+        SpliceInTask task = new SpliceInTask(target, len, promise);
+        if (executor().inEventLoop()) {
+            addSpliceTask(task);
+        } else {
+            executor().execute(() -> addSpliceTask(task));
+        }
+        return promise.asFuture();
+    }
+
+    private void addSpliceTask(SpliceInTask task) {
+        if (!isActive()) {
+            task.promise.tryFailure(new ClosedChannelException());
+            return;
+        }
+        if (spliceQueue == null) {
+            spliceQueue = new ArrayDeque<>();
+        }
+        spliceQueue.add(task);
+        try {
+            setFlag(Native.EPOLLIN);
+        } catch (IOException e) {
+            failSpliceTasks(e);
+            return;
+        }
+        // We are using edge-triggered mode, so there may be bytes in the socket already that we will not be notified
+        // about.
+        executeEpollInReadyRunnable();
+    }
+
+    @Override
+    boolean isSplicing() {
+        return spliceQueue != null && !spliceQueue.isEmpty();
+    }
+
+    /**
+     * Splice the readable bytes of this channel to the targets of the pending splices.
+     *
+     * @return {@code true} if no bytes should be read via the {@link ChannelPipeline} of this channel.
+     */
+    private boolean spliceIn() {
+        RecvBufferAllocator allocator = getOption(RCVBUFFER_ALLOCATOR);
+        int maxSplices = allocator instanceof MaxMessagesRecvBufferAllocator?
+                ((MaxMessagesRecvBufferAllocator) allocator).maxMessagesPerRead() :
+                METADATA.defaultMaxMessagesPerRead();
+        SpliceInTask task;
+        while ((task = spliceQueue.peek()) != null) {
+            if (task.promise.isDone()) {
+                // Cancelled, or a write to the target failed.
+                spliceQueue.poll();
+                continue;
+            }
+            if (shouldPauseSplice(task.target)) {
+                splicePaused = true;
+                return true;
+            }
+            if (maxSplices-- == 0) {
+                // Give the other channels of this EventLoop a chance, and continue later.
+                executeEpollInReadyRunnable();
+                return true;
+            }
+            FileDescriptor[] pipe = null;
+            try {
+                pipe = registration().acquirePipe();
+                int spliced = Native.splice(socket.intValue(), -1, pipe[1].intValue(), -1, task.remaining);
+                if (spliced > 0) {
+                    SplicePipeRegion region = new SplicePipeRegion(this, registration(), pipe, spliced);
+                    pipe = null;
+                    splicePendingBytes += spliced;
+                    if (task.write(region, spliced)) {
+                        spliceQueue.poll();
+                    }
+                    continue;
+                }
+                registration().releasePipe(pipe);
+                pipe = null;
+                if (spliced == 0) {
+                    // Nothing left to splice for now, we will be notified once there is more.
+                    return true;
+                }
+                // We reached the end of the input. Let the read loop handle the shutdown of the input.
+                if (task.untilEof) {
+                    spliceQueue.poll().complete();
+                }
+                failSpliceTasks(new EOFException("The input was shut down before all bytes were spliced"));
+                return false;
+            } catch (IOException e) {
+                if (pipe != null) {
+                    EpollHandler.closePipe(pipe);
+                }
+                // Let the read loop handle the failure.
+                failSpliceTasks(e);
+                return false;
+            }
+        }
+        return !readPending && !isAutoRead();
+    }
+
+    private boolean shouldPauseSplice(EpollSocketChannel target) {
+        if (splicePendingBytes == 0) {
+            return false;
+        }
+        return !target.isWritable() || splicePendingBytes >= target.getOption(WRITE_BUFFER_WATER_MARK).high();
+    }
+
+    /**
+     * Called by a {@link SplicePipeRegion} of this channel, once bytes were spliced out to the target, or were
+     * discarded.
+     */
+    void splicedOut(int bytes) {
+        splicePendingBytes -= bytes;
+        if (splicePaused) {
+            SpliceInTask task = spliceQueue.peek();
+            WriteBufferWaterMark waterMark = task == null ? null : task.target.getOption(WRITE_BUFFER_WATER_MARK);
+            if (waterMark == null || splicePendingBytes <= waterMark.low()) {
+                splicePaused = false;
+                executeEpollInReadyRunnable();
+            }
+        }
+    }
+
+    private void failSpliceTasks(Throwable cause) {
+        if (spliceQueue != null) {
+            SpliceInTask task;
+            while ((task = spliceQueue.poll()) != null) {
+                task.promise.tryFailure(cause);
+            }
+        }
+    }
+
+    @Override
+    boolean epollErrReady() {
+        if (zeroCopyPins == null || zeroCopyPins.pending() == 0) {
+            return false;
+        }
+        try {
+            boolean processed = zeroCopyPins.processCompletions(socket);
+            if (zeroCopyDrained != null && zeroCopyPins.pending() == 0) {
+                zeroCopyDrained.trySuccess(executor());
+            }
+            return processed;
+        } catch (IOException e) {
+            // Let the regular error handling deal with it.
+            return false;
+        }
+    }
+
+    /**
+     * Returns {@code true} if the kernel may still read the memory of zero-copy sends.
+     */
+    private boolean hasPendingZeroCopySends() {
+        if (zeroCopyPins == null || zeroCopyPins.pending() == 0 || !isOpen()) {
+            return false;
+        }
+        try {
+            zeroCopyPins.processCompletions(socket);
+        } catch (IOException ignore) {
+            // We will find out about the error when closing.
+        }
+        return zeroCopyPins.pending() > 0;
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        try {
+            if (hasPendingZeroCopySends()) {
+                // Closing the socket does not stop the kernel from sending what is queued, from memory that we are
+                // about to give back. Reset the connection instead, so the data that was not sent is dropped.
+                try {
+                    socket.setSoLinger(0);
+                } catch (IOException ignore) {
+                    // Closed in the meantime.
+                }
+            }
+            super.doClose();
+        } finally {
+            zeroCopyDrained = null;
+            failSpliceTasks(new ClosedChannelException());
+            if (zeroCopyPins != null) {
+                zeroCopyPins.releaseAll();
+            }
+        }
+    }
+
+    private static final class SpliceInTask {
+        final EpollSocketChannel target;
+        final Promise<Void> promise;
+        final boolean untilEof;
+        int remaining;
+        Future<Void> lastWrite;
+
+        SpliceInTask(EpollSocketChannel target, int len, Promise<Void> promise) {
+            this.target = target;
+            this.promise = promise;
+            untilEof = len == Integer.MAX_VALUE;
+            remaining = len;
+        }
+
+        /**
+         * Write the given region to the target.
+         *
+         * @return {@code true} if this task is done.
+         */
+        boolean write(SplicePipeRegion region, int spliced) {
+            Future<Void> future = target.writeAndFlush(region);
+            lastWrite = future;
+            if (!future.isSuccess()) {
+                future.addListener(promise, (p, f) -> {
+                    if (f.isFailed()) {
+                        p.tryFailure(f.cause());
+                    }
+                });
+            }
+            if (!untilEof) {
+                remaining -= spliced;
+                if (remaining == 0) {
+                    complete();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Complete the task once the last region that was written to the target was flushed.
+         */
+        void complete() {
+            if (lastWrite == null) {
+                promise.trySuccess(null);
+            } else {
+                lastWrite.addListener(promise, (p, f) -> {
+                    if (f.isSuccess()) {
+                        p.trySuccess(null);
+                    } else {
+                        p.tryFailure(f.cause());
+                    }
+                });
+            }
+        }
+    }
+
     private final class EpollSocketWritableByteChannel extends SocketWritableByteChannel {
         EpollSocketWritableByteChannel() {
             super(socket);
@@ -684,6 +1147,12 @@ public final class EpollSocketChannel
             if (option == EpollChannelOption.SO_BUSY_POLL) {
                 return (T) Integer.valueOf(getSoBusyPoll());
             }
+            if (option == EpollChannelOption.SO_PREFER_BUSY_POLL) {
+                return (T) Boolean.valueOf(isPreferBusyPoll());
+            }
+            if (option == EpollChannelOption.SO_ZEROCOPY) {
+                return (T) Boolean.valueOf(isZeroCopy());
+            }
             if (option == DOMAIN_SOCKET_READ_MODE) {
                 return (T) getReadMode();
             }
@@ -739,6 +1208,10 @@ public final class EpollSocketChannel
                 setTcpFastOpenConnect((Boolean) value);
             } else if (option == EpollChannelOption.SO_BUSY_POLL) {
                 setSoBusyPoll((Integer) value);
+            } else if (option == EpollChannelOption.SO_PREFER_BUSY_POLL) {
+                setPreferBusyPoll((Boolean) value);
+            } else if (option == EpollChannelOption.SO_ZEROCOPY) {
+                setZeroCopy((Boolean) value);
             } else if (option == DOMAIN_SOCKET_READ_MODE) {
                 setReadMode((DomainSocketReadMode) value);
             } else if (option == EpollChannelOption.TCP_INFO) {
@@ -768,8 +1241,9 @@ public final class EpollSocketChannel
                 IP_TOS, EpollChannelOption.TCP_CORK, EpollChannelOption.TCP_KEEPIDLE, EpollChannelOption.TCP_KEEPCNT,
                 EpollChannelOption.TCP_KEEPINTVL, EpollChannelOption.TCP_USER_TIMEOUT,
                 EpollChannelOption.IP_TRANSPARENT, EpollChannelOption.TCP_MD5SIG, EpollChannelOption.TCP_QUICKACK,
-                ChannelOption.TCP_FASTOPEN_CONNECT, EpollChannelOption.SO_BUSY_POLL,
-                EpollChannelOption.TCP_NOTSENT_LOWAT, EpollChannelOption.TCP_INFO);
+                ChannelOption.TCP_FASTOPEN_CONNECT, EpollChannelOption.SO_BUSY_POLL, EpollChannelOption.SO_ZEROCOPY,
+                EpollChannelOption.TCP_NOTSENT_LOWAT, EpollChannelOption.TCP_INFO,
+                EpollChannelOption.SO_PREFER_BUSY_POLL);
     }
 
     private static Set<ChannelOption<?>> supportedOptionsDomainSocket() {
@@ -855,6 +1329,28 @@ public final class EpollSocketChannel
         }
     }
 
+    /**
+     * Get the {@code SO_PREFER_BUSY_POLL} option on the socket. See {@code man 7 socket} for more details.
+     */
+    private boolean isPreferBusyPoll() {
+        try {
+            return socket.isPreferBusyPoll();
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    /**
+     * Get the {@code SO_ZEROCOPY} option on the socket. See {@code man 7 socket} for more details.
+     */
+    private boolean isZeroCopy() {
+        try {
+            return socket.isZeroCopy();
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
     /**
      * Get the {@code TCP_NOTSENT_LOWAT} option on the socket. See {@code man 7 tcp} for more details.
      * @return value is a uint32_t
@@ -982,6 +1478,30 @@ public final class EpollSocketChannel
         }
     }
 
+    /**
+     * Set the {@code SO_PREFER_BUSY_POLL} option on the socket. See {@code man 7 socket} for more details.
+     */
+    private void setPreferBusyPoll(boolean preferBusyPoll) {
+        try {
+            socket.setPreferBusyPoll(preferBusyPoll);
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    /**
+     * Set the {@code SO_ZEROCOPY} option on the socket, and send large writes with {@code MSG_ZEROCOPY} if enabled.
+     * See {@code man 7 socket} for more details.
+     */
+    private void setZeroCopy(boolean zeroCopy) {
+        try {
+            socket.setZeroCopy(zeroCopy);
+            this.zeroCopy = zeroCopy;
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
     /**
      * Set the {@code TCP_NOTSENT_LOWAT} option on the socket. See {@code man 7 tcp} for more details.
      * @param tcpNotSentLowAt is a uint32_t
@@ -1169,6 +1689,16 @@ public final class EpollSocketChannel
 
     @Override
     protected Future<Executor> prepareToClose() {
+        if (ZERO_COPY_CLOSE_TIMEOUT_MILLIS > 0 && !executor().isShuttingDown() && hasPendingZeroCopySends()) {
+            // The completions of zero-copy sends can only be read while the socket is open, so close once they all
+            // arrived, or reset the connection when closing if that takes too long.
+            Promise<Executor> drained = executor().newPromise();
+            zeroCopyDrained = drained;
+            Future<?> timeout = executor().schedule(
+                    () -> drained.trySuccess(executor()), ZERO_COPY_CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            drained.asFuture().addListener(f -> timeout.cancel());
+            return drained.asFuture();
+        }
         if (socket.protocolFamily() != SocketProtocolFamily.UNIX) {
             try {
                 // Check isOpen() first as otherwise it will throw a RuntimeException
@@ -18,6 +18,9 @@ package io.netty5.channel.epoll;
 import io.netty5.channel.ChannelException;
 import io.netty5.channel.DefaultFileRegion;
 import io.netty5.channel.socket.SocketProtocolFamily;
+import io.netty5.channel.unix.Errors;
+import io.netty5.channel.unix.KernelTlsCryptoInfo;
+import io.netty5.channel.unix.KernelTlsRecord;
 import io.netty5.channel.unix.NativeInetAddress;
 import io.netty5.channel.unix.PeerCredentials;
 import io.netty5.channel.unix.Socket;
@@ -174,6 +177,14 @@ public final class LinuxSocket extends Socket {
         setSoBusyPoll(intValue(), loopMicros);
     }
 
+    void setPreferBusyPoll(boolean preferBusyPoll) throws IOException {
+        setPreferBusyPoll(intValue(), preferBusyPoll ? 1 : 0);
+    }
+
+    void setZeroCopy(boolean zeroCopy) throws IOException {
+        setZeroCopy(intValue(), zeroCopy ? 1 : 0);
+    }
+
     void setTcpNotSentLowAt(long tcpNotSentLowAt) throws IOException {
         if (tcpNotSentLowAt < 0 || tcpNotSentLowAt > MAX_UINT32_T) {
             throw new IllegalArgumentException("tcpNotSentLowAt must be a uint32_t");
@@ -205,6 +216,10 @@ public final class LinuxSocket extends Socket {
         setIpFreeBind(intValue(), enabled ? 1 : 0);
     }
 
+    void setReusePortCpuSteering(int groupSize) throws IOException {
+        setReusePortCpuSteering(intValue(), groupSize);
+    }
+
     void setIpTransparent(boolean enabled) throws IOException {
         setIpTransparent(intValue(), enabled ? 1 : 0);
     }
@@ -234,6 +249,14 @@ public final class LinuxSocket extends Socket {
         return getSoBusyPoll(intValue());
     }
 
+    boolean isPreferBusyPoll() throws IOException  {
+        return isPreferBusyPoll(intValue()) != 0;
+    }
+
+    boolean isZeroCopy() throws IOException {
+        return isZeroCopy(intValue()) != 0;
+    }
+
     int getTcpDeferAccept() throws IOException {
         return getTcpDeferAccept(intValue());
     }
@@ -306,6 +329,100 @@ public final class LinuxSocket extends Socket {
         return ioResult("sendfile", (int) res);
     }
 
+    /**
+     * Send the bytes between {@code pos} and {@code limit} of the given memory with {@code MSG_ZEROCOPY}.
+     * The memory must not be modified or released before the kernel has signalled the completion of the send, see
+     * {@link #recvZeroCopyCompletion(long[])}.
+     *
+     * @return the number of bytes sent, {@code 0} if the socket is not writable, or {@code -1} if the kernel could not
+     * pin the memory, in which case the bytes should be sent with a regular write instead.
+     */
+    int sendAddressZeroCopy(long address, int pos, int limit) throws IOException {
+        int res = sendAddressZeroCopy(intValue(), address, pos, limit);
+        if (res >= 0) {
+            return res;
+        }
+        if (res == Native.ERRNO_ENOBUFS_NEGATIVE) {
+            return -1;
+        }
+        return ioResult("sendAddressZeroCopy", res);
+    }
+
+    /**
+     * Gathering variant of {@link #sendAddressZeroCopy(long, int, int)}.
+     */
+    long writevAddressesZeroCopy(long memoryAddress, int length) throws IOException {
+        long res = writevAddressesZeroCopy(intValue(), memoryAddress, length);
+        if (res >= 0) {
+            return res;
+        }
+        if (res == Native.ERRNO_ENOBUFS_NEGATIVE) {
+            return -1;
+        }
+        return ioResult("writevAddressesZeroCopy", (int) res);
+    }
+
+    /**
+     * Read one {@code MSG_ZEROCOPY} completion notification from the error queue of the socket.
+     * On success, the first and last (inclusive) sequence numbers of the completed sends are stored in the first two
+     * elements of the given array, and the third element is set to {@code 1} if the kernel fell back to copying.
+     *
+     * @return {@code true} if a notification was read, {@code false} if the error queue holds no more notifications.
+     */
+    boolean recvZeroCopyCompletion(long[] result) throws IOException {
+        for (;;) {
+            int res = recvZeroCopyCompletion(intValue(), result);
+            if (res > 0) {
+                return true;
+            }
+            if (res < 0) {
+                ioResult("recvZeroCopyCompletion", res);
+                return false;
+            }
+            // Not a zero-copy notification, skip it.
+        }
+    }
+
+    /**
+     * Attach the {@code tls} upper layer protocol to the socket.
+     *
+     * @return {@code true} if the kernel supports TLS on this socket, {@code false} if it does not.
+     */
+    boolean attachTlsUlp() throws IOException {
+        int res = attachTlsUlp(intValue());
+        if (res == 0 || res == Native.ERRNO_EEXIST_NEGATIVE) {
+            return true;
+        }
+        if (res == Errors.ERRNO_ENOENT_NEGATIVE || res == Native.ERRNO_ENOPROTOOPT_NEGATIVE) {
+            // The tls module is not available, or not built into the kernel at all.
+            return false;
+        }
+        throw Errors.newIOException("setsockopt(TCP_ULP)", res);
+    }
+
+    /**
+     * Hand the keys of the outbound direction to the kernel. The socket must have the {@code tls} upper layer
+     * protocol attached, see {@link #attachTlsUlp()}.
+     */
+    void setTlsTx(KernelTlsCryptoInfo info) throws IOException {
+        setTlsTx(intValue(), info.version(), info.cipher(), info.key(), info.iv(), info.salt(),
+                info.recordSequence());
+    }
+
+    /**
+     * Send a TLS record of the given type, on a socket with kernel TLS enabled.
+     *
+     * @return the number of bytes sent, or {@code 0} if the socket is not writable.
+     */
+    int sendTlsRecord(KernelTlsRecord record) throws IOException {
+        byte[] content = record.content();
+        int res = sendTlsRecord(intValue(), record.contentType(), content, content.length);
+        if (res >= 0) {
+            return res;
+        }
+        return ioResult("sendTlsRecord", res);
+    }
+
     private static InetAddress deriveInetAddress(NetworkInterface netInterface, boolean ipv6) {
         final InetAddress ipAny = ipv6 ? INET6_ANY : INET_ANY;
         if (netInterface != null) {
@@ -402,6 +519,13 @@ public final class LinuxSocket extends Socket {
                                           int scopeId, int interfaceIndex) throws IOException;
     private static native void leaveSsmGroup(int fd, boolean ipv6, byte[] group, byte[] interfaceAddress,
                                              int scopeId, int interfaceIndex, byte[] source) throws IOException;
+    private static native int sendAddressZeroCopy(int fd, long address, int pos, int limit);
+    private static native long writevAddressesZeroCopy(int fd, long memoryAddress, int length);
+    private static native int recvZeroCopyCompletion(int fd, long[] result);
+    private static native int attachTlsUlp(int fd);
+    private static native void setTlsTx(int fd, int version, int cipher, byte[] key, byte[] iv, byte[] salt,
+                                        byte[] recordSequence) throws IOException;
+    private static native int sendTlsRecord(int fd, byte contentType, byte[] content, int length);
     private static native long sendFile(int socketFd, DefaultFileRegion src, long baseOffset,
                                         long offset, long length) throws IOException;
 
@@ -409,6 +533,8 @@ public final class LinuxSocket extends Socket {
     private static native int isTcpQuickAck(int fd) throws IOException;
     private static native int isTcpCork(int fd) throws IOException;
     private static native int getSoBusyPoll(int fd) throws IOException;
+    private static native int isPreferBusyPoll(int fd) throws IOException;
+    private static native int isZeroCopy(int fd) throws IOException;
     private static native int getTcpNotSentLowAt(int fd) throws IOException;
     private static native int getTcpKeepIdle(int fd) throws IOException;
     private static native int getTcpKeepIntvl(int fd) throws IOException;
@@ -425,6 +551,8 @@ public final class LinuxSocket extends Socket {
     private static native void setTcpQuickAck(int fd, int quickAck) throws IOException;
     private static native void setTcpCork(int fd, int tcpCork) throws IOException;
     private static native void setSoBusyPoll(int fd, int loopMicros) throws IOException;
+    private static native void setPreferBusyPoll(int fd, int preferBusyPoll) throws IOException;
+    private static native void setZeroCopy(int fd, int zeroCopy) throws IOException;
     private static native void setTcpNotSentLowAt(int fd, int tcpNotSentLowAt) throws IOException;
     private static native void setTcpFastOpen(int fd, int tcpFastopenBacklog) throws IOException;
     private static native void setTcpKeepIdle(int fd, int seconds) throws IOException;
@@ -432,6 +560,7 @@ public final class LinuxSocket extends Socket {
     private static native void setTcpKeepCnt(int fd, int probes) throws IOException;
     private static native void setTcpUserTimeout(int fd, int milliseconds)throws IOException;
     private static native void setIpFreeBind(int fd, int freeBind) throws IOException;
+    private static native void setReusePortCpuSteering(int fd, int groupSize) throws IOException;
     private static native void setIpTransparent(int fd, int transparent) throws IOException;
     private static native void setIpRecvOrigDestAddr(int fd, int transparent) throws IOException;
     private static native void setTcpMd5Sig(
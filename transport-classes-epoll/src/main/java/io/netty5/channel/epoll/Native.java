@@ -36,6 +36,9 @@ import static io.netty5.channel.epoll.NativeStaticallyReferencedJniMethods.epoll
 import static io.netty5.channel.epoll.NativeStaticallyReferencedJniMethods.epollin;
 import static io.netty5.channel.epoll.NativeStaticallyReferencedJniMethods.epollout;
 import static io.netty5.channel.epoll.NativeStaticallyReferencedJniMethods.epollrdhup;
+import static io.netty5.channel.epoll.NativeStaticallyReferencedJniMethods.errnoEEXIST;
+import static io.netty5.channel.epoll.NativeStaticallyReferencedJniMethods.errnoENOBUFS;
+import static io.netty5.channel.epoll.NativeStaticallyReferencedJniMethods.errnoENOPROTOOPT;
 import static io.netty5.channel.epoll.NativeStaticallyReferencedJniMethods.isSupportingRecvmmsg;
 import static io.netty5.channel.epoll.NativeStaticallyReferencedJniMethods.isSupportingSendmmsg;
 import static io.netty5.channel.epoll.NativeStaticallyReferencedJniMethods.kernelVersion;
@@ -103,6 +106,9 @@ public final class Native {
     public static final int EPOLLRDHUP = epollrdhup();
     public static final int EPOLLET = epollet();
     public static final int EPOLLERR = epollerr();
+    static final int ERRNO_ENOBUFS_NEGATIVE = -errnoENOBUFS();
+    static final int ERRNO_EEXIST_NEGATIVE = -errnoEEXIST();
+    static final int ERRNO_ENOPROTOOPT_NEGATIVE = -errnoENOPROTOOPT();
 
     public static final boolean IS_SUPPORTING_SENDMMSG = isSupportingSendmmsg();
     static final boolean IS_SUPPORTING_RECVMMSG = isSupportingRecvmmsg();
@@ -239,6 +245,26 @@ public final class Native {
     }
     private static native int epollCtlDel0(int efd, int fd);
 
+    /**
+     * Move up to {@code len} bytes between two file descriptors with {@code splice(2)}, where at least one of them
+     * must be a pipe. An offset of {@code -1} means the current position of the file descriptor is used.
+     *
+     * @return the number of bytes that were moved, {@code 0} if the operation would block, or {@code -1} if the end of
+     * the input was reached.
+     */
+    public static int splice(int fd, long offIn, int fdOut, long offOut, long len) throws IOException {
+        int res = splice0(fd, offIn, fdOut, offOut, len);
+        if (res > 0) {
+            return res;
+        }
+        if (res == 0) {
+            return -1;
+        }
+        return ioResult("splice", res);
+    }
+
+    private static native int splice0(int fd, long offIn, int fdOut, long offOut, long len);
+
     @Deprecated
     public static int sendmmsg(int fd, NativeDatagramPacketArray.NativeDatagramPacket[] msgs,
                                int offset, int len) throws IOException {
@@ -35,6 +35,9 @@ final class NativeStaticallyReferencedJniMethods {
     static native int epollrdhup();
     static native int epollet();
     static native int epollerr();
+    static native int errnoENOBUFS();
+    static native int errnoEEXIST();
+    static native int errnoENOPROTOOPT();
     static native long ssizeMax();
     static native int tcpMd5SigMaxKeyLen();
     static native int iovMax();
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.epoll;
+
+import io.netty5.channel.unix.FileDescriptor;
+import io.netty5.util.Resource;
+import io.netty5.util.Send;
+
+import java.io.IOException;
+
+/**
+ * Bytes that were spliced from an {@link EpollSocketChannel} into a pipe, and that still need to be spliced from the
+ * pipe into the target {@link EpollSocketChannel}.
+ * <p>
+ * A region is written to the target like any other message, so it keeps its position in the
+ * {@link io.netty5.channel.ChannelOutboundBuffer} of the target. Once drained, the pipe is given back to the
+ * {@link EpollRegistration} it came from, so it can be reused by other splices on the same event loop.
+ */
+final class SplicePipeRegion implements Resource<SplicePipeRegion> {
+    private final EpollSocketChannel source;
+    private final EpollRegistration registration;
+    private final FileDescriptor[] pipe;
+    private final int count;
+    private int transferred;
+    private boolean closed;
+
+    SplicePipeRegion(EpollSocketChannel source, EpollRegistration registration, FileDescriptor[] pipe, int count) {
+        this.source = source;
+        this.registration = registration;
+        this.pipe = pipe;
+        this.count = count;
+    }
+
+    /**
+     * Returns the number of bytes in this region.
+     */
+    int count() {
+        return count;
+    }
+
+    /**
+     * Returns the number of bytes that were spliced out of the pipe already.
+     */
+    int transferred() {
+        return transferred;
+    }
+
+    /**
+     * Splice the remaining bytes of the pipe to the given file descriptor.
+     *
+     * @return the number of bytes that were spliced, or {@code 0} if the operation would block.
+     */
+    int spliceTo(FileDescriptor fd) throws IOException {
+        int spliced = Native.splice(pipe[0].intValue(), -1, fd.intValue(), -1, count - transferred);
+        if (spliced <= 0) {
+            return 0;
+        }
+        transferred += spliced;
+        source.splicedOut(spliced);
+        return spliced;
+    }
+
+    @Override
+    public Send<SplicePipeRegion> send() {
+        if (closed) {
+            throw new IllegalStateException("The region was closed already");
+        }
+        // The pipe now belongs to the received region.
+        closed = true;
+        SplicePipeRegion region = new SplicePipeRegion(source, registration, pipe, count);
+        region.transferred = transferred;
+        return Send.sending(SplicePipeRegion.class, () -> region);
+    }
+
+    @Override
+    public boolean isAccessible() {
+        return !closed;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (transferred == count) {
+            registration.releasePipe(pipe);
+        } else {
+            // The pipe still contains bytes, which must not leak into the next splice, so we can not reuse it.
+            EpollHandler.closePipe(pipe);
+            source.splicedOut(count - transferred);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SplicePipeRegion(count: " + count + ", transferred: " + transferred + ')';
+    }
+}
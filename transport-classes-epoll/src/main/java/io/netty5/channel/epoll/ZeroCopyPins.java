@@ -0,0 +1,168 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.epoll;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.channel.ChannelOutboundBuffer;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Keeps the memory of {@code MSG_ZEROCOPY} sends alive, until the kernel signals that it no longer needs it.
+ * <p>
+ * The kernel numbers the zero-copy sends of a socket, starting from zero, and reports their completion through the
+ * error queue of the socket as ranges of these numbers. For every send, the written bytes are pinned by taking a
+ * {@linkplain Buffer#copy(int, int, boolean) read-only copy} of them, which shares the memory of the written buffer.
+ * The written buffers can then be released by the {@link ChannelOutboundBuffer} as usual, and the memory is only
+ * given back once the pins have been closed.
+ * <p>
+ * Instances are only accessed from the event loop of their channel.
+ */
+final class ZeroCopyPins implements ChannelOutboundBuffer.MessageProcessor<RuntimeException> {
+    private final ArrayDeque<Pin> pins = new ArrayDeque<>();
+    private final long[] completion = new long[3];
+    // The number the kernel will give to the next zero-copy send.
+    private int nextSeq;
+    private boolean copied;
+
+    // State used while processing the flushed messages.
+    private long remaining;
+    private boolean pin;
+    private boolean readOnly;
+
+    /**
+     * Returns {@code true} if the first {@code bytes} readable bytes of the flushed messages are all in
+     * {@linkplain Buffer#readOnly() read-only} buffers, and so can be pinned without copying.
+     */
+    boolean isReadOnly(ChannelOutboundBuffer in, long bytes) {
+        remaining = bytes;
+        pin = false;
+        readOnly = true;
+        in.forEachFlushedMessage(this);
+        return readOnly;
+    }
+
+    /**
+     * Pin the first {@code bytes} readable bytes of the given buffer, which were just sent with {@code MSG_ZEROCOPY}.
+     */
+    void sent(Buffer buf, int bytes) {
+        pins.add(new Pin(nextSeq++, buf.copy(buf.readerOffset(), bytes, true)));
+    }
+
+    /**
+     * Pin the first {@code bytes} readable bytes of the flushed messages, which were just sent with
+     * {@code MSG_ZEROCOPY} in a single gathering write.
+     */
+    void sent(ChannelOutboundBuffer in, long bytes) {
+        remaining = bytes;
+        pin = true;
+        in.forEachFlushedMessage(this);
+        nextSeq++;
+    }
+
+    @Override
+    public boolean processMessage(Object msg) {
+        if (!(msg instanceof Buffer)) {
+            readOnly = false;
+            return false;
+        }
+        Buffer buf = (Buffer) msg;
+        int bytes = (int) Math.min(buf.readableBytes(), remaining);
+        if (pin) {
+            if (bytes > 0) {
+                pins.add(new Pin(nextSeq, buf.copy(buf.readerOffset(), bytes, true)));
+            }
+        } else if (!buf.readOnly()) {
+            readOnly = false;
+            return false;
+        }
+        remaining -= bytes;
+        return remaining > 0;
+    }
+
+    /**
+     * Release the pins of all sends whose completion is queued on the given socket.
+     *
+     * @return {@code true} if at least one completion was read.
+     */
+    boolean processCompletions(LinuxSocket socket) throws IOException {
+        boolean processed = false;
+        while (socket.recvZeroCopyCompletion(completion)) {
+            processed = true;
+            release((int) completion[0], (int) completion[1]);
+            if (completion[2] != 0) {
+                copied = true;
+            }
+        }
+        return processed;
+    }
+
+    private void release(int lo, int hi) {
+        // The sequence numbers are 32 bits and wrap around, so compare them by their distance.
+        Iterator<Pin> itr = pins.iterator();
+        while (itr.hasNext()) {
+            Pin next = itr.next();
+            if (next.seq - hi > 0) {
+                // The pins are ordered by sequence number, so none of the following ones are completed either.
+                break;
+            }
+            if (next.seq - lo >= 0) {
+                itr.remove();
+                next.buffer.close();
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if the kernel reported that it had to copy the bytes of a send after all, in which case
+     * zero-copy sends only add overhead on this socket.
+     */
+    boolean isCopied() {
+        return copied;
+    }
+
+    /**
+     * Returns the number of buffers that are still pinned.
+     */
+    int pending() {
+        return pins.size();
+    }
+
+    /**
+     * Release all pins, without waiting for their completions. This is only done once the socket has been closed, and
+     * no more completions can be read. The channel waits for the completions before it closes the socket, and resets
+     * the connection if they do not arrive in time, so the kernel drops the data it did not send yet instead of
+     * reading it from memory that is handed out again.
+     */
+    void releaseAll() {
+        Pin next;
+        while ((next = pins.poll()) != null) {
+            next.buffer.close();
+        }
+    }
+
+    private static final class Pin {
+        final int seq;
+        final Buffer buffer;
+
+        Pin(int seq, Buffer buffer) {
+            this.seq = seq;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,529 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.uring;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.buffer.api.DefaultBufferAllocators;
+import io.netty5.channel.AbstractChannel;
+import io.netty5.channel.ChannelException;
+import io.netty5.channel.ChannelMetadata;
+import io.netty5.channel.ChannelOption;
+import io.netty5.channel.ChannelShutdownDirection;
+import io.netty5.channel.EventLoop;
+import io.netty5.channel.RecvBufferAllocator;
+import io.netty5.channel.socket.SocketProtocolFamily;
+import io.netty5.channel.unix.FileDescriptor;
+import io.netty5.channel.unix.IntegerUnixChannelOption;
+import io.netty5.channel.unix.RawUnixChannelOption;
+import io.netty5.channel.unix.Socket;
+import io.netty5.channel.unix.UnixChannel;
+import io.netty5.util.Resource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.UnresolvedAddressException;
+
+import static io.netty5.channel.unix.UnixChannelUtil.computeRemoteAddr;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Base class for the channels of the io_uring transport.
+ * <p>
+ * A channel has at most one read (or accept) and one poll operation in flight at any time, and channels that write
+ * add a write operation, see {@link AbstractIoUringDataChannel}. The operations are submitted through the
+ * {@link IoUringRegistration}, and their completions are delivered to {@link #complete(byte, int, int)} on the event
+ * loop.
+ */
+abstract class AbstractIoUringChannel<P extends UnixChannel>
+        extends AbstractChannel<P, SocketAddress, SocketAddress> implements UnixChannel {
+    protected final Socket socket;
+
+    protected volatile boolean active;
+
+    boolean readPending;
+
+    private IoUringRegistration registration;
+
+    // The operations that are in flight.
+    private boolean readArmed;
+    private boolean readMultishot;
+    private boolean pollOutInFlight;
+    private boolean readCompleteScheduled;
+
+    private volatile SocketAddress localAddress;
+    private volatile SocketAddress remoteAddress;
+
+    AbstractIoUringChannel(P parent, EventLoop eventLoop, ChannelMetadata metadata,
+                           RecvBufferAllocator defaultRecvAllocator, Socket fd, boolean active) {
+        super(parent, eventLoop, metadata, defaultRecvAllocator);
+        socket = requireNonNull(fd, "fd");
+        this.active = active;
+        if (active) {
+            // Directly cache the remote and local addresses
+            // See https://github.com/netty/netty/issues/2359
+            localAddress = fd.localAddress();
+            remoteAddress = fd.remoteAddress();
+        }
+    }
+
+    AbstractIoUringChannel(P parent, EventLoop eventLoop, ChannelMetadata metadata,
+                           RecvBufferAllocator defaultRecvAllocator, Socket fd, SocketAddress remote) {
+        super(parent, eventLoop, metadata, defaultRecvAllocator);
+        socket = requireNonNull(fd, "fd");
+        active = true;
+        // Directly cache the remote and local addresses
+        // See https://github.com/netty/netty/issues/2359
+        remoteAddress = remote;
+        localAddress = fd.localAddress();
+    }
+
+    protected final boolean fetchLocalAddress() {
+        return socket.protocolFamily() != SocketProtocolFamily.UNIX;
+    }
+
+    protected static boolean isSoErrorZero(Socket fd) {
+        try {
+            return fd.getSoError() == 0;
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    protected final IoUringRegistration registration() {
+        assert registration != null;
+        return registration;
+    }
+
+    protected final boolean hasRegistration() {
+        return registration != null;
+    }
+
+    final boolean isRegisteredWith(IoUringRegistration registration) {
+        return this.registration == registration;
+    }
+
+    @Override
+    public final FileDescriptor fd() {
+        return socket;
+    }
+
+    @Override
+    public boolean isActive() {
+        return active;
+    }
+
+    @Override
+    public final boolean isOpen() {
+        return socket.isOpen();
+    }
+
+    void register0(IoUringRegistration registration) {
+        // Operations that were in flight on a previous registration do not complete on this one, so start over.
+        readArmed = false;
+        readMultishot = false;
+        readCompleteScheduled = false;
+        pollOutInFlight = false;
+        this.registration = registration;
+    }
+
+    final void deregister0() {
+        IoUringRegistration registration = this.registration;
+        if (registration != null) {
+            if (isOpen()) {
+                // If closed, the operations were cancelled already.
+                cancelOperations();
+            }
+            // A read that is still in flight completes after we are gone, so the registration takes care of what it
+            // uses.
+            registration.remove(readArmed? detachReadResource() : null);
+            this.registration = null;
+        }
+    }
+
+    /**
+     * Cancel all operations that are in flight.
+     */
+    void cancelOperations() {
+        if (registration == null) {
+            return;
+        }
+        if (readArmed) {
+            cancel(readOp());
+        }
+        if (pollOutInFlight) {
+            cancel(Native.IORING_OP_POLL_ADD);
+        }
+    }
+
+    protected final void cancel(byte op) {
+        IoUringRegistration registration = registration();
+        registration.submissionQueue().addCancel(
+                registration.userData(op), registration.submit(Native.IORING_OP_ASYNC_CANCEL));
+    }
+
+    /**
+     * Returns the operation that is used for reads, which is the one that is cancelled when the channel is closed or
+     * auto-read is cleared.
+     */
+    protected abstract byte readOp();
+
+    /**
+     * Add a read operation to the submission queue.
+     *
+     * @param multishot {@code true} if the read should keep producing completions until it is cancelled.
+     */
+    protected abstract void submitRead(IoUringRegistration registration, boolean multishot);
+
+    /**
+     * Returns what the kernel may still use for the read that is in flight, like the buffer it receives into, and
+     * forget about it. It is closed once the read completed, after the channel deregistered.
+     */
+    protected AutoCloseable detachReadResource() {
+        return null;
+    }
+
+    /**
+     * Release the result of a read operation that completed after the channel deregistered, and so is not handled
+     * by the channel anymore.
+     */
+    protected void discardRead(int res) {
+    }
+
+    /**
+     * Handle the completion of a read operation.
+     *
+     * @param more {@code true} if the operation is multishot, and will produce more completions.
+     */
+    protected abstract void readComplete(int res, int flags, boolean more);
+
+    /**
+     * Called once all completions of a batch have been processed, if {@link #scheduleReadComplete()} was called while
+     * processing them.
+     */
+    protected abstract void readCompleteBatch();
+
+    /**
+     * Ask for {@link #readCompleteBatch()} to be called, once all completions of the current batch have been
+     * processed.
+     */
+    protected final void scheduleReadComplete() {
+        if (!readCompleteScheduled) {
+            readCompleteScheduled = true;
+            registration().scheduleReadComplete();
+        }
+    }
+
+    final void batchComplete() {
+        readCompleteScheduled = false;
+        readCompleteBatch();
+    }
+
+    /**
+     * Wait for the socket to become writable, after which {@link #pollOutReady()} is called.
+     */
+    protected final void submitPollOut() {
+        if (!pollOutInFlight) {
+            pollOutInFlight = true;
+            IoUringRegistration registration = registration();
+            registration.submissionQueue().addPollAdd(socket.intValue(), Native.POLLOUT,
+                    registration.submit(Native.IORING_OP_POLL_ADD));
+        }
+    }
+
+    void complete(byte op, int res, int flags) {
+        boolean more = (flags & Native.IORING_CQE_F_MORE) != 0;
+        switch (op) {
+            case Native.IORING_OP_POLL_ADD:
+                pollOutInFlight = false;
+                if (res >= 0 && isOpen()) {
+                    pollOutReady();
+                }
+                break;
+            case Native.IORING_OP_ASYNC_CANCEL:
+                // Nothing to do, the cancelled operation completes on its own.
+                break;
+            default:
+                assert op == readOp();
+                if (!more) {
+                    readArmed = false;
+                }
+                readComplete(res, flags, more);
+                break;
+        }
+    }
+
+    @Override
+    protected final void doRead() {
+        // Channel.read() or ChannelHandlerContext.read() was called
+        readPending = true;
+        armRead();
+    }
+
+    /**
+     * Submit a read, unless one is in flight already, or the input was closed.
+     */
+    protected final void armRead() {
+        if (readArmed || registration == null || !isActive() || isShutdown(ChannelShutdownDirection.Inbound)) {
+            return;
+        }
+        // A multishot read keeps reading for as long as auto-read is enabled, and is cancelled once it is cleared.
+        readMultishot = isAutoRead() && isMultishotReadSupported();
+        readArmed = true;
+        submitRead(registration, readMultishot);
+    }
+
+    protected abstract boolean isMultishotReadSupported();
+
+    @Override
+    protected final void autoReadCleared() {
+        readPending = false;
+        if (readArmed && readMultishot && registration != null) {
+            cancel(readOp());
+        }
+    }
+
+    @Override
+    protected void writeFlushed() {
+        // Only write if we do not wait for the socket to become writable. Otherwise, the completion of that operation
+        // will continue with the flushed messages.
+        if (!pollOutInFlight) {
+            super.writeFlushed();
+        }
+    }
+
+    /**
+     * Called once the socket became writable, after {@link #submitPollOut()}.
+     */
+    private void pollOutReady() {
+        if (isConnectPending()) {
+            // pending connect which is now complete so handle it.
+            finishConnect();
+        } else if (!socket.isOutputShutdown()) {
+            super.writeFlushed();
+        }
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        active = false;
+        cancelOperations();
+        if (registration != null) {
+            // The kernel looks up the fd of an operation when it is submitted, so what is still queued for this
+            // channel must be submitted before the fd is closed, and maybe reused by a socket of another channel.
+            registration.submissionQueue().submit();
+        }
+        socket.close();
+    }
+
+    final void resetCachedAddresses() {
+        cacheAddresses(localAddress, null);
+        remoteAddress = null;
+    }
+
+    @Override
+    protected void doDisconnect() throws Exception {
+        doClose();
+    }
+
+    /**
+     * Shutdown the input side of the channel.
+     */
+    protected final void shutdownInput() {
+        if (!socket.isInputShutdown()) {
+            if (isAllowHalfClosure()) {
+                shutdownTransport(ChannelShutdownDirection.Inbound, newPromise());
+            } else {
+                closeTransport(newPromise());
+            }
+        }
+    }
+
+    /**
+     * Returns an off-heap copy of, and then closes, the given {@link Buffer}.
+     */
+    protected final Buffer newDirectBuffer(Buffer buf) {
+        return newDirectBuffer(buf, buf);
+    }
+
+    /**
+     * Returns an off-heap copy of the given {@link Buffer}, and then closes the {@code holder} under the assumption
+     * that it owned (or was itself) the buffer.
+     */
+    protected final Buffer newDirectBuffer(Resource<?> holder, Buffer buf) {
+        BufferAllocator allocator = ioBufferAllocator();
+        try (holder) {
+            int readableBytes = buf.readableBytes();
+            Buffer directCopy = allocator.allocate(readableBytes);
+            if (readableBytes > 0) {
+                directCopy.writeBytes(buf);
+            }
+            return directCopy;
+        }
+    }
+
+    protected static void checkResolvable(InetSocketAddress addr) {
+        if (addr.isUnresolved()) {
+            throw new UnresolvedAddressException();
+        }
+    }
+
+    @Override
+    protected boolean doFinishConnect(SocketAddress requestedRemoteAddress) throws Exception {
+        if (socket.finishConnect()) {
+            active = true;
+            if (requestedRemoteAddress instanceof InetSocketAddress) {
+                remoteAddress = computeRemoteAddr((InetSocketAddress) requestedRemoteAddress, socket.remoteAddress());
+            } else {
+                remoteAddress = requestedRemoteAddress;
+            }
+            return true;
+        }
+        submitPollOut();
+        return false;
+    }
+
+    @Override
+    protected void doBind(SocketAddress local) throws Exception {
+        if (local instanceof InetSocketAddress) {
+            checkResolvable((InetSocketAddress) local);
+        }
+        socket.bind(local);
+        if (fetchLocalAddress()) {
+            this.localAddress = socket.localAddress();
+        } else {
+            this.localAddress = local;
+        }
+    }
+
+    @Override
+    protected boolean doConnect(SocketAddress remoteAddress, SocketAddress localAddress) throws Exception {
+        if (localAddress instanceof InetSocketAddress) {
+            checkResolvable((InetSocketAddress) localAddress);
+        }
+
+        InetSocketAddress remoteSocketAddr = remoteAddress instanceof InetSocketAddress
+                ? (InetSocketAddress) remoteAddress : null;
+        if (remoteSocketAddr != null) {
+            checkResolvable(remoteSocketAddr);
+        }
+
+        if (localAddress != null) {
+            socket.bind(localAddress);
+        }
+
+        boolean connected = doConnect0(remoteAddress);
+        if (connected) {
+            this.remoteAddress = remoteSocketAddr == null ?
+                    remoteAddress : computeRemoteAddr(remoteSocketAddr, socket.remoteAddress());
+            active = true;
+        }
+        if (fetchLocalAddress()) {
+            // We always need to set the localAddress even if not connected yet as the bind already took place.
+            //
+            // See https://github.com/netty/netty/issues/3463
+            this.localAddress = socket.localAddress();
+        }
+        return connected;
+    }
+
+    private boolean doConnect0(SocketAddress remote) throws Exception {
+        boolean success = false;
+        try {
+            boolean connected = socket.connect(remote);
+            if (!connected) {
+                submitPollOut();
+            }
+            success = true;
+            return connected;
+        } finally {
+            if (!success) {
+                doClose();
+            }
+        }
+    }
+
+    @Override
+    protected final SocketAddress localAddress0() {
+        return localAddress;
+    }
+
+    @Override
+    protected final SocketAddress remoteAddress0() {
+        return remoteAddress;
+    }
+
+    final void closeTransportNow() {
+        closeTransport(newPromise());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected <T> T getExtendedOption(ChannelOption<T> option) {
+        try {
+            if (option instanceof IntegerUnixChannelOption) {
+                IntegerUnixChannelOption opt = (IntegerUnixChannelOption) option;
+                return (T) Integer.valueOf(socket.getIntOpt(opt.level(), opt.optname()));
+            }
+            if (option instanceof RawUnixChannelOption) {
+                RawUnixChannelOption opt = (RawUnixChannelOption) option;
+                ByteBuffer out = ByteBuffer.allocate(opt.length());
+                socket.getRawOpt(opt.level(), opt.optname(), out);
+                return (T) out.flip();
+            }
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+        return super.getExtendedOption(option);
+    }
+
+    @Override
+    protected <T> void setExtendedOption(ChannelOption<T> option, T value) {
+        try {
+            if (option instanceof IntegerUnixChannelOption) {
+                IntegerUnixChannelOption opt = (IntegerUnixChannelOption) option;
+                socket.setIntOpt(opt.level(), opt.optname(), (Integer) value);
+                return;
+            } else if (option instanceof RawUnixChannelOption) {
+                RawUnixChannelOption opt = (RawUnixChannelOption) option;
+                socket.setRawOpt(opt.level(), opt.optname(), (ByteBuffer) value);
+                return;
+            }
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+        super.setExtendedOption(option, value);
+    }
+
+    @Override
+    protected boolean isExtendedOptionSupported(ChannelOption<?> option) {
+        if (option instanceof IntegerUnixChannelOption || option instanceof RawUnixChannelOption) {
+            return true;
+        }
+        return super.isExtendedOptionSupported(option);
+    }
+
+    protected final BufferAllocator ioBufferAllocator() {
+        BufferAllocator alloc = bufferAllocator();
+        // We need to ensure we always allocate a direct Buffer as the kernel can only read into native memory.
+        if (!alloc.getAllocationType().isDirect()) {
+            return DefaultBufferAllocators.offHeapAllocator();
+        }
+        return alloc;
+    }
+}
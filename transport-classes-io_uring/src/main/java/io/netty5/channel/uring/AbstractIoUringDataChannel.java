@@ -0,0 +1,120 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.uring;
+
+import io.netty5.channel.ChannelMetadata;
+import io.netty5.channel.EventLoop;
+import io.netty5.channel.RecvBufferAllocator;
+import io.netty5.channel.unix.Socket;
+import io.netty5.channel.unix.UnixChannel;
+import io.netty5.util.concurrent.Future;
+import io.netty5.util.concurrent.Promise;
+
+import java.net.SocketAddress;
+import java.util.concurrent.Executor;
+
+/**
+ * Base class for the channels of the io_uring transport that write, which adds a single write operation that may be
+ * in flight next to the read.
+ */
+abstract class AbstractIoUringDataChannel<P extends UnixChannel> extends AbstractIoUringChannel<P> {
+    private boolean writeInFlight;
+    private byte writeOp;
+
+    // Completed when the last write completed, if the channel was closed while the write was in flight.
+    private Promise<Executor> delayedClose;
+
+    AbstractIoUringDataChannel(P parent, EventLoop eventLoop, ChannelMetadata metadata,
+                               RecvBufferAllocator defaultRecvAllocator, Socket fd, boolean active) {
+        super(parent, eventLoop, metadata, defaultRecvAllocator, fd, active);
+    }
+
+    AbstractIoUringDataChannel(P parent, EventLoop eventLoop, ChannelMetadata metadata,
+                               RecvBufferAllocator defaultRecvAllocator, Socket fd, SocketAddress remote) {
+        super(parent, eventLoop, metadata, defaultRecvAllocator, fd, remote);
+    }
+
+    /**
+     * Handle the completion of the write operation that was added with {@link #submitWrite(byte)}.
+     */
+    protected abstract void writeComplete(byte op, int res);
+
+    protected final boolean isWriteInFlight() {
+        return writeInFlight;
+    }
+
+    /**
+     * Returns the user data for a write operation that is about to be added to the submission queue.
+     */
+    protected final long submitWrite(byte op) {
+        assert !writeInFlight;
+        writeInFlight = true;
+        writeOp = op;
+        return registration().submit(op);
+    }
+
+    @Override
+    void register0(IoUringRegistration registration) {
+        writeInFlight = false;
+        super.register0(registration);
+    }
+
+    @Override
+    void cancelOperations() {
+        super.cancelOperations();
+        if (writeInFlight && hasRegistration()) {
+            cancel(writeOp);
+        }
+    }
+
+    @Override
+    void complete(byte op, int res, int flags) {
+        if (!writeInFlight || op != writeOp) {
+            super.complete(op, res, flags);
+            return;
+        }
+        writeInFlight = false;
+        if (delayedClose != null) {
+            // The channel was closed while the write was in flight, and the outbound buffer was waiting for the
+            // kernel to be done with it.
+            Promise<Executor> promise = delayedClose;
+            delayedClose = null;
+            promise.setSuccess(executor());
+        } else {
+            writeComplete(op, res);
+        }
+    }
+
+    @Override
+    protected final void writeFlushed() {
+        // Only write if no write is in flight, as its completion will continue with the flushed messages.
+        if (!writeInFlight) {
+            super.writeFlushed();
+        }
+    }
+
+    @Override
+    protected Future<Executor> prepareToClose() {
+        if (writeInFlight && hasRegistration()) {
+            // The kernel may still be reading from the buffers of the outbound buffer, so they must not be released
+            // before the write completed. Cancel it, and close once it is done.
+            cancel(writeOp);
+            delayedClose = executor().newPromise();
+            return delayedClose.asFuture();
+        }
+        return null;
+    }
+}
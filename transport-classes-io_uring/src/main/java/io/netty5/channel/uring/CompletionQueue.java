@@ -0,0 +1,97 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.uring;
+
+import io.netty5.util.internal.PlatformDependent;
+
+import static io.netty5.channel.uring.Native.RING_CQ_CQES;
+import static io.netty5.channel.uring.Native.RING_CQ_ENTRIES;
+import static io.netty5.channel.uring.Native.RING_CQ_HEAD;
+import static io.netty5.channel.uring.Native.RING_CQ_MASK;
+import static io.netty5.channel.uring.Native.RING_CQ_TAIL;
+
+/**
+ * The completion queue of an io_uring instance, which the kernel fills with the results of the submitted operations.
+ */
+final class CompletionQueue {
+    // Offsets in struct io_uring_cqe.
+    private static final int CQE_USER_DATA = 0;
+    private static final int CQE_RES = 8;
+    private static final int CQE_FLAGS = 12;
+    private static final int CQE_SIZE = 16;
+
+    private final long kHeadAddress;
+    private final long kTailAddress;
+    private final long cqesAddress;
+    private final int ringMask;
+    private final int ringEntries;
+
+    // Only the event loop moves the head, so we do not need to read it back from the shared memory.
+    private int head;
+
+    CompletionQueue(long[] ring) {
+        kHeadAddress = ring[RING_CQ_HEAD];
+        kTailAddress = ring[RING_CQ_TAIL];
+        cqesAddress = ring[RING_CQ_CQES];
+        ringMask = PlatformDependent.getInt(ring[RING_CQ_MASK]);
+        ringEntries = (int) ring[RING_CQ_ENTRIES];
+        head = PlatformDependent.getInt(kHeadAddress);
+    }
+
+    int ringEntries() {
+        return ringEntries;
+    }
+
+    /**
+     * Returns {@code true} if there are completions that have not been {@linkplain #process(CompletionCallback)
+     * processed} yet.
+     */
+    boolean hasCompletions() {
+        return head != PlatformDependent.getIntVolatile(kTailAddress);
+    }
+
+    /**
+     * Hand all available completions to the given callback, and return them to the kernel.
+     *
+     * @return the number of processed completions.
+     */
+    int process(CompletionCallback callback) {
+        int tail = PlatformDependent.getIntVolatile(kTailAddress);
+        int processed = 0;
+        while (head != tail) {
+            do {
+                long cqe = cqesAddress + (long) (head & ringMask) * CQE_SIZE;
+                long userData = PlatformDependent.getLong(cqe + CQE_USER_DATA);
+                int res = PlatformDependent.getInt(cqe + CQE_RES);
+                int flags = PlatformDependent.getInt(cqe + CQE_FLAGS);
+                head++;
+                processed++;
+                callback.handle(userData, res, flags);
+            } while (head != tail);
+            // Give the entries back to the kernel, and pick up anything that completed while we were busy.
+            PlatformDependent.putIntOrdered(kHeadAddress, head);
+            tail = PlatformDependent.getIntVolatile(kTailAddress);
+        }
+        return processed;
+    }
+
+    /**
+     * Receives the completions from {@link #process(CompletionCallback)}.
+     */
+    interface CompletionCallback {
+        void handle(long userData, int res, int flags);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.uring;
+
+import io.netty5.channel.unix.FileDescriptor;
+import io.netty5.util.internal.SystemPropertyUtil;
+
+/**
+ * Tells if the {@code netty-transport-native-io_uring} transport is supported.
+ */
+public final class IoUring {
+
+    private static final Throwable UNAVAILABILITY_CAUSE;
+    private static final boolean ACCEPT_MULTISHOT_SUPPORTED;
+    private static final boolean RECV_MULTISHOT_SUPPORTED;
+    private static final boolean BUFFER_RING_SUPPORTED;
+
+    static {
+        Throwable cause = null;
+        boolean acceptMultishot = false;
+        boolean recvMultishot = false;
+        boolean bufferRing = false;
+
+        if (SystemPropertyUtil.getBoolean("io.netty5.transport.noNative", false)) {
+            cause = new UnsupportedOperationException(
+                    "Native transport was explicit disabled with -Dio.netty5.transport.noNative=true");
+        } else {
+            RingBuffer ringBuffer = null;
+            FileDescriptor eventFd = null;
+            try {
+                ringBuffer = Native.createRingBuffer(8);
+                eventFd = Native.newEventFd();
+                int required = Native.IORING_FEAT_NODROP | Native.IORING_FEAT_FAST_POLL | Native.IORING_FEAT_EXT_ARG;
+                if ((ringBuffer.features() & required) != required) {
+                    cause = new UnsupportedOperationException(
+                            "io_uring is too old, it needs to be at least Linux 5.11, but is " +
+                                    Native.KERNEL_VERSION);
+                } else {
+                    // These features are only detectable by version, as older kernels ignore the flags that enable
+                    // them.
+                    acceptMultishot = Native.isKernelAtLeast(5, 19);
+                    bufferRing = Native.isKernelAtLeast(5, 19);
+                    recvMultishot = Native.isKernelAtLeast(6, 0);
+                }
+            } catch (Throwable t) {
+                cause = t;
+            } finally {
+                if (ringBuffer != null) {
+                    ringBuffer.close();
+                }
+                if (eventFd != null) {
+                    try {
+                        eventFd.close();
+                    } catch (Exception ignore) {
+                        // ignore
+                    }
+                }
+            }
+        }
+
+        UNAVAILABILITY_CAUSE = cause;
+        ACCEPT_MULTISHOT_SUPPORTED = acceptMultishot;
+        RECV_MULTISHOT_SUPPORTED = recvMultishot;
+        BUFFER_RING_SUPPORTED = bufferRing;
+    }
+
+    /**
+     * Returns {@code true} if and only if the {@code netty-transport-native-io_uring} transport is available.
+     */
+    public static boolean isAvailable() {
+        return UNAVAILABILITY_CAUSE == null;
+    }
+
+    /**
+     * Ensure that the {@code netty-transport-native-io_uring} transport is available.
+     *
+     * @throws UnsatisfiedLinkError if unavailable
+     */
+    public static void ensureAvailability() {
+        if (UNAVAILABILITY_CAUSE != null) {
+            throw (Error) new UnsatisfiedLinkError(
+                    "failed to load the required native library").initCause(UNAVAILABILITY_CAUSE);
+        }
+    }
+
+    /**
+     * Returns the cause of unavailability of the {@code netty-transport-native-io_uring} transport.
+     *
+     * @return the cause if unavailable. {@code null} if available.
+     */
+    public static Throwable unavailabilityCause() {
+        return UNAVAILABILITY_CAUSE;
+    }
+
+    /**
+     * Returns {@code true} if the io_uring transport is {@linkplain #isAvailable() available}, and server channels
+     * can accept many connections with a single multishot accept operation.
+     */
+    public static boolean isAcceptMultishotSupported() {
+        return isAvailable() && ACCEPT_MULTISHOT_SUPPORTED;
+    }
+
+    /**
+     * Returns {@code true} if the io_uring transport is {@linkplain #isAvailable() available}, and channels can read
+     * with a single multishot receive operation, for as long as auto-read is enabled.
+     */
+    public static boolean isRecvMultishotSupported() {
+        return isBufferRingSupported() && RECV_MULTISHOT_SUPPORTED;
+    }
+
+    /**
+     * Returns {@code true} if the io_uring transport is {@linkplain #isAvailable() available}, and channels can
+     * receive into buffers from a shared ring of provided buffers.
+     */
+    public static boolean isBufferRingSupported() {
+        return isAvailable() && BUFFER_RING_SUPPORTED;
+    }
+
+    private IoUring() {
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.uring;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.util.internal.PlatformDependent;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A ring of provided buffers, which the kernel picks from when a receive completes, instead of the buffer being
+ * chosen when the receive is submitted.
+ * <p>
+ * This lets many channels share a small pool of buffers, rather than each channel holding on to a buffer while it
+ * waits for data, and makes multishot receives possible.
+ * The buffers come from a {@link BufferAllocator}: a buffer is handed to the pipeline when the kernel has filled it,
+ * and a new buffer takes its place in the ring. Small reads are copied out instead, and the buffer stays in the ring.
+ */
+final class IoUringBufferRing {
+    // Offsets in struct io_uring_buf.
+    private static final int BUF_ADDRESS = 0;
+    private static final int BUF_LEN = 8;
+    private static final int BUF_BID = 12;
+    private static final int BUF_SIZE = 16;
+    // The ring tail overlays the reserved field of the first entry.
+    private static final int RING_TAIL = 14;
+
+    private final int ringFd;
+    private final int bufferGroup;
+    private final int entries;
+    private final int mask;
+    private final int bufferSize;
+    private final int copyThreshold;
+    private final long ringAddress;
+    private final BufferAllocator allocator;
+    private final Buffer[] buffers;
+    private short tail;
+
+    IoUringBufferRing(int ringFd, int bufferGroup, int entries, int bufferSize, BufferAllocator allocator)
+            throws IOException {
+        assert Integer.bitCount(entries) == 1 : "entries must be a power of two";
+        this.ringFd = ringFd;
+        this.bufferGroup = bufferGroup;
+        this.entries = entries;
+        this.bufferSize = bufferSize;
+        this.allocator = allocator;
+        mask = entries - 1;
+        copyThreshold = bufferSize >>> 3;
+        buffers = new Buffer[entries];
+        ringAddress = Native.ioUringRegisterBufRing(ringFd, entries, bufferGroup);
+        try {
+            for (int i = 0; i < entries; i++) {
+                provide(allocator.allocate(bufferSize), i);
+            }
+            publish();
+        } catch (Throwable cause) {
+            close();
+            throw cause;
+        }
+    }
+
+    int bufferGroup() {
+        return bufferGroup;
+    }
+
+    int bufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Take the contents of the buffer that the kernel filled for a completed receive.
+     *
+     * @param bid the buffer id from the completion.
+     * @param length the number of bytes that were received.
+     * @return a buffer with the received bytes, that the caller now owns.
+     */
+    Buffer take(int bid, int length) {
+        Buffer buffer = buffers[bid];
+        Buffer result;
+        if (length <= copyThreshold) {
+            // Copying a few bytes is cheaper than handing off the whole buffer and allocating a new one.
+            result = allocator.allocate(length);
+            result.writeBytes(buffer.writerOffset(length));
+            buffer.resetOffsets();
+            provide(buffer, bid);
+        } else {
+            // The ring must let go of the buffer before allocating its replacement, or it would close the buffer
+            // that the caller owns if the allocation fails.
+            buffers[bid] = null;
+            result = buffer.writerOffset(length);
+            provide(allocator.allocate(bufferSize), bid);
+        }
+        publish();
+        return result;
+    }
+
+    private void provide(Buffer buffer, int bid) {
+        buffers[bid] = buffer;
+        long address;
+        try (var iteration = buffer.forEachWritable()) {
+            address = iteration.first().writableNativeAddress();
+        }
+        assert address != 0 : "provided buffers must be direct";
+        long entry = ringAddress + (long) (tail & mask) * BUF_SIZE;
+        PlatformDependent.putLong(entry + BUF_ADDRESS, address);
+        PlatformDependent.putInt(entry + BUF_LEN, bufferSize);
+        PlatformDependent.putShort(entry + BUF_BID, (short) bid);
+        tail++;
+    }
+
+    private void publish() {
+        // The entries must be visible to the kernel before the new tail.
+        VarHandle.releaseFence();
+        PlatformDependent.putShort(ringAddress + RING_TAIL, tail);
+    }
+
+    /**
+     * Unregister the ring and close all buffers in it. This must only be called once no receive that selects from
+     * this ring can be in flight anymore.
+     */
+    void close() {
+        Native.ioUringUnregisterBufRing(ringFd, ringAddress, entries, bufferGroup);
+        for (int i = 0; i < buffers.length; i++) {
+            Buffer buffer = buffers[i];
+            if (buffer != null) {
+                buffers[i] = null;
+                buffer.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.uring;
+
+import io.netty5.channel.ChannelOption;
+import io.netty5.channel.RecvBufferAllocator;
+import io.netty5.channel.unix.UnixChannelOption;
+
+public final class IoUringChannelOption<T> extends UnixChannelOption<T> {
+
+    /**
+     * Receive into buffers from the ring of provided buffers that is shared by the channels of the
+     * {@link IoUringHandler}, with a multishot read that keeps producing completions for as long as auto-read is
+     * enabled, instead of submitting a read into a buffer of the channel for every read.
+     * <p>
+     * This saves memory when there are many mostly idle channels, and saves a submission per read, but the size of
+     * the received buffers is decided by the buffer ring rather than by the {@link RecvBufferAllocator} of the
+     * channel. Only used when the kernel supports buffer rings; disabled by default.
+     */
+    public static final ChannelOption<Boolean> BUFFER_RING = valueOf(IoUringChannelOption.class, "BUFFER_RING");
+
+    @SuppressWarnings({ "unused", "deprecation" })
+    private IoUringChannelOption() {
+    }
+}
@@ -0,0 +1,825 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.uring;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.channel.AddressedEnvelope;
+import io.netty5.channel.ChannelException;
+import io.netty5.channel.ChannelMetadata;
+import io.netty5.channel.ChannelOption;
+import io.netty5.channel.ChannelOutboundBuffer;
+import io.netty5.channel.ChannelPipeline;
+import io.netty5.channel.ChannelShutdownDirection;
+import io.netty5.channel.DefaultBufferAddressedEnvelope;
+import io.netty5.channel.EventLoop;
+import io.netty5.channel.FixedRecvBufferAllocator;
+import io.netty5.channel.RecvBufferAllocator;
+import io.netty5.channel.socket.DatagramChannel;
+import io.netty5.channel.socket.DatagramPacket;
+import io.netty5.channel.socket.SocketProtocolFamily;
+import io.netty5.channel.unix.Errors;
+import io.netty5.channel.unix.Errors.NativeIoException;
+import io.netty5.channel.unix.IntegerUnixChannelOption;
+import io.netty5.channel.unix.IovArray;
+import io.netty5.channel.unix.RawUnixChannelOption;
+import io.netty5.channel.unix.SegmentedDatagramPacket;
+import io.netty5.channel.unix.UnixChannel;
+import io.netty5.channel.unix.UnixChannelOption;
+import io.netty5.channel.unix.UnixChannelUtil;
+import io.netty5.util.Resource;
+import io.netty5.util.concurrent.Future;
+import io.netty5.util.concurrent.Promise;
+import io.netty5.util.internal.SilentDispose;
+import io.netty5.util.internal.StringUtil;
+import io.netty5.util.internal.logging.InternalLogger;
+import io.netty5.util.internal.logging.InternalLoggerFactory;
+
+import java.io.IOException;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.PortUnreachableException;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.SocketException;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static io.netty5.channel.unix.Buffer.allocateDirectWithNativeOrder;
+import static io.netty5.channel.unix.Errors.newIOException;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link DatagramChannel} implementation that uses linux io_uring, which sends and receives every datagram with a
+ * single {@code sendmsg} or {@code recvmsg} operation.
+ * <p>
+ * Only {@link SocketProtocolFamily#INET} and {@link SocketProtocolFamily#INET6} are supported, so there are no domain
+ * datagram sockets, and {@link SegmentedDatagramPacket}s can not be sent.
+ *
+ * <h3>Available options</h3>
+ *
+ * In addition to the options provided by {@link DatagramChannel} and {@link UnixChannel},
+ * {@link IoUringDatagramChannel} allows the following options in the option map:
+ * <table border="1" cellspacing="0" cellpadding="6">
+ * <tr>
+ * <th>{@link ChannelOption}</th>
+ * <th>{@code INET}</th>
+ * <th>{@code INET6}</th>
+ * </tr><tr>
+ * <td>{@link IntegerUnixChannelOption}</td><td>X</td><td>X</td>
+ * </tr><tr>
+ * <td>{@link RawUnixChannelOption}</td><td>X</td><td>X</td>
+ * </tr><tr>
+ * <td>{@link UnixChannelOption#SO_REUSEPORT}</td><td>X</td><td>X</td>
+ * </tr>
+ * </table>
+ */
+public final class IoUringDatagramChannel extends AbstractIoUringDataChannel<UnixChannel> implements DatagramChannel {
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(IoUringDatagramChannel.class);
+    private static final ChannelMetadata METADATA = new ChannelMetadata(true);
+    private static final String EXPECTED_TYPES =
+            " (expected: " + StringUtil.simpleClassName(DatagramPacket.class) + ", " +
+            StringUtil.simpleClassName(AddressedEnvelope.class) + '<' +
+            StringUtil.simpleClassName(Buffer.class) + ", " +
+            StringUtil.simpleClassName(InetSocketAddress.class) + ">, " +
+            StringUtil.simpleClassName(Buffer.class) + ')';
+    private static final Set<ChannelOption<?>> SUPPORTED_OPTIONS = supportedOptions();
+    private static final Predicate<RecvBufferAllocator.Handle> TRUE_SUPPLIER = h -> true;
+    private static final InetAddress INET6_ANY = inet6Any();
+    // The number of buffers of a composite buffer that are sent with a single sendmsg.
+    private static final int IOV_ENTRIES = 128;
+
+    private volatile boolean activeOnOpen;
+    private volatile boolean connected;
+    private volatile boolean inputShutdown;
+    private volatile boolean outputShutdown;
+
+    // The message headers of the receive and the send that may be in flight.
+    private MsgHdr recvMsgHdr;
+    private MsgHdr sendMsgHdr;
+    private IovArray iovArray;
+
+    // The buffer that the receive in flight reads into.
+    private Buffer readBuffer;
+    private boolean readLoop;
+    private IOException readError;
+
+    /**
+     * Create a new instance which selects the {@link ProtocolFamily} to use depending
+     * on the Operation Systems default which will be chosen.
+     */
+    public IoUringDatagramChannel(EventLoop eventLoop) {
+        this(eventLoop, null);
+    }
+
+    /**
+     * Create a new instance using the given {@link ProtocolFamily}. If {@code null} is used it will depend
+     * on the Operation Systems default which will be chosen.
+     */
+    public IoUringDatagramChannel(EventLoop eventLoop, ProtocolFamily family) {
+        this(eventLoop, IoUringSocket.newDatagramSocket(family), false);
+    }
+
+    /**
+     * Create a new instance from the given file descriptor of a datagram socket of the given {@link ProtocolFamily}.
+     */
+    public IoUringDatagramChannel(EventLoop eventLoop, int fd, ProtocolFamily family) {
+        this(eventLoop, new IoUringSocket(fd, SocketProtocolFamily.of(family)), true);
+    }
+
+    private IoUringDatagramChannel(EventLoop eventLoop, IoUringSocket fd, boolean active) {
+        super(null, eventLoop, METADATA, new FixedRecvBufferAllocator(2048), fd, active);
+        if (fd.protocolFamily() == SocketProtocolFamily.UNIX) {
+            throw new UnsupportedOperationException(
+                    "Datagram channels of the io_uring transport do not support " + fd.protocolFamily());
+        }
+    }
+
+    @Override
+    public boolean isActive() {
+        return socket.isOpen() && (activeOnOpen && isRegistered() || active);
+    }
+
+    @Override
+    public boolean isConnected() {
+        return connected;
+    }
+
+    private IoUringSocket ioUringSocket() {
+        return (IoUringSocket) socket;
+    }
+
+    private NetworkInterface networkInterface() throws SocketException {
+        NetworkInterface iface = getNetworkInterface();
+        if (iface == null) {
+            SocketAddress localAddress = localAddress();
+            if (localAddress instanceof InetSocketAddress) {
+                return NetworkInterface.getByInetAddress(((InetSocketAddress) localAddress).getAddress());
+            }
+        }
+        return iface;
+    }
+
+    @Override
+    public Future<Void> joinGroup(InetAddress multicastAddress) {
+        try {
+            return joinGroup(multicastAddress, networkInterface(), null);
+        } catch (IOException e) {
+            return newFailedFuture(e);
+        }
+    }
+
+    @Override
+    public Future<Void> joinGroup(
+            InetAddress multicastAddress, NetworkInterface networkInterface, InetAddress source) {
+        requireNonNull(multicastAddress, "multicastAddress");
+        requireNonNull(networkInterface, "networkInterface");
+        return setGroupOpt(MulticastOp.JOIN, multicastAddress, networkInterface, source);
+    }
+
+    @Override
+    public Future<Void> leaveGroup(InetAddress multicastAddress) {
+        try {
+            return leaveGroup(multicastAddress, networkInterface(), null);
+        } catch (IOException e) {
+            return newFailedFuture(e);
+        }
+    }
+
+    @Override
+    public Future<Void> leaveGroup(
+            InetAddress multicastAddress, NetworkInterface networkInterface, InetAddress source) {
+        requireNonNull(multicastAddress, "multicastAddress");
+        requireNonNull(networkInterface, "networkInterface");
+        return setGroupOpt(MulticastOp.LEAVE, multicastAddress, networkInterface, source);
+    }
+
+    @Override
+    public Future<Void> block(
+            InetAddress multicastAddress, NetworkInterface networkInterface, InetAddress sourceToBlock) {
+        requireNonNull(multicastAddress, "multicastAddress");
+        requireNonNull(sourceToBlock, "sourceToBlock");
+        requireNonNull(networkInterface, "networkInterface");
+        return setGroupOpt(MulticastOp.BLOCK, multicastAddress, networkInterface, sourceToBlock);
+    }
+
+    @Override
+    public Future<Void> block(InetAddress multicastAddress, InetAddress sourceToBlock) {
+        try {
+            return block(multicastAddress, networkInterface(), sourceToBlock);
+        } catch (IOException e) {
+            return newFailedFuture(e);
+        }
+    }
+
+    private enum MulticastOp {
+        JOIN, LEAVE, BLOCK
+    }
+
+    private Future<Void> setGroupOpt(MulticastOp op, InetAddress multicastAddress, NetworkInterface networkInterface,
+                                     InetAddress source) {
+        Promise<Void> promise = newPromise();
+        if (executor().inEventLoop()) {
+            setGroupOpt0(op, multicastAddress, networkInterface, source, promise);
+        } else {
+            executor().execute(() -> setGroupOpt0(op, multicastAddress, networkInterface, source, promise));
+        }
+        return promise.asFuture();
+    }
+
+    private void setGroupOpt0(MulticastOp op, InetAddress multicastAddress, NetworkInterface networkInterface,
+                              InetAddress source, Promise<Void> promise) {
+        assert executor().inEventLoop();
+
+        try {
+            switch (op) {
+                case JOIN:
+                    ioUringSocket().joinGroup(multicastAddress, networkInterface, source);
+                    break;
+                case LEAVE:
+                    ioUringSocket().leaveGroup(multicastAddress, networkInterface, source);
+                    break;
+                case BLOCK:
+                    ioUringSocket().block(multicastAddress, networkInterface, source);
+                    break;
+                default:
+                    throw new AssertionError();
+            }
+        } catch (IOException e) {
+            promise.setFailure(e);
+            return;
+        }
+        promise.setSuccess(null);
+    }
+
+    @Override
+    protected byte readOp() {
+        return Native.IORING_OP_RECVMSG;
+    }
+
+    @Override
+    protected boolean isMultishotReadSupported() {
+        return false;
+    }
+
+    @Override
+    protected void submitRead(IoUringRegistration registration, boolean multishot) {
+        assert !multishot;
+        Buffer buffer = recvBufAllocHandle().allocate(ioBufferAllocator());
+        long address;
+        int length;
+        try (var iteration = buffer.forEachWritable()) {
+            var component = iteration.first();
+            address = component.writableNativeAddress();
+            length = component.writableBytes();
+        }
+        readBuffer = buffer;
+        MsgHdr msgHdr = recvMsgHdr;
+        if (msgHdr == null) {
+            recvMsgHdr = msgHdr = new MsgHdr();
+        }
+        msgHdr.prepareRecv(address, length);
+        // The first receive of a read loop waits for a datagram, and the following ones stop the loop once the
+        // socket has no more of them.
+        registration.submissionQueue().addRecvmsg(socket.intValue(), msgHdr.address(),
+                readLoop? Native.MSG_DONTWAIT : 0, registration.submit(Native.IORING_OP_RECVMSG));
+    }
+
+    @Override
+    protected AutoCloseable detachReadResource() {
+        // The kernel may still write the datagram and the address of its sender, so a new receive needs a new
+        // message header.
+        Buffer buffer = readBuffer;
+        MsgHdr msgHdr = recvMsgHdr;
+        readBuffer = null;
+        recvMsgHdr = null;
+        return () -> {
+            try {
+                Resource.dispose(buffer);
+            } finally {
+                if (msgHdr != null) {
+                    msgHdr.close();
+                }
+            }
+        };
+    }
+
+    @Override
+    protected void readComplete(int res, int flags, boolean more) {
+        Buffer buffer = readBuffer;
+        readBuffer = null;
+        if (res >= 0 && buffer != null) {
+            if (isShutdown(ChannelShutdownDirection.Inbound)) {
+                // Closed or shut down while the datagram was on its way.
+                buffer.close();
+                return;
+            }
+            int attempted = buffer.writableBytes();
+            buffer.skipWritableBytes(res);
+            InetSocketAddress sender = recvMsgHdr.sender();
+            RecvBufferAllocator.Handle handle = recvBufAllocHandle();
+            if (!readLoop) {
+                readLoop = true;
+                handle.reset();
+            }
+            handle.attemptedBytesRead(attempted);
+            // Avoid signalling end-of-data for zero-sized datagrams.
+            handle.lastBytesRead(Math.max(1, res));
+            handle.incMessagesRead(1);
+            readPending = false;
+            pipeline().fireChannelRead(new DatagramPacket(buffer, localAddress(),
+                    sender == null? remoteAddress() : sender));
+            // We use the TRUE_SUPPLIER as it is also ok to read less than what we did try to read (as long
+            // as we read anything).
+            if (!handle.continueReading(isAutoRead(), TRUE_SUPPLIER) || !isOpen()
+                    || isShutdown(ChannelShutdownDirection.Inbound)) {
+                scheduleReadComplete();
+            } else {
+                armRead();
+            }
+            return;
+        }
+
+        Resource.dispose(buffer);
+        if (res < 0 && res != Native.ERRNO_EAGAIN_NEGATIVE && res != Native.ERRNO_ECANCELED_NEGATIVE) {
+            readError = translateForConnected(newIOException("recvmsg", res));
+        }
+        // The read loop is done when there are no more datagrams, or the receive failed.
+        scheduleReadComplete();
+    }
+
+    @Override
+    protected void readCompleteBatch() {
+        ChannelPipeline pipeline = pipeline();
+        if (readLoop) {
+            readLoop = false;
+            recvBufAllocHandle().readComplete();
+            pipeline.fireChannelReadComplete();
+        }
+        IOException error = readError;
+        readError = null;
+        if (error != null) {
+            // An error of one datagram does not stop the channel from receiving the following ones.
+            pipeline.fireChannelExceptionCaught(error);
+        }
+        readIfIsAutoRead();
+        if (readPending) {
+            armRead();
+        }
+    }
+
+    private IOException translateForConnected(NativeIoException e) {
+        // We need to correctly translate connect errors to match NIO behaviour.
+        if (connected && e.expectedErr() == Errors.ERROR_ECONNREFUSED_NEGATIVE) {
+            PortUnreachableException error = new PortUnreachableException(e.getMessage());
+            error.initCause(e);
+            return error;
+        }
+        return e;
+    }
+
+    @Override
+    protected void doWrite(ChannelOutboundBuffer in) throws Exception {
+        if (isWriteInFlight()) {
+            return;
+        }
+        for (;;) {
+            Object msg = in.current();
+            if (msg == null) {
+                return;
+            }
+            final Buffer data;
+            final InetSocketAddress recipient;
+            if (msg instanceof AddressedEnvelope) {
+                @SuppressWarnings("unchecked")
+                AddressedEnvelope<?, SocketAddress> envelope = (AddressedEnvelope<?, SocketAddress>) msg;
+                data = (Buffer) envelope.content();
+                recipient = (InetSocketAddress) envelope.recipient();
+            } else {
+                data = (Buffer) msg;
+                recipient = null;
+            }
+            if (data.readableBytes() == 0) {
+                in.remove();
+                continue;
+            }
+
+            IovArray array = iovArray;
+            if (array == null) {
+                iovArray = array = new IovArray(allocateDirectWithNativeOrder(IOV_ENTRIES * IovArray.IOV_SIZE));
+            } else {
+                array.clear();
+            }
+            if (!array.processMessage(data)) {
+                // The datagram must be sent as a whole, so it can not be split over several operations.
+                in.remove(new IOException("Too many buffer components to send as one datagram: " +
+                        data.countReadableComponents()));
+                continue;
+            }
+            MsgHdr msgHdr = sendMsgHdr;
+            if (msgHdr == null) {
+                sendMsgHdr = msgHdr = new MsgHdr();
+            }
+            msgHdr.prepareSend(array.memoryAddress(0), array.count(), recipient,
+                    socket.protocolFamily() == SocketProtocolFamily.INET6);
+            registration().submissionQueue().addSendmsg(socket.intValue(), msgHdr.address(),
+                    submitWrite(Native.IORING_OP_SENDMSG));
+            return;
+        }
+    }
+
+    @Override
+    protected void writeComplete(byte op, int res) {
+        if (res == Native.ERRNO_ECANCELED_NEGATIVE) {
+            // Cancelled because the channel is closed, which fails what is left in the outbound buffer.
+            return;
+        }
+        ChannelOutboundBuffer in = outboundBuffer();
+        if (in != null) {
+            if (res >= 0) {
+                in.remove();
+            } else {
+                // Continue on write error as a DatagramChannel can write to multiple remote peers
+                //
+                // See https://github.com/netty/netty/issues/2665
+                in.remove(translateForConnected(newIOException("sendmsg", res)));
+            }
+        }
+        writeFlushed();
+    }
+
+    @Override
+    protected Object filterOutboundMessage(Object msg) {
+        if (msg instanceof DatagramPacket && !(msg instanceof SegmentedDatagramPacket)) {
+            DatagramPacket packet = (DatagramPacket) msg;
+            if (packet.recipient() instanceof InetSocketAddress) {
+                Buffer content = packet.content();
+                return UnixChannelUtil.isBufferCopyNeededForWrite(content) ?
+                        new DatagramPacket(newDirectBuffer(packet, content), packet.recipient()) : msg;
+            }
+        } else if (msg instanceof Buffer) {
+            Buffer buf = (Buffer) msg;
+            return UnixChannelUtil.isBufferCopyNeededForWrite(buf)? newDirectBuffer(buf) : buf;
+        } else if (msg instanceof AddressedEnvelope && !(msg instanceof SegmentedDatagramPacket)) {
+            @SuppressWarnings("unchecked")
+            AddressedEnvelope<Object, SocketAddress> e = (AddressedEnvelope<Object, SocketAddress>) msg;
+            if (e.recipient() instanceof InetSocketAddress) {
+                InetSocketAddress recipient = (InetSocketAddress) e.recipient();
+                Object content = e.content();
+                if (content instanceof Buffer) {
+                    Buffer buf = (Buffer) content;
+                    if (UnixChannelUtil.isBufferCopyNeededForWrite(buf)) {
+                        try {
+                            return new DefaultBufferAddressedEnvelope<>(newDirectBuffer(buf), recipient);
+                        } finally {
+                            SilentDispose.dispose(e, logger); // Don't fail here, because we allocated a buffer.
+                        }
+                    }
+                    return e;
+                }
+            }
+        }
+
+        throw new UnsupportedOperationException(
+                "unsupported message type: " + StringUtil.simpleClassName(msg) + EXPECTED_TYPES);
+    }
+
+    @Override
+    protected void doShutdown(ChannelShutdownDirection direction) {
+        switch (direction) {
+            case Inbound:
+                inputShutdown = true;
+                break;
+            case Outbound:
+                outputShutdown = true;
+                break;
+            default:
+                throw new IllegalStateException();
+        }
+    }
+
+    @Override
+    public boolean isShutdown(ChannelShutdownDirection direction) {
+        if (!isActive()) {
+            return true;
+        }
+        switch (direction) {
+            case Inbound:
+                return inputShutdown;
+            case Outbound:
+                return outputShutdown;
+            default:
+                throw new AssertionError();
+        }
+    }
+
+    @Override
+    protected void doBind(SocketAddress localAddress) throws Exception {
+        if (localAddress instanceof InetSocketAddress) {
+            InetSocketAddress socketAddress = (InetSocketAddress) localAddress;
+            if (socketAddress.getAddress().isAnyLocalAddress() &&
+                    socketAddress.getAddress() instanceof Inet4Address) {
+                if (socket.protocolFamily() == SocketProtocolFamily.INET6) {
+                    localAddress = new InetSocketAddress(INET6_ANY, socketAddress.getPort());
+                }
+            }
+        }
+        super.doBind(localAddress);
+        active = true;
+    }
+
+    @Override
+    protected boolean doConnect(SocketAddress remoteAddress, SocketAddress localAddress) throws Exception {
+        if (super.doConnect(remoteAddress, localAddress)) {
+            connected = true;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    protected void doDisconnect() throws Exception {
+        socket.disconnect();
+        connected = active = false;
+        resetCachedAddresses();
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        try {
+            super.doClose();
+        } finally {
+            connected = false;
+            // Unless an operation is still in flight, which is only the case when the channel is closed forcibly, we
+            // can release the memory it uses now. Otherwise, it is left to the GC, once the registration let go of
+            // the channel after the last completion.
+            if (readBuffer == null && recvMsgHdr != null) {
+                recvMsgHdr.close();
+                recvMsgHdr = null;
+            }
+            if (!isWriteInFlight()) {
+                if (sendMsgHdr != null) {
+                    sendMsgHdr.close();
+                    sendMsgHdr = null;
+                }
+                if (iovArray != null) {
+                    iovArray.release();
+                    iovArray = null;
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected <T> T getExtendedOption(ChannelOption<T> option) {
+        if (SUPPORTED_OPTIONS.contains(option)) {
+            if (option == ChannelOption.SO_BROADCAST) {
+                return (T) Boolean.valueOf(isBroadcast());
+            }
+            if (option == ChannelOption.SO_RCVBUF) {
+                return (T) Integer.valueOf(getReceiveBufferSize());
+            }
+            if (option == ChannelOption.SO_SNDBUF) {
+                return (T) Integer.valueOf(getSendBufferSize());
+            }
+            if (option == ChannelOption.SO_REUSEADDR) {
+                return (T) Boolean.valueOf(isReuseAddress());
+            }
+            if (option == ChannelOption.IP_MULTICAST_LOOP_DISABLED) {
+                return (T) Boolean.valueOf(isLoopbackModeDisabled());
+            }
+            if (option == ChannelOption.IP_MULTICAST_IF) {
+                return (T) getNetworkInterface();
+            }
+            if (option == ChannelOption.IP_MULTICAST_TTL) {
+                return (T) Integer.valueOf(getTimeToLive());
+            }
+            if (option == ChannelOption.IP_TOS) {
+                return (T) Integer.valueOf(getTrafficClass());
+            }
+            if (option == ChannelOption.DATAGRAM_CHANNEL_ACTIVE_ON_REGISTRATION) {
+                return (T) Boolean.valueOf(activeOnOpen);
+            }
+            if (option == UnixChannelOption.SO_REUSEPORT) {
+                return (T) Boolean.valueOf(isReusePort());
+            }
+        }
+        return super.getExtendedOption(option);
+    }
+
+    @Override
+    protected <T> void setExtendedOption(ChannelOption<T> option, T value) {
+        if (SUPPORTED_OPTIONS.contains(option)) {
+            if (option == ChannelOption.SO_BROADCAST) {
+                setBroadcast((Boolean) value);
+            } else if (option == ChannelOption.SO_RCVBUF) {
+                setReceiveBufferSize((Integer) value);
+            } else if (option == ChannelOption.SO_SNDBUF) {
+                setSendBufferSize((Integer) value);
+            } else if (option == ChannelOption.SO_REUSEADDR) {
+                setReuseAddress((Boolean) value);
+            } else if (option == ChannelOption.IP_MULTICAST_LOOP_DISABLED) {
+                setLoopbackModeDisabled((Boolean) value);
+            } else if (option == ChannelOption.IP_MULTICAST_IF) {
+                setNetworkInterface((NetworkInterface) value);
+            } else if (option == ChannelOption.IP_MULTICAST_TTL) {
+                setTimeToLive((Integer) value);
+            } else if (option == ChannelOption.IP_TOS) {
+                setTrafficClass((Integer) value);
+            } else if (option == ChannelOption.DATAGRAM_CHANNEL_ACTIVE_ON_REGISTRATION) {
+                setActiveOnOpen((Boolean) value);
+            } else if (option == UnixChannelOption.SO_REUSEPORT) {
+                setReusePort((Boolean) value);
+            }
+        } else {
+            super.setExtendedOption(option, value);
+        }
+    }
+
+    @Override
+    protected boolean isExtendedOptionSupported(ChannelOption<?> option) {
+        return SUPPORTED_OPTIONS.contains(option) || super.isExtendedOptionSupported(option);
+    }
+
+    private static Set<ChannelOption<?>> supportedOptions() {
+        return newSupportedIdentityOptionsSet(
+                ChannelOption.SO_BROADCAST, ChannelOption.SO_RCVBUF, ChannelOption.SO_SNDBUF,
+                ChannelOption.SO_REUSEADDR, ChannelOption.IP_MULTICAST_LOOP_DISABLED,
+                ChannelOption.IP_MULTICAST_IF, ChannelOption.IP_MULTICAST_TTL, ChannelOption.IP_TOS,
+                ChannelOption.DATAGRAM_CHANNEL_ACTIVE_ON_REGISTRATION, UnixChannelOption.SO_REUSEPORT);
+    }
+
+    private static InetAddress inet6Any() {
+        try {
+            return InetAddress.getByName("::");
+        } catch (IOException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private void setActiveOnOpen(boolean activeOnOpen) {
+        if (isRegistered()) {
+            throw new IllegalStateException("Can only changed before channel was registered");
+        }
+        this.activeOnOpen = activeOnOpen;
+    }
+
+    private int getSendBufferSize() {
+        try {
+            return socket.getSendBufferSize();
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private void setSendBufferSize(int sendBufferSize) {
+        try {
+            socket.setSendBufferSize(sendBufferSize);
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private int getReceiveBufferSize() {
+        try {
+            return socket.getReceiveBufferSize();
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private void setReceiveBufferSize(int receiveBufferSize) {
+        try {
+            socket.setReceiveBufferSize(receiveBufferSize);
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private int getTrafficClass() {
+        try {
+            return socket.getTrafficClass();
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private void setTrafficClass(int trafficClass) {
+        try {
+            socket.setTrafficClass(trafficClass);
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private boolean isReuseAddress() {
+        try {
+            return socket.isReuseAddress();
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private void setReuseAddress(boolean reuseAddress) {
+        try {
+            socket.setReuseAddress(reuseAddress);
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private boolean isReusePort() {
+        try {
+            return socket.isReusePort();
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private void setReusePort(boolean reusePort) {
+        try {
+            socket.setReusePort(reusePort);
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private boolean isBroadcast() {
+        try {
+            return socket.isBroadcast();
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private void setBroadcast(boolean broadcast) {
+        try {
+            socket.setBroadcast(broadcast);
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private boolean isLoopbackModeDisabled() {
+        try {
+            return ioUringSocket().isLoopbackModeDisabled();
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private void setLoopbackModeDisabled(boolean loopbackModeDisabled) {
+        try {
+            ioUringSocket().setLoopbackModeDisabled(loopbackModeDisabled);
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private int getTimeToLive() {
+        try {
+            return ioUringSocket().getTimeToLive();
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private void setTimeToLive(int ttl) {
+        try {
+            ioUringSocket().setTimeToLive(ttl);
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private NetworkInterface getNetworkInterface() {
+        try {
+            return ioUringSocket().getNetworkInterface();
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private void setNetworkInterface(NetworkInterface networkInterface) {
+        try {
+            ioUringSocket().setNetworkInterface(networkInterface);
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+}
@@ -0,0 +1,488 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.uring;
+
+import io.netty5.buffer.api.DefaultBufferAllocators;
+import io.netty5.channel.IoExecutionContext;
+import io.netty5.channel.IoHandle;
+import io.netty5.channel.IoHandler;
+import io.netty5.channel.IoHandlerFactory;
+import io.netty5.channel.unix.FileDescriptor;
+import io.netty5.util.Resource;
+import io.netty5.util.collection.IntObjectHashMap;
+import io.netty5.util.collection.IntObjectMap;
+import io.netty5.util.internal.MathUtil;
+import io.netty5.util.internal.PlatformDependent;
+import io.netty5.util.internal.StringUtil;
+import io.netty5.util.internal.SystemPropertyUtil;
+import io.netty5.util.internal.logging.InternalLogger;
+import io.netty5.util.internal.logging.InternalLoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.netty5.util.internal.ObjectUtil.checkPositive;
+import static io.netty5.util.internal.ObjectUtil.checkPositiveOrZero;
+
+/**
+ * {@link IoHandler} which uses io_uring under the covers. Only works on Linux!
+ * <p>
+ * Instead of waiting for sockets to become ready, and then doing the I/O with system calls, the channels submit their
+ * reads and writes as operations to an io_uring instance. All operations that were submitted during an iteration of
+ * the event loop are handed to the kernel with a single {@code io_uring_enter} call, which also waits for
+ * completions, so a busy event loop makes far fewer system calls than with epoll.
+ * <p>
+ * When the kernel supports it, accepts are multishot: a single operation keeps producing completions for as long as
+ * auto-read is enabled. Channels that enable {@link IoUringChannelOption#BUFFER_RING} also receive with multishot
+ * reads, into buffers from a ring of provided buffers that is shared by all such channels of the event loop.
+ */
+public final class IoUringHandler implements IoHandler {
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(IoUringHandler.class);
+
+    private static final int DEFAULT_RING_SIZE = Math.max(16,
+            SystemPropertyUtil.getInt("io.netty5.channel.uring.ringSize", 4096));
+    private static final int DEFAULT_BUFFER_RING_SIZE = Math.max(0,
+            SystemPropertyUtil.getInt("io.netty5.channel.uring.bufferRingSize", 256));
+    private static final int DEFAULT_BUFFER_SIZE = Math.max(64,
+            SystemPropertyUtil.getInt("io.netty5.channel.uring.bufferSize", 8192));
+
+    static {
+        // Ensure JNI is initialized by the time this class is loaded by this time!
+        // We use unix-common methods in this class which are backed by JNI methods.
+        IoUring.ensureAvailability();
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("-Dio.netty5.channel.uring.ringSize: {}", DEFAULT_RING_SIZE);
+            logger.debug("-Dio.netty5.channel.uring.bufferRingSize: {}", DEFAULT_BUFFER_RING_SIZE);
+            logger.debug("-Dio.netty5.channel.uring.bufferSize: {}", DEFAULT_BUFFER_SIZE);
+        }
+    }
+
+    // Registration id 0 is used for the operations of the handler itself.
+    private static final int HANDLER_ID = 0;
+    private static final int BUFFER_GROUP = 0;
+
+    private static final long AWAKE = -1L;
+    private static final long NONE = Long.MAX_VALUE;
+
+    private final RingBuffer ringBuffer;
+    private final SubmissionQueue submissionQueue;
+    private final CompletionQueue completionQueue;
+    private final int bufferRingSize;
+    private final int bufferSize;
+    private final FileDescriptor eventFd;
+    private final long eventFdReadAddress;
+    private final IntObjectMap<Registration> registrations = new IntObjectHashMap<>(4096);
+    private final List<AbstractIoUringChannel<?>> readCompletePending = new ArrayList<>();
+    private final CompletionQueue.CompletionCallback completionCallback = this::complete;
+    private int nextId = HANDLER_ID;
+
+    // nextWakeupNanos is:
+    //    AWAKE            when EL is awake
+    //    NONE             when EL is waiting with no wakeup scheduled
+    //    other value T    when EL is waiting with wakeup scheduled at time T
+    private final AtomicLong nextWakeupNanos = new AtomicLong(AWAKE);
+
+    private boolean pendingWakeup;
+    private boolean eventFdReadArmed;
+    // Created on first use, as most applications never use the buffer ring.
+    private IoUringBufferRing bufferRing;
+    private boolean bufferRingUnavailable;
+
+    private static AbstractIoUringChannel<?> cast(IoHandle handle) {
+        if (handle instanceof AbstractIoUringChannel) {
+            return (AbstractIoUringChannel<?>) handle;
+        }
+        throw new IllegalArgumentException("Channel of type " + StringUtil.simpleClassName(handle) + " not supported");
+    }
+
+    private IoUringHandler(int ringSize, int bufferRingSize, int bufferSize) {
+        boolean success = false;
+        RingBuffer ringBuffer = null;
+        FileDescriptor eventFd = null;
+        long eventFdReadAddress = 0;
+        try {
+            this.ringBuffer = ringBuffer = Native.createRingBuffer(ringSize);
+            this.eventFd = eventFd = Native.newEventFd();
+            this.eventFdReadAddress = eventFdReadAddress = PlatformDependent.allocateMemory(Long.BYTES);
+            success = true;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to create io_uring instance", e);
+        } finally {
+            if (!success) {
+                if (ringBuffer != null) {
+                    ringBuffer.close();
+                }
+                if (eventFd != null) {
+                    try {
+                        eventFd.close();
+                    } catch (Exception e) {
+                        // ignore
+                    }
+                }
+                if (eventFdReadAddress != 0) {
+                    PlatformDependent.freeMemory(eventFdReadAddress);
+                }
+            }
+        }
+        submissionQueue = ringBuffer.submissionQueue();
+        completionQueue = ringBuffer.completionQueue();
+        this.bufferRingSize = bufferRingSize;
+        this.bufferSize = bufferSize;
+    }
+
+    private IoUringBufferRing bufferRing() {
+        if (bufferRing == null && !bufferRingUnavailable) {
+            if (bufferRingSize == 0 || !IoUring.isBufferRingSupported()) {
+                bufferRingUnavailable = true;
+                return null;
+            }
+            try {
+                bufferRing = new IoUringBufferRing(ringBuffer.fd(), BUFFER_GROUP,
+                        MathUtil.findNextPositivePowerOfTwo(bufferRingSize), bufferSize,
+                        DefaultBufferAllocators.offHeapAllocator());
+            } catch (Exception e) {
+                // Buffer rings can be disabled, for instance by seccomp filters, in which case every channel uses
+                // buffers of its own.
+                bufferRingUnavailable = true;
+                logger.debug("Unable to register a buffer ring, channels will use their own receive buffers", e);
+            }
+        }
+        return bufferRing;
+    }
+
+    /**
+     * Returns a new {@link IoHandlerFactory} that creates {@link IoUringHandler} instances.
+     */
+    public static IoHandlerFactory newFactory() {
+        return newFactory(DEFAULT_RING_SIZE);
+    }
+
+    /**
+     * Returns a new {@link IoHandlerFactory} that creates {@link IoUringHandler} instances.
+     *
+     * @param ringSize the number of entries in the submission queue.
+     */
+    public static IoHandlerFactory newFactory(int ringSize) {
+        return newFactory(ringSize, DEFAULT_BUFFER_RING_SIZE, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Returns a new {@link IoHandlerFactory} that creates {@link IoUringHandler} instances.
+     *
+     * @param ringSize the number of entries in the submission queue.
+     * @param bufferRingSize the number of buffers in the ring of provided buffers that is shared by the channels of an
+     *                       event loop that enable {@link IoUringChannelOption#BUFFER_RING}, or {@code 0} to have
+     *                       every channel use buffers of its own.
+     * @param bufferSize the size of each buffer in the ring of provided buffers.
+     */
+    public static IoHandlerFactory newFactory(int ringSize, int bufferRingSize, int bufferSize) {
+        checkPositive(ringSize, "ringSize");
+        checkPositiveOrZero(bufferRingSize, "bufferRingSize");
+        checkPositive(bufferSize, "bufferSize");
+        return () -> new IoUringHandler(ringSize, bufferRingSize, bufferSize);
+    }
+
+    @Override
+    public void register(IoHandle handle) throws Exception {
+        AbstractIoUringChannel<?> channel = cast(handle);
+        int id = nextId();
+        Registration registration = new Registration(id, channel);
+        registrations.put(id, registration);
+        channel.register0(registration);
+    }
+
+    private int nextId() {
+        do {
+            nextId++;
+        } while (nextId == HANDLER_ID || registrations.containsKey(nextId));
+        return nextId;
+    }
+
+    @Override
+    public void deregister(IoHandle handle) throws Exception {
+        cast(handle).deregister0();
+    }
+
+    @Override
+    public void wakeup(boolean inEventLoop) {
+        if (!inEventLoop && nextWakeupNanos.getAndSet(AWAKE) != AWAKE) {
+            // write to the evfd which will then complete the read that io_uring_enter(...) is waiting for.
+            Native.eventFdWrite(eventFd.intValue(), 1L);
+        }
+    }
+
+    private void armEventFdRead() {
+        if (!eventFdReadArmed) {
+            eventFdReadArmed = true;
+            submissionQueue.addRead(eventFd.intValue(), eventFdReadAddress, Long.BYTES,
+                    UserData.encode(HANDLER_ID, Native.IORING_OP_READ, (short) 0));
+        }
+    }
+
+    @Override
+    public int run(IoExecutionContext context) {
+        int handled = 0;
+        try {
+            if (!completionQueue.hasCompletions() && context.canBlock()) {
+                // The eventfd read is only needed when we may block, so it is armed lazily.
+                armEventFdRead();
+                long curDeadlineNanos = context.deadlineNanos();
+                if (curDeadlineNanos == -1L) {
+                    curDeadlineNanos = NONE; // nothing on the calendar
+                }
+                nextWakeupNanos.set(curDeadlineNanos);
+                try {
+                    // A task may have been submitted before we published the deadline, in which case its wakeup()
+                    // did not write to the eventfd, so check again before blocking.
+                    if (context.canBlock()) {
+                        long timeoutNanos = curDeadlineNanos == NONE? -1 :
+                                Math.max(0, context.delayNanos(System.nanoTime()));
+                        context.ioWaitStarted();
+                        try {
+                            submissionQueue.submitAndWait(timeoutNanos);
+                        } finally {
+                            context.ioWaitFinished();
+                        }
+                    } else {
+                        submissionQueue.submit();
+                    }
+                } finally {
+                    // Try get() first to avoid much more expensive CAS in the case we
+                    // were woken via the wakeup() method (submitted task)
+                    if (nextWakeupNanos.get() == AWAKE || nextWakeupNanos.getAndSet(AWAKE) == AWAKE) {
+                        pendingWakeup = true;
+                    }
+                }
+            } else {
+                submissionQueue.submit();
+            }
+            handled = processCompletions();
+        } catch (Error error) {
+            throw error;
+        } catch (Throwable t) {
+            handleLoopException(t);
+        }
+        return handled;
+    }
+
+    private int processCompletions() {
+        int processed = completionQueue.process(completionCallback);
+        if (!readCompletePending.isEmpty()) {
+            for (int i = 0; i < readCompletePending.size(); i++) {
+                readCompletePending.get(i).batchComplete();
+            }
+            readCompletePending.clear();
+        }
+        return processed;
+    }
+
+    private void complete(long userData, int res, int flags) {
+        int id = UserData.decodeId(userData);
+        if (id == HANDLER_ID) {
+            // The eventfd read completed, either because of a wakeup or because the event loop is shutting down.
+            eventFdReadArmed = false;
+            pendingWakeup = false;
+            return;
+        }
+        Registration registration = registrations.get(id);
+        if (registration != null) {
+            registration.complete(UserData.decodeOp(userData), res, flags);
+        } else {
+            recycleBuffer(res, flags);
+        }
+    }
+
+    private void recycleBuffer(int res, int flags) {
+        if ((flags & Native.IORING_CQE_F_BUFFER) != 0 && bufferRing != null) {
+            bufferRing.take(flags >>> Native.IORING_CQE_BUFFER_SHIFT, Math.max(0, res)).close();
+        }
+    }
+
+    /**
+     * Visible only for testing!
+     */
+    void handleLoopException(Throwable t) {
+        logger.warn("Unexpected exception in the io_uring loop.", t);
+
+        // Prevent possible consecutive immediate failures that lead to
+        // excessive CPU consumption.
+        try {
+            Thread.sleep(1000);
+        } catch (InterruptedException e) {
+            // Ignore.
+        }
+    }
+
+    @Override
+    public void prepareToDestroy() {
+        // Using the intermediate collection to prevent ConcurrentModificationException.
+        Registration[] localRegistrations = registrations.values().toArray(new Registration[0]);
+
+        for (Registration registration : localRegistrations) {
+            if (registration.channel.isRegisteredWith(registration)) {
+                registration.channel.closeTransportNow();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            // The kernel must be done with the eventfd read before we free the memory it reads into, and any
+            // in-flight wakeup writes must have been performed prior to closing eventFd. Completing the read
+            // ourselves takes care of both, unless a wakeup comes in after that.
+            if (eventFdReadArmed || pendingWakeup) {
+                armEventFdRead();
+                Native.eventFdWrite(eventFd.intValue(), 1L);
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+                while (eventFdReadArmed || pendingWakeup) {
+                    long timeoutNanos = deadline - System.nanoTime();
+                    if (timeoutNanos <= 0) {
+                        // We timed-out so assume that the write we're expecting isn't coming
+                        break;
+                    }
+                    submissionQueue.submitAndWait(timeoutNanos);
+                    processCompletions();
+                    if (pendingWakeup) {
+                        armEventFdRead();
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to drain the io_uring completion queue.", e);
+        }
+        boolean leakEventFdRead = eventFdReadArmed;
+        try {
+            if (bufferRing != null) {
+                bufferRing.close();
+            }
+            ringBuffer.close();
+            // Tearing down the ring cancelled the operations that were still in flight, so the kernel is done with
+            // the resources they used.
+            for (Registration registration : registrations.values()) {
+                registration.disposeReadResource();
+            }
+            try {
+                eventFd.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close the event fd.", e);
+            }
+        } finally {
+            // If the read is still in flight, the kernel could write to the memory at any time, so it is better to
+            // leak 8 bytes.
+            if (!leakEventFdRead) {
+                PlatformDependent.freeMemory(eventFdReadAddress);
+            }
+        }
+    }
+
+    @Override
+    public boolean isCompatible(Class<? extends IoHandle> handleType) {
+        return AbstractIoUringChannel.class.isAssignableFrom(handleType);
+    }
+
+    /**
+     * Keeps track of the operations that a channel has in flight. The registration stays around until the last of
+     * them completed, even after the channel deregistered, as the completions might still refer to buffers that the
+     * kernel took from the ring.
+     */
+    private final class Registration implements IoUringRegistration {
+        private final int id;
+        private final AbstractIoUringChannel<?> channel;
+        private int inFlight;
+        private boolean removed;
+        private AutoCloseable readResource;
+
+        Registration(int id, AbstractIoUringChannel<?> channel) {
+            this.id = id;
+            this.channel = channel;
+        }
+
+        @Override
+        public SubmissionQueue submissionQueue() {
+            return submissionQueue;
+        }
+
+        @Override
+        public long submit(byte op) {
+            inFlight++;
+            return userData(op);
+        }
+
+        @Override
+        public long userData(byte op) {
+            return UserData.encode(id, op, (short) 0);
+        }
+
+        @Override
+        public IoUringBufferRing bufferRing() {
+            return IoUringHandler.this.bufferRing();
+        }
+
+        @Override
+        public void scheduleReadComplete() {
+            readCompletePending.add(channel);
+        }
+
+        @Override
+        public void remove(AutoCloseable readResource) {
+            if (removed) {
+                Resource.dispose(readResource);
+                return;
+            }
+            removed = true;
+            if (inFlight == 0) {
+                registrations.remove(id);
+                Resource.dispose(readResource);
+            } else {
+                this.readResource = readResource;
+            }
+        }
+
+        void complete(byte op, int res, int flags) {
+            boolean more = (flags & Native.IORING_CQE_F_MORE) != 0;
+            if (!more) {
+                inFlight--;
+            }
+            if (channel.isRegisteredWith(this)) {
+                channel.complete(op, res, flags);
+            } else {
+                // The channel has moved on, to another event loop or to a new registration with this one, so
+                // whatever the operation produced or used is of no use to anyone anymore.
+                recycleBuffer(res, flags);
+                if (op == channel.readOp()) {
+                    channel.discardRead(res);
+                    if (!more) {
+                        disposeReadResource();
+                    }
+                }
+            }
+            if (removed && inFlight == 0) {
+                registrations.remove(id);
+            }
+        }
+
+        void disposeReadResource() {
+            AutoCloseable resource = readResource;
+            readResource = null;
+            Resource.dispose(resource);
+        }
+    }
+}
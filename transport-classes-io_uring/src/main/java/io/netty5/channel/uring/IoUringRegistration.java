@@ -0,0 +1,58 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.uring;
+
+/**
+ * Registration with an {@link IoUringHandler}.
+ */
+interface IoUringRegistration {
+
+    /**
+     * Returns the queue to add operations to. They are submitted to the kernel in a batch, once per iteration of the
+     * event loop.
+     */
+    SubmissionQueue submissionQueue();
+
+    /**
+     * Returns the {@code user_data} for a new operation, and counts it as in flight until its final completion.
+     */
+    long submit(byte op);
+
+    /**
+     * Returns the {@code user_data} that was used for operations of the given type.
+     */
+    long userData(byte op);
+
+    /**
+     * Returns the ring of provided buffers to receive into, which is created on first use, or {@code null} if there
+     * is none.
+     */
+    IoUringBufferRing bufferRing();
+
+    /**
+     * Ask to be notified once all completions of the current batch have been processed.
+     */
+    void scheduleReadComplete();
+
+    /**
+     * Remove the registration. Operations that are still in flight must have been cancelled, and their completions
+     * will be discarded.
+     *
+     * @param readResource what the kernel may still use for the read that is in flight, like the buffer it receives
+     *                     into, which is closed once that read completed, or {@code null}.
+     */
+    void remove(AutoCloseable readResource);
+}
@@ -0,0 +1,394 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.uring;
+
+import io.netty5.channel.ChannelException;
+import io.netty5.channel.ChannelMetadata;
+import io.netty5.channel.ChannelOption;
+import io.netty5.channel.ChannelOutboundBuffer;
+import io.netty5.channel.ChannelPipeline;
+import io.netty5.channel.ChannelShutdownDirection;
+import io.netty5.channel.EventLoop;
+import io.netty5.channel.EventLoopGroup;
+import io.netty5.channel.RecvBufferAllocator;
+import io.netty5.channel.ServerChannelRecvBufferAllocator;
+import io.netty5.channel.socket.DomainSocketAddress;
+import io.netty5.channel.socket.ServerSocketChannel;
+import io.netty5.channel.socket.SocketProtocolFamily;
+import io.netty5.channel.unix.IntegerUnixChannelOption;
+import io.netty5.channel.unix.RawUnixChannelOption;
+import io.netty5.channel.unix.UnixChannel;
+import io.netty5.channel.unix.UnixChannelOption;
+import io.netty5.util.NetUtil;
+import io.netty5.util.internal.logging.InternalLogger;
+import io.netty5.util.internal.logging.InternalLoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static io.netty5.channel.ChannelOption.SO_BACKLOG;
+import static io.netty5.channel.ChannelOption.SO_RCVBUF;
+import static io.netty5.channel.ChannelOption.SO_REUSEADDR;
+import static io.netty5.channel.unix.Errors.newIOException;
+import static io.netty5.util.internal.ObjectUtil.checkPositiveOrZero;
+
+/**
+ * {@link ServerSocketChannel} implementation that uses linux io_uring.
+ * <p>
+ * When the kernel supports it, and auto-read is enabled, connections are accepted with a single multishot accept
+ * operation.
+ *
+ * <h3>Available options</h3>
+ *
+ * In addition to the options provided by {@link ServerSocketChannel} and {@link UnixChannel},
+ * {@link IoUringServerSocketChannel} allows the following options in the option map:
+ * <table border="1" cellspacing="0" cellpadding="6">
+ * <tr>
+ * <th>{@link ChannelOption}</th>
+ * <th>{@code INET}</th>
+ * <th>{@code INET6}</th>
+ * <th>{@code UNIX}</th>
+ * </tr><tr>
+ * <td>{@link IntegerUnixChannelOption}</td><td>X</td><td>X</td><td>X</td>
+ * </tr><tr>
+ * <td>{@link RawUnixChannelOption}</td><td>X</td><td>X</td><td>X</td>
+ * </tr><tr>
+ * <td>{@link UnixChannelOption#SO_REUSEPORT}</td><td>X</td><td>X</td><td>-</td>
+ * </tr>
+ * </table>
+ */
+public final class IoUringServerSocketChannel
+        extends AbstractIoUringChannel<UnixChannel>
+        implements ServerSocketChannel {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(
+            IoUringServerSocketChannel.class);
+    private static final Set<ChannelOption<?>> SUPPORTED_OPTIONS = supportedOptions();
+    private static final Set<ChannelOption<?>> SUPPORTED_OPTIONS_DOMAIN_SOCKET = supportedOptionsDomainSocket();
+
+    private static final ChannelMetadata METADATA = new ChannelMetadata(false, 16);
+
+    private final EventLoopGroup childEventLoopGroup;
+    private final List<Throwable> acceptErrors = new ArrayList<>();
+    private boolean acceptedInBatch;
+
+    private volatile int backlog = NetUtil.SOMAXCONN;
+
+    public IoUringServerSocketChannel(EventLoop eventLoop, EventLoopGroup childEventLoopGroup) {
+        this(eventLoop, childEventLoopGroup, (ProtocolFamily) null);
+    }
+
+    public IoUringServerSocketChannel(EventLoop eventLoop, EventLoopGroup childEventLoopGroup,
+                                      ProtocolFamily protocolFamily) {
+        super(null, eventLoop, METADATA, new ServerChannelRecvBufferAllocator(),
+                IoUringSocket.newSocket(protocolFamily), false);
+        this.childEventLoopGroup = validateEventLoopGroup(
+                childEventLoopGroup, "childEventLoopGroup", IoUringSocketChannel.class);
+    }
+
+    public IoUringServerSocketChannel(EventLoop eventLoop, EventLoopGroup childEventLoopGroup, int fd,
+                                      ProtocolFamily protocolFamily) {
+        this(eventLoop, childEventLoopGroup, new IoUringSocket(fd, SocketProtocolFamily.of(protocolFamily)));
+    }
+
+    private IoUringServerSocketChannel(EventLoop eventLoop, EventLoopGroup childEventLoopGroup,
+                                       IoUringSocket socket) {
+        // Must call this constructor to ensure this object's local address is configured correctly.
+        // The local address can only be obtained from a Socket object.
+        super(null, eventLoop, METADATA, new ServerChannelRecvBufferAllocator(), socket, isSoErrorZero(socket));
+        this.childEventLoopGroup = validateEventLoopGroup(childEventLoopGroup, "childEventLoopGroup",
+                IoUringSocketChannel.class);
+    }
+
+    @Override
+    public EventLoopGroup childEventLoopGroup() {
+        return childEventLoopGroup;
+    }
+
+    @Override
+    protected byte readOp() {
+        return Native.IORING_OP_ACCEPT;
+    }
+
+    @Override
+    protected boolean isMultishotReadSupported() {
+        return IoUring.isAcceptMultishotSupported();
+    }
+
+    @Override
+    protected void submitRead(IoUringRegistration registration, boolean multishot) {
+        registration.submissionQueue().addAccept(socket.intValue(), multishot,
+                registration.submit(Native.IORING_OP_ACCEPT));
+    }
+
+    @Override
+    protected void readComplete(int res, int flags, boolean more) {
+        if (res >= 0) {
+            if (!isActive()) {
+                // Closed while the connection was on its way.
+                closeAccepted(res);
+                return;
+            }
+            RecvBufferAllocator.Handle allocHandle = recvBufAllocHandle();
+            if (!acceptedInBatch) {
+                acceptedInBatch = true;
+                allocHandle.reset();
+            }
+            allocHandle.attemptedBytesRead(1);
+            // lastBytesRead represents the fd, like for the other transports.
+            allocHandle.lastBytesRead(res);
+            allocHandle.incMessagesRead(1);
+            readPending = false;
+            scheduleReadComplete();
+            IoUringSocketChannel child;
+            try {
+                child = newChildChannel(res);
+            } catch (Throwable cause) {
+                closeAccepted(res);
+                acceptErrors.add(cause);
+                return;
+            }
+            pipeline().fireChannelRead(child);
+            return;
+        }
+        if (res != Native.ERRNO_ECANCELED_NEGATIVE) {
+            acceptErrors.add(newIOException("accept", res));
+        }
+        scheduleReadComplete();
+    }
+
+    @Override
+    protected void discardRead(int res) {
+        if (res >= 0) {
+            // Nobody is going to take the connection anymore.
+            closeAccepted(res);
+        }
+    }
+
+    private static void closeAccepted(int fd) {
+        try {
+            new IoUringSocket(fd, SocketProtocolFamily.INET).close();
+        } catch (IOException e) {
+            logger.debug("Failed to close an accepted socket.", e);
+        }
+    }
+
+    @Override
+    protected void readCompleteBatch() {
+        ChannelPipeline pipeline = pipeline();
+        if (acceptedInBatch) {
+            acceptedInBatch = false;
+            recvBufAllocHandle().readComplete();
+            pipeline.fireChannelReadComplete();
+        }
+        for (int i = 0; i < acceptErrors.size(); i++) {
+            pipeline.fireChannelExceptionCaught(acceptErrors.get(i));
+        }
+        acceptErrors.clear();
+        readIfIsAutoRead();
+        if (readPending) {
+            armRead();
+        }
+    }
+
+    private IoUringSocketChannel newChildChannel(int fd) {
+        IoUringSocket childSocket = new IoUringSocket(fd, socket.protocolFamily());
+        final SocketAddress remote;
+        if (socket.protocolFamily() == SocketProtocolFamily.UNIX) {
+            remote = null;
+        } else {
+            remote = childSocket.remoteAddress();
+        }
+        return new IoUringSocketChannel(this, childEventLoopGroup().next(), childSocket, remote);
+    }
+
+    @Override
+    protected void doBind(SocketAddress localAddress) throws Exception {
+        super.doBind(localAddress);
+        socket.listen(getBacklog());
+        active = true;
+    }
+
+    @Override
+    protected void doWrite(ChannelOutboundBuffer in) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected Object filterOutboundMessage(Object msg) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void doShutdown(ChannelShutdownDirection direction) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isShutdown(ChannelShutdownDirection direction) {
+        return !isActive();
+    }
+
+    @Override
+    protected boolean doFinishConnect(SocketAddress requestedRemoteAddress) {
+        // Connect not supported by ServerChannel implementations
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected boolean doConnect(SocketAddress remoteAddress, SocketAddress localAddress) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        try {
+            super.doClose();
+        } finally {
+            if (socket.protocolFamily() == SocketProtocolFamily.UNIX) {
+                DomainSocketAddress local = (DomainSocketAddress) localAddress();
+                if (local != null) {
+                    // Delete the socket file if possible.
+                    File socketFile = new File(local.path());
+                    boolean success = socketFile.delete();
+                    if (!success && logger.isDebugEnabled()) {
+                        logger.debug("Failed to delete a domain socket file: {}", local.path());
+                    }
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected <T> T getExtendedOption(ChannelOption<T> option) {
+        if (isOptionSupported(socket.protocolFamily(), option)) {
+            if (option == SO_RCVBUF) {
+                return (T) Integer.valueOf(getReceiveBufferSize());
+            }
+            if (option == SO_REUSEADDR) {
+                return (T) Boolean.valueOf(isReuseAddress());
+            }
+            if (option == SO_BACKLOG) {
+                return (T) Integer.valueOf(getBacklog());
+            }
+            if (option == UnixChannelOption.SO_REUSEPORT) {
+                return (T) Boolean.valueOf(isReusePort());
+            }
+        }
+
+        return super.getExtendedOption(option);
+    }
+
+    @Override
+    protected <T> void setExtendedOption(ChannelOption<T> option, T value) {
+        if (isOptionSupported(socket.protocolFamily(), option)) {
+            if (option == SO_RCVBUF) {
+                setReceiveBufferSize((Integer) value);
+            } else if (option == SO_REUSEADDR) {
+                setReuseAddress((Boolean) value);
+            } else if (option == SO_BACKLOG) {
+                setBacklog((Integer) value);
+            } else if (option == UnixChannelOption.SO_REUSEPORT) {
+                setReusePort((Boolean) value);
+            }
+        } else {
+            super.setExtendedOption(option, value);
+        }
+    }
+
+    private static boolean isOptionSupported(SocketProtocolFamily family, ChannelOption<?> option) {
+        if (family == SocketProtocolFamily.UNIX) {
+            return SUPPORTED_OPTIONS_DOMAIN_SOCKET.contains(option);
+        }
+        return SUPPORTED_OPTIONS.contains(option);
+    }
+
+    @Override
+    protected boolean isExtendedOptionSupported(ChannelOption<?> option) {
+        return isOptionSupported(socket.protocolFamily(), option) || super.isExtendedOptionSupported(option);
+    }
+
+    private static Set<ChannelOption<?>> supportedOptions() {
+        return newSupportedIdentityOptionsSet(SO_RCVBUF, SO_REUSEADDR, SO_BACKLOG, UnixChannelOption.SO_REUSEPORT);
+    }
+
+    private static Set<ChannelOption<?>> supportedOptionsDomainSocket() {
+        return newSupportedIdentityOptionsSet(SO_RCVBUF, SO_REUSEADDR, SO_BACKLOG);
+    }
+
+    private boolean isReuseAddress() {
+        try {
+            return socket.isReuseAddress();
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private void setReuseAddress(boolean reuseAddress) {
+        try {
+            socket.setReuseAddress(reuseAddress);
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private void setReusePort(boolean reusePort) {
+        try {
+            socket.setReusePort(reusePort);
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private boolean isReusePort() {
+        try {
+            return socket.isReusePort();
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private int getReceiveBufferSize() {
+        try {
+            return socket.getReceiveBufferSize();
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private void setReceiveBufferSize(int receiveBufferSize) {
+        try {
+            socket.setReceiveBufferSize(receiveBufferSize);
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private int getBacklog() {
+        return backlog;
+    }
+
+    private void setBacklog(int backlog) {
+        checkPositiveOrZero(backlog, "backlog");
+        this.backlog = backlog;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.uring;
+
+import io.netty5.channel.socket.SocketProtocolFamily;
+import io.netty5.channel.unix.Socket;
+import io.netty5.util.internal.SocketUtils;
+
+import java.io.IOException;
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.net.ProtocolFamily;
+import java.nio.ByteBuffer;
+import java.util.Enumeration;
+
+import static io.netty5.channel.unix.Buffer.addressSize;
+import static io.netty5.channel.unix.Buffer.allocateDirectWithNativeOrder;
+import static io.netty5.channel.unix.Buffer.free;
+import static io.netty5.channel.unix.Buffer.nativeAddressOf;
+
+/**
+ * A socket which is used by the io_uring transport. The reads and writes are done through the ring, so this only
+ * adds the factory methods that {@link Socket} keeps protected, and the multicast options of datagram sockets, which
+ * are set through {@link #setRawOpt(int, int, ByteBuffer)}.
+ */
+final class IoUringSocket extends Socket {
+    // The socket options of <netinet/in.h>, which are part of the stable kernel interface.
+    private static final int IPPROTO_IP = 0;
+    private static final int IPPROTO_IPV6 = 41;
+    private static final int IP_MULTICAST_IF = 32;
+    private static final int IP_MULTICAST_TTL = 33;
+    private static final int IP_MULTICAST_LOOP = 34;
+    private static final int IPV6_MULTICAST_IF = 17;
+    private static final int IPV6_MULTICAST_HOPS = 18;
+    private static final int IPV6_MULTICAST_LOOP = 19;
+    private static final int MCAST_JOIN_GROUP = 42;
+    private static final int MCAST_BLOCK_SOURCE = 43;
+    private static final int MCAST_LEAVE_GROUP = 45;
+    private static final int MCAST_JOIN_SOURCE_GROUP = 46;
+    private static final int MCAST_LEAVE_SOURCE_GROUP = 47;
+
+    // The struct sockaddr_storage members of struct group_req and struct group_source_req are aligned to the size of
+    // a pointer, and follow the index of the interface.
+    private static final int GROUP_REQ_GROUP = addressSize();
+    private static final int GROUP_REQ_SOURCE = GROUP_REQ_GROUP + SockaddrIn.STORAGE_SIZE;
+    private static final int GROUP_REQ_SIZE = GROUP_REQ_SOURCE;
+    private static final int GROUP_SOURCE_REQ_SIZE = GROUP_REQ_SOURCE + SockaddrIn.STORAGE_SIZE;
+
+    IoUringSocket(int fd, SocketProtocolFamily family) {
+        super(fd, family);
+    }
+
+    static IoUringSocket newSocket(ProtocolFamily family) {
+        if (family == null) {
+            return new IoUringSocket(newSocketStream0(), isIPv6Preferred() ?
+                    SocketProtocolFamily.INET6 : SocketProtocolFamily.INET);
+        }
+        SocketProtocolFamily protocolFamily = SocketProtocolFamily.of(family);
+
+        switch (protocolFamily) {
+            case UNIX:
+                return new IoUringSocket(newSocketDomain0(), SocketProtocolFamily.UNIX);
+            case INET6:
+            case INET:
+                return new IoUringSocket(newSocketStream0(protocolFamily), protocolFamily);
+            default:
+                throw new UnsupportedOperationException();
+        }
+    }
+
+    static IoUringSocket newDatagramSocket(ProtocolFamily family) {
+        if (family == null) {
+            return new IoUringSocket(newSocketDgram0(), isIPv6Preferred() ?
+                    SocketProtocolFamily.INET6 : SocketProtocolFamily.INET);
+        }
+        SocketProtocolFamily protocolFamily = SocketProtocolFamily.of(family);
+
+        switch (protocolFamily) {
+            case INET6:
+            case INET:
+                return new IoUringSocket(newSocketDgram0(protocolFamily), protocolFamily);
+            default:
+                throw new UnsupportedOperationException(
+                        "Datagram channels of the io_uring transport do not support " + protocolFamily);
+        }
+    }
+
+    private boolean isIpv6() {
+        return protocolFamily() == SocketProtocolFamily.INET6;
+    }
+
+    void joinGroup(InetAddress group, NetworkInterface netInterface, InetAddress source) throws IOException {
+        setGroupOpt(source == null? MCAST_JOIN_GROUP : MCAST_JOIN_SOURCE_GROUP, group, netInterface, source);
+    }
+
+    void leaveGroup(InetAddress group, NetworkInterface netInterface, InetAddress source) throws IOException {
+        setGroupOpt(source == null? MCAST_LEAVE_GROUP : MCAST_LEAVE_SOURCE_GROUP, group, netInterface, source);
+    }
+
+    void block(InetAddress group, NetworkInterface netInterface, InetAddress source) throws IOException {
+        setGroupOpt(MCAST_BLOCK_SOURCE, group, netInterface, source);
+    }
+
+    private void setGroupOpt(int optname, InetAddress group, NetworkInterface netInterface, InetAddress source)
+            throws IOException {
+        int index = netInterface.getIndex();
+        if (index == -1) {
+            throw new IOException("Unable to find network index");
+        }
+        // The options of the family of the group also work for an IPv4 group on an IPv6 socket.
+        boolean ipv6 = group instanceof Inet6Address;
+        if (source != null && !ipv6 && !(source instanceof Inet4Address)) {
+            throw new IOException("Source address " + source + " does not match the IPv4 group " + group);
+        }
+        ByteBuffer req = allocateDirectWithNativeOrder(source == null? GROUP_REQ_SIZE : GROUP_SOURCE_REQ_SIZE);
+        try {
+            long address = nativeAddressOf(req);
+            req.putInt(0, index);
+            SockaddrIn.write(address + GROUP_REQ_GROUP, ipv6, group, 0);
+            if (source != null) {
+                SockaddrIn.write(address + GROUP_REQ_SOURCE, ipv6, source, 0);
+            }
+            setRawOpt(ipv6? IPPROTO_IPV6 : IPPROTO_IP, optname, req);
+        } finally {
+            free(req);
+        }
+    }
+
+    void setNetworkInterface(NetworkInterface netInterface) throws IOException {
+        if (isIpv6()) {
+            int index = netInterface.getIndex();
+            if (index == -1) {
+                throw new IOException("Unable to find network index");
+            }
+            setIntOpt(IPPROTO_IPV6, IPV6_MULTICAST_IF, index);
+        } else {
+            Inet4Address address = null;
+            Enumeration<InetAddress> addresses = SocketUtils.addressesFromNetworkInterface(netInterface);
+            while (address == null && addresses.hasMoreElements()) {
+                InetAddress candidate = addresses.nextElement();
+                if (candidate instanceof Inet4Address) {
+                    address = (Inet4Address) candidate;
+                }
+            }
+            if (address == null) {
+                throw new IOException("NetworkInterface does not support " + protocolFamily());
+            }
+            setRawOpt(IPPROTO_IP, IP_MULTICAST_IF, ByteBuffer.wrap(address.getAddress()));
+        }
+    }
+
+    NetworkInterface getNetworkInterface() throws IOException {
+        if (isIpv6()) {
+            int index = getIntOpt(IPPROTO_IPV6, IPV6_MULTICAST_IF);
+            return index == 0? null : NetworkInterface.getByIndex(index);
+        }
+        ByteBuffer out = ByteBuffer.allocate(4);
+        getRawOpt(IPPROTO_IP, IP_MULTICAST_IF, out);
+        byte[] bytes = out.array();
+        if ((bytes[0] | bytes[1] | bytes[2] | bytes[3]) == 0) {
+            return null;
+        }
+        return NetworkInterface.getByInetAddress(InetAddress.getByAddress(bytes));
+    }
+
+    void setTimeToLive(int ttl) throws IOException {
+        if (isIpv6()) {
+            setIntOpt(IPPROTO_IPV6, IPV6_MULTICAST_HOPS, ttl);
+        } else {
+            setIntOpt(IPPROTO_IP, IP_MULTICAST_TTL, ttl);
+        }
+    }
+
+    int getTimeToLive() throws IOException {
+        return isIpv6()? getIntOpt(IPPROTO_IPV6, IPV6_MULTICAST_HOPS) : getIntOpt(IPPROTO_IP, IP_MULTICAST_TTL);
+    }
+
+    void setLoopbackModeDisabled(boolean loopbackModeDisabled) throws IOException {
+        int loop = loopbackModeDisabled? 0 : 1;
+        if (isIpv6()) {
+            setIntOpt(IPPROTO_IPV6, IPV6_MULTICAST_LOOP, loop);
+        } else {
+            setIntOpt(IPPROTO_IP, IP_MULTICAST_LOOP, loop);
+        }
+    }
+
+    boolean isLoopbackModeDisabled() throws IOException {
+        int loop = isIpv6()? getIntOpt(IPPROTO_IPV6, IPV6_MULTICAST_LOOP) : getIntOpt(IPPROTO_IP, IP_MULTICAST_LOOP);
+        return loop == 0;
+    }
+}
@@ -0,0 +1,613 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.uring;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.channel.AdaptiveRecvBufferAllocator;
+import io.netty5.channel.ChannelException;
+import io.netty5.channel.ChannelMetadata;
+import io.netty5.channel.ChannelOption;
+import io.netty5.channel.ChannelOutboundBuffer;
+import io.netty5.channel.ChannelPipeline;
+import io.netty5.channel.ChannelShutdownDirection;
+import io.netty5.channel.DefaultFileRegion;
+import io.netty5.channel.EventLoop;
+import io.netty5.channel.FileRegion;
+import io.netty5.channel.RecvBufferAllocator;
+import io.netty5.channel.socket.SocketChannel;
+import io.netty5.channel.socket.SocketProtocolFamily;
+import io.netty5.channel.unix.IntegerUnixChannelOption;
+import io.netty5.channel.unix.IovArray;
+import io.netty5.channel.unix.RawUnixChannelOption;
+import io.netty5.channel.unix.SocketWritableByteChannel;
+import io.netty5.channel.unix.UnixChannel;
+import io.netty5.channel.unix.UnixChannelUtil;
+import io.netty5.util.Resource;
+import io.netty5.util.internal.StringUtil;
+
+import java.io.IOException;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.nio.channels.NotYetConnectedException;
+import java.nio.channels.WritableByteChannel;
+import java.util.Set;
+
+import static io.netty5.channel.ChannelOption.IP_TOS;
+import static io.netty5.channel.ChannelOption.SO_KEEPALIVE;
+import static io.netty5.channel.ChannelOption.SO_LINGER;
+import static io.netty5.channel.ChannelOption.SO_RCVBUF;
+import static io.netty5.channel.ChannelOption.SO_REUSEADDR;
+import static io.netty5.channel.ChannelOption.SO_SNDBUF;
+import static io.netty5.channel.ChannelOption.TCP_NODELAY;
+import static io.netty5.channel.unix.Buffer.allocateDirectWithNativeOrder;
+import static io.netty5.channel.unix.Errors.newIOException;
+
+/**
+ * {@link SocketChannel} implementation that uses linux io_uring.
+ *
+ * <h3>Available options</h3>
+ *
+ * In addition to the options provided by {@link SocketChannel} and {@link UnixChannel},
+ * {@link IoUringSocketChannel} allows the following options in the option map:
+ * <table border="1" cellspacing="0" cellpadding="6">
+ * <tr>
+ * <th>{@link ChannelOption}</th>
+ * <th>{@code INET}</th>
+ * <th>{@code INET6}</th>
+ * <th>{@code UNIX}</th>
+ * </tr><tr>
+ * <td>{@link IntegerUnixChannelOption}</td><td>X</td><td>X</td><td>X</td>
+ * </tr><tr>
+ * <td>{@link RawUnixChannelOption}</td><td>X</td><td>X</td><td>X</td>
+ * </tr><tr>
+ * <td>{@link IoUringChannelOption#BUFFER_RING}</td><td>X</td><td>X</td><td>X</td>
+ * </tr>
+ * </table>
+ */
+public final class IoUringSocketChannel
+        extends AbstractIoUringDataChannel<IoUringServerSocketChannel>
+        implements SocketChannel {
+
+    private static final Set<ChannelOption<?>> SUPPORTED_OPTIONS = supportedOptions();
+    private static final Set<ChannelOption<?>> SUPPORTED_OPTIONS_DOMAIN_SOCKET = supportedOptionsDomainSocket();
+
+    private static final ChannelMetadata METADATA = new ChannelMetadata(false, 16);
+    private static final String EXPECTED_TYPES =
+            " (expected: " + StringUtil.simpleClassName(Buffer.class) + ", " +
+                    StringUtil.simpleClassName(DefaultFileRegion.class) + ')';
+    // The number of buffers that are written with a single writev.
+    private static final int IOV_ENTRIES = 128;
+
+    private WritableByteChannel byteChannel;
+    private IovArray iovArray;
+
+    // The buffer that a single shot receive reads into, if there is no ring of provided buffers.
+    private Buffer readBuffer;
+    private boolean readLoop;
+    private boolean bufferRingEnabled;
+    private boolean readEof;
+    private IOException readError;
+
+    public IoUringSocketChannel(EventLoop eventLoop) {
+        this(eventLoop, (ProtocolFamily) null);
+    }
+
+    public IoUringSocketChannel(EventLoop eventLoop, ProtocolFamily protocolFamily) {
+        super(null, eventLoop, METADATA, new AdaptiveRecvBufferAllocator(),
+                IoUringSocket.newSocket(protocolFamily), false);
+    }
+
+    public IoUringSocketChannel(EventLoop eventLoop, int fd, ProtocolFamily family) {
+        this(eventLoop, new IoUringSocket(fd, SocketProtocolFamily.of(family)));
+    }
+
+    private IoUringSocketChannel(EventLoop eventLoop, IoUringSocket socket) {
+        super(null, eventLoop, METADATA, new AdaptiveRecvBufferAllocator(), socket, isSoErrorZero(socket));
+    }
+
+    IoUringSocketChannel(IoUringServerSocketChannel parent, EventLoop eventLoop,
+                         IoUringSocket fd, SocketAddress remoteAddress) {
+        super(parent, eventLoop, METADATA, new AdaptiveRecvBufferAllocator(), fd, remoteAddress);
+    }
+
+    @Override
+    protected byte readOp() {
+        return Native.IORING_OP_RECV;
+    }
+
+    @Override
+    protected boolean isMultishotReadSupported() {
+        return bufferRingEnabled && IoUring.isRecvMultishotSupported() && registration().bufferRing() != null;
+    }
+
+    @Override
+    protected void submitRead(IoUringRegistration registration, boolean multishot) {
+        IoUringBufferRing bufferRing = bufferRingEnabled? registration.bufferRing() : null;
+        if (bufferRing != null) {
+            registration.submissionQueue().addRecvSelect(socket.intValue(), bufferRing.bufferGroup(), multishot,
+                    registration.submit(Native.IORING_OP_RECV));
+            return;
+        }
+        assert !multishot;
+        Buffer buffer = recvBufAllocHandle().allocate(ioBufferAllocator());
+        long address;
+        int length;
+        try (var iteration = buffer.forEachWritable()) {
+            var component = iteration.first();
+            address = component.writableNativeAddress();
+            length = component.writableBytes();
+        }
+        readBuffer = buffer;
+        // The first read of a read loop waits for data, and the following ones stop the loop once the socket has no
+        // more data, like a read loop on a non-blocking socket would.
+        registration.submissionQueue().addRecv(socket.intValue(), address, length,
+                readLoop? Native.MSG_DONTWAIT : 0, registration.submit(Native.IORING_OP_RECV));
+    }
+
+    @Override
+    protected Resource<?> detachReadResource() {
+        Buffer buffer = readBuffer;
+        readBuffer = null;
+        return buffer;
+    }
+
+    @Override
+    protected void readComplete(int res, int flags, boolean more) {
+        Buffer buffer;
+        int attempted;
+        boolean provided = (flags & Native.IORING_CQE_F_BUFFER) != 0;
+        if (provided) {
+            IoUringBufferRing bufferRing = registration().bufferRing();
+            attempted = bufferRing.bufferSize();
+            buffer = bufferRing.take(flags >>> Native.IORING_CQE_BUFFER_SHIFT, Math.max(0, res));
+        } else {
+            buffer = readBuffer;
+            readBuffer = null;
+            attempted = buffer == null? 0 : buffer.writableBytes();
+            if (buffer != null && res > 0) {
+                buffer.skipWritableBytes(res);
+            }
+        }
+
+        if (res > 0) {
+            if (isShutdown(ChannelShutdownDirection.Inbound)) {
+                // Closed or shut down while the data was on its way.
+                buffer.close();
+                return;
+            }
+            RecvBufferAllocator.Handle handle = recvBufAllocHandle();
+            if (!readLoop) {
+                readLoop = true;
+                handle.reset();
+            }
+            handle.attemptedBytesRead(attempted);
+            handle.lastBytesRead(res);
+            handle.incMessagesRead(1);
+            readPending = false;
+            pipeline().fireChannelRead(buffer);
+            if (provided || !handle.continueReading(isAutoRead()) || !isOpen()
+                    || isShutdown(ChannelShutdownDirection.Inbound)) {
+                // Reads into provided buffers complete the read loop at the end of every batch of completions.
+                scheduleReadComplete();
+            } else {
+                armRead();
+            }
+            return;
+        }
+
+        Resource.dispose(buffer);
+        if (res == 0) {
+            // There is nothing left to read as we received an EOF.
+            readPending = false;
+            readEof = true;
+        } else if (res != Native.ERRNO_EAGAIN_NEGATIVE && res != Native.ERRNO_ECANCELED_NEGATIVE
+                && res != Native.ERRNO_ENOBUFS_NEGATIVE) {
+            readError = newIOException("recv", res);
+        }
+        // The read loop is done when there was no more data. For a cancelled read, or when the ring ran out of buffers,
+        // the completion of the read loop reads again if needed.
+        scheduleReadComplete();
+    }
+
+    @Override
+    protected void readCompleteBatch() {
+        ChannelPipeline pipeline = pipeline();
+        if (readLoop) {
+            readLoop = false;
+            recvBufAllocHandle().readComplete();
+            pipeline.fireChannelReadComplete();
+        }
+        IOException error = readError;
+        boolean eof = readEof;
+        readError = null;
+        readEof = false;
+        if (error != null) {
+            pipeline.fireChannelExceptionCaught(error);
+            shutdownInput();
+        } else if (eof) {
+            shutdownInput();
+        } else {
+            readIfIsAutoRead();
+            if (readPending) {
+                armRead();
+            }
+        }
+    }
+
+    @Override
+    protected void doWrite(ChannelOutboundBuffer in) throws Exception {
+        if (isWriteInFlight()) {
+            return;
+        }
+        for (;;) {
+            Object msg = in.current();
+            if (msg == null) {
+                return;
+            }
+            if (msg instanceof Buffer) {
+                Buffer buf = (Buffer) msg;
+                if (buf.readableBytes() == 0) {
+                    in.remove();
+                    continue;
+                }
+                if (in.size() > 1 || buf.countReadableComponents() > 1) {
+                    writeGathering(in);
+                } else {
+                    writeSingle(buf);
+                }
+                return;
+            }
+            if (msg instanceof FileRegion) {
+                if (!writeFileRegion(in, (FileRegion) msg)) {
+                    return;
+                }
+                continue;
+            }
+            // Should never reach here.
+            throw new Error();
+        }
+    }
+
+    private void writeSingle(Buffer buf) {
+        long address;
+        int length;
+        try (var iteration = buf.forEachReadable()) {
+            var component = iteration.first();
+            address = component.readableNativeAddress();
+            length = component.readableBytes();
+        }
+        assert address != 0;
+        registration().submissionQueue().addSend(socket.intValue(), address, length,
+                submitWrite(Native.IORING_OP_SEND));
+    }
+
+    private void writeGathering(ChannelOutboundBuffer in) {
+        IovArray array = iovArray;
+        if (array == null) {
+            iovArray = array = new IovArray(allocateDirectWithNativeOrder(IOV_ENTRIES * IovArray.IOV_SIZE));
+        } else {
+            array.clear();
+        }
+        in.forEachFlushedMessage(array);
+        assert array.count() > 0;
+        registration().submissionQueue().addWritev(socket.intValue(), array.memoryAddress(0), array.count(),
+                submitWrite(Native.IORING_OP_WRITEV));
+    }
+
+    /**
+     * Write a {@link FileRegion} directly, as there is no operation to transfer it with.
+     *
+     * @return {@code true} if the region was written completely.
+     */
+    private boolean writeFileRegion(ChannelOutboundBuffer in, FileRegion region) throws Exception {
+        if (region.transferred() >= region.count()) {
+            in.remove();
+            return true;
+        }
+        if (byteChannel == null) {
+            byteChannel = new IoUringSocketWritableByteChannel();
+        }
+        final long flushedAmount = region.transferTo(byteChannel, region.transferred());
+        if (flushedAmount > 0) {
+            in.progress(flushedAmount);
+            if (region.transferred() >= region.count()) {
+                in.remove();
+                return true;
+            }
+        }
+        // The socket buffer is full, continue once it is writable again.
+        submitPollOut();
+        return false;
+    }
+
+    @Override
+    protected void writeComplete(byte op, int res) {
+        if (res >= 0) {
+            ChannelOutboundBuffer in = outboundBuffer();
+            if (in != null) {
+                in.removeBytes(res);
+            }
+            writeFlushed();
+        } else if (res != Native.ERRNO_ECANCELED_NEGATIVE) {
+            handleWriteError(newIOException(op == Native.IORING_OP_SEND? "send" : "writev", res));
+        }
+    }
+
+    @Override
+    protected Object filterOutboundMessage(Object msg) {
+        if (msg instanceof Buffer) {
+            Buffer buf = (Buffer) msg;
+            return UnixChannelUtil.isBufferCopyNeededForWrite(buf)? newDirectBuffer(buf) : buf;
+        }
+
+        if (msg instanceof FileRegion) {
+            return msg;
+        }
+
+        throw new UnsupportedOperationException(
+                "unsupported message type: " + StringUtil.simpleClassName(msg) + EXPECTED_TYPES);
+    }
+
+    @Override
+    protected void doShutdown(ChannelShutdownDirection direction) throws Exception {
+        switch (direction) {
+            case Outbound:
+                socket.shutdown(false, true);
+                break;
+            case Inbound:
+                try {
+                    socket.shutdown(true, false);
+                } catch (NotYetConnectedException ignore) {
+                    // We attempted to shutdown and failed, which means the input has already effectively been
+                    // shutdown.
+                }
+                break;
+            default:
+                throw new AssertionError();
+        }
+    }
+
+    @Override
+    public boolean isShutdown(ChannelShutdownDirection direction) {
+        if (!isActive()) {
+            return true;
+        }
+        switch (direction) {
+            case Outbound:
+                return socket.isOutputShutdown();
+            case Inbound:
+                return socket.isInputShutdown();
+            default:
+                throw new AssertionError();
+        }
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        try {
+            super.doClose();
+        } finally {
+            // Unless a write is still in flight, which is only the case when the channel is closed forcibly, we can
+            // release the memory of the iovecs now. Otherwise, it is left to the GC.
+            if (iovArray != null && !isWriteInFlight()) {
+                iovArray.release();
+                iovArray = null;
+            }
+        }
+    }
+
+    private final class IoUringSocketWritableByteChannel extends SocketWritableByteChannel {
+        IoUringSocketWritableByteChannel() {
+            super(socket);
+        }
+
+        @Override
+        protected BufferAllocator alloc() {
+            return bufferAllocator();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected <T> T getExtendedOption(ChannelOption<T> option) {
+        if (isOptionSupported(socket.protocolFamily(), option)) {
+            if (option == SO_RCVBUF) {
+                return (T) Integer.valueOf(getReceiveBufferSize());
+            }
+            if (option == SO_SNDBUF) {
+                return (T) Integer.valueOf(getSendBufferSize());
+            }
+            if (option == TCP_NODELAY) {
+                return (T) Boolean.valueOf(isTcpNoDelay());
+            }
+            if (option == SO_KEEPALIVE) {
+                return (T) Boolean.valueOf(isKeepAlive());
+            }
+            if (option == SO_REUSEADDR) {
+                return (T) Boolean.valueOf(isReuseAddress());
+            }
+            if (option == SO_LINGER) {
+                return (T) Integer.valueOf(getSoLinger());
+            }
+            if (option == IP_TOS) {
+                return (T) Integer.valueOf(getTrafficClass());
+            }
+            if (option == IoUringChannelOption.BUFFER_RING) {
+                return (T) Boolean.valueOf(bufferRingEnabled);
+            }
+        }
+        return super.getExtendedOption(option);
+    }
+
+    @Override
+    protected <T> void setExtendedOption(ChannelOption<T> option, T value) {
+        if (isOptionSupported(socket.protocolFamily(), option)) {
+            if (option == SO_RCVBUF) {
+                setReceiveBufferSize((Integer) value);
+            } else if (option == SO_SNDBUF) {
+                setSendBufferSize((Integer) value);
+            } else if (option == TCP_NODELAY) {
+                setTcpNoDelay((Boolean) value);
+            } else if (option == SO_KEEPALIVE) {
+                setKeepAlive((Boolean) value);
+            } else if (option == SO_REUSEADDR) {
+                setReuseAddress((Boolean) value);
+            } else if (option == SO_LINGER) {
+                setSoLinger((Integer) value);
+            } else if (option == IP_TOS) {
+                setTrafficClass((Integer) value);
+            } else if (option == IoUringChannelOption.BUFFER_RING) {
+                bufferRingEnabled = (Boolean) value;
+            }
+        } else {
+            super.setExtendedOption(option, value);
+        }
+    }
+
+    private static boolean isOptionSupported(SocketProtocolFamily family, ChannelOption<?> option) {
+        if (family == SocketProtocolFamily.UNIX) {
+            return SUPPORTED_OPTIONS_DOMAIN_SOCKET.contains(option);
+        }
+        return SUPPORTED_OPTIONS.contains(option);
+    }
+
+    @Override
+    protected boolean isExtendedOptionSupported(ChannelOption<?> option) {
+        return isOptionSupported(socket.protocolFamily(), option) || super.isExtendedOptionSupported(option);
+    }
+
+    private static Set<ChannelOption<?>> supportedOptions() {
+        return newSupportedIdentityOptionsSet(SO_RCVBUF, SO_SNDBUF, TCP_NODELAY, SO_KEEPALIVE, SO_REUSEADDR, SO_LINGER,
+                IP_TOS, IoUringChannelOption.BUFFER_RING);
+    }
+
+    private static Set<ChannelOption<?>> supportedOptionsDomainSocket() {
+        return newSupportedIdentityOptionsSet(SO_RCVBUF, SO_SNDBUF, IoUringChannelOption.BUFFER_RING);
+    }
+
+    private int getReceiveBufferSize() {
+        try {
+            return socket.getReceiveBufferSize();
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private int getSendBufferSize() {
+        try {
+            return socket.getSendBufferSize();
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private int getSoLinger() {
+        try {
+            return socket.getSoLinger();
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private int getTrafficClass() {
+        try {
+            return socket.getTrafficClass();
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private boolean isKeepAlive() {
+        try {
+            return socket.isKeepAlive();
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private boolean isReuseAddress() {
+        try {
+            return socket.isReuseAddress();
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private boolean isTcpNoDelay() {
+        try {
+            return socket.isTcpNoDelay();
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private void setKeepAlive(boolean keepAlive) {
+        try {
+            socket.setKeepAlive(keepAlive);
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private void setReceiveBufferSize(int receiveBufferSize) {
+        try {
+            socket.setReceiveBufferSize(receiveBufferSize);
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private void setReuseAddress(boolean reuseAddress) {
+        try {
+            socket.setReuseAddress(reuseAddress);
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private void setSendBufferSize(int sendBufferSize) {
+        try {
+            socket.setSendBufferSize(sendBufferSize);
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private void setSoLinger(int soLinger) {
+        try {
+            socket.setSoLinger(soLinger);
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private void setTcpNoDelay(boolean tcpNoDelay) {
+        try {
+            socket.setTcpNoDelay(tcpNoDelay);
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+
+    private void setTrafficClass(int trafficClass) {
+        try {
+            socket.setTrafficClass(trafficClass);
+        } catch (IOException e) {
+            throw new ChannelException(e);
+        }
+    }
+}
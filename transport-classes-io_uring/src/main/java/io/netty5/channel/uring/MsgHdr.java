@@ -0,0 +1,128 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.uring;
+
+import io.netty5.util.internal.PlatformDependent;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+
+import static io.netty5.channel.unix.Buffer.addressSize;
+import static io.netty5.channel.unix.Buffer.allocateDirectWithNativeOrder;
+import static io.netty5.channel.unix.Buffer.free;
+import static io.netty5.channel.unix.Buffer.nativeAddressOf;
+
+/**
+ * A {@code struct msghdr} in native memory, together with room for the address of the peer and for a single
+ * {@code struct iovec}, which describes one datagram that is sent or received by a {@code sendmsg} or
+ * {@code recvmsg} operation.
+ * <p>
+ * The kernel uses the memory until the operation completed, so it must not be reused or released before that.
+ */
+final class MsgHdr implements AutoCloseable {
+    private static final int ADDRESS_SIZE = addressSize();
+
+    // Offsets in struct msghdr, which is followed by msg_control, msg_controllen and msg_flags. The int fields are
+    // padded to the size of a pointer.
+    private static final int MSG_NAME = 0;
+    private static final int MSG_NAMELEN = ADDRESS_SIZE;
+    private static final int MSG_IOV = 2 * ADDRESS_SIZE;
+    private static final int MSG_IOVLEN = 3 * ADDRESS_SIZE;
+    private static final int MSGHDR_SIZE = 7 * ADDRESS_SIZE;
+    private static final int IOV_SIZE = 2 * ADDRESS_SIZE;
+
+    private final ByteBuffer memory;
+    private final long msgHdrAddress;
+    private final long nameAddress;
+    private final long iovAddress;
+
+    MsgHdr() {
+        memory = allocateDirectWithNativeOrder(MSGHDR_SIZE + SockaddrIn.STORAGE_SIZE + IOV_SIZE);
+        msgHdrAddress = nativeAddressOf(memory);
+        nameAddress = msgHdrAddress + MSGHDR_SIZE;
+        iovAddress = nameAddress + SockaddrIn.STORAGE_SIZE;
+    }
+
+    /**
+     * Returns the address of the {@code struct msghdr}.
+     */
+    long address() {
+        return msgHdrAddress;
+    }
+
+    /**
+     * Prepare to receive a datagram into the given memory, and the address of its sender.
+     */
+    void prepareRecv(long address, int length) {
+        putIov(address, length);
+        fill(nameAddress, SockaddrIn.STORAGE_SIZE, iovAddress, 1);
+    }
+
+    /**
+     * Prepare to send the data described by the given {@code struct iovec}s to the {@code recipient}, or to the peer
+     * that the socket is connected to if it is {@code null}.
+     */
+    void prepareSend(long iovArrayAddress, int iovCount, InetSocketAddress recipient, boolean ipv6) {
+        if (recipient == null) {
+            fill(0, 0, iovArrayAddress, iovCount);
+        } else {
+            int nameLength = SockaddrIn.write(nameAddress, ipv6, recipient.getAddress(), recipient.getPort());
+            fill(nameAddress, nameLength, iovArrayAddress, iovCount);
+        }
+    }
+
+    /**
+     * Returns the address of the sender of the datagram that was received, or {@code null} if it is not known.
+     */
+    InetSocketAddress sender() {
+        return SockaddrIn.read(nameAddress, PlatformDependent.getInt(msgHdrAddress + MSG_NAMELEN));
+    }
+
+    private void putIov(long address, int length) {
+        if (ADDRESS_SIZE == 8) {
+            PlatformDependent.putLong(iovAddress, address);
+            PlatformDependent.putLong(iovAddress + ADDRESS_SIZE, length);
+        } else {
+            PlatformDependent.putInt(iovAddress, (int) address);
+            PlatformDependent.putInt(iovAddress + ADDRESS_SIZE, length);
+        }
+    }
+
+    private void fill(long name, int nameLength, long iov, int iovCount) {
+        PlatformDependent.setMemory(msgHdrAddress, MSGHDR_SIZE, (byte) 0);
+        putAddress(msgHdrAddress + MSG_NAME, name);
+        PlatformDependent.putInt(msgHdrAddress + MSG_NAMELEN, nameLength);
+        putAddress(msgHdrAddress + MSG_IOV, iov);
+        putAddress(msgHdrAddress + MSG_IOVLEN, iovCount);
+        // There is no ancillary data, so msg_control, msg_controllen and msg_flags stay zero.
+    }
+
+    private static void putAddress(long memory, long value) {
+        if (ADDRESS_SIZE == 8) {
+            PlatformDependent.putLong(memory, value);
+        } else {
+            PlatformDependent.putInt(memory, (int) value);
+        }
+    }
+
+    /**
+     * Release the native memory. Once released, further use of it may crash the JVM!
+     */
+    @Override
+    public void close() {
+        free(memory);
+    }
+}
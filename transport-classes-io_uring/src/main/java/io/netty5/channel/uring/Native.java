@@ -0,0 +1,231 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.uring;
+
+import io.netty5.channel.unix.FileDescriptor;
+import io.netty5.channel.unix.Unix;
+import io.netty5.util.internal.NativeLibraryLoader;
+import io.netty5.util.internal.PlatformDependent;
+import io.netty5.util.internal.ThrowableUtil;
+import io.netty5.util.internal.logging.InternalLogger;
+import io.netty5.util.internal.logging.InternalLoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.Selector;
+
+/**
+ * Native helper methods and constants for the io_uring transport.
+ * <p>
+ * <strong>Internal usage only!</strong>
+ */
+final class Native {
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(Native.class);
+
+    static {
+        Selector selector = null;
+        try {
+            // We call Selector.open() as this will under the hood cause IOUtil to be loaded.
+            // This is a workaround for a possible classloader deadlock that could happen otherwise:
+            //
+            // See https://github.com/netty/netty/issues/10187
+            selector = Selector.open();
+        } catch (IOException ignore) {
+            // Just ignore
+        }
+        try {
+            // First, try calling a side-effect free JNI method to see if the library was already
+            // loaded by the application.
+            kernelVersion();
+        } catch (UnsatisfiedLinkError ignore) {
+            // The library was not previously loaded, load it now.
+            loadNativeLibrary();
+        } finally {
+            try {
+                if (selector != null) {
+                    selector.close();
+                }
+            } catch (IOException ignore) {
+                // Just ignore
+            }
+        }
+        Unix.registerInternal(Native::registerUnix);
+    }
+
+    // The io_uring ABI. These values are part of the stable kernel interface, see include/uapi/linux/io_uring.h.
+    static final byte IORING_OP_WRITEV = 2;
+    static final byte IORING_OP_POLL_ADD = 6;
+    static final byte IORING_OP_SENDMSG = 9;
+    static final byte IORING_OP_RECVMSG = 10;
+    static final byte IORING_OP_ACCEPT = 13;
+    static final byte IORING_OP_ASYNC_CANCEL = 14;
+    static final byte IORING_OP_READ = 22;
+    static final byte IORING_OP_SEND = 26;
+    static final byte IORING_OP_RECV = 27;
+
+    static final int IOSQE_BUFFER_SELECT = 1 << 5;
+
+    static final int IORING_SETUP_SUBMIT_ALL = 1 << 7;
+    static final int IORING_SETUP_COOP_TASKRUN = 1 << 8;
+    static final int IORING_SETUP_TASKRUN_FLAG = 1 << 9;
+
+    static final int IORING_ENTER_GETEVENTS = 1;
+    static final int IORING_SQ_TASKRUN = 1 << 2;
+
+    static final int IORING_FEAT_NODROP = 1 << 1;
+    static final int IORING_FEAT_FAST_POLL = 1 << 5;
+    static final int IORING_FEAT_EXT_ARG = 1 << 8;
+
+    static final int IORING_ACCEPT_MULTISHOT = 1;
+    static final int IORING_RECV_MULTISHOT = 1 << 1;
+
+    static final int IORING_CQE_F_BUFFER = 1;
+    static final int IORING_CQE_F_MORE = 1 << 1;
+    static final int IORING_CQE_BUFFER_SHIFT = 16;
+
+    static final int POLLOUT = 0x4;
+
+    static final int SOCK_NONBLOCK = 0x800;
+    static final int SOCK_CLOEXEC = 0x80000;
+    static final int MSG_DONTWAIT = 0x40;
+    static final int MSG_NOSIGNAL = 0x4000;
+
+    static final int ERRNO_EINTR_NEGATIVE = -4;
+    static final int ERRNO_EAGAIN_NEGATIVE = -11;
+    static final int ERRNO_EBUSY_NEGATIVE = -16;
+    static final int ERRNO_ETIME_NEGATIVE = -62;
+    static final int ERRNO_ENOBUFS_NEGATIVE = -105;
+    static final int ERRNO_ECANCELED_NEGATIVE = -125;
+
+    // IMPORTANT: These need to be consistent with the RING_* indices in netty5_io_uring_native.c
+    static final int RING_FD = 0;
+    static final int RING_FEATURES = 1;
+    static final int RING_SQ_ENTRIES = 2;
+    static final int RING_CQ_ENTRIES = 3;
+    static final int RING_SQ_RING_ADDRESS = 4;
+    static final int RING_SQ_RING_SIZE = 5;
+    static final int RING_CQ_RING_ADDRESS = 6;
+    static final int RING_CQ_RING_SIZE = 7;
+    static final int RING_SQES_ADDRESS = 8;
+    static final int RING_SQES_SIZE = 9;
+    static final int RING_SQ_HEAD = 10;
+    static final int RING_SQ_TAIL = 11;
+    static final int RING_SQ_MASK = 12;
+    static final int RING_SQ_FLAGS = 13;
+    static final int RING_SQ_DROPPED = 14;
+    static final int RING_CQ_HEAD = 15;
+    static final int RING_CQ_TAIL = 16;
+    static final int RING_CQ_MASK = 17;
+    static final int RING_CQ_OVERFLOW = 18;
+    static final int RING_CQ_CQES = 19;
+
+    static final String KERNEL_VERSION = kernelVersion();
+
+    /**
+     * Create a new io_uring instance with the given number of submission queue entries, and a completion queue that
+     * is twice as large.
+     */
+    static RingBuffer createRingBuffer(int entries) throws IOException {
+        long[] ring;
+        try {
+            // Only run deferred work when we enter the kernel, instead of interrupting the event loop thread for it.
+            ring = ioUringSetup(entries, IORING_SETUP_SUBMIT_ALL | IORING_SETUP_COOP_TASKRUN |
+                    IORING_SETUP_TASKRUN_FLAG);
+        } catch (IOException e) {
+            // These flags are only supported by newer kernels.
+            logger.debug("Failed to set up io_uring with cooperative task running, falling back to defaults", e);
+            ring = ioUringSetup(entries, 0);
+        }
+        return new RingBuffer(ring);
+    }
+
+    /**
+     * Returns {@code true} if the running kernel is at least the given version.
+     */
+    static boolean isKernelAtLeast(int major, int minor) {
+        int[] version = parseKernelVersion(KERNEL_VERSION);
+        return version[0] > major || version[0] == major && version[1] >= minor;
+    }
+
+    // Visible for testing.
+    static int[] parseKernelVersion(String kernelVersion) {
+        int[] version = new int[2];
+        int part = 0;
+        for (int i = 0; i < kernelVersion.length() && part < version.length; i++) {
+            char c = kernelVersion.charAt(i);
+            if (c >= '0' && c <= '9') {
+                version[part] = version[part] * 10 + c - '0';
+            } else if (c == '.') {
+                part++;
+            } else {
+                break;
+            }
+        }
+        return version;
+    }
+
+    static FileDescriptor newEventFd() {
+        return new FileDescriptor(eventFd());
+    }
+
+    private static native int registerUnix();
+
+    static native long[] ioUringSetup(int entries, int flags) throws IOException;
+
+    /**
+     * Submit entries, and optionally wait for completions, with a timeout if {@code timeoutNanos} is not negative.
+     *
+     * @return the number of submitted entries, or a negative {@code errno} value.
+     */
+    static native int ioUringEnter(int ringFd, int toSubmit, int minComplete, int flags, long timeoutNanos);
+
+    static native void ioUringExit(int ringFd, long sqRingAddress, int sqRingSize, long cqRingAddress,
+                                   int cqRingSize, long sqesAddress, int sqesSize);
+
+    static native long ioUringRegisterBufRing(int ringFd, int entries, int bufferGroup) throws IOException;
+
+    static native int ioUringUnregisterBufRing(int ringFd, long ringAddress, int entries, int bufferGroup);
+
+    private static native int eventFd();
+
+    static native void eventFdWrite(int fd, long value);
+
+    private static native String kernelVersion();
+
+    private static void loadNativeLibrary() {
+        String name = PlatformDependent.normalizedOs();
+        if (!"linux".equals(name)) {
+            throw new IllegalStateException("Only supported on Linux");
+        }
+        String staticLibName = "netty5_transport_native_io_uring";
+        String sharedLibName = staticLibName + '_' + PlatformDependent.normalizedArch();
+        ClassLoader cl = PlatformDependent.getClassLoader(Native.class);
+        try {
+            NativeLibraryLoader.load(sharedLibName, cl);
+        } catch (UnsatisfiedLinkError e1) {
+            try {
+                NativeLibraryLoader.load(staticLibName, cl);
+                logger.debug("Failed to load {}", sharedLibName, e1);
+            } catch (UnsatisfiedLinkError e2) {
+                ThrowableUtil.addSuppressed(e1, e2);
+                throw e1;
+            }
+        }
+    }
+
+    private Native() {
+        // utility
+    }
+}
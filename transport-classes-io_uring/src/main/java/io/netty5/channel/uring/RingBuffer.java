@@ -0,0 +1,70 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.uring;
+
+import static io.netty5.channel.uring.Native.RING_CQ_RING_ADDRESS;
+import static io.netty5.channel.uring.Native.RING_CQ_RING_SIZE;
+import static io.netty5.channel.uring.Native.RING_FD;
+import static io.netty5.channel.uring.Native.RING_FEATURES;
+import static io.netty5.channel.uring.Native.RING_SQES_ADDRESS;
+import static io.netty5.channel.uring.Native.RING_SQES_SIZE;
+import static io.netty5.channel.uring.Native.RING_SQ_RING_ADDRESS;
+import static io.netty5.channel.uring.Native.RING_SQ_RING_SIZE;
+
+/**
+ * An io_uring instance, with its memory mapped submission and completion queues.
+ */
+final class RingBuffer {
+    private final long[] ring;
+    private final SubmissionQueue submissionQueue;
+    private final CompletionQueue completionQueue;
+    private boolean closed;
+
+    RingBuffer(long[] ring) {
+        this.ring = ring;
+        submissionQueue = new SubmissionQueue(ring);
+        completionQueue = new CompletionQueue(ring);
+    }
+
+    int fd() {
+        return (int) ring[RING_FD];
+    }
+
+    int features() {
+        return (int) ring[RING_FEATURES];
+    }
+
+    SubmissionQueue submissionQueue() {
+        return submissionQueue;
+    }
+
+    CompletionQueue completionQueue() {
+        return completionQueue;
+    }
+
+    /**
+     * Tear down the ring. The kernel cancels all operations that are still in flight.
+     */
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        Native.ioUringExit(fd(), ring[RING_SQ_RING_ADDRESS], (int) ring[RING_SQ_RING_SIZE],
+                ring[RING_CQ_RING_ADDRESS], (int) ring[RING_CQ_RING_SIZE],
+                ring[RING_SQES_ADDRESS], (int) ring[RING_SQES_SIZE]);
+    }
+}
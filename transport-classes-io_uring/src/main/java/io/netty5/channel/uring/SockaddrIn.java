@@ -0,0 +1,122 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.uring;
+
+import io.netty5.util.internal.PlatformDependent;
+
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Reads and writes {@code struct sockaddr_in} and {@code struct sockaddr_in6} in native memory, for the operations
+ * that take their addresses from memory instead of through a system call of ours.
+ */
+final class SockaddrIn {
+    // The size of struct sockaddr_storage, which fits any address.
+    static final int STORAGE_SIZE = 128;
+
+    private static final short AF_INET = 2;
+    private static final short AF_INET6 = 10;
+
+    // Offsets in struct sockaddr_in and struct sockaddr_in6, in which the port is in network byte order.
+    private static final int SIN_FAMILY = 0;
+    private static final int SIN_PORT = 2;
+    private static final int SIN_ADDR = 4;
+    private static final int SIN_SIZE = 16;
+    private static final int SIN6_ADDR = 8;
+    private static final int SIN6_SCOPE_ID = 24;
+    private static final int SIN6_SIZE = 28;
+
+    private static final byte[] IPV4_MAPPED_IPV6_PREFIX = {
+            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, (byte) 0xff, (byte) 0xff };
+
+    private SockaddrIn() {
+    }
+
+    /**
+     * Write the given address to the memory at {@code memory}, which must have room for {@link #STORAGE_SIZE}
+     * bytes. An IPv4 address is written as an IPv4-mapped IPv6 address if {@code ipv6} is {@code true}.
+     *
+     * @return the length of the written address.
+     */
+    static int write(long memory, boolean ipv6, InetAddress address, int port) {
+        PlatformDependent.setMemory(memory, STORAGE_SIZE, (byte) 0);
+        byte[] bytes = address.getAddress();
+        PlatformDependent.putByte(memory + SIN_PORT, (byte) (port >>> 8));
+        PlatformDependent.putByte(memory + SIN_PORT + 1, (byte) port);
+        if (!ipv6) {
+            if (!(address instanceof Inet4Address)) {
+                throw new IllegalArgumentException("Not an IPv4 address: " + address);
+            }
+            PlatformDependent.putShort(memory + SIN_FAMILY, AF_INET);
+            PlatformDependent.copyMemory(bytes, 0, memory + SIN_ADDR, bytes.length);
+            return SIN_SIZE;
+        }
+        PlatformDependent.putShort(memory + SIN_FAMILY, AF_INET6);
+        if (address instanceof Inet6Address) {
+            PlatformDependent.copyMemory(bytes, 0, memory + SIN6_ADDR, bytes.length);
+            PlatformDependent.putInt(memory + SIN6_SCOPE_ID, ((Inet6Address) address).getScopeId());
+        } else {
+            PlatformDependent.copyMemory(IPV4_MAPPED_IPV6_PREFIX, 0, memory + SIN6_ADDR,
+                    IPV4_MAPPED_IPV6_PREFIX.length);
+            PlatformDependent.copyMemory(bytes, 0, memory + SIN6_ADDR + IPV4_MAPPED_IPV6_PREFIX.length,
+                    bytes.length);
+        }
+        return SIN6_SIZE;
+    }
+
+    /**
+     * Read the address of the given length at {@code memory}.
+     *
+     * @return the address, or {@code null} if there is none or it is not an internet address.
+     */
+    static InetSocketAddress read(long memory, int length) {
+        if (length < SIN_SIZE) {
+            return null;
+        }
+        int port = (PlatformDependent.getByte(memory + SIN_PORT) & 0xff) << 8 |
+                PlatformDependent.getByte(memory + SIN_PORT + 1) & 0xff;
+        try {
+            switch (PlatformDependent.getShort(memory + SIN_FAMILY)) {
+                case AF_INET: {
+                    byte[] bytes = new byte[4];
+                    PlatformDependent.copyMemory(memory + SIN_ADDR, bytes, 0, bytes.length);
+                    return new InetSocketAddress(InetAddress.getByAddress(bytes), port);
+                }
+                case AF_INET6: {
+                    if (length < SIN6_SIZE) {
+                        return null;
+                    }
+                    byte[] bytes = new byte[16];
+                    PlatformDependent.copyMemory(memory + SIN6_ADDR, bytes, 0, bytes.length);
+                    int scopeId = PlatformDependent.getInt(memory + SIN6_SCOPE_ID);
+                    // Without a scope, an IPv4-mapped address is returned as the IPv4 address it maps.
+                    InetAddress address = scopeId == 0? InetAddress.getByAddress(bytes) :
+                            Inet6Address.getByAddress(null, bytes, scopeId);
+                    return new InetSocketAddress(address, port);
+                }
+                default:
+                    return null;
+            }
+        } catch (UnknownHostException e) {
+            // Only thrown for addresses of an illegal length.
+            throw new AssertionError(e);
+        }
+    }
+}
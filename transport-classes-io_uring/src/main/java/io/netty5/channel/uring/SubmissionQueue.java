@@ -0,0 +1,220 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.uring;
+
+import io.netty5.util.internal.PlatformDependent;
+
+import java.io.IOException;
+
+import static io.netty5.channel.unix.Errors.newIOException;
+import static io.netty5.channel.uring.Native.ERRNO_EAGAIN_NEGATIVE;
+import static io.netty5.channel.uring.Native.ERRNO_EBUSY_NEGATIVE;
+import static io.netty5.channel.uring.Native.ERRNO_EINTR_NEGATIVE;
+import static io.netty5.channel.uring.Native.ERRNO_ETIME_NEGATIVE;
+import static io.netty5.channel.uring.Native.IORING_ENTER_GETEVENTS;
+import static io.netty5.channel.uring.Native.IORING_SQ_TASKRUN;
+import static io.netty5.channel.uring.Native.RING_FD;
+import static io.netty5.channel.uring.Native.RING_SQES_ADDRESS;
+import static io.netty5.channel.uring.Native.RING_SQ_ENTRIES;
+import static io.netty5.channel.uring.Native.RING_SQ_FLAGS;
+import static io.netty5.channel.uring.Native.RING_SQ_HEAD;
+import static io.netty5.channel.uring.Native.RING_SQ_MASK;
+import static io.netty5.channel.uring.Native.RING_SQ_TAIL;
+
+/**
+ * The submission queue of an io_uring instance.
+ * <p>
+ * Entries are only written to the shared memory when they are added, and are handed to the kernel in a batch when the
+ * event loop calls {@link #submit()} or {@link #submitAndWait(long)}, so that all the operations that were requested
+ * during an iteration of the event loop cost a single system call.
+ */
+final class SubmissionQueue {
+    // Offsets in struct io_uring_sqe.
+    private static final int SQE_OP_CODE = 0;
+    private static final int SQE_FLAGS = 1;
+    private static final int SQE_IOPRIO = 2;
+    private static final int SQE_FD = 4;
+    private static final int SQE_OFFSET = 8;
+    private static final int SQE_ADDRESS = 16;
+    private static final int SQE_LEN = 24;
+    private static final int SQE_OP_FLAGS = 28;
+    private static final int SQE_USER_DATA = 32;
+    private static final int SQE_BUF_GROUP = 40;
+    private static final int SQE_SIZE = 64;
+
+    private final long kHeadAddress;
+    private final long kTailAddress;
+    private final long kFlagsAddress;
+    private final long sqesAddress;
+    private final int ringMask;
+    private final int ringEntries;
+    private final int ringFd;
+
+    // The tail that we will publish to the kernel on the next submit, and the last head we have seen.
+    private int tail;
+    private int head;
+
+    SubmissionQueue(long[] ring) {
+        kHeadAddress = ring[RING_SQ_HEAD];
+        kTailAddress = ring[RING_SQ_TAIL];
+        kFlagsAddress = ring[RING_SQ_FLAGS];
+        sqesAddress = ring[RING_SQES_ADDRESS];
+        ringMask = PlatformDependent.getInt(ring[RING_SQ_MASK]);
+        ringEntries = (int) ring[RING_SQ_ENTRIES];
+        ringFd = (int) ring[RING_FD];
+        tail = PlatformDependent.getInt(kTailAddress);
+        head = PlatformDependent.getInt(kHeadAddress);
+    }
+
+    int ringEntries() {
+        return ringEntries;
+    }
+
+    /**
+     * Returns the number of entries that were added, but not yet submitted.
+     */
+    int pending() {
+        return tail - PlatformDependent.getIntVolatile(kHeadAddress);
+    }
+
+    void addAccept(int fd, boolean multishot, long userData) {
+        enqueue(Native.IORING_OP_ACCEPT, 0, multishot? Native.IORING_ACCEPT_MULTISHOT : 0, fd, 0, 0, 0,
+                Native.SOCK_NONBLOCK | Native.SOCK_CLOEXEC, userData, 0);
+    }
+
+    void addRecv(int fd, long address, int length, int msgFlags, long userData) {
+        enqueue(Native.IORING_OP_RECV, 0, 0, fd, 0, address, length, msgFlags, userData, 0);
+    }
+
+    /**
+     * Receive into a buffer that the kernel picks from the given buffer group.
+     */
+    void addRecvSelect(int fd, int bufferGroup, boolean multishot, long userData) {
+        enqueue(Native.IORING_OP_RECV, Native.IOSQE_BUFFER_SELECT, multishot? Native.IORING_RECV_MULTISHOT : 0,
+                fd, 0, 0, 0, 0, userData, bufferGroup);
+    }
+
+    void addSend(int fd, long address, int length, long userData) {
+        enqueue(Native.IORING_OP_SEND, 0, 0, fd, 0, address, length, Native.MSG_NOSIGNAL, userData, 0);
+    }
+
+    void addRecvmsg(int fd, long msgHdrAddress, int msgFlags, long userData) {
+        enqueue(Native.IORING_OP_RECVMSG, 0, 0, fd, 0, msgHdrAddress, 1, msgFlags, userData, 0);
+    }
+
+    void addSendmsg(int fd, long msgHdrAddress, long userData) {
+        enqueue(Native.IORING_OP_SENDMSG, 0, 0, fd, 0, msgHdrAddress, 1, Native.MSG_NOSIGNAL, userData, 0);
+    }
+
+    void addWritev(int fd, long iovAddress, int iovCount, long userData) {
+        enqueue(Native.IORING_OP_WRITEV, 0, 0, fd, 0, iovAddress, iovCount, 0, userData, 0);
+    }
+
+    void addRead(int fd, long address, int length, long userData) {
+        enqueue(Native.IORING_OP_READ, 0, 0, fd, 0, address, length, 0, userData, 0);
+    }
+
+    void addPollAdd(int fd, int pollMask, long userData) {
+        enqueue(Native.IORING_OP_POLL_ADD, 0, 0, fd, 0, 0, 0, pollMask, userData, 0);
+    }
+
+    void addCancel(long targetUserData, long userData) {
+        enqueue(Native.IORING_OP_ASYNC_CANCEL, 0, 0, -1, 0, targetUserData, 0, 0, userData, 0);
+    }
+
+    private void enqueue(byte op, int flags, int ioPrio, int fd, long offset, long address, int length,
+                         int opFlags, long userData, int bufferGroup) {
+        if (tail - head == ringEntries) {
+            head = PlatformDependent.getIntVolatile(kHeadAddress);
+            while (tail - head == ringEntries) {
+                // The queue is full, so hand what we have to the kernel to make room. We must never write over an
+                // entry that the kernel did not consume, as that operation would be lost without ever completing.
+                int res = submitNow();
+                head = PlatformDependent.getIntVolatile(kHeadAddress);
+                if (tail - head == ringEntries && res != ERRNO_EINTR_NEGATIVE) {
+                    // The kernel takes no more entries until the completion queue was drained, which only the event
+                    // loop can do safely, so fail this operation rather than losing another one.
+                    throw new IllegalStateException("io_uring submission queue is full" +
+                            (res < 0? " (io_uring_enter(...) failed with errno " + -res + ')' : ""));
+                }
+            }
+        }
+        long sqe = sqesAddress + (long) (tail & ringMask) * SQE_SIZE;
+        PlatformDependent.setMemory(sqe, SQE_SIZE, (byte) 0);
+        PlatformDependent.putByte(sqe + SQE_OP_CODE, op);
+        PlatformDependent.putByte(sqe + SQE_FLAGS, (byte) flags);
+        PlatformDependent.putShort(sqe + SQE_IOPRIO, (short) ioPrio);
+        PlatformDependent.putInt(sqe + SQE_FD, fd);
+        PlatformDependent.putLong(sqe + SQE_OFFSET, offset);
+        PlatformDependent.putLong(sqe + SQE_ADDRESS, address);
+        PlatformDependent.putInt(sqe + SQE_LEN, length);
+        PlatformDependent.putInt(sqe + SQE_OP_FLAGS, opFlags);
+        PlatformDependent.putLong(sqe + SQE_USER_DATA, userData);
+        PlatformDependent.putShort(sqe + SQE_BUF_GROUP, (short) bufferGroup);
+        tail++;
+    }
+
+    private int publish() {
+        PlatformDependent.putIntOrdered(kTailAddress, tail);
+        return pending();
+    }
+
+    private int submitNow() {
+        int toSubmit = publish();
+        int res = Native.ioUringEnter(ringFd, toSubmit, 0, 0, -1);
+        if (res < 0 && res != ERRNO_EINTR_NEGATIVE && res != ERRNO_EAGAIN_NEGATIVE && res != ERRNO_EBUSY_NEGATIVE) {
+            throw new IllegalStateException("io_uring_enter(...) failed with errno " + -res);
+        }
+        return res;
+    }
+
+    /**
+     * Submit all pending entries without waiting for completions, and run any deferred work in the kernel so that the
+     * completions it produces become visible.
+     *
+     * @return the number of submitted entries.
+     */
+    int submit() throws IOException {
+        int toSubmit = publish();
+        if (toSubmit == 0 && (PlatformDependent.getIntVolatile(kFlagsAddress) & IORING_SQ_TASKRUN) == 0) {
+            return 0;
+        }
+        return enter(toSubmit, 0, -1);
+    }
+
+    /**
+     * Submit all pending entries, and wait for at least one completion, or until the timeout elapsed if
+     * {@code timeoutNanos} is not negative.
+     *
+     * @return the number of submitted entries.
+     */
+    int submitAndWait(long timeoutNanos) throws IOException {
+        return enter(publish(), 1, timeoutNanos);
+    }
+
+    private int enter(int toSubmit, int minComplete, long timeoutNanos) throws IOException {
+        int res = Native.ioUringEnter(ringFd, toSubmit, minComplete, IORING_ENTER_GETEVENTS, timeoutNanos);
+        if (res < 0) {
+            if (res == ERRNO_ETIME_NEGATIVE || res == ERRNO_EINTR_NEGATIVE || res == ERRNO_EAGAIN_NEGATIVE ||
+                    res == ERRNO_EBUSY_NEGATIVE) {
+                // Timed out or interrupted, or the completion queue is full and needs to be drained first.
+                return 0;
+            }
+            throw newIOException("io_uring_enter", res);
+        }
+        return res;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.uring;
+
+/**
+ * Encodes the {@code user_data} of submission queue entries, which the kernel passes back with their completions.
+ * <p>
+ * The upper 32 bits hold the id of the registration that submitted the operation, followed by 16 bits for the
+ * operation code, and 16 bits of operation specific data.
+ * We use registration ids rather than file descriptors, because a file descriptor may be reused by a new channel while
+ * completions for the old channel are still on their way.
+ */
+final class UserData {
+    private UserData() {
+    }
+
+    static long encode(int id, byte op, short data) {
+        return (long) id << 32 | (op & 0xFFFFL) << 16 | data & 0xFFFFL;
+    }
+
+    static int decodeId(long userData) {
+        return (int) (userData >>> 32);
+    }
+
+    static byte decodeOp(long userData) {
+        return (byte) (userData >>> 16);
+    }
+
+    static short decodeData(long userData) {
+        return (short) userData;
+    }
+}
@@ -198,7 +198,12 @@ public final class KQueueHandler implements IoHandler {
 
         long totalDelay = context.delayNanos(System.nanoTime());
         int delaySeconds = (int) min(totalDelay / 1000000000L, Integer.MAX_VALUE);
-        return kqueueWait(delaySeconds, (int) min(totalDelay - delaySeconds * 1000000000L, Integer.MAX_VALUE));
+        context.ioWaitStarted();
+        try {
+            return kqueueWait(delaySeconds, (int) min(totalDelay - delaySeconds * 1000000000L, Integer.MAX_VALUE));
+        } finally {
+            context.ioWaitFinished();
+        }
     }
 
     private int kqueueWaitNow() throws IOException {
@@ -267,6 +272,7 @@ public final class KQueueHandler implements IoHandler {
 
                 case SelectStrategy.SELECT:
                     strategy = kqueueWait(context, WAKEN_UP_UPDATER.getAndSet(this, 0) == 1);
+                    selectStrategy.afterSelect();
 
                     // 'wakenUp.compareAndSet(false, true)' is always evaluated
                     // before calling 'selector.wakeup()' to reduce the wake-up
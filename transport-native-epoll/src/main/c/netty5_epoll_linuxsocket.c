@@ -27,6 +27,14 @@
 #include <netinet/in.h>
 #include <netinet/udp.h> // SOL_UDP
 #include <sys/sendfile.h>
+#include <sys/uio.h>
+#include <linux/errqueue.h>
+#include <linux/filter.h>
+#if defined(__has_include)
+#if __has_include(<linux/tls.h>)
+#include <linux/tls.h>
+#endif
+#endif
 #include <linux/tcp.h> // TCP_NOTSENT_LOWAT is a linux specific define
 #include "netty5_epoll_linuxsocket.h"
 #include "netty5_unix_errors.h"
@@ -57,6 +65,42 @@
 #define SO_BUSY_POLL 46
 #endif
 
+// SO_PREFER_BUSY_POLL is defined in linux 5.11. We define this here so older kernels can compile.
+#ifndef SO_PREFER_BUSY_POLL
+#define SO_PREFER_BUSY_POLL 69
+#endif
+
+// SO_ZEROCOPY and MSG_ZEROCOPY are defined in linux 4.14. We define these here so older kernels can compile.
+#ifndef SO_ZEROCOPY
+#define SO_ZEROCOPY 60
+#endif
+
+#ifndef MSG_ZEROCOPY
+#define MSG_ZEROCOPY 0x4000000
+#endif
+
+// SO_ATTACH_REUSEPORT_CBPF is defined in linux 4.5. We define this here so older kernels can compile.
+#ifndef SO_ATTACH_REUSEPORT_CBPF
+#define SO_ATTACH_REUSEPORT_CBPF 51
+#endif
+
+#ifndef SO_EE_ORIGIN_ZEROCOPY
+#define SO_EE_ORIGIN_ZEROCOPY 5
+#endif
+
+#ifndef SO_EE_CODE_ZEROCOPY_COPIED
+#define SO_EE_CODE_ZEROCOPY_COPIED 1
+#endif
+
+// TCP_ULP and SOL_TLS are defined in linux 4.13. We define these here so older kernels can compile.
+#ifndef TCP_ULP
+#define TCP_ULP 31
+#endif
+
+#ifndef SOL_TLS
+#define SOL_TLS 282
+#endif
+
 // UDP_GRO is defined in linux 5. We define this here so older kernels can compile.
 #ifndef UDP_GRO
 #define UDP_GRO 104
@@ -161,6 +205,26 @@ static void netty5_epoll_linuxsocket_setSoBusyPoll(JNIEnv* env, jclass clazz, ji
     netty5_unix_socket_setOption(env, fd, SOL_SOCKET, SO_BUSY_POLL, &optval, sizeof(optval));
 }
 
+static void netty5_epoll_linuxsocket_setPreferBusyPoll(JNIEnv* env, jclass clazz, jint fd, jint optval) {
+    netty5_unix_socket_setOption(env, fd, SOL_SOCKET, SO_PREFER_BUSY_POLL, &optval, sizeof(optval));
+}
+
+static void netty5_epoll_linuxsocket_setZeroCopy(JNIEnv* env, jclass clazz, jint fd, jint optval) {
+    netty5_unix_socket_setOption(env, fd, SOL_SOCKET, SO_ZEROCOPY, &optval, sizeof(optval));
+}
+
+static void netty5_epoll_linuxsocket_setReusePortCpuSteering(JNIEnv* env, jclass clazz, jint fd, jint groupSize) {
+    // Select the socket of the SO_REUSEPORT group by the CPU that processes the incoming packet:
+    // return cpu % groupSize;
+    struct sock_filter code[] = {
+        { BPF_LD | BPF_W | BPF_ABS, 0, 0, SKF_AD_OFF + SKF_AD_CPU },
+        { BPF_ALU | BPF_MOD | BPF_K, 0, 0, (__u32) groupSize },
+        { BPF_RET | BPF_A, 0, 0, 0 }
+    };
+    struct sock_fprog prog = { .len = sizeof(code) / sizeof(code[0]), .filter = code };
+    netty5_unix_socket_setOption(env, fd, SOL_SOCKET, SO_ATTACH_REUSEPORT_CBPF, &prog, sizeof(prog));
+}
+
 static void netty5_epoll_linuxsocket_joinGroup(JNIEnv* env, jclass clazz, jint fd, jboolean ipv6, jbyteArray groupAddress, jbyteArray interfaceAddress, jint scopeId, jint interfaceIndex) {
     struct sockaddr_storage groupAddr;
     socklen_t groupAddrSize;
@@ -573,6 +637,14 @@ static jint netty5_epoll_linuxsocket_isTcpCork(JNIEnv* env, jclass clazz, jint f
     return optval;
 }
 
+static jint netty5_epoll_linuxsocket_isPreferBusyPoll(JNIEnv* env, jclass clazz, jint fd) {
+    int optval;
+    if (netty5_unix_socket_getOption(env, fd, SOL_SOCKET, SO_PREFER_BUSY_POLL, &optval, sizeof(optval)) == -1) {
+        return -1;
+    }
+    return optval;
+}
+
 static jint netty5_epoll_linuxsocket_getSoBusyPoll(JNIEnv* env, jclass clazz, jint fd) {
     int optval;
     if (netty5_unix_socket_getOption(env, fd, SOL_SOCKET, SO_BUSY_POLL, &optval, sizeof(optval)) == -1) {
@@ -581,6 +653,14 @@ static jint netty5_epoll_linuxsocket_getSoBusyPoll(JNIEnv* env, jclass clazz, ji
     return optval;
 }
 
+static jint netty5_epoll_linuxsocket_isZeroCopy(JNIEnv* env, jclass clazz, jint fd) {
+    int optval;
+    if (netty5_unix_socket_getOption(env, fd, SOL_SOCKET, SO_ZEROCOPY, &optval, sizeof(optval)) == -1) {
+        return -1;
+    }
+    return optval;
+}
+
 static jint netty5_epoll_linuxsocket_getTcpDeferAccept(JNIEnv* env, jclass clazz, jint fd) {
     int optval;
     if (netty5_unix_socket_getOption(env, fd, IPPROTO_TCP, TCP_DEFER_ACCEPT, &optval, sizeof(optval)) == -1) {
@@ -661,6 +741,183 @@ static jlong netty5_epoll_linuxsocket_sendFile(JNIEnv* env, jclass clazz, jint f
     return res;
 }
 
+static jint netty5_epoll_linuxsocket_sendAddressZeroCopy(JNIEnv* env, jclass clazz, jint fd, jlong address, jint pos, jint limit) {
+    ssize_t res;
+    int err;
+    do {
+        res = send(fd, (void*) (intptr_t) (address + pos), (size_t) (limit - pos), MSG_ZEROCOPY);
+        // keep on writing if it was interrupted
+    } while (res == -1 && ((err = errno) == EINTR));
+
+    if (res < 0) {
+        return -err;
+    }
+    return (jint) res;
+}
+
+static jlong netty5_epoll_linuxsocket_writevAddressesZeroCopy(JNIEnv* env, jclass clazz, jint fd, jlong memoryAddress, jint length) {
+    struct msghdr m = { 0 };
+    m.msg_iov = (struct iovec*) (intptr_t) memoryAddress;
+    m.msg_iovlen = length;
+
+    ssize_t res;
+    int err;
+    do {
+        res = sendmsg(fd, &m, MSG_ZEROCOPY);
+        // keep on writing if it was interrupted
+    } while (res == -1 && ((err = errno) == EINTR));
+
+    if (res < 0) {
+        return -err;
+    }
+    return (jlong) res;
+}
+
+// Reads one message from the error queue of the socket. If it is a MSG_ZEROCOPY completion notification, the range of
+// completed sends and whether the kernel copied the data are stored in the given array, and 1 is returned. Otherwise 0
+// is returned, or a negative errno if no message could be read.
+static jint netty5_epoll_linuxsocket_recvZeroCopyCompletion(JNIEnv* env, jclass clazz, jint fd, jlongArray result) {
+    char control[CMSG_SPACE(sizeof(struct sock_extended_err)) + CMSG_SPACE(sizeof(struct sockaddr_in6))];
+    struct msghdr m = { 0 };
+    m.msg_control = control;
+    m.msg_controllen = sizeof(control);
+
+    ssize_t res;
+    int err;
+    do {
+        res = recvmsg(fd, &m, MSG_ERRQUEUE | MSG_DONTWAIT);
+    } while (res == -1 && ((err = errno) == EINTR));
+
+    if (res < 0) {
+        return -err;
+    }
+
+    struct cmsghdr* cm;
+    for (cm = CMSG_FIRSTHDR(&m); cm != NULL; cm = CMSG_NXTHDR(&m, cm)) {
+        if ((cm->cmsg_level == SOL_IP && cm->cmsg_type == IP_RECVERR) ||
+                (cm->cmsg_level == SOL_IPV6 && cm->cmsg_type == IPV6_RECVERR)) {
+            struct sock_extended_err* serr = (struct sock_extended_err*) CMSG_DATA(cm);
+            if (serr->ee_errno != 0 || serr->ee_origin != SO_EE_ORIGIN_ZEROCOPY) {
+                return 0;
+            }
+            jlong values[3];
+            values[0] = (jlong) serr->ee_info;
+            values[1] = (jlong) serr->ee_data;
+            values[2] = (serr->ee_code & SO_EE_CODE_ZEROCOPY_COPIED) ? 1 : 0;
+            (*env)->SetLongArrayRegion(env, result, 0, 3, values);
+            return 1;
+        }
+    }
+    return 0;
+}
+
+static jint netty5_epoll_linuxsocket_attachTlsUlp(JNIEnv* env, jclass clazz, jint fd) {
+    if (setsockopt(fd, IPPROTO_TCP, TCP_ULP, "tls", sizeof("tls")) < 0) {
+        return -errno;
+    }
+    return 0;
+}
+
+static void netty5_epoll_linuxsocket_setTlsTx(JNIEnv* env, jclass clazz, jint fd, jint version, jint cipher,
+        jbyteArray key, jbyteArray iv, jbyteArray salt, jbyteArray recSeq) {
+#ifdef TLS_TX
+    union {
+        struct tls12_crypto_info_aes_gcm_128 aes128;
+        struct tls12_crypto_info_aes_gcm_256 aes256;
+#ifdef TLS_CIPHER_CHACHA20_POLY1305
+        struct tls12_crypto_info_chacha20_poly1305 chacha20;
+#endif
+    } info;
+    socklen_t len;
+    memset(&info, 0, sizeof(info));
+
+    switch (cipher) {
+    case TLS_CIPHER_AES_GCM_128:
+        len = sizeof(info.aes128);
+        info.aes128.info.version = version;
+        info.aes128.info.cipher_type = cipher;
+        (*env)->GetByteArrayRegion(env, key, 0, TLS_CIPHER_AES_GCM_128_KEY_SIZE, (jbyte*) info.aes128.key);
+        (*env)->GetByteArrayRegion(env, iv, 0, TLS_CIPHER_AES_GCM_128_IV_SIZE, (jbyte*) info.aes128.iv);
+        (*env)->GetByteArrayRegion(env, salt, 0, TLS_CIPHER_AES_GCM_128_SALT_SIZE, (jbyte*) info.aes128.salt);
+        (*env)->GetByteArrayRegion(env, recSeq, 0, TLS_CIPHER_AES_GCM_128_REC_SEQ_SIZE, (jbyte*) info.aes128.rec_seq);
+        break;
+    case TLS_CIPHER_AES_GCM_256:
+        len = sizeof(info.aes256);
+        info.aes256.info.version = version;
+        info.aes256.info.cipher_type = cipher;
+        (*env)->GetByteArrayRegion(env, key, 0, TLS_CIPHER_AES_GCM_256_KEY_SIZE, (jbyte*) info.aes256.key);
+        (*env)->GetByteArrayRegion(env, iv, 0, TLS_CIPHER_AES_GCM_256_IV_SIZE, (jbyte*) info.aes256.iv);
+        (*env)->GetByteArrayRegion(env, salt, 0, TLS_CIPHER_AES_GCM_256_SALT_SIZE, (jbyte*) info.aes256.salt);
+        (*env)->GetByteArrayRegion(env, recSeq, 0, TLS_CIPHER_AES_GCM_256_REC_SEQ_SIZE, (jbyte*) info.aes256.rec_seq);
+        break;
+#ifdef TLS_CIPHER_CHACHA20_POLY1305
+    case TLS_CIPHER_CHACHA20_POLY1305:
+        len = sizeof(info.chacha20);
+        info.chacha20.info.version = version;
+        info.chacha20.info.cipher_type = cipher;
+        (*env)->GetByteArrayRegion(env, key, 0, TLS_CIPHER_CHACHA20_POLY1305_KEY_SIZE, (jbyte*) info.chacha20.key);
+        (*env)->GetByteArrayRegion(env, iv, 0, TLS_CIPHER_CHACHA20_POLY1305_IV_SIZE, (jbyte*) info.chacha20.iv);
+        (*env)->GetByteArrayRegion(env, recSeq, 0, TLS_CIPHER_CHACHA20_POLY1305_REC_SEQ_SIZE,
+                (jbyte*) info.chacha20.rec_seq);
+        break;
+#endif
+    default:
+        netty5_unix_errors_throwIOException(env, "Unsupported kernel TLS cipher");
+        return;
+    }
+    if ((*env)->ExceptionCheck(env) == JNI_TRUE) {
+        // One of the arrays was too short.
+        return;
+    }
+    netty5_unix_socket_setOption(env, fd, SOL_TLS, TLS_TX, &info, len);
+    // Do not leave the keys on the stack.
+    memset(&info, 0, sizeof(info));
+#else
+    netty5_unix_errors_throwIOException(env, "Kernel TLS is not supported by the headers this library was built with");
+#endif
+}
+
+// Sends the given bytes as a single TLS record of the given content type, on a socket with kernel TLS enabled.
+static jint netty5_epoll_linuxsocket_sendTlsRecord(JNIEnv* env, jclass clazz, jint fd, jbyte contentType,
+        jbyteArray content, jint length) {
+    char data[16 * 1024];
+    char control[CMSG_SPACE(sizeof(unsigned char))];
+    struct iovec iov;
+    struct msghdr m = { 0 };
+    struct cmsghdr* cm;
+
+    if (length > sizeof(data)) {
+        return -EMSGSIZE;
+    }
+    (*env)->GetByteArrayRegion(env, content, 0, length, (jbyte*) data);
+    iov.iov_base = data;
+    iov.iov_len = length;
+    m.msg_iov = &iov;
+    m.msg_iovlen = 1;
+    m.msg_control = control;
+    m.msg_controllen = sizeof(control);
+
+    cm = CMSG_FIRSTHDR(&m);
+    cm->cmsg_level = SOL_TLS;
+    // TLS_SET_RECORD_TYPE
+    cm->cmsg_type = 1;
+    cm->cmsg_len = CMSG_LEN(sizeof(unsigned char));
+    *CMSG_DATA(cm) = (unsigned char) contentType;
+    m.msg_controllen = cm->cmsg_len;
+
+    ssize_t res;
+    int err;
+    do {
+        res = sendmsg(fd, &m, 0);
+        // keep on writing if it was interrupted
+    } while (res == -1 && ((err = errno) == EINTR));
+
+    if (res < 0) {
+        return -err;
+    }
+    return (jint) res;
+}
+
 // JNI Registered Methods End
 
 // JNI Method Registration Table Begin
@@ -673,11 +930,13 @@ static const JNINativeMethod fixed_method_table[] = {
   { "getIpMulticastLoop", "(IZ)I", (void * ) netty5_epoll_linuxsocket_getIpMulticastLoop },
   { "setTcpCork", "(II)V", (void *) netty5_epoll_linuxsocket_setTcpCork },
   { "setSoBusyPoll", "(II)V", (void *) netty5_epoll_linuxsocket_setSoBusyPoll },
+  { "setPreferBusyPoll", "(II)V", (void *) netty5_epoll_linuxsocket_setPreferBusyPoll },
   { "setTcpQuickAck", "(II)V", (void *) netty5_epoll_linuxsocket_setTcpQuickAck },
   { "setTcpDeferAccept", "(II)V", (void *) netty5_epoll_linuxsocket_setTcpDeferAccept },
   { "setTcpNotSentLowAt", "(II)V", (void *) netty5_epoll_linuxsocket_setTcpNotSentLowAt },
   { "isTcpCork", "(I)I", (void *) netty5_epoll_linuxsocket_isTcpCork },
   { "getSoBusyPoll", "(I)I", (void *) netty5_epoll_linuxsocket_getSoBusyPoll },
+  { "isPreferBusyPoll", "(I)I", (void *) netty5_epoll_linuxsocket_isPreferBusyPoll },
   { "getTcpDeferAccept", "(I)I", (void *) netty5_epoll_linuxsocket_getTcpDeferAccept },
   { "getTcpNotSentLowAt", "(I)I", (void *) netty5_epoll_linuxsocket_getTcpNotSentLowAt },
   { "isTcpQuickAck", "(I)I", (void *) netty5_epoll_linuxsocket_isTcpQuickAck },
@@ -687,6 +946,7 @@ static const JNINativeMethod fixed_method_table[] = {
   { "setTcpKeepCnt", "(II)V", (void *) netty5_epoll_linuxsocket_setTcpKeepCnt },
   { "setTcpUserTimeout", "(II)V", (void *) netty5_epoll_linuxsocket_setTcpUserTimeout },
   { "setIpFreeBind", "(II)V", (void *) netty5_epoll_linuxsocket_setIpFreeBind },
+  { "setReusePortCpuSteering", "(II)V", (void *) netty5_epoll_linuxsocket_setReusePortCpuSteering },
   { "setIpTransparent", "(II)V", (void *) netty5_epoll_linuxsocket_setIpTransparent },
   { "setIpRecvOrigDestAddr", "(II)V", (void *) netty5_epoll_linuxsocket_setIpRecvOrigDestAddr },
   { "getTcpKeepIdle", "(I)I", (void *) netty5_epoll_linuxsocket_getTcpKeepIdle },
@@ -703,7 +963,15 @@ static const JNINativeMethod fixed_method_table[] = {
   { "leaveGroup", "(IZ[B[BII)V", (void *) netty5_epoll_linuxsocket_leaveGroup },
   { "leaveSsmGroup", "(IZ[B[BII[B)V", (void *) netty5_epoll_linuxsocket_leaveSsmGroup },
   { "isUdpGro", "(I)I", (void *) netty5_epoll_linuxsocket_isUdpGro },
-  { "setUdpGro", "(II)V", (void *) netty5_epoll_linuxsocket_setUdpGro }
+  { "setUdpGro", "(II)V", (void *) netty5_epoll_linuxsocket_setUdpGro },
+  { "setZeroCopy", "(II)V", (void *) netty5_epoll_linuxsocket_setZeroCopy },
+  { "isZeroCopy", "(I)I", (void *) netty5_epoll_linuxsocket_isZeroCopy },
+  { "sendAddressZeroCopy", "(IJII)I", (void *) netty5_epoll_linuxsocket_sendAddressZeroCopy },
+  { "writevAddressesZeroCopy", "(IJI)J", (void *) netty5_epoll_linuxsocket_writevAddressesZeroCopy },
+  { "recvZeroCopyCompletion", "(I[J)I", (void *) netty5_epoll_linuxsocket_recvZeroCopyCompletion },
+  { "attachTlsUlp", "(I)I", (void *) netty5_epoll_linuxsocket_attachTlsUlp },
+  { "setTlsTx", "(III[B[B[B[B)V", (void *) netty5_epoll_linuxsocket_setTlsTx },
+  { "sendTlsRecord", "(IB[BI)I", (void *) netty5_epoll_linuxsocket_sendTlsRecord }
 
   // "sendFile" has a dynamic signature
 };
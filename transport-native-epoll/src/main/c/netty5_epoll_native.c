@@ -353,6 +353,26 @@ static jint netty5_epoll_native_epollCtlDel0(JNIEnv* env, jclass clazz, jint efd
     return res;
 }
 
+static jint netty5_epoll_native_splice0(JNIEnv* env, jclass clazz, jint fd, jlong offIn, jint fdOut, jlong offOut, jlong len) {
+    ssize_t res;
+    int err;
+    loff_t off_in = (loff_t) offIn;
+    loff_t off_out = (loff_t) offOut;
+
+    loff_t* p_off_in = off_in >= 0 ? &off_in : NULL;
+    loff_t* p_off_out = off_out >= 0 ? &off_out : NULL;
+
+    do {
+       res = splice(fd, p_off_in, fdOut, p_off_out, (size_t) len, SPLICE_F_NONBLOCK | SPLICE_F_MOVE);
+       // keep on splicing if it was interrupted
+    } while (res == -1 && ((err = errno) == EINTR));
+
+    if (res < 0) {
+        return -err;
+    }
+    return (jint) res;
+}
+
 static jint netty5_epoll_native_sendmmsg0(JNIEnv* env, jclass clazz, jint fd, jboolean ipv6, jobjectArray packets, jint offset, jint len) {
     struct mmsghdr msg[len];
     struct sockaddr_storage addr[len];
@@ -610,6 +630,18 @@ static jint netty5_epoll_native_epollerr(JNIEnv* env, jclass clazz) {
     return EPOLLERR;
 }
 
+static jint netty5_epoll_native_errnoENOBUFS(JNIEnv* env, jclass clazz) {
+    return ENOBUFS;
+}
+
+static jint netty5_epoll_native_errnoEEXIST(JNIEnv* env, jclass clazz) {
+    return EEXIST;
+}
+
+static jint netty5_epoll_native_errnoENOPROTOOPT(JNIEnv* env, jclass clazz) {
+    return ENOPROTOOPT;
+}
+
 static jint netty5_epoll_native_sizeofEpollEvent(JNIEnv* env, jclass clazz) {
     return sizeof(struct epoll_event);
 }
@@ -644,6 +676,9 @@ static const JNINativeMethod statically_referenced_fixed_method_table[] = {
   { "epollout", "()I", (void *) netty5_epoll_native_epollout },
   { "epollrdhup", "()I", (void *) netty5_epoll_native_epollrdhup },
   { "epollerr", "()I", (void *) netty5_epoll_native_epollerr },
+  { "errnoENOBUFS", "()I", (void *) netty5_epoll_native_errnoENOBUFS },
+  { "errnoEEXIST", "()I", (void *) netty5_epoll_native_errnoEEXIST },
+  { "errnoENOPROTOOPT", "()I", (void *) netty5_epoll_native_errnoENOPROTOOPT },
   { "tcpMd5SigMaxKeyLen", "()I", (void *) netty5_epoll_native_tcpMd5SigMaxKeyLen },
   { "isSupportingSendmmsg", "()Z", (void *) netty5_epoll_native_isSupportingSendmmsg },
   { "isSupportingRecvmmsg", "()Z", (void *) netty5_epoll_native_isSupportingRecvmmsg },
@@ -662,6 +697,7 @@ static const JNINativeMethod fixed_method_table[] = {
   { "epollCtlAdd0", "(III)I", (void *) netty5_epoll_native_epollCtlAdd0 },
   { "epollCtlMod0", "(III)I", (void *) netty5_epoll_native_epollCtlMod0 },
   { "epollCtlDel0", "(II)I", (void *) netty5_epoll_native_epollCtlDel0 },
+  { "splice0", "(IJIJJ)I", (void *) netty5_epoll_native_splice0 },
   // "sendmmsg0" has a dynamic signature
   { "sizeofEpollEvent", "()I", (void *) netty5_epoll_native_sizeofEpollEvent },
   { "offsetofEpollData", "()I", (void *) netty5_epoll_native_offsetofEpollData },
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.epoll;
+
+import io.netty5.bootstrap.Bootstrap;
+import io.netty5.bootstrap.ServerBootstrap;
+import io.netty5.buffer.api.Buffer;
+import io.netty5.channel.Channel;
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.EventLoopGroup;
+import io.netty5.channel.MultithreadEventLoopGroup;
+import io.netty5.channel.unix.KernelTlsCryptoInfo;
+import io.netty5.channel.unix.KernelTlsRecord;
+import io.netty5.util.NetUtil;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EpollKernelTlsTest {
+    private static EventLoopGroup GROUP;
+
+    @BeforeAll
+    public static void beforeClass() {
+        GROUP = new MultithreadEventLoopGroup(1, EpollHandler.newFactory());
+    }
+
+    @AfterAll
+    public static void afterClass() {
+        GROUP.shutdownGracefully();
+    }
+
+    @Test
+    public void kernelTlsMessagesRejectedBeforeAttach() throws Throwable {
+        Channel server = new ServerBootstrap()
+                .group(GROUP)
+                .channel(EpollServerSocketChannel.class)
+                .childHandler(new ChannelHandler() { })
+                .bind(new InetSocketAddress(NetUtil.LOCALHOST, 0)).asStage().get();
+        Channel client = new Bootstrap()
+                .group(GROUP)
+                .channel(EpollSocketChannel.class)
+                .handler(new ChannelHandler() { })
+                .connect(server.localAddress()).asStage().get();
+        try {
+            // The keys are handed over with attachKernelTls(...), never written.
+            KernelTlsCryptoInfo cryptoInfo = cryptoInfo(KernelTlsCryptoInfo.CIPHER_AES_GCM_128);
+            assertInstanceOf(UnsupportedOperationException.class, assertThrows(Exception.class,
+                    () -> client.writeAndFlush(cryptoInfo).asStage().sync()).getCause());
+            assertInstanceOf(UnsupportedOperationException.class, assertThrows(Exception.class,
+                    () -> client.writeAndFlush(KernelTlsRecord.closeNotify()).asStage().sync()).getCause());
+        } finally {
+            client.close().asStage().sync();
+            server.close().asStage().sync();
+        }
+    }
+
+    @Test
+    public void attachKernelTls() throws Throwable {
+        Channel server = new ServerBootstrap()
+                .group(GROUP)
+                .channel(EpollServerSocketChannel.class)
+                .childHandler(new ChannelHandler() { })
+                .bind(new InetSocketAddress(NetUtil.LOCALHOST, 0)).asStage().get();
+        EpollSocketChannel client = (EpollSocketChannel) new Bootstrap()
+                .group(GROUP)
+                .channel(EpollSocketChannel.class)
+                .handler(new ChannelHandler() { })
+                .connect(server.localAddress()).asStage().get();
+        try {
+            KernelTlsCryptoInfo cryptoInfo = cryptoInfo(KernelTlsCryptoInfo.CIPHER_AES_GCM_128);
+            // Depending on the kernel, the tls module may not be available, which must not be an error.
+            boolean attached = client.executor().submit(() -> client.attachKernelTls(cryptoInfo)).asStage().get();
+            if (attached) {
+                // The keys can only be handed over once.
+                assertInstanceOf(IllegalStateException.class, assertThrows(Exception.class,
+                        () -> client.executor().submit(() -> client.attachKernelTls(cryptoInfo)).asStage().get())
+                        .getCause());
+            }
+        } finally {
+            client.close().asStage().sync();
+            server.close().asStage().sync();
+        }
+    }
+
+    @Test
+    public void rejectedKeysMustLeaveChannelUnchanged() throws Throwable {
+        BlockingQueue<Buffer> received = new LinkedBlockingQueue<>();
+        Channel server = new ServerBootstrap()
+                .group(GROUP)
+                .channel(EpollServerSocketChannel.class)
+                .childHandler(new ChannelHandler() {
+                    @Override
+                    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                        received.add((Buffer) msg);
+                    }
+                })
+                .bind(new InetSocketAddress(NetUtil.LOCALHOST, 0)).asStage().get();
+        EpollSocketChannel client = (EpollSocketChannel) new Bootstrap()
+                .group(GROUP)
+                .channel(EpollSocketChannel.class)
+                .handler(new ChannelHandler() { })
+                .connect(server.localAddress()).asStage().get();
+        try {
+            // No kernel knows this cipher, so the keys are rejected even if the tls module is available.
+            KernelTlsCryptoInfo cryptoInfo = cryptoInfo(0);
+            assertFalse(client.executor().submit(() -> client.attachKernelTls(cryptoInfo)).asStage().get());
+
+            // Bytes are still sent as they are, and records can not be sent by the kernel.
+            client.writeAndFlush(client.bufferAllocator().copyOf(new byte[] { 1, 2, 3 })).asStage().sync();
+            try (Buffer buf = received.poll(10, TimeUnit.SECONDS)) {
+                assertNotNull(buf);
+                assertEquals(3, buf.readableBytes());
+                assertEquals(1, buf.readByte());
+                assertEquals(2, buf.readByte());
+                assertEquals(3, buf.readByte());
+            }
+            assertInstanceOf(UnsupportedOperationException.class, assertThrows(Exception.class,
+                    () -> client.writeAndFlush(KernelTlsRecord.closeNotify()).asStage().sync()).getCause());
+        } finally {
+            client.close().asStage().sync();
+            server.close().asStage().sync();
+        }
+    }
+
+    private static KernelTlsCryptoInfo cryptoInfo(int cipher) {
+        return new KernelTlsCryptoInfo(KernelTlsCryptoInfo.TLS_1_2_VERSION, cipher,
+                new byte[16], new byte[8], new byte[4], new byte[8]);
+    }
+}
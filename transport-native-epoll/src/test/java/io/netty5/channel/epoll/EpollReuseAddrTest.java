@@ -21,6 +21,9 @@ import io.netty5.bootstrap.ServerBootstrap;
 import io.netty5.channel.Channel;
 import io.netty5.channel.ChannelHandler;
 import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.EventLoop;
+import io.netty5.channel.EventLoopGroup;
+import io.netty5.channel.MultithreadEventLoopGroup;
 import io.netty5.channel.unix.UnixChannelOption;
 import io.netty5.handler.logging.LogLevel;
 import io.netty5.handler.logging.LoggingHandler;
@@ -39,6 +42,9 @@ import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -46,6 +52,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
@@ -139,6 +146,73 @@ public class EpollReuseAddrTest {
         secondChannel.close().asStage().sync();
     }
 
+    @Test
+    @Timeout(value = 10000, unit = TimeUnit.MILLISECONDS)
+    public void testBindPerEventLoop() throws Exception {
+        assumeTrue(versionEqOrGt(3, 9, 0));
+        EventLoopGroup group = new MultithreadEventLoopGroup(2, EpollHandler.newFactory());
+        try {
+            Set<EventLoop> acceptingLoops = ConcurrentHashMap.newKeySet();
+            ServerBootstrap bootstrap = new ServerBootstrap()
+                    .group(group)
+                    .channel(EpollServerSocketChannel.class)
+                    .option(UnixChannelOption.SO_REUSEPORT, true)
+                    .childHandler(new ChannelHandler() {
+                        @Override
+                        public boolean isSharable() {
+                            return true;
+                        }
+
+                        @Override
+                        public void channelActive(ChannelHandlerContext ctx) {
+                            // The child must be served by the loop of the channel that accepted it.
+                            if (ctx.channel().parent().executor() == ctx.channel().executor()) {
+                                acceptingLoops.add(ctx.channel().executor());
+                            }
+                            ctx.close();
+                        }
+                    });
+            List<Channel> channels = bootstrap.bindPerEventLoop(new InetSocketAddress(NetUtil.LOCALHOST, 0))
+                    .asStage().get();
+            assertEquals(2, channels.size());
+            assertNotSame(channels.get(0).executor(), channels.get(1).executor());
+            assertEquals(channels.get(0).localAddress(), channels.get(1).localAddress());
+
+            InetSocketAddress address = (InetSocketAddress) channels.get(0).localAddress();
+            while (acceptingLoops.size() < 2) {
+                Socket socket = new Socket(address.getAddress(), address.getPort());
+                socket.setReuseAddress(true);
+                socket.close();
+            }
+            for (Channel channel : channels) {
+                channel.close().asStage().sync();
+            }
+        } finally {
+            group.shutdownGracefully();
+        }
+    }
+
+    @Test
+    @Timeout(value = 10000, unit = TimeUnit.MILLISECONDS)
+    public void testBindPerEventLoopWithCpuSteering() throws Exception {
+        assumeTrue(versionEqOrGt(4, 6, 0));
+        ServerBootstrap bootstrap = createServerBootstrap()
+                .option(UnixChannelOption.SO_REUSEPORT, true)
+                .option(EpollChannelOption.SO_REUSEPORT_CPU_STEERING, 2);
+        List<Channel> channels = bootstrap.bindPerEventLoop(bootstrap.config().localAddress()).asStage().get();
+        try {
+            for (Channel channel : channels) {
+                assertEquals(2, (int) channel.getOption(EpollChannelOption.SO_REUSEPORT_CPU_STEERING));
+            }
+            InetSocketAddress address = (InetSocketAddress) channels.get(0).localAddress();
+            new Socket(address.getAddress(), address.getPort()).close();
+        } finally {
+            for (Channel channel : channels) {
+                channel.close().asStage().sync();
+            }
+        }
+    }
+
     @Test
     @Timeout(value = 10000, unit = TimeUnit.MILLISECONDS)
     @Disabled // TODO: Unignore after making it pass on centos6-1 and debian7-1
@@ -140,6 +140,13 @@ public class EpollSocketChannelConfigTest {
         assertTrue(ch.getOption(EpollChannelOption.TCP_QUICKACK));
     }
 
+    @Test
+    public void testPreferBusyPoll() {
+        // Enabling it requires CAP_NET_ADMIN, so only check that it can be disabled.
+        ch.setOption(EpollChannelOption.SO_PREFER_BUSY_POLL, false);
+        assertFalse(ch.getOption(EpollChannelOption.SO_PREFER_BUSY_POLL));
+    }
+
     // For this test to pass, we are relying on the sockets file descriptor not being reused after the socket is closed.
     // This is inherently racy, so we allow getSoLinger to throw ChannelException a few of times, but eventually we do
     // want to see a ClosedChannelException for the test to pass.
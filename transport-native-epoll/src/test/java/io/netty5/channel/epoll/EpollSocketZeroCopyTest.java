@@ -0,0 +1,218 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.epoll;
+
+import io.netty5.bootstrap.Bootstrap;
+import io.netty5.bootstrap.ServerBootstrap;
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.channel.Channel;
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.ChannelOption;
+import io.netty5.channel.EventLoopGroup;
+import io.netty5.channel.MultithreadEventLoopGroup;
+import io.netty5.util.NetUtil;
+import io.netty5.util.concurrent.Future;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.net.InetSocketAddress;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EpollSocketZeroCopyTest {
+    private static EventLoopGroup GROUP;
+
+    @BeforeAll
+    public static void beforeClass() {
+        GROUP = new MultithreadEventLoopGroup(1, EpollHandler.newFactory());
+    }
+
+    @AfterAll
+    public static void afterClass() {
+        GROUP.shutdownGracefully();
+    }
+
+    @Test
+    public void zeroCopyOption() throws Throwable {
+        EpollSocketChannel channel = new EpollSocketChannel(GROUP.next());
+        try {
+            assertFalse(channel.getOption(EpollChannelOption.SO_ZEROCOPY));
+            channel.setOption(EpollChannelOption.SO_ZEROCOPY, true);
+            assertTrue(channel.getOption(EpollChannelOption.SO_ZEROCOPY));
+        } finally {
+            channel.close().asStage().sync();
+        }
+    }
+
+    @Test
+    public void zeroCopyWrites() throws Throwable {
+        byte[] data = new byte[4 * 1024 * 1024];
+        new Random().nextBytes(data);
+        ByteArrayOutputStream received = new ByteArrayOutputStream(data.length);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Channel server = newServer(data, received, latch);
+        Channel client = newClient(server);
+        BufferAllocator allocator = BufferAllocator.offHeapPooled();
+        try {
+            // Alternate between single writes, and several buffers that are flushed at once and so are gathered.
+            // The pooled memory of the written buffers is handed out again by the allocator, as soon as the pins
+            // allow it, so the received bytes would not match if any memory was released too early.
+            int offset = 0;
+            int chunk = 64 * 1024;
+            boolean gather = false;
+            while (offset < data.length) {
+                int buffers = gather? 4 : 1;
+                for (int i = 0; i < buffers && offset < data.length; i++) {
+                    client.write(allocator.allocate(chunk).writeBytes(data, offset, chunk));
+                    offset += chunk;
+                }
+                client.flush();
+                gather = !gather;
+            }
+            assertTrue(latch.await(30, TimeUnit.SECONDS));
+            assertArrayEquals(data, received.toByteArray());
+        } finally {
+            client.close().asStage().sync();
+            server.close().asStage().sync();
+            allocator.close();
+        }
+    }
+
+    @Test
+    public void writtenBufferMustStayWritable() throws Throwable {
+        byte[] data = new byte[64 * 1024];
+        new Random().nextBytes(data);
+        ByteArrayOutputStream received = new ByteArrayOutputStream(data.length);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Channel server = newServer(data, received, latch);
+        Channel client = newClient(server);
+        BufferAllocator allocator = BufferAllocator.offHeapPooled();
+        try {
+            // Zero-copy must not make the buffer of the caller read-only, only the bytes that are written.
+            Buffer buf = allocator.allocate(data.length).writeBytes(data);
+            Object written = client.executor().submit(
+                    () -> ((EpollSocketChannel) client).filterOutboundMessage(buf)).asStage().get();
+            try (Buffer pinned = (Buffer) written) {
+                assertNotSame(buf, pinned);
+                assertTrue(pinned.readOnly());
+                assertEquals(data.length, pinned.readableBytes());
+            }
+            assertFalse(buf.readOnly());
+        } finally {
+            client.close().asStage().sync();
+            server.close().asStage().sync();
+            allocator.close();
+        }
+    }
+
+    @Test
+    public void closeAfterZeroCopyWritesMustNotCorruptData() throws Throwable {
+        byte[] data = new byte[64 * 1024];
+        new Random().nextBytes(data);
+        ByteArrayOutputStream received = new ByteArrayOutputStream(data.length);
+        CountDownLatch latch = new CountDownLatch(1);
+        BlockingQueue<Channel> accepted = new LinkedBlockingQueue<>();
+
+        // The server does not read, so the kernel of the client is not done with the written memory when it closes.
+        Channel server = newServer(data, received, latch, false, accepted);
+        Channel client = newClient(server);
+        BufferAllocator allocator = BufferAllocator.offHeapPooled();
+        try {
+            int chunk = 16 * 1024;
+            Future<Void> lastWrite = null;
+            for (int offset = 0; offset < data.length; offset += chunk) {
+                lastWrite = client.write(allocator.allocate(chunk).writeBytes(data, offset, chunk));
+            }
+            client.flush();
+            lastWrite.asStage().sync();
+
+            // Closing must wait for the kernel, before the memory goes back to the allocator, where the buffers that
+            // are allocated after it would overwrite it.
+            Future<Void> closeFuture = client.close();
+            client.executor().submit(() -> {
+                for (int i = 0; i < data.length / chunk; i++) {
+                    allocator.allocate(chunk).fill((byte) 0).close();
+                }
+            }).asStage().sync();
+            assertFalse(closeFuture.isDone());
+
+            accepted.take().setOption(ChannelOption.AUTO_READ, true);
+            closeFuture.asStage().sync();
+            assertTrue(latch.await(30, TimeUnit.SECONDS));
+            assertArrayEquals(data, received.toByteArray());
+        } finally {
+            server.close().asStage().sync();
+            allocator.close();
+        }
+    }
+
+    private static Channel newServer(byte[] data, ByteArrayOutputStream received, CountDownLatch latch)
+            throws Exception {
+        return newServer(data, received, latch, true, new LinkedBlockingQueue<>());
+    }
+
+    private static Channel newServer(byte[] data, ByteArrayOutputStream received, CountDownLatch latch,
+                                     boolean autoRead, BlockingQueue<Channel> accepted) throws Exception {
+        return new ServerBootstrap()
+                .group(GROUP)
+                .channel(EpollServerSocketChannel.class)
+                .childOption(ChannelOption.AUTO_READ, autoRead)
+                .childHandler(new ChannelHandler() {
+                    @Override
+                    public void channelActive(ChannelHandlerContext ctx) {
+                        accepted.add(ctx.channel());
+                        ctx.fireChannelActive();
+                    }
+
+                    @Override
+                    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                        try (Buffer buf = (Buffer) msg) {
+                            byte[] bytes = new byte[buf.readableBytes()];
+                            buf.readBytes(bytes, 0, bytes.length);
+                            received.writeBytes(bytes);
+                        }
+                        if (received.size() == data.length) {
+                            latch.countDown();
+                        }
+                    }
+                })
+                .bind(new InetSocketAddress(NetUtil.LOCALHOST, 0)).asStage().get();
+    }
+
+    private static Channel newClient(Channel server) throws Exception {
+        return new Bootstrap()
+                .group(GROUP)
+                .channel(EpollSocketChannel.class)
+                .option(EpollChannelOption.SO_ZEROCOPY, true)
+                .handler(new ChannelHandler() { })
+                .connect(server.localAddress()).asStage().get();
+    }
+}
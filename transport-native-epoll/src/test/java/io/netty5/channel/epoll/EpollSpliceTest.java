@@ -0,0 +1,212 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.epoll;
+
+import io.netty5.bootstrap.Bootstrap;
+import io.netty5.bootstrap.ServerBootstrap;
+import io.netty5.buffer.api.Buffer;
+import io.netty5.channel.Channel;
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.ChannelOption;
+import io.netty5.channel.EventLoopGroup;
+import io.netty5.channel.MultithreadEventLoopGroup;
+import io.netty5.util.NetUtil;
+import io.netty5.util.concurrent.Future;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EpollSpliceTest {
+    private static final int SPLICE_LEN = 32 * 1024;
+    private static EventLoopGroup GROUP;
+
+    @BeforeAll
+    public static void beforeClass() {
+        GROUP = new MultithreadEventLoopGroup(1, EpollHandler.newFactory());
+    }
+
+    @AfterAll
+    public static void afterClass() {
+        GROUP.shutdownGracefully();
+    }
+
+    @Test
+    public void spliceToSocket() throws Throwable {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Channel echo = startEchoServer();
+        Channel proxy = startProxy(echo.localAddress(), error, (source, target) ->
+                source.spliceTo(target, Integer.MAX_VALUE));
+        try {
+            assertEcho(proxy.localAddress(), 1024 * 1024);
+            assertNull(error.get());
+        } finally {
+            proxy.close().asStage().sync();
+            echo.close().asStage().sync();
+        }
+    }
+
+    @Test
+    public void spliceToSocketWithLength() throws Throwable {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Channel echo = startEchoServer();
+        // Only splice the first bytes, and pass the rest through the pipeline, so the spliced bytes and the buffers
+        // that are written afterwards need to keep their order.
+        Channel proxy = startProxy(echo.localAddress(), error, (source, target) -> {
+            source.pipeline().addLast(new ChannelHandler() {
+                @Override
+                public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                    target.writeAndFlush(msg);
+                }
+            });
+            return source.spliceTo(target, SPLICE_LEN).addListener(f -> {
+                if (f.isSuccess()) {
+                    source.setOption(ChannelOption.AUTO_READ, true);
+                }
+            });
+        });
+        try {
+            assertEcho(proxy.localAddress(), 4 * SPLICE_LEN);
+            assertNull(error.get());
+        } finally {
+            proxy.close().asStage().sync();
+            echo.close().asStage().sync();
+        }
+    }
+
+    @Test
+    public void spliceToSocketOnOtherEventLoop() throws Throwable {
+        EventLoopGroup otherGroup = new MultithreadEventLoopGroup(1, EpollHandler.newFactory());
+        try {
+            EpollSocketChannel source = new EpollSocketChannel(GROUP.next());
+            EpollSocketChannel target = new EpollSocketChannel(otherGroup.next());
+            try {
+                assertThrows(IllegalArgumentException.class, () -> source.spliceTo(target, SPLICE_LEN));
+            } finally {
+                source.close();
+                target.close();
+            }
+        } finally {
+            otherGroup.shutdownGracefully();
+        }
+    }
+
+    private interface Splicer {
+        Future<Void> splice(EpollSocketChannel source, EpollSocketChannel target);
+    }
+
+    private static Channel startEchoServer() throws Exception {
+        return new ServerBootstrap()
+                .group(GROUP)
+                .channel(EpollServerSocketChannel.class)
+                .childHandler(new ChannelHandler() {
+                    @Override
+                    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                        ctx.writeAndFlush(msg);
+                    }
+                })
+                .bind(new InetSocketAddress(NetUtil.LOCALHOST, 0)).asStage().get();
+    }
+
+    /**
+     * Start a proxy, which splices the bytes of every accepted connection to a connection to the given address, and
+     * applies the given {@link Splicer} to splice them the other way around.
+     */
+    private static Channel startProxy(SocketAddress remote, AtomicReference<Throwable> error, Splicer splicer)
+            throws Exception {
+        return new ServerBootstrap()
+                .group(GROUP)
+                .channel(EpollServerSocketChannel.class)
+                .childOption(ChannelOption.AUTO_READ, false)
+                .childHandler(new ChannelHandler() {
+                    @Override
+                    public void channelActive(ChannelHandlerContext ctx) {
+                        EpollSocketChannel source = (EpollSocketChannel) ctx.channel();
+                        new Bootstrap()
+                                .group(source.executor())
+                                .channel(EpollSocketChannel.class)
+                                .option(ChannelOption.AUTO_READ, false)
+                                .handler(new ChannelHandler() { })
+                                .connect(remote).addListener(f -> {
+                                    if (f.isFailed()) {
+                                        error.compareAndSet(null, f.cause());
+                                        source.close();
+                                        return;
+                                    }
+                                    EpollSocketChannel target = (EpollSocketChannel) f.getNow();
+                                    target.spliceTo(source, Integer.MAX_VALUE).addListener(done -> {
+                                        if (done.isFailed()) {
+                                            error.compareAndSet(null, done.cause());
+                                        }
+                                    });
+                                    splicer.splice(source, target).addListener(done -> {
+                                        if (done.isFailed()) {
+                                            error.compareAndSet(null, done.cause());
+                                        }
+                                    });
+                                });
+                    }
+                })
+                .bind(new InetSocketAddress(NetUtil.LOCALHOST, 0)).asStage().get();
+    }
+
+    private static void assertEcho(SocketAddress address, int length) throws Exception {
+        byte[] data = new byte[length];
+        new Random().nextBytes(data);
+        ByteArrayOutputStream received = new ByteArrayOutputStream(length);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Channel client = new Bootstrap()
+                .group(GROUP)
+                .channel(EpollSocketChannel.class)
+                .handler(new ChannelHandler() {
+                    @Override
+                    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                        try (Buffer buffer = (Buffer) msg) {
+                            byte[] bytes = new byte[buffer.readableBytes()];
+                            buffer.readBytes(bytes, 0, bytes.length);
+                            received.write(bytes, 0, bytes.length);
+                        }
+                        if (received.size() == length) {
+                            latch.countDown();
+                        }
+                    }
+                })
+                .connect(address).asStage().get();
+        try {
+            for (int i = 0; i < length; i += 8192) {
+                client.writeAndFlush(client.bufferAllocator().allocate(8192).writeBytes(data, i, 8192));
+            }
+            assertTrue(latch.await(30, TimeUnit.SECONDS));
+            assertArrayEquals(data, received.toByteArray());
+        } finally {
+            client.close().asStage().sync();
+        }
+    }
+}
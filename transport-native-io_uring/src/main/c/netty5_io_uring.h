@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+#ifndef NETTY5_IO_URING_H_
+#define NETTY5_IO_URING_H_
+
+#include <stdint.h>
+
+// We define the io_uring ABI ourselves, so we can build on systems that do not ship <linux/io_uring.h> or ship an
+// older version of it. Everything in here is part of the stable kernel ABI.
+
+#ifndef __NR_io_uring_setup
+#define __NR_io_uring_setup 425
+#endif
+#ifndef __NR_io_uring_enter
+#define __NR_io_uring_enter 426
+#endif
+#ifndef __NR_io_uring_register
+#define __NR_io_uring_register 427
+#endif
+
+#define NETTY5_IORING_OFF_SQ_RING 0ULL
+#define NETTY5_IORING_OFF_CQ_RING 0x8000000ULL
+#define NETTY5_IORING_OFF_SQES 0x10000000ULL
+
+#define NETTY5_IORING_FEAT_SINGLE_MMAP (1U << 0)
+#define NETTY5_IORING_ENTER_EXT_ARG (1U << 3)
+#define NETTY5_IORING_REGISTER_PBUF_RING 22
+#define NETTY5_IORING_UNREGISTER_PBUF_RING 23
+
+struct netty5_io_sqring_offsets {
+    uint32_t head;
+    uint32_t tail;
+    uint32_t ring_mask;
+    uint32_t ring_entries;
+    uint32_t flags;
+    uint32_t dropped;
+    uint32_t array;
+    uint32_t resv1;
+    uint64_t resv2;
+};
+
+struct netty5_io_cqring_offsets {
+    uint32_t head;
+    uint32_t tail;
+    uint32_t ring_mask;
+    uint32_t ring_entries;
+    uint32_t overflow;
+    uint32_t cqes;
+    uint32_t flags;
+    uint32_t resv1;
+    uint64_t resv2;
+};
+
+struct netty5_io_uring_params {
+    uint32_t sq_entries;
+    uint32_t cq_entries;
+    uint32_t flags;
+    uint32_t sq_thread_cpu;
+    uint32_t sq_thread_idle;
+    uint32_t features;
+    uint32_t wq_fd;
+    uint32_t resv[3];
+    struct netty5_io_sqring_offsets sq_off;
+    struct netty5_io_cqring_offsets cq_off;
+};
+
+// The size of a submission queue entry, when the ring is not set up with IORING_SETUP_SQE128.
+#define NETTY5_IO_URING_SQE_SIZE 64
+// The size of a provided buffer ring entry, struct io_uring_buf.
+#define NETTY5_IO_URING_BUF_SIZE 16
+
+struct netty5_io_uring_getevents_arg {
+    uint64_t sigmask;
+    uint32_t sigmask_sz;
+    uint32_t pad;
+    uint64_t ts;
+};
+
+struct netty5_io_uring_buf_reg {
+    uint64_t ring_addr;
+    uint32_t ring_entries;
+    uint16_t bgid;
+    uint16_t pad;
+    uint64_t resv[3];
+};
+
+struct netty5_kernel_timespec {
+    int64_t tv_sec;
+    long long tv_nsec;
+};
+
+#endif /* NETTY5_IO_URING_H_ */
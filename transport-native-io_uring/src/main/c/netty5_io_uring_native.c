@@ -0,0 +1,373 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+#define _GNU_SOURCE
+#include <jni.h>
+#include <stdint.h>
+#include <stdlib.h>
+#include <string.h>
+#include <errno.h>
+#include <sys/eventfd.h>
+#include <sys/mman.h>
+#include <sys/utsname.h>
+#include <unistd.h>
+// Needed to be able to use syscalls directly and so not depend on newer GLIBC versions
+#include <sys/syscall.h>
+
+#include "netty5_io_uring.h"
+#include "netty5_unix_errors.h"
+#include "netty5_unix_jni.h"
+#include "netty5_unix_util.h"
+#include "netty5_unix.h"
+
+// Add define if NETTY_BUILD_STATIC is defined so it is picked up in netty_jni_util.c
+#ifdef NETTY_BUILD_STATIC
+#define NETTY_JNI_UTIL_BUILD_STATIC
+#endif
+
+#define NATIVE_CLASSNAME "io/netty5/channel/uring/Native"
+
+// IMPORTANT: This needs to be consistent with the RING_* indices in Native.java
+#define RING_FD 0
+#define RING_FEATURES 1
+#define RING_SQ_ENTRIES 2
+#define RING_CQ_ENTRIES 3
+#define RING_SQ_RING_ADDRESS 4
+#define RING_SQ_RING_SIZE 5
+#define RING_CQ_RING_ADDRESS 6
+#define RING_CQ_RING_SIZE 7
+#define RING_SQES_ADDRESS 8
+#define RING_SQES_SIZE 9
+#define RING_SQ_HEAD 10
+#define RING_SQ_TAIL 11
+#define RING_SQ_MASK 12
+#define RING_SQ_FLAGS 13
+#define RING_SQ_DROPPED 14
+#define RING_CQ_HEAD 15
+#define RING_CQ_TAIL 16
+#define RING_CQ_MASK 17
+#define RING_CQ_OVERFLOW 18
+#define RING_CQ_CQES 19
+#define RING_LENGTH 20
+
+static const char* staticPackagePrefix = NULL;
+static int register_unix_called = 0;
+
+static int sys_io_uring_setup(unsigned int entries, struct netty5_io_uring_params* p) {
+    return (int) syscall(__NR_io_uring_setup, entries, p);
+}
+
+static int sys_io_uring_enter(int fd, unsigned int toSubmit, unsigned int minComplete, unsigned int flags,
+                              void* arg, size_t argSize) {
+    return (int) syscall(__NR_io_uring_enter, fd, toSubmit, minComplete, flags, arg, argSize);
+}
+
+static int sys_io_uring_register(int fd, unsigned int opcode, void* arg, unsigned int nrArgs) {
+    return (int) syscall(__NR_io_uring_register, fd, opcode, arg, nrArgs);
+}
+
+// JNI Registered Methods Begin
+static jlongArray netty5_io_uring_native_ioUringSetup(JNIEnv* env, jclass clazz, jint entries, jint flags) {
+    struct netty5_io_uring_params p;
+    memset(&p, 0, sizeof(p));
+    p.flags = (uint32_t) flags;
+
+    int ringFd = sys_io_uring_setup((unsigned int) entries, &p);
+    if (ringFd < 0) {
+        netty5_unix_errors_throwIOExceptionErrorNo(env, "io_uring_setup() failed: ", errno);
+        return NULL;
+    }
+
+    size_t sqRingSize = p.sq_off.array + p.sq_entries * sizeof(uint32_t);
+    size_t cqRingSize = p.cq_off.cqes + p.cq_entries * 16;
+    int singleMmap = (p.features & NETTY5_IORING_FEAT_SINGLE_MMAP) != 0;
+    if (singleMmap) {
+        if (cqRingSize > sqRingSize) {
+            sqRingSize = cqRingSize;
+        }
+        cqRingSize = sqRingSize;
+    }
+
+    void* sqRing = mmap(NULL, sqRingSize, PROT_READ | PROT_WRITE, MAP_SHARED | MAP_POPULATE, ringFd,
+                        NETTY5_IORING_OFF_SQ_RING);
+    if (sqRing == MAP_FAILED) {
+        int err = errno;
+        close(ringFd);
+        netty5_unix_errors_throwIOExceptionErrorNo(env, "mmap() of the submission queue failed: ", err);
+        return NULL;
+    }
+    void* cqRing = sqRing;
+    if (!singleMmap) {
+        cqRing = mmap(NULL, cqRingSize, PROT_READ | PROT_WRITE, MAP_SHARED | MAP_POPULATE, ringFd,
+                      NETTY5_IORING_OFF_CQ_RING);
+        if (cqRing == MAP_FAILED) {
+            int err = errno;
+            munmap(sqRing, sqRingSize);
+            close(ringFd);
+            netty5_unix_errors_throwIOExceptionErrorNo(env, "mmap() of the completion queue failed: ", err);
+            return NULL;
+        }
+    }
+    size_t sqesSize = p.sq_entries * NETTY5_IO_URING_SQE_SIZE;
+    void* sqes = mmap(NULL, sqesSize, PROT_READ | PROT_WRITE, MAP_SHARED | MAP_POPULATE, ringFd,
+                      NETTY5_IORING_OFF_SQES);
+    if (sqes == MAP_FAILED) {
+        int err = errno;
+        if (!singleMmap) {
+            munmap(cqRing, cqRingSize);
+        }
+        munmap(sqRing, sqRingSize);
+        close(ringFd);
+        netty5_unix_errors_throwIOExceptionErrorNo(env, "mmap() of the submission queue entries failed: ", err);
+        return NULL;
+    }
+
+    // Submission queue entries are always used in order, so the index array is an identity mapping that we only
+    // need to fill in once.
+    uint32_t* array = (uint32_t*) ((char*) sqRing + p.sq_off.array);
+    for (uint32_t i = 0; i < p.sq_entries; i++) {
+        array[i] = i;
+    }
+
+    jlong values[RING_LENGTH];
+    values[RING_FD] = ringFd;
+    values[RING_FEATURES] = p.features;
+    values[RING_SQ_ENTRIES] = p.sq_entries;
+    values[RING_CQ_ENTRIES] = p.cq_entries;
+    values[RING_SQ_RING_ADDRESS] = (jlong) sqRing;
+    values[RING_SQ_RING_SIZE] = (jlong) sqRingSize;
+    values[RING_CQ_RING_ADDRESS] = (jlong) cqRing;
+    values[RING_CQ_RING_SIZE] = (jlong) cqRingSize;
+    values[RING_SQES_ADDRESS] = (jlong) sqes;
+    values[RING_SQES_SIZE] = (jlong) sqesSize;
+    values[RING_SQ_HEAD] = (jlong) ((char*) sqRing + p.sq_off.head);
+    values[RING_SQ_TAIL] = (jlong) ((char*) sqRing + p.sq_off.tail);
+    values[RING_SQ_MASK] = (jlong) ((char*) sqRing + p.sq_off.ring_mask);
+    values[RING_SQ_FLAGS] = (jlong) ((char*) sqRing + p.sq_off.flags);
+    values[RING_SQ_DROPPED] = (jlong) ((char*) sqRing + p.sq_off.dropped);
+    values[RING_CQ_HEAD] = (jlong) ((char*) cqRing + p.cq_off.head);
+    values[RING_CQ_TAIL] = (jlong) ((char*) cqRing + p.cq_off.tail);
+    values[RING_CQ_MASK] = (jlong) ((char*) cqRing + p.cq_off.ring_mask);
+    values[RING_CQ_OVERFLOW] = (jlong) ((char*) cqRing + p.cq_off.overflow);
+    values[RING_CQ_CQES] = (jlong) ((char*) cqRing + p.cq_off.cqes);
+
+    jlongArray result = (*env)->NewLongArray(env, RING_LENGTH);
+    if (result == NULL) {
+        munmap(sqes, sqesSize);
+        if (!singleMmap) {
+            munmap(cqRing, cqRingSize);
+        }
+        munmap(sqRing, sqRingSize);
+        close(ringFd);
+        return NULL;
+    }
+    (*env)->SetLongArrayRegion(env, result, 0, RING_LENGTH, values);
+    return result;
+}
+
+static jint netty5_io_uring_native_ioUringEnter(JNIEnv* env, jclass clazz, jint ringFd, jint toSubmit,
+                                                jint minComplete, jint flags, jlong timeoutNanos) {
+    int res;
+    if (timeoutNanos >= 0) {
+        struct netty5_kernel_timespec ts = {
+            .tv_sec = timeoutNanos / 1000000000,
+            .tv_nsec = timeoutNanos % 1000000000
+        };
+        struct netty5_io_uring_getevents_arg arg = {
+            .sigmask = 0,
+            .sigmask_sz = 0,
+            .pad = 0,
+            .ts = (uint64_t) (uintptr_t) &ts
+        };
+        res = sys_io_uring_enter(ringFd, (unsigned int) toSubmit, (unsigned int) minComplete,
+                                 ((unsigned int) flags) | NETTY5_IORING_ENTER_EXT_ARG, &arg, sizeof(arg));
+    } else {
+        res = sys_io_uring_enter(ringFd, (unsigned int) toSubmit, (unsigned int) minComplete,
+                                 (unsigned int) flags, NULL, 0);
+    }
+    if (res < 0) {
+        return -errno;
+    }
+    return res;
+}
+
+static void netty5_io_uring_native_ioUringExit(JNIEnv* env, jclass clazz, jint ringFd,
+                                               jlong sqRingAddress, jint sqRingSize,
+                                               jlong cqRingAddress, jint cqRingSize,
+                                               jlong sqesAddress, jint sqesSize) {
+    munmap((void*) sqesAddress, (size_t) sqesSize);
+    if (cqRingAddress != sqRingAddress) {
+        munmap((void*) cqRingAddress, (size_t) cqRingSize);
+    }
+    munmap((void*) sqRingAddress, (size_t) sqRingSize);
+    close(ringFd);
+}
+
+static jlong netty5_io_uring_native_ioUringRegisterBufRing(JNIEnv* env, jclass clazz, jint ringFd, jint entries,
+                                                           jint bufferGroup) {
+    size_t size = (size_t) entries * NETTY5_IO_URING_BUF_SIZE;
+    void* ring = mmap(NULL, size, PROT_READ | PROT_WRITE, MAP_ANONYMOUS | MAP_PRIVATE, -1, 0);
+    if (ring == MAP_FAILED) {
+        netty5_unix_errors_throwIOExceptionErrorNo(env, "mmap() of the buffer ring failed: ", errno);
+        return -1;
+    }
+    struct netty5_io_uring_buf_reg reg;
+    memset(&reg, 0, sizeof(reg));
+    reg.ring_addr = (uint64_t) (uintptr_t) ring;
+    reg.ring_entries = (uint32_t) entries;
+    reg.bgid = (uint16_t) bufferGroup;
+
+    if (sys_io_uring_register(ringFd, NETTY5_IORING_REGISTER_PBUF_RING, &reg, 1) < 0) {
+        int err = errno;
+        munmap(ring, size);
+        netty5_unix_errors_throwIOExceptionErrorNo(env, "io_uring_register(IORING_REGISTER_PBUF_RING) failed: ",
+                                                   err);
+        return -1;
+    }
+    return (jlong) ring;
+}
+
+static jint netty5_io_uring_native_ioUringUnregisterBufRing(JNIEnv* env, jclass clazz, jint ringFd,
+                                                            jlong ringAddress, jint entries, jint bufferGroup) {
+    struct netty5_io_uring_buf_reg reg;
+    memset(&reg, 0, sizeof(reg));
+    reg.bgid = (uint16_t) bufferGroup;
+
+    int res = sys_io_uring_register(ringFd, NETTY5_IORING_UNREGISTER_PBUF_RING, &reg, 1);
+    int err = errno;
+    munmap((void*) ringAddress, (size_t) entries * NETTY5_IO_URING_BUF_SIZE);
+    if (res < 0) {
+        return -err;
+    }
+    return 0;
+}
+
+static jint netty5_io_uring_native_eventFd(JNIEnv* env, jclass clazz) {
+    jint eventFD = eventfd(0, EFD_CLOEXEC | EFD_NONBLOCK);
+
+    if (eventFD < 0) {
+        netty5_unix_errors_throwChannelExceptionErrorNo(env, "eventfd() failed: ", errno);
+    }
+    return eventFD;
+}
+
+static void netty5_io_uring_native_eventFdWrite(JNIEnv* env, jclass clazz, jint fd, jlong value) {
+    uint64_t val;
+
+    for (;;) {
+        jint ret = eventfd_write(fd, (eventfd_t) value);
+
+        if (ret < 0) {
+            // We need to read before we can write again, let's try to read and then write again and if this
+            // fails we will bail out.
+            //
+            // See https://man7.org/linux/man-pages/man2/eventfd.2.html.
+            if (errno == EAGAIN) {
+                if (eventfd_read(fd, &val) == 0 || errno == EAGAIN) {
+                    // Try again
+                    continue;
+                }
+                netty5_unix_errors_throwChannelExceptionErrorNo(env, "eventfd_read(...) failed: ", errno);
+            } else {
+                netty5_unix_errors_throwChannelExceptionErrorNo(env, "eventfd_write(...) failed: ", errno);
+            }
+        }
+        break;
+    }
+}
+
+static jstring netty5_io_uring_native_kernelVersion(JNIEnv* env, jclass clazz) {
+    struct utsname name;
+
+    int res = uname(&name);
+    if (res == 0) {
+        return (*env)->NewStringUTF(env, name.release);
+    }
+    netty5_unix_errors_throwRuntimeExceptionErrorNo(env, "uname() failed: ", errno);
+    return NULL;
+}
+
+static jint netty5_io_uring_native_registerUnix(JNIEnv* env, jclass clazz) {
+    register_unix_called = 1;
+    return netty5_unix_register(env, staticPackagePrefix);
+}
+
+// JNI Registered Methods End
+
+// JNI Method Registration Table Begin
+static const JNINativeMethod method_table[] = {
+  { "ioUringSetup", "(II)[J", (void *) netty5_io_uring_native_ioUringSetup },
+  { "ioUringEnter", "(IIIIJ)I", (void *) netty5_io_uring_native_ioUringEnter },
+  { "ioUringExit", "(IJIJIJI)V", (void *) netty5_io_uring_native_ioUringExit },
+  { "ioUringRegisterBufRing", "(III)J", (void *) netty5_io_uring_native_ioUringRegisterBufRing },
+  { "ioUringUnregisterBufRing", "(IJII)I", (void *) netty5_io_uring_native_ioUringUnregisterBufRing },
+  { "eventFd", "()I", (void *) netty5_io_uring_native_eventFd },
+  { "eventFdWrite", "(IJ)V", (void *) netty5_io_uring_native_eventFdWrite },
+  { "kernelVersion", "()Ljava/lang/String;", (void *) netty5_io_uring_native_kernelVersion },
+  { "registerUnix", "()I", (void *) netty5_io_uring_native_registerUnix }
+};
+static const jint method_table_size = sizeof(method_table) / sizeof(method_table[0]);
+// JNI Method Registration Table End
+
+static jint netty5_io_uring_native_JNI_OnLoad(JNIEnv* env, const char* packagePrefix) {
+    if (netty_jni_util_register_natives(env,
+            packagePrefix,
+            NATIVE_CLASSNAME,
+            method_table,
+            method_table_size) != 0) {
+        return JNI_ERR;
+    }
+    staticPackagePrefix = packagePrefix;
+    return NETTY_JNI_UTIL_JNI_VERSION;
+}
+
+static void netty5_io_uring_native_JNI_OnUnload(JNIEnv* env) {
+    if (register_unix_called == 1) {
+        register_unix_called = 0;
+        netty5_unix_unregister(env, staticPackagePrefix);
+    }
+
+    netty_jni_util_unregister_natives(env, staticPackagePrefix, NATIVE_CLASSNAME);
+
+    if (staticPackagePrefix != NULL) {
+        free((void *) staticPackagePrefix);
+        staticPackagePrefix = NULL;
+    }
+}
+
+// We build with -fvisibility=hidden so ensure we mark everything that needs to be visible with JNIEXPORT
+// https://mail.openjdk.java.net/pipermail/core-libs-dev/2013-February/014549.html
+
+// Invoked by the JVM when statically linked
+JNIEXPORT jint JNI_OnLoad_netty_transport_native_io_uring(JavaVM* vm, void* reserved) {
+    return netty_jni_util_JNI_OnLoad(vm, reserved, "netty5_transport_native_io_uring",
+                                     netty5_io_uring_native_JNI_OnLoad);
+}
+
+// Invoked by the JVM when statically linked
+JNIEXPORT void JNI_OnUnload_netty_transport_native_io_uring(JavaVM* vm, void* reserved) {
+    netty_jni_util_JNI_OnUnload(vm, reserved, netty5_io_uring_native_JNI_OnUnload);
+}
+
+#ifndef NETTY_BUILD_STATIC
+JNIEXPORT jint JNI_OnLoad(JavaVM* vm, void* reserved) {
+    return netty_jni_util_JNI_OnLoad(vm, reserved, "netty5_transport_native_io_uring",
+                                     netty5_io_uring_native_JNI_OnLoad);
+}
+
+JNIEXPORT void JNI_OnUnload(JavaVM* vm, void* reserved) {
+    netty_jni_util_JNI_OnUnload(vm, reserved, netty5_io_uring_native_JNI_OnUnload);
+}
+#endif /* NETTY_BUILD_STATIC */
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.uring;
+
+import io.netty5.bootstrap.Bootstrap;
+import io.netty5.bootstrap.ServerBootstrap;
+import io.netty5.buffer.api.AllocationType;
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.buffer.api.DefaultBufferAllocators;
+import io.netty5.channel.Channel;
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelOption;
+import io.netty5.channel.EventLoopGroup;
+import io.netty5.channel.MultithreadEventLoopGroup;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class IoUringSocketChannelTest {
+
+    @Test
+    @Timeout(value = 10000, unit = TimeUnit.MILLISECONDS)
+    public void closingIdleChannelsMustReleaseReceiveBuffers() throws Exception {
+        EventLoopGroup group = new MultithreadEventLoopGroup(1, IoUringHandler.newFactory());
+        TrackingBufferAllocator allocator = new TrackingBufferAllocator();
+        try {
+            Channel serverChannel = new ServerBootstrap()
+                    .group(group)
+                    .channel(IoUringServerSocketChannel.class)
+                    .childHandler(new ChannelHandler() { })
+                    .bind(new InetSocketAddress(0)).asStage().get();
+            Bootstrap bootstrap = new Bootstrap()
+                    .group(group)
+                    .channel(IoUringSocketChannel.class)
+                    .option(ChannelOption.BUFFER_ALLOCATOR, allocator)
+                    .handler(new ChannelHandler() { });
+            List<Channel> channels = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                channels.add(bootstrap.connect(serverChannel.localAddress()).asStage().get());
+            }
+            // Nothing is ever sent, so every channel has a receive waiting for data when it is closed.
+            while (allocator.allocated() < channels.size()) {
+                Thread.sleep(10);
+            }
+            for (Channel channel : channels) {
+                channel.close().asStage().sync();
+            }
+            serverChannel.close().asStage().sync();
+
+            // The receives are cancelled, and only complete once the channels are gone.
+            while (allocator.accessible() > 0) {
+                Thread.sleep(10);
+            }
+        } finally {
+            group.shutdownGracefully();
+        }
+    }
+
+    /**
+     * Remembers the buffers it allocated, to check that all of them were closed in the end.
+     */
+    private static final class TrackingBufferAllocator implements BufferAllocator {
+        private final BufferAllocator delegate = DefaultBufferAllocators.offHeapAllocator();
+        private final Queue<Buffer> buffers = new ConcurrentLinkedQueue<>();
+
+        int allocated() {
+            return buffers.size();
+        }
+
+        long accessible() {
+            return buffers.stream().filter(Buffer::isAccessible).count();
+        }
+
+        @Override
+        public boolean isPooling() {
+            return delegate.isPooling();
+        }
+
+        @Override
+        public AllocationType getAllocationType() {
+            return delegate.getAllocationType();
+        }
+
+        @Override
+        public Buffer allocate(int size) {
+            Buffer buffer = delegate.allocate(size);
+            buffers.add(buffer);
+            return buffer;
+        }
+
+        @Override
+        public Supplier<Buffer> constBufferSupplier(byte[] bytes) {
+            return delegate.constBufferSupplier(bytes);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
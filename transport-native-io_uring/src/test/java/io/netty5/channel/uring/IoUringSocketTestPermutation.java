@@ -0,0 +1,140 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.uring;
+
+import io.netty5.bootstrap.Bootstrap;
+import io.netty5.bootstrap.ServerBootstrap;
+import io.netty5.channel.Channel;
+import io.netty5.channel.ChannelFactory;
+import io.netty5.channel.EventLoop;
+import io.netty5.channel.EventLoopGroup;
+import io.netty5.channel.MultithreadEventLoopGroup;
+import io.netty5.channel.socket.nio.NioDatagramChannel;
+import io.netty5.channel.socket.nio.NioServerSocketChannel;
+import io.netty5.channel.socket.nio.NioSocketChannel;
+import io.netty5.testsuite.transport.TestsuitePermutation;
+import io.netty5.testsuite.transport.TestsuitePermutation.BootstrapFactory;
+import io.netty5.testsuite.transport.socket.SocketTestPermutation;
+import io.netty5.util.concurrent.DefaultThreadFactory;
+
+import java.net.ProtocolFamily;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+class IoUringSocketTestPermutation extends SocketTestPermutation {
+
+    static final IoUringSocketTestPermutation INSTANCE = new IoUringSocketTestPermutation();
+
+    static final EventLoopGroup IO_URING_BOSS_GROUP =
+            new MultithreadEventLoopGroup(BOSSES, new DefaultThreadFactory("testsuite-io_uring-boss", true),
+                    IoUringHandler.newFactory());
+    static final EventLoopGroup IO_URING_WORKER_GROUP =
+            new MultithreadEventLoopGroup(WORKERS, new DefaultThreadFactory("testsuite-io_uring-worker", true),
+                    IoUringHandler.newFactory());
+
+    @Override
+    public List<TestsuitePermutation.BootstrapComboFactory<ServerBootstrap, Bootstrap>> socket() {
+        List<TestsuitePermutation.BootstrapComboFactory<ServerBootstrap, Bootstrap>> list =
+                combo(serverSocket(), clientSocket());
+
+        list.remove(list.size() - 1); // Exclude NIO x NIO test
+
+        return list;
+    }
+
+    /**
+     * Like {@link #socket()}, but without channels that receive into buffers from the ring of provided buffers, as
+     * those do not honour the {@link io.netty5.channel.RecvBufferAllocator} of the channel.
+     */
+    public List<TestsuitePermutation.BootstrapComboFactory<ServerBootstrap, Bootstrap>> socketWithoutBufferRing() {
+        List<BootstrapFactory<ServerBootstrap>> servers = serverSocket();
+        servers.remove(1); // Exclude the server whose children use the buffer ring
+        List<TestsuitePermutation.BootstrapComboFactory<ServerBootstrap, Bootstrap>> list =
+                combo(servers, clientSocket());
+
+        list.remove(list.size() - 1); // Exclude NIO x NIO test
+
+        return list;
+    }
+
+    @Override
+    public List<BootstrapFactory<ServerBootstrap>> serverSocket() {
+        List<BootstrapFactory<ServerBootstrap>> toReturn = new ArrayList<>();
+        toReturn.add(() -> new ServerBootstrap().group(IO_URING_BOSS_GROUP, IO_URING_WORKER_GROUP)
+                                    .channel(IoUringServerSocketChannel.class));
+        toReturn.add(() -> new ServerBootstrap().group(IO_URING_BOSS_GROUP, IO_URING_WORKER_GROUP)
+                                    .channel(IoUringServerSocketChannel.class)
+                                    .childOption(IoUringChannelOption.BUFFER_RING, true));
+        toReturn.add(() -> new ServerBootstrap().group(nioBossGroup, nioWorkerGroup)
+                                    .channel(NioServerSocketChannel.class));
+
+        return toReturn;
+    }
+
+    @Override
+    public List<BootstrapFactory<Bootstrap>> clientSocket() {
+        List<BootstrapFactory<Bootstrap>> toReturn = new ArrayList<>();
+        toReturn.add(() -> new Bootstrap().group(IO_URING_WORKER_GROUP).channel(IoUringSocketChannel.class));
+        toReturn.add(() -> new Bootstrap().group(nioWorkerGroup).channel(NioSocketChannel.class));
+        return toReturn;
+    }
+
+    @Override
+    public List<BootstrapFactory<Bootstrap>> clientSocketWithFastOpen() {
+        // TCP fast open is not supported by the io_uring transport.
+        return clientSocket();
+    }
+
+    @Override
+    public List<TestsuitePermutation.BootstrapComboFactory<Bootstrap, Bootstrap>> datagram(
+            final ProtocolFamily family) {
+        // Make the list of Bootstrap factories.
+        List<BootstrapFactory<Bootstrap>> bfs = Arrays.asList(
+                () -> new Bootstrap().group(nioWorkerGroup).channelFactory(new ChannelFactory<Channel>() {
+                    @Override
+                    public Channel newChannel(EventLoop eventLoop) {
+                        return new NioDatagramChannel(eventLoop, family);
+                    }
+
+                    @Override
+                    public String toString() {
+                        return NioDatagramChannel.class.getSimpleName() + ".class";
+                    }
+                }),
+                () -> new Bootstrap().group(IO_URING_WORKER_GROUP).channelFactory(new ChannelFactory<Channel>() {
+                    @Override
+                    public Channel newChannel(EventLoop eventLoop) {
+                        return new IoUringDatagramChannel(eventLoop, family);
+                    }
+
+                    @Override
+                    public String toString() {
+                        return IoUringDatagramChannel.class.getSimpleName() + ".class";
+                    }
+                })
+        );
+        return combo(bfs, bfs);
+    }
+
+    @Override
+    public List<BootstrapFactory<Bootstrap>> datagramSocket() {
+        return Collections.singletonList(
+                () -> new Bootstrap().group(IO_URING_WORKER_GROUP).channel(IoUringDatagramChannel.class)
+        );
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.uring;
+
+import io.netty5.channel.unix.FileDescriptor;
+import io.netty5.util.internal.PlatformDependent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IoUringTest {
+
+    @Test
+    public void testIsAvailable() {
+        assertTrue(IoUring.isAvailable());
+    }
+
+    @Test
+    public void testParseKernelVersion() {
+        assertArrayEquals(new int[] { 5, 19 }, Native.parseKernelVersion("5.19.0-42-generic"));
+        assertArrayEquals(new int[] { 6, 1 }, Native.parseKernelVersion("6.1"));
+        assertArrayEquals(new int[] { 0, 0 }, Native.parseKernelVersion("unknown"));
+    }
+
+    @Test
+    public void testUserData() {
+        long userData = UserData.encode(Integer.MAX_VALUE, Native.IORING_OP_RECV, (short) -1);
+        assertEquals(Integer.MAX_VALUE, UserData.decodeId(userData));
+        assertEquals(Native.IORING_OP_RECV, UserData.decodeOp(userData));
+        assertEquals((short) -1, UserData.decodeData(userData));
+    }
+
+    @Test
+    @Timeout(value = 5000, unit = TimeUnit.MILLISECONDS)
+    public void testEventFdReadCompletesOnWrite() throws Exception {
+        RingBuffer ringBuffer = Native.createRingBuffer(8);
+        FileDescriptor eventFd = Native.newEventFd();
+        long address = PlatformDependent.allocateMemory(Long.BYTES);
+        try {
+            SubmissionQueue submissionQueue = ringBuffer.submissionQueue();
+            CompletionQueue completionQueue = ringBuffer.completionQueue();
+            long userData = UserData.encode(1, Native.IORING_OP_READ, (short) 0);
+            submissionQueue.addRead(eventFd.intValue(), address, Long.BYTES, userData);
+            submissionQueue.submitAndWait(TimeUnit.MILLISECONDS.toNanos(100));
+            assertFalse(completionQueue.hasCompletions());
+
+            Native.eventFdWrite(eventFd.intValue(), 42);
+            submissionQueue.submitAndWait(-1);
+            long[] completed = new long[2];
+            assertEquals(1, completionQueue.process((ud, res, flags) -> {
+                completed[0] = ud;
+                completed[1] = res;
+            }));
+            assertEquals(userData, completed[0]);
+            assertEquals(Long.BYTES, completed[1]);
+            assertEquals(42, PlatformDependent.getLong(address));
+        } finally {
+            ringBuffer.close();
+            eventFd.close();
+            PlatformDependent.freeMemory(address);
+        }
+    }
+
+    @Test
+    @Timeout(value = 5000, unit = TimeUnit.MILLISECONDS)
+    public void testEnqueueBeyondRingSizeMustNotLoseEntries() throws Exception {
+        RingBuffer ringBuffer = Native.createRingBuffer(8);
+        try {
+            SubmissionQueue submissionQueue = ringBuffer.submissionQueue();
+            CompletionQueue completionQueue = ringBuffer.completionQueue();
+            // Cancelling operations that do not exist fails right away, so every entry produces exactly one
+            // completion, which we only look at once all of them were added.
+            int entries = submissionQueue.ringEntries() + submissionQueue.ringEntries() / 2;
+            for (int i = 0; i < entries; i++) {
+                submissionQueue.addCancel(UserData.encode(2, Native.IORING_OP_RECV, (short) i),
+                        UserData.encode(1, Native.IORING_OP_ASYNC_CANCEL, (short) i));
+            }
+            boolean[] completed = new boolean[entries];
+            int processed = 0;
+            while (processed < entries) {
+                submissionQueue.submitAndWait(-1);
+                processed += completionQueue.process((ud, res, flags) -> {
+                    assertEquals(Native.IORING_OP_ASYNC_CANCEL, UserData.decodeOp(ud));
+                    completed[UserData.decodeData(ud)] = true;
+                });
+            }
+            assertEquals(entries, processed);
+            for (boolean c : completed) {
+                assertTrue(c);
+            }
+        } finally {
+            ringBuffer.close();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.unix;
+
+import io.netty5.util.internal.UnstableApi;
+
+/**
+ * {@link UnixChannel} whose socket can take over the encryption of outbound TLS records, known as kernel TLS.
+ * <p>
+ * Once {@link #attachKernelTls(KernelTlsCryptoInfo)} returned {@code true}, all bytes written to the channel are sent
+ * as TLS application data records, encrypted by the kernel with the given keys, and {@link KernelTlsRecord}s can be
+ * written to send records of other types, like alerts.
+ */
+@UnstableApi
+public interface KernelTlsChannel extends UnixChannel {
+    /**
+     * Hand the keys of the outbound direction to the kernel, which encrypts all bytes that are written from now on.
+     * This must be called from the event loop of the channel, once all bytes that were written before were sent, as
+     * they would otherwise be encrypted by the kernel too.
+     *
+     * @param cryptoInfo The keys of the outbound direction.
+     * @return {@code true} if the kernel took over, {@code false} if it does not support TLS on this socket, rejected
+     * the keys, or there are still bytes to send. The channel is unchanged in that case, and {@link KernelTlsRecord}
+     * messages must not be written to it.
+     */
+    boolean attachKernelTls(KernelTlsCryptoInfo cryptoInfo);
+}
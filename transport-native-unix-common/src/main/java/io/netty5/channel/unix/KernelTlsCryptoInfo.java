@@ -0,0 +1,93 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.unix;
+
+import io.netty5.util.internal.UnstableApi;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The keys of the outbound direction of a TLS connection, which are handed to the kernel with
+ * {@link KernelTlsChannel#attachKernelTls(KernelTlsCryptoInfo)}.
+ * See <a href="https://docs.kernel.org/networking/tls.html">Kernel TLS</a>.
+ * <p>
+ * The version and cipher values are the ones of the Linux {@code tls12_crypto_info} structures.
+ */
+@UnstableApi
+public final class KernelTlsCryptoInfo {
+    public static final int TLS_1_2_VERSION = 0x0303;
+    public static final int TLS_1_3_VERSION = 0x0304;
+
+    public static final int CIPHER_AES_GCM_128 = 51;
+    public static final int CIPHER_AES_GCM_256 = 52;
+    public static final int CIPHER_CHACHA20_POLY1305 = 54;
+
+    private final int version;
+    private final int cipher;
+    private final byte[] key;
+    private final byte[] iv;
+    private final byte[] salt;
+    private final byte[] recordSequence;
+
+    /**
+     * Create a new instance.
+     *
+     * @param version The TLS version, one of the {@code TLS_*_VERSION} constants.
+     * @param cipher The cipher, one of the {@code CIPHER_*} constants.
+     * @param key The write key.
+     * @param iv The initial explicit nonce, or the full IV for ciphers without salt.
+     * @param salt The implicit part of the nonce.
+     * @param recordSequence The sequence number of the next record, as 8 big-endian bytes.
+     */
+    public KernelTlsCryptoInfo(int version, int cipher, byte[] key, byte[] iv, byte[] salt, byte[] recordSequence) {
+        this.version = version;
+        this.cipher = cipher;
+        this.key = requireNonNull(key, "key").clone();
+        this.iv = requireNonNull(iv, "iv").clone();
+        this.salt = requireNonNull(salt, "salt").clone();
+        this.recordSequence = requireNonNull(recordSequence, "recordSequence").clone();
+    }
+
+    public int version() {
+        return version;
+    }
+
+    public int cipher() {
+        return cipher;
+    }
+
+    public byte[] key() {
+        return key.clone();
+    }
+
+    public byte[] iv() {
+        return iv.clone();
+    }
+
+    public byte[] salt() {
+        return salt.clone();
+    }
+
+    public byte[] recordSequence() {
+        return recordSequence.clone();
+    }
+
+    @Override
+    public String toString() {
+        // Never include the key material.
+        return "KernelTlsCryptoInfo[version=0x" + Integer.toHexString(version) + ", cipher=" + cipher + ']';
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.unix;
+
+import io.netty5.util.internal.UnstableApi;
+
+import static io.netty5.util.internal.ObjectUtil.checkInRange;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A TLS record of a type other than application data, which is encrypted and sent by the kernel when written to a
+ * {@link KernelTlsChannel} that has kernel TLS enabled.
+ */
+@UnstableApi
+public final class KernelTlsRecord {
+    public static final byte CONTENT_TYPE_ALERT = 21;
+
+    private static final int MAX_RECORD_LENGTH = 16 * 1024;
+    private static final byte[] CLOSE_NOTIFY = { 1, 0 }; // warning, close_notify
+
+    private final byte contentType;
+    private final byte[] content;
+
+    /**
+     * Create a new record.
+     *
+     * @param contentType The TLS content type of the record.
+     * @param content The plaintext content of the record.
+     */
+    public KernelTlsRecord(byte contentType, byte[] content) {
+        requireNonNull(content, "content");
+        checkInRange(content.length, 1, MAX_RECORD_LENGTH, "content.length");
+        this.contentType = contentType;
+        this.content = content.clone();
+    }
+
+    /**
+     * Returns a {@code close_notify} alert record.
+     */
+    public static KernelTlsRecord closeNotify() {
+        return new KernelTlsRecord(CONTENT_TYPE_ALERT, CLOSE_NOTIFY);
+    }
+
+    public byte contentType() {
+        return contentType;
+    }
+
+    public byte[] content() {
+        return content.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "KernelTlsRecord[contentType=" + contentType + ", length=" + content.length + ']';
+    }
+}
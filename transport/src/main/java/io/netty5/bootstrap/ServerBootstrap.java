@@ -27,12 +27,17 @@ import io.netty5.channel.ReflectiveServerChannelFactory;
 import io.netty5.channel.ServerChannel;
 import io.netty5.channel.ServerChannelFactory;
 import io.netty5.util.AttributeKey;
+import io.netty5.util.concurrent.EventExecutor;
 import io.netty5.util.concurrent.Future;
 import io.netty5.util.concurrent.Promise;
 import io.netty5.util.internal.logging.InternalLogger;
 import io.netty5.util.internal.logging.InternalLoggerFactory;
 
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
@@ -197,6 +202,62 @@ public class ServerBootstrap extends AbstractBootstrap<ServerBootstrap, ServerCh
         return channelFactory.newChannel(eventLoop, childGroup);
     }
 
+    /**
+     * Create one {@link ServerChannel} per {@link EventLoop} of the child {@link EventLoopGroup}, and bind all of them
+     * to the given address. Each {@link ServerChannel} accepts on its own {@link EventLoop} and also serves the
+     * accepted {@link Channel}s there, so connections are never handed over between threads. The parent
+     * {@link EventLoopGroup} is not used.
+     * <p>
+     * The transport must allow several sockets to bind to the same address, for example by setting
+     * {@code UnixChannelOption.SO_REUSEPORT} via {@link #option(ChannelOption, Object)} with the epoll, io_uring or
+     * kqueue transports. The kernel then spreads the new connections over the sockets. If the port of the address is
+     * {@code 0}, all channels are bound to the port that was picked for the first one.
+     * <p>
+     * If a bind fails, the channels that were already bound are closed.
+     *
+     * @return a {@link Future} that is notified with the bound channels, in the iteration order of the child
+     * {@link EventLoopGroup}.
+     */
+    public Future<List<Channel>> bindPerEventLoop(SocketAddress localAddress) {
+        validate();
+        requireNonNull(localAddress, "localAddress");
+        List<EventLoop> loops = new ArrayList<>();
+        for (EventExecutor executor : childGroup) {
+            loops.add((EventLoop) executor);
+        }
+        Promise<List<Channel>> promise = loops.get(0).newPromise();
+        bindPerEventLoop(loops, new ArrayList<>(loops.size()), localAddress, promise);
+        return promise.asFuture();
+    }
+
+    private void bindPerEventLoop(List<EventLoop> loops, List<Channel> channels, SocketAddress localAddress,
+                                  Promise<List<Channel>> promise) {
+        EventLoop loop = loops.get(channels.size());
+        Future<Channel> regFuture;
+        try {
+            // The loop is also the child group, so accepted channels stay on the loop that accepted them.
+            regFuture = initAndRegister(loop, channelFactory.newChannel(loop, loop));
+        } catch (Throwable t) {
+            regFuture = loop.newFailedFuture(t);
+        }
+        doBind(loop, regFuture, localAddress).addListener(future -> {
+            if (future.isSuccess()) {
+                Channel channel = future.getNow();
+                channels.add(channel);
+                if (channels.size() == loops.size()) {
+                    promise.setSuccess(Collections.unmodifiableList(channels));
+                } else {
+                    bindPerEventLoop(loops, channels, channel.localAddress(), promise);
+                }
+            } else {
+                for (Channel channel : channels) {
+                    channel.close();
+                }
+                promise.setFailure(future.cause());
+            }
+        });
+    }
+
     @Override
     public ServerBootstrap validate() {
         super.validate();
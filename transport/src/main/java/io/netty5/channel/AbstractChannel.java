@@ -921,7 +921,12 @@ public abstract class AbstractChannel<P extends Channel, L extends SocketAddress
         }
 
         final ChannelOutboundBuffer outboundBuffer = this.outboundBuffer;
-        if (outboundBuffer == null || outboundBuffer.isEmpty()) {
+        if (outboundBuffer == null) {
+            return;
+        }
+        if (outboundBuffer.isEmpty()) {
+            // Transports that complete writes asynchronously may have just emptied the buffer, outside of doWrite.
+            updateWritabilityIfNeeded(true, true);
             return;
         }
 
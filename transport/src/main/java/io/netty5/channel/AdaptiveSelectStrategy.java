@@ -0,0 +1,129 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel;
+
+import java.util.function.IntSupplier;
+
+/**
+ * {@link SelectStrategy} that keeps polling for IO without blocking, for a configurable time after the last activity,
+ * and only then falls back to a blocking select. This trades CPU time for latency, as a thread that spins does not
+ * need to be woken up by the kernel when events arrive.
+ * <p>
+ * Instances are created by {@link AdaptiveSelectStrategyFactory}, one per event loop, and expose how the time of the
+ * event loop was spent. The metrics may be read from any thread.
+ */
+public final class AdaptiveSelectStrategy implements SelectStrategy {
+    private static final long NOT_SPINNING = -1;
+
+    private final long spinNanos;
+
+    // Only accessed from the event loop.
+    private long lastActivityNanos = System.nanoTime();
+    private long spinStartNanos = NOT_SPINNING;
+    private long selectStartNanos;
+
+    // Only updated when the event loop stops spinning or returns from a select, so spinning is not slowed down.
+    private volatile long totalSpinNanos;
+    private volatile long totalBlockedNanos;
+    private volatile long spinHits;
+    private volatile long blockingSelects;
+
+    AdaptiveSelectStrategy(long spinNanos) {
+        this.spinNanos = spinNanos;
+    }
+
+    @Override
+    public int calculateStrategy(IntSupplier selectSupplier, boolean notBlockForIo) {
+        if (spinNanos == 0 && !notBlockForIo) {
+            return select(System.nanoTime());
+        }
+        int ready = selectSupplier.getAsInt();
+        long now = System.nanoTime();
+        if (ready > 0 || notBlockForIo) {
+            // Ready events or pending tasks both count as activity.
+            stopSpinning(now, ready > 0);
+            lastActivityNanos = now;
+            return ready;
+        }
+        if (now - lastActivityNanos < spinNanos) {
+            if (spinStartNanos == NOT_SPINNING) {
+                spinStartNanos = now;
+            }
+            Thread.onSpinWait();
+            return CONTINUE;
+        }
+        stopSpinning(now, false);
+        return select(now);
+    }
+
+    private int select(long now) {
+        blockingSelects++;
+        selectStartNanos = now;
+        return SELECT;
+    }
+
+    @Override
+    public void afterSelect() {
+        long now = System.nanoTime();
+        totalBlockedNanos += now - selectStartNanos;
+        // Whatever woke up the event loop, it is likely that more follows.
+        lastActivityNanos = now;
+    }
+
+    private void stopSpinning(long now, boolean hit) {
+        if (spinStartNanos != NOT_SPINNING) {
+            totalSpinNanos += now - spinStartNanos;
+            spinStartNanos = NOT_SPINNING;
+            if (hit) {
+                spinHits++;
+            }
+        }
+    }
+
+    /**
+     * Returns the total time, in nanoseconds, that the event loop spent polling for IO without blocking while idle.
+     */
+    public long spinNanos() {
+        return totalSpinNanos;
+    }
+
+    /**
+     * Returns the total time, in nanoseconds, that the event loop spent in blocking selects.
+     */
+    public long blockedNanos() {
+        return totalBlockedNanos;
+    }
+
+    /**
+     * Returns how often spinning ended because IO became ready, so a blocking select and the wakeup were avoided.
+     */
+    public long spinHits() {
+        return spinHits;
+    }
+
+    /**
+     * Returns how often the event loop gave up spinning and did a blocking select.
+     */
+    public long blockingSelects() {
+        return blockingSelects;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveSelectStrategy(spinNanos: " + spinNanos() + ", blockedNanos: " + blockedNanos() +
+                ", spinHits: " + spinHits() + ", blockingSelects: " + blockingSelects() + ')';
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static io.netty5.util.internal.ObjectUtil.checkPositiveOrZero;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Factory of {@link AdaptiveSelectStrategy}s, which makes event loops spin for the given time after the last activity
+ * before they block, for example:
+ * <pre>
+ * AdaptiveSelectStrategyFactory strategies = new AdaptiveSelectStrategyFactory(50, TimeUnit.MICROSECONDS);
+ * EventLoopGroup group = new MultithreadEventLoopGroup(EpollHandler.newFactory(0, strategies));
+ * </pre>
+ * Every event loop that spins keeps a CPU busy, so there should not be more of them than CPUs that can be spent.
+ * With epoll, also consider {@code EpollChannelOption.SO_BUSY_POLL} and {@code EpollChannelOption.SO_PREFER_BUSY_POLL}
+ * so the kernel polls the device queues of the sockets as well.
+ */
+public final class AdaptiveSelectStrategyFactory implements SelectStrategyFactory {
+    private final long spinNanos;
+    private final List<AdaptiveSelectStrategy> strategies = new CopyOnWriteArrayList<>();
+
+    /**
+     * Create a new instance.
+     *
+     * @param spinTime the time to keep polling without blocking after the last activity, {@code 0} to never spin.
+     * @param unit the unit of {@code spinTime}.
+     */
+    public AdaptiveSelectStrategyFactory(long spinTime, TimeUnit unit) {
+        requireNonNull(unit, "unit");
+        spinNanos = unit.toNanos(checkPositiveOrZero(spinTime, "spinTime"));
+    }
+
+    @Override
+    public SelectStrategy newSelectStrategy() {
+        AdaptiveSelectStrategy strategy = new AdaptiveSelectStrategy(spinNanos);
+        strategies.add(strategy);
+        return strategy;
+    }
+
+    /**
+     * Returns the strategies that were created by this factory, in creation order. This is usually one per event loop.
+     */
+    public List<AdaptiveSelectStrategy> strategies() {
+        return Collections.unmodifiableList(strategies);
+    }
+}
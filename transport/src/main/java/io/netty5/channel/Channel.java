@@ -310,6 +310,16 @@ public interface Channel extends AttributeMap, ChannelOutboundInvoker, Comparabl
         return pipeline().writeAndFlush(msg);
     }
 
+    @Override
+    default void writeVoid(Object msg) {
+        pipeline().writeVoid(msg);
+    }
+
+    @Override
+    default void writeAndFlushVoid(Object msg) {
+        pipeline().writeAndFlushVoid(msg);
+    }
+
     @Override
     default Channel flush() {
         pipeline().flush();
@@ -134,6 +134,16 @@ public interface ChannelHandlerContext extends ChannelInboundInvoker, ChannelOut
     @Override
     ChannelHandlerContext flush();
 
+    @Override
+    default void writeVoid(Object msg) {
+        write(msg).addListener(channel(), ChannelFutureListeners.FIRE_EXCEPTION_ON_FAILURE);
+    }
+
+    @Override
+    default void writeAndFlushVoid(Object msg) {
+        writeAndFlush(msg).addListener(channel(), ChannelFutureListeners.FIRE_EXCEPTION_ON_FAILURE);
+    }
+
     /**
      * Return the assigned {@link ChannelPipeline}
      */
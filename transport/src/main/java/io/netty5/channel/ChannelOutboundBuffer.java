@@ -233,12 +233,27 @@ public final class ChannelOutboundBuffer {
      * messages are ready to be handled.
      */
     public boolean remove() {
+        int size = removeSucceeded();
+        if (size < 0) {
+            return false;
+        }
+        decrementPendingOutboundBytes(size);
+        return true;
+    }
+
+    /**
+     * Will remove the current message and mark its {@link Promise} as success, like {@link #remove()}, but leave it
+     * to the caller to decrement the pending bytes.
+     *
+     * @return the number of pending bytes of the removed message, or {@code -1} if no flushed message exists.
+     */
+    private int removeSucceeded() {
         assert executor.inEventLoop();
 
         Entry e = flushedEntry;
         if (e == null) {
             clearNioBuffers();
-            return false;
+            return -1;
         }
         Object msg = e.msg;
 
@@ -247,17 +262,18 @@ public final class ChannelOutboundBuffer {
 
         removeEntry(e);
 
-        if (!e.cancelled) {
-            // only release message, notify and decrement if it was not canceled before.
+        if (e.cancelled) {
+            size = 0;
+        } else {
+            // only release message and notify if it was not canceled before.
             SilentDispose.trySilentDispose(msg, logger);
             safeSuccess(promise);
-            decrementPendingOutboundBytes(size);
         }
 
         // recycle the entry
         e.recycle();
 
-        return true;
+        return size;
     }
 
     /**
@@ -316,6 +332,9 @@ public final class ChannelOutboundBuffer {
     public void removeBytes(long writtenBytes) {
         assert executor.inEventLoop();
 
+        // A gathering write often completes many small messages at once, so only update the volatile pending bytes
+        // once for all of them.
+        long removedPendingBytes = 0;
         Object msg = current();
         while (writtenBytes > 0 || hasZeroReadable(msg)) {
             if (msg instanceof Buffer) {
@@ -324,7 +343,7 @@ public final class ChannelOutboundBuffer {
                 if (readableBytes <= writtenBytes) {
                     progress(readableBytes);
                     writtenBytes -= readableBytes;
-                    remove();
+                    removedPendingBytes += removeSucceeded();
                 } else { // readableBytes > writtenBytes
                     buf.readSplit(Math.toIntExact(writtenBytes)).close();
                     progress(writtenBytes);
@@ -335,6 +354,7 @@ public final class ChannelOutboundBuffer {
             }
             msg = current();
         }
+        decrementPendingOutboundBytes(removedPendingBytes);
         clearNioBuffers();
     }
 
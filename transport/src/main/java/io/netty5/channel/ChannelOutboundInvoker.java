@@ -163,6 +163,21 @@ public interface ChannelOutboundInvoker extends FuturePromiseFactory {
      */
     Future<Void> writeAndFlush(Object msg);
 
+    /**
+     * Request to write a message like {@link #write(Object)}, for callers that are not interested in the outcome of
+     * the write. No {@link Future} is returned, and a failure of the write is fired through the
+     * {@link ChannelPipeline} as {@link ChannelHandler#channelExceptionCaught(ChannelHandlerContext, Throwable)}.
+     * <p>
+     * If the message reaches the transport without passing an outbound handler that intercepts writes, no
+     * {@link Promise} is allocated for it.
+     */
+    void writeVoid(Object msg);
+
+    /**
+     * Shortcut for call {@link #writeVoid(Object)} and {@link #flush()}.
+     */
+    void writeAndFlushVoid(Object msg);
+
     /**
      * Send a custom outbound event via this {@link ChannelOutboundInvoker} through the
      * {@link ChannelPipeline}.
@@ -608,6 +608,16 @@ public interface ChannelPipeline
     @Override
     ChannelPipeline flush();
 
+    @Override
+    default void writeVoid(Object msg) {
+        write(msg).addListener(channel(), ChannelFutureListeners.FIRE_EXCEPTION_ON_FAILURE);
+    }
+
+    @Override
+    default void writeAndFlushVoid(Object msg) {
+        writeAndFlush(msg).addListener(channel(), ChannelFutureListeners.FIRE_EXCEPTION_ON_FAILURE);
+    }
+
     /**
      * The number of the outbound bytes that are buffered / queued in this {@link ChannelPipeline}. This number will
      * affect the writability of the {@link Channel} together the buffered / queued bytes in the {@link Channel} itself.
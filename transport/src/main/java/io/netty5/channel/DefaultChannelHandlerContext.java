@@ -28,6 +28,7 @@ import io.netty5.util.internal.logging.InternalLogger;
 import io.netty5.util.internal.logging.InternalLoggerFactory;
 
 import java.net.SocketAddress;
+import java.util.Arrays;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 
@@ -81,6 +82,12 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
      */
     private static final int REMOVE_COMPLETE = 3;
 
+    // The skip table has an entry per event, at the index of the bit of its mask. The inbound events come first, then
+    // the outbound ones, followed by an entry for findContextOutbound(MASK_WRITE | MASK_FLUSH).
+    private static final int FIRST_OUTBOUND_INDEX = Integer.numberOfTrailingZeros(MASK_BIND);
+    private static final int WRITE_AND_FLUSH_INDEX = Integer.numberOfTrailingZeros(MASK_SEND_OUTBOUND_EVENT) + 1;
+    private static final int SKIP_TABLE_SIZE = WRITE_AND_FLUSH_INDEX + 1;
+
     private final int executionMask;
     private final DefaultChannelPipeline pipeline;
     private final ChannelHandler handler;
@@ -100,6 +107,11 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
     DefaultChannelHandlerContext next;
     DefaultChannelHandlerContext prev;
 
+    // The closest context in the direction of each event that handles it, so deep pipelines with many handlers that
+    // do not handle an event need not be walked. Updated by updateSkipTables(...) whenever the pipeline changes, and
+    // all null while this context is not part of the pipeline.
+    private final DefaultChannelHandlerContext[] skipTable = new DefaultChannelHandlerContext[SKIP_TABLE_SIZE];
+
     DefaultChannelHandlerContext(DefaultChannelPipeline pipeline, String name,
                                  ChannelHandler handler) {
         this.name = requireNonNull(name, "name");
@@ -923,6 +935,70 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
         }
     }
 
+    @Override
+    public void writeVoid(Object msg) {
+        writeVoid(msg, false);
+    }
+
+    @Override
+    public void writeAndFlushVoid(Object msg) {
+        writeVoid(msg, true);
+    }
+
+    private void writeVoid(Object msg, boolean flush) {
+        requireNonNull(msg, "msg");
+
+        EventExecutor executor = originalExecutor();
+        if (executor.inEventLoop()) {
+            final DefaultChannelHandlerContext next = findContextOutbound(flush ?
+                    (MASK_WRITE | MASK_FLUSH) : MASK_WRITE);
+            if (next == null) {
+                Resource.dispose(msg);
+                pipeline.voidWritePromise().setFailure(newRemovedException(this, null));
+                return;
+            }
+            next.invokeWriteVoid(msg);
+            if (flush) {
+                next.invokeFlush();
+            }
+        } else {
+            // The write tasks are pooled, so with the shared promise nothing is allocated per write.
+            Promise<Void> promise = pipeline.voidWritePromise();
+            final AbstractWriteTask task;
+            if (flush) {
+                task = WriteAndFlushTask.newInstance(this, msg, promise);
+            }  else {
+                task = WriteTask.newInstance(this, msg, promise);
+            }
+            if (task != null && !safeExecute(executor, task, promise, msg)) {
+                task.cancel();
+            }
+        }
+    }
+
+    private void invokeWriteVoid(Object msg) {
+        final Object m = pipeline.touch(msg, this);
+        Future<Void> failed = saveCurrentPendingBytesIfNeededOutbound();
+        if (failed != null) {
+            Resource.dispose(m);
+            pipeline.voidWritePromise().setFailure(failed.cause());
+            return;
+        }
+
+        try {
+            if (pipeline.isHead(this)) {
+                // No handler intercepted the write, so nobody can have looked at its future.
+                pipeline.writeVoidTransport(m);
+            } else {
+                handler().write(this, m).addListener(channel(), ChannelFutureListeners.FIRE_EXCEPTION_ON_FAILURE);
+            }
+        } catch (Throwable t) {
+            handleOutboundHandlerException(t, false);
+        } finally {
+            updatePendingBytesIfNeeded();
+        }
+    }
+
     @Override
     public Future<Void> sendOutboundEvent(Object event) {
         EventExecutor executor = originalExecutor();
@@ -975,27 +1051,73 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
     }
 
     private DefaultChannelHandlerContext findContextInbound(int mask) {
-        DefaultChannelHandlerContext ctx = this;
-        if (ctx.next == null) {
-            return null;
+        DefaultChannelHandlerContext ctx = skipTable[skipTableIndex(mask)];
+        if (ctx == null) {
+            // Not part of the pipeline anymore, but a replaced context still forwards to its replacement.
+            ctx = this;
+            if (ctx.next == null) {
+                return null;
+            }
+            ctx = ctx.next;
         }
-        do {
+        // A handler that is being removed does not see any events anymore.
+        while ((ctx.executionMask & mask) == 0 || ctx.handlerState == REMOVE_STARTED) {
             ctx = ctx.next;
-        } while ((ctx.executionMask & mask) == 0 || ctx.handlerState == REMOVE_STARTED);
+        }
         return ctx;
     }
 
     private DefaultChannelHandlerContext findContextOutbound(int mask) {
-        DefaultChannelHandlerContext ctx = this;
-        if (ctx.prev == null) {
-            return null;
+        DefaultChannelHandlerContext ctx = skipTable[skipTableIndex(mask)];
+        if (ctx == null) {
+            // Not part of the pipeline anymore, but a replaced context still forwards to its replacement.
+            ctx = this;
+            if (ctx.prev == null) {
+                return null;
+            }
+            ctx = ctx.prev;
         }
-        do {
+        // A handler that is being removed does not see any events anymore.
+        while ((ctx.executionMask & mask) == 0 || ctx.handlerState == REMOVE_STARTED) {
             ctx = ctx.prev;
-        } while ((ctx.executionMask & mask) == 0 || ctx.handlerState == REMOVE_STARTED);
+        }
         return ctx;
     }
 
+    private static int skipTableIndex(int mask) {
+        return mask == (MASK_WRITE | MASK_FLUSH) ? WRITE_AND_FLUSH_INDEX : Integer.numberOfTrailingZeros(mask);
+    }
+
+    /**
+     * Update the skip tables of all contexts between {@code head} and {@code tail}, after the pipeline was changed.
+     * This must be called from the event loop.
+     */
+    static void updateSkipTables(DefaultChannelHandlerContext head, DefaultChannelHandlerContext tail) {
+        DefaultChannelHandlerContext[] closest = new DefaultChannelHandlerContext[SKIP_TABLE_SIZE];
+        // Inbound events travel towards the tail, so walk from the tail to the head.
+        for (DefaultChannelHandlerContext ctx = tail; ctx != null; ctx = ctx.prev) {
+            System.arraycopy(closest, 0, ctx.skipTable, 0, FIRST_OUTBOUND_INDEX);
+            for (int i = 0; i < FIRST_OUTBOUND_INDEX; i++) {
+                if ((ctx.executionMask & 1 << i) != 0) {
+                    closest[i] = ctx;
+                }
+            }
+        }
+        // Outbound events travel towards the head, so walk from the head to the tail.
+        for (DefaultChannelHandlerContext ctx = head; ctx != null; ctx = ctx.next) {
+            System.arraycopy(closest, FIRST_OUTBOUND_INDEX, ctx.skipTable, FIRST_OUTBOUND_INDEX,
+                    SKIP_TABLE_SIZE - FIRST_OUTBOUND_INDEX);
+            for (int i = FIRST_OUTBOUND_INDEX; i < WRITE_AND_FLUSH_INDEX; i++) {
+                if ((ctx.executionMask & 1 << i) != 0) {
+                    closest[i] = ctx;
+                }
+            }
+            if ((ctx.executionMask & (MASK_WRITE | MASK_FLUSH)) != 0) {
+                closest[WRITE_AND_FLUSH_INDEX] = ctx;
+            }
+        }
+    }
+
     boolean setAddComplete() {
         // Ensure we never update when the handlerState is REMOVE_COMPLETE already.
         // oldState is usually ADD_PENDING but can also be REMOVE_COMPLETE when an EventExecutor is used that is not
@@ -1063,10 +1185,19 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
             if (next != null) {
                 next.prev = prev;
             }
+            pipeline.updateSkipTables();
         }
 
         prev = null;
         next = null;
+        clearSkipTable();
+    }
+
+    /**
+     * Clear the skip table, once this context is not part of the pipeline anymore.
+     */
+    void clearSkipTable() {
+        Arrays.fill(skipTable, null);
     }
 
     static boolean safeExecute(EventExecutor executor, Runnable runnable, Promise<Void> promise, Object msg) {
@@ -1161,7 +1292,7 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
                 DefaultChannelHandlerContext next = findContext(ctx);
                 if (next == null) {
                     Resource.dispose(msg);
-                    failRemoved(ctx).cascadeTo(promise);
+                    promise.tryFailure(newRemovedException(ctx, null));
                     return;
                 }
                 write(next, msg, promise);
@@ -1194,7 +1325,11 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
         }
 
         protected void write(DefaultChannelHandlerContext ctx, Object msg, Promise<Void> promise) {
-            ctx.invokeWrite(msg).cascadeTo(promise);
+            if (promise instanceof VoidWritePromise) {
+                ctx.invokeWriteVoid(msg);
+            } else {
+                ctx.invokeWrite(msg).cascadeTo(promise);
+            }
         }
     }
 
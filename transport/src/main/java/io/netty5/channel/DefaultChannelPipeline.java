@@ -71,6 +71,7 @@ public abstract class DefaultChannelPipeline implements ChannelPipeline {
 
     private final Channel channel;
     private final Future<Void> succeededFuture;
+    private final VoidWritePromise voidWritePromise;
     private final boolean touch = ResourceLeakDetector.isEnabled();
     private final List<DefaultChannelHandlerContext> handlers = new ArrayList<>(4);
 
@@ -92,6 +93,9 @@ public abstract class DefaultChannelPipeline implements ChannelPipeline {
         tail.prev = head;
         head.setAddComplete();
         tail.setAddComplete();
+        updateSkipTables();
+
+        voidWritePromise = new VoidWritePromise(head);
     }
 
     final MessageSizeEstimator.Handle estimatorHandle() {
@@ -105,6 +109,37 @@ public abstract class DefaultChannelPipeline implements ChannelPipeline {
         return handle;
     }
 
+    /**
+     * Returns the {@link Promise} that is shared by the writes that were requested through {@link #writeVoid(Object)}.
+     */
+    final Promise<Void> voidWritePromise() {
+        return voidWritePromise;
+    }
+
+    /**
+     * Update the skip tables of the contexts, after a context was linked into or unlinked from the pipeline.
+     */
+    final void updateSkipTables() {
+        DefaultChannelHandlerContext.updateSkipTables(head, tail);
+    }
+
+    final boolean isHead(DefaultChannelHandlerContext ctx) {
+        return ctx == head;
+    }
+
+    /**
+     * Write the message to the transport like the head of the pipeline does, but with the
+     * {@linkplain #voidWritePromise() void write promise} instead of a new one.
+     */
+    final void writeVoidTransport(Object msg) {
+        EventExecutor executor = transportExecutor();
+        if (executor.inEventLoop()) {
+            writeTransport(msg, voidWritePromise);
+        } else {
+            safeExecute(executor, () -> writeTransport(msg, voidWritePromise), voidWritePromise, msg);
+        }
+    }
+
     final Object touch(Object msg, DefaultChannelHandlerContext next) {
         if (touch) {
             Resource.touch(msg, next);
@@ -173,6 +208,7 @@ public abstract class DefaultChannelPipeline implements ChannelPipeline {
         newCtx.next = nextCtx;
         head.next = newCtx;
         nextCtx.prev = newCtx;
+        updateSkipTables();
         callHandlerAdded0(newCtx);
     }
 
@@ -206,6 +242,7 @@ public abstract class DefaultChannelPipeline implements ChannelPipeline {
         newCtx.next = tail;
         prev.next = newCtx;
         tail.prev = newCtx;
+        updateSkipTables();
         callHandlerAdded0(newCtx);
     }
 
@@ -242,6 +279,7 @@ public abstract class DefaultChannelPipeline implements ChannelPipeline {
         newCtx.next = ctx;
         ctx.prev.next = newCtx;
         ctx.prev = newCtx;
+        updateSkipTables();
         callHandlerAdded0(newCtx);
     }
 
@@ -283,6 +321,7 @@ public abstract class DefaultChannelPipeline implements ChannelPipeline {
         newCtx.next = ctx.next;
         ctx.next.prev = newCtx;
         ctx.next = newCtx;
+        updateSkipTables();
         callHandlerAdded0(newCtx);
     }
 
@@ -532,6 +571,8 @@ public abstract class DefaultChannelPipeline implements ChannelPipeline {
         // update the reference to the replacement so forward of buffered content will work correctly
         oldCtx.prev = newCtx;
         oldCtx.next = newCtx;
+        oldCtx.clearSkipTable();
+        updateSkipTables();
 
         try {
             // Invoke newHandler.handlerAdded() first (i.e. before oldHandler.handlerRemoved() is invoked)
@@ -910,6 +951,16 @@ public abstract class DefaultChannelPipeline implements ChannelPipeline {
         return tail.writeAndFlush(msg);
     }
 
+    @Override
+    public final void writeVoid(Object msg) {
+        tail.writeVoid(msg);
+    }
+
+    @Override
+    public final void writeAndFlushVoid(Object msg) {
+        tail.writeAndFlushVoid(msg);
+    }
+
     @Override
     public final Future<Void> sendOutboundEvent(Object event) {
         return tail.sendOutboundEvent(event);
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel;
+
+import io.netty5.util.concurrent.EventExecutor;
+import io.netty5.util.concurrent.EventExecutorChooserFactory;
+import io.netty5.util.concurrent.LoadAwareEventExecutorChooserFactory;
+import io.netty5.util.internal.UnstableApi;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Load aware {@link EventExecutorChooserFactory}s for {@link MultithreadEventLoopGroup}s. As the
+ * {@link EventLoopGroup} chooses the {@link EventLoop} of every new {@link Channel}, they are used by both
+ * {@link io.netty5.bootstrap.Bootstrap} and the accepted child channels of {@link io.netty5.bootstrap.ServerBootstrap}.
+ * <p>
+ * The load is read from {@link SingleThreadEventLoop}s, other {@link EventLoop}s are treated as idle.
+ */
+@UnstableApi
+public final class EventLoopChooserFactories {
+    private static final ToLongFunction<EventExecutor> REGISTERED_HANDLES = executor ->
+            executor instanceof SingleThreadEventLoop ? ((SingleThreadEventLoop) executor).registeredHandles() : 0;
+    private static final ToLongFunction<EventExecutor> LOAD = executor -> {
+        if (executor instanceof SingleThreadEventLoop) {
+            SingleThreadEventLoop loop = (SingleThreadEventLoop) executor;
+            return (long) loop.registeredHandles() + loop.pendingTasks();
+        }
+        return 0;
+    };
+
+    private EventLoopChooserFactories() {
+    }
+
+    /**
+     * Returns a factory whose choosers choose the {@link EventLoop} with the fewest
+     * {@linkplain SingleThreadEventLoop#registeredHandles() registered channels}.
+     */
+    public static EventExecutorChooserFactory leastRegisteredChannels() {
+        return LoadAwareEventExecutorChooserFactory.leastLoaded(REGISTERED_HANDLES);
+    }
+
+    /**
+     * Returns a factory whose choosers choose the {@link EventLoop} with the fewest
+     * {@linkplain SingleThreadEventLoop#pendingTasks() pending tasks}.
+     */
+    public static EventExecutorChooserFactory leastPendingTasks() {
+        return LoadAwareEventExecutorChooserFactory.leastPendingTasks();
+    }
+
+    /**
+     * Returns a factory whose choosers pick two {@link EventLoop}s at random, and choose the one with the lower load.
+     * The load of an {@link EventLoop} is the number of its registered channels plus the number of its pending tasks.
+     */
+    public static EventExecutorChooserFactory powerOfTwoChoices() {
+        return LoadAwareEventExecutorChooserFactory.powerOfTwoChoices(LOAD);
+    }
+}
@@ -49,6 +49,13 @@ import java.nio.channels.WritableByteChannel;
  * performance.  For example, sending a large file doesn't work well in Windows.
  *
  * <h3>Not all transports support it</h3>
+ *
+ * <h3>Inspecting the contents</h3>
+ *
+ * A {@link FileRegion} is opaque to codecs. If the contents of the file also need to be read, for instance to compute
+ * a checksum, map the region with {@link io.netty5.buffer.api.MemoryManager#mapFile(FileChannel, long, int)} instead.
+ * The resulting read-only buffer is backed by the mapped file, and is written by all transports straight from that
+ * memory, without being copied into another buffer first.
  */
 public interface FileRegion extends ReferenceCounted {
 
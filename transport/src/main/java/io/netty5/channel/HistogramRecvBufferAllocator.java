@@ -0,0 +1,270 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel;
+
+import io.netty5.util.internal.UnstableApi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static io.netty5.util.internal.ObjectUtil.checkInRange;
+import static io.netty5.util.internal.ObjectUtil.checkPositive;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * The {@link RecvBufferAllocator} that predicts the buffer size from a histogram of the number of bytes that were
+ * read in the recent read cycles of a channel.
+ * <p>
+ * Each handle keeps a small, decaying histogram of the bytes read per read cycle, and guesses the size that covers
+ * the given percentile of them. Unlike {@link AdaptiveRecvBufferAllocator}, which moves its guess after every read
+ * cycle, an occasional large read does not move the guess of a channel that mostly receives small messages. If a
+ * read fills the allocated buffer, the guess is quadrupled for the rest of the read cycle, so large transfers still
+ * ramp up quickly.
+ * <p>
+ * The guesses are size classes of the {@link io.netty5.buffer.api.pool.PooledBufferAllocator}, so no pooled memory
+ * is wasted by rounding up the allocated buffers.
+ * <p>
+ * The handles also share what they learned through the allocator that created them: handles start with the guess
+ * that covers the given percentile of the guesses of the other handles. To share the learned sizes between the
+ * child channels of a server, use a single instance of this allocator as their
+ * {@link ChannelOption#RCVBUFFER_ALLOCATOR} child option.
+ */
+@UnstableApi
+public class HistogramRecvBufferAllocator extends DefaultMaxMessagesRecvBufferAllocator {
+
+    static final int DEFAULT_MINIMUM = 64;
+    // Use an initial value that is bigger than the common MTU of 1500
+    static final int DEFAULT_INITIAL = 2048;
+    static final int DEFAULT_MAXIMUM = 65536;
+    static final int DEFAULT_PERCENTILE = 90;
+
+    // Read cycles after which the counts of a histogram are halved, so older read cycles weigh less.
+    private static final int DECAY_INTERVAL = 128;
+    // Read cycles of a handle after which its guess is shared, even if it did not change.
+    private static final int SHARE_INTERVAL = 16;
+    // Each size class group has 4 size classes, so this quadruples the guess.
+    private static final int RAMP_UP_INDEX_INCREMENT = 8;
+
+    /**
+     * The size classes of the pooled allocators: multiples of 16 up to 64, and then 4 size classes for each doubling
+     * of the size.
+     */
+    private static final int[] SIZE_CLASSES;
+
+    static {
+        List<Integer> sizeClasses = new ArrayList<>();
+        for (int i = 16; i <= 64; i += 16) {
+            sizeClasses.add(i);
+        }
+        for (long group = 64; group < Integer.MAX_VALUE; group <<= 1) {
+            long delta = group >>> 2;
+            for (long size = group + delta; size <= group << 1 && size <= Integer.MAX_VALUE; size += delta) {
+                sizeClasses.add((int) size);
+            }
+        }
+
+        SIZE_CLASSES = new int[sizeClasses.size()];
+        for (int i = 0; i < SIZE_CLASSES.length; i ++) {
+            SIZE_CLASSES[i] = sizeClasses.get(i);
+        }
+    }
+
+    /**
+     * Returns the index of the smallest size class that is not smaller than the given size, or the index of the
+     * largest size class if there is none.
+     */
+    private static int sizeClassIndex(int size) {
+        int index = Arrays.binarySearch(SIZE_CLASSES, size);
+        return index >= 0? index : min(-index - 1, SIZE_CLASSES.length - 1);
+    }
+
+    private static int percentileTarget(int total, int percentile) {
+        return (int) (((long) total * percentile + 99) / 100);
+    }
+
+    /**
+     * Returns the index of the bucket of the smallest size that covers the given percentile of the counts, or
+     * {@code -1} if all counts are zero.
+     */
+    private static int percentileIndex(int[] counts, int total, int percentile) {
+        if (total == 0) {
+            return -1;
+        }
+        int target = percentileTarget(total, percentile);
+        int sum = 0;
+        for (int i = 0; i < counts.length - 1; i ++) {
+            sum += counts[i];
+            if (sum >= target) {
+                return i;
+            }
+        }
+        return counts.length - 1;
+    }
+
+    private final class HandleImpl extends MaxMessageHandle {
+        private final int[] counts = new int[maxIndex - minIndex + 1];
+        private int total;
+        private int cycles;
+        private int index;
+        private int nextReceiveBufferSize;
+
+        HandleImpl(int index) {
+            this.index = index;
+            nextReceiveBufferSize = SIZE_CLASSES[index];
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            // Start every read cycle from the prediction, and not from where the previous read cycle ramped up to.
+            nextReceiveBufferSize = SIZE_CLASSES[index];
+        }
+
+        @Override
+        public void lastBytesRead(int bytes) {
+            // If we read as much as we asked for, there is likely more data pending. Ramp up for the rest of this
+            // read cycle, so large transfers do not need many small reads or trips back to the selector.
+            if (bytes == attemptedBytesRead()) {
+                nextReceiveBufferSize = SIZE_CLASSES[
+                        min(sizeClassIndex(nextReceiveBufferSize) + RAMP_UP_INDEX_INCREMENT, maxIndex)];
+            }
+            super.lastBytesRead(bytes);
+        }
+
+        @Override
+        public int guess() {
+            return nextReceiveBufferSize;
+        }
+
+        @Override
+        public void readComplete() {
+            int bytes = totalBytesRead();
+            if (bytes == 0) {
+                // Read cycles that did not read anything tell nothing about the sizes of the messages.
+                return;
+            }
+            counts[min(max(sizeClassIndex(bytes), minIndex), maxIndex) - minIndex]++;
+            if (++total == DECAY_INTERVAL) {
+                total = 0;
+                for (int i = 0; i < counts.length; i ++) {
+                    counts[i] >>>= 1;
+                    total += counts[i];
+                }
+            }
+
+            int percentileIndex = percentileIndex(counts, total, percentile);
+            if (percentileIndex < 0) {
+                // All counts decayed to zero, keep the last prediction.
+                return;
+            }
+            int newIndex = minIndex + percentileIndex;
+            boolean changed = newIndex != index;
+            index = newIndex;
+            nextReceiveBufferSize = SIZE_CLASSES[index];
+            if (changed || ++cycles == SHARE_INTERVAL) {
+                cycles = 0;
+                share(index);
+            }
+        }
+    }
+
+    private final int minIndex;
+    private final int maxIndex;
+    private final int percentile;
+    private final AtomicIntegerArray sharedCounts;
+    private final AtomicInteger sharedTotal = new AtomicInteger();
+    private volatile int sharedIndex;
+
+    /**
+     * Creates a new predictor with the default parameters.  With the default
+     * parameters, the expected buffer size starts from {@code 2048}, does not
+     * go down below {@code 64}, does not go up above {@code 65536}, and covers
+     * the sizes of {@code 90} percent of the recent read cycles.
+     */
+    public HistogramRecvBufferAllocator() {
+        this(DEFAULT_MINIMUM, DEFAULT_INITIAL, DEFAULT_MAXIMUM, DEFAULT_PERCENTILE);
+    }
+
+    /**
+     * Creates a new predictor with the specified parameters.
+     *
+     * @param minimum  the inclusive lower bound of the expected buffer size
+     * @param initial  the initial buffer size when no feedback was received
+     * @param maximum  the inclusive upper bound of the expected buffer size
+     * @param percentile the percentage of the recent read cycles whose bytes should fit in the expected buffer size
+     */
+    public HistogramRecvBufferAllocator(int minimum, int initial, int maximum, int percentile) {
+        checkPositive(minimum, "minimum");
+        if (initial < minimum) {
+            throw new IllegalArgumentException("initial: " + initial);
+        }
+        if (maximum < initial) {
+            throw new IllegalArgumentException("maximum: " + maximum);
+        }
+        checkInRange(percentile, 1, 100, "percentile");
+
+        minIndex = sizeClassIndex(minimum);
+        int maxIndex = sizeClassIndex(maximum);
+        if (SIZE_CLASSES[maxIndex] > maximum) {
+            maxIndex--;
+        }
+        if (maxIndex < minIndex) {
+            throw new IllegalArgumentException(
+                    "no size class between minimum: " + minimum + " and maximum: " + maximum);
+        }
+        this.maxIndex = maxIndex;
+        this.percentile = percentile;
+        sharedCounts = new AtomicIntegerArray(maxIndex - minIndex + 1);
+        sharedIndex = min(max(sizeClassIndex(initial), minIndex), maxIndex);
+    }
+
+    private void share(int index) {
+        sharedCounts.incrementAndGet(index - minIndex);
+        if (sharedTotal.incrementAndGet() % DECAY_INTERVAL == 0) {
+            for (int i = 0; i < sharedCounts.length(); i ++) {
+                sharedCounts.getAndUpdate(i, count -> count >>> 1);
+            }
+        }
+
+        // Handles of different channels may race here, which only makes the shared guess a little less accurate.
+        int total = 0;
+        for (int i = 0; i < sharedCounts.length(); i ++) {
+            total += sharedCounts.get(i);
+        }
+        if (total == 0) {
+            return;
+        }
+        int target = percentileTarget(total, percentile);
+        int sum = 0;
+        int i = 0;
+        for (; i < sharedCounts.length() - 1; i ++) {
+            sum += sharedCounts.get(i);
+            if (sum >= target) {
+                break;
+            }
+        }
+        sharedIndex = minIndex + i;
+    }
+
+    @Override
+    public Handle newHandle() {
+        return new HandleImpl(sharedIndex);
+    }
+}
@@ -36,4 +36,18 @@ public interface IoExecutionContext {
      * closest scheduled task should run or {@code -1} if nothing is scheduled to run.
      */
     long deadlineNanos();
+
+    /**
+     * Called by the {@link IoHandler} right before it blocks to wait for IO to become ready, so the time it spends
+     * waiting can be told apart from the time it spends processing IO. Every call must be followed by a call to
+     * {@link #ioWaitFinished()}, once the {@link IoHandler} stopped waiting.
+     */
+    default void ioWaitStarted() {
+    }
+
+    /**
+     * Called by the {@link IoHandler} once it stopped waiting for IO, see {@link #ioWaitStarted()}.
+     */
+    default void ioWaitFinished() {
+    }
 }
@@ -16,7 +16,9 @@
 package io.netty5.channel;
 
 import io.netty5.util.NettyRuntime;
+import io.netty5.util.concurrent.DefaultEventExecutorChooserFactory;
 import io.netty5.util.concurrent.DefaultThreadFactory;
+import io.netty5.util.concurrent.EventExecutorChooserFactory;
 import io.netty5.util.concurrent.MultithreadEventExecutorGroup;
 import io.netty5.util.concurrent.RejectedExecutionHandler;
 import io.netty5.util.concurrent.RejectedExecutionHandlers;
@@ -74,6 +76,22 @@ public class MultithreadEventLoopGroup extends MultithreadEventExecutorGroup imp
         this(nThreads, (Executor) null, ioHandlerFactory);
     }
 
+    /**
+     * Create a new instance.
+     *
+     * @param nThreads          the number of threads that will be used by this instance.
+     * @param ioHandlerFactory  the {@link IoHandlerFactory} to use for creating new
+     *                          {@link IoHandler} instances that will handle the IO for the
+     *                          {@link EventLoop}.
+     * @param chooserFactory    the {@link EventExecutorChooserFactory} that decides which {@link EventLoop} is
+     *                          returned by {@link #next()}, and so is used for new {@link Channel}s.
+     */
+    public MultithreadEventLoopGroup(int nThreads, IoHandlerFactory ioHandlerFactory,
+                                     EventExecutorChooserFactory chooserFactory) {
+        this(nThreads, (Executor) null, ioHandlerFactory, SingleThreadEventLoop.DEFAULT_MAX_PENDING_TASKS,
+                RejectedExecutionHandlers.reject(), SingleThreadEventLoop.DEFAULT_MAX_TASKS_PER_RUN, chooserFactory);
+    }
+
     /**
      * Create a new instance.
      *
@@ -191,6 +209,29 @@ public class MultithreadEventLoopGroup extends MultithreadEventExecutorGroup imp
                 maxPendingTasks, rejectedHandler, maxTasksPerRun, EmptyArrays.EMPTY_OBJECTS);
     }
 
+    /**
+     * Create a new instance.
+     *
+     * @param nThreads          the number of threads that will be used by this instance.
+     * @param executor          the {@link Executor} to use, or {@code null} if the default should be used.
+     * @param ioHandlerFactory  the {@link IoHandlerFactory} to use for creating new
+     *                          {@link IoHandler} instances that will handle the IO for the
+     *                          {@link EventLoop}.
+     * @param maxPendingTasks   the maximum number of pending tasks before new tasks will be rejected.
+     * @param rejectedHandler   the {@link RejectedExecutionHandler} to use.
+     * @param maxTasksPerRun    the maximum number of tasks per {@link EventLoop} run that will be processed
+     *                          before trying to handle IO again.
+     * @param chooserFactory    the {@link EventExecutorChooserFactory} that decides which {@link EventLoop} is
+     *                          returned by {@link #next()}, and so is used for new {@link Channel}s.
+     */
+    public MultithreadEventLoopGroup(int nThreads, Executor executor,
+                                     IoHandlerFactory ioHandlerFactory,
+                                     int maxPendingTasks, RejectedExecutionHandler rejectedHandler,
+                                     int maxTasksPerRun, EventExecutorChooserFactory chooserFactory) {
+        this(nThreads, executor, ioHandlerFactory,
+                maxPendingTasks, rejectedHandler, maxTasksPerRun, chooserFactory, EmptyArrays.EMPTY_OBJECTS);
+    }
+
     /**
      * Create a new instance.
      *
@@ -233,9 +274,35 @@ public class MultithreadEventLoopGroup extends MultithreadEventExecutorGroup imp
                                      IoHandlerFactory ioHandlerFactory,
                                      int maxPendingTasks, RejectedExecutionHandler rejectedHandler,
                                      int maxTasksPerRun, Object... args) {
+        this(nThreads, executor, ioHandlerFactory, maxPendingTasks, rejectedHandler, maxTasksPerRun,
+                DefaultEventExecutorChooserFactory.INSTANCE, args);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param nThreads          the number of threads that will be used by this instance.
+     * @param executor          the {@link Executor} to use, or {@code null} if the default should be used.
+     * @param ioHandlerFactory  the {@link IoHandlerFactory} to use for creating new
+     *                          {@link IoHandler} instances that will handle the IO for the
+     *                          {@link EventLoop}.
+     * @param maxPendingTasks   the maximum number of pending tasks before new tasks will be rejected.
+     * @param rejectedHandler   the {@link RejectedExecutionHandler} to use.
+     * @param maxTasksPerRun    the maximum number of tasks per {@link EventLoop} run that will be processed
+     *                          before trying to handle IO again.
+     * @param chooserFactory    the {@link EventExecutorChooserFactory} that decides which {@link EventLoop} is
+     *                          returned by {@link #next()}.
+     * @param args              extra arguments passed to {@link #newChild(Executor, int, RejectedExecutionHandler,
+     *                          IoHandler, int, Object...)}
+     */
+    protected MultithreadEventLoopGroup(int nThreads, Executor executor,
+                                     IoHandlerFactory ioHandlerFactory,
+                                     int maxPendingTasks, RejectedExecutionHandler rejectedHandler,
+                                     int maxTasksPerRun, EventExecutorChooserFactory chooserFactory,
+                                     Object... args) {
         super(pickThreadCount(nThreads),
                 executor == null ? new ThreadPerTaskExecutor(newDefaultThreadFactory()) : executor,
-                maxPendingTasks, rejectedHandler, merge(ioHandlerFactory, maxTasksPerRun, args));
+                chooserFactory, maxPendingTasks, rejectedHandler, merge(ioHandlerFactory, maxTasksPerRun, args));
     }
 
     /**
@@ -49,4 +49,10 @@ public interface SelectStrategy {
      *         again. Any value >= 0 is treated as an indicator that work needs to be done.
      */
     int calculateStrategy(IntSupplier selectSupplier, boolean notBlockForIo) throws Exception;
+
+    /**
+     * Called when the select that followed a {@link #SELECT} returned, whether it blocked or not.
+     */
+    default void afterSelect() {
+    }
 }
@@ -15,6 +15,7 @@
  */
 package io.netty5.channel;
 
+import io.netty5.util.concurrent.EventExecutorMetrics;
 import io.netty5.util.concurrent.Future;
 import io.netty5.util.concurrent.Promise;
 import io.netty5.util.concurrent.RejectedExecutionHandler;
@@ -61,10 +62,32 @@ public class SingleThreadEventLoop extends SingleThreadEventExecutor implements
             assert inEventLoop();
             return SingleThreadEventLoop.this.deadlineNanos();
         }
+
+        @Override
+        public void ioWaitStarted() {
+            assert inEventLoop();
+            if (measureIoWait) {
+                ioWaitStartNanos = getCurrentTimeNanos();
+            }
+        }
+
+        @Override
+        public void ioWaitFinished() {
+            assert inEventLoop();
+            if (measureIoWait) {
+                ioWaitNanos += getCurrentTimeNanos() - ioWaitStartNanos;
+            }
+        }
     };
 
     private final IoHandler ioHandler;
     private final int maxTasksPerRun;
+    // Only updated by the event loop thread, but read by any thread that chooses an event loop.
+    private volatile int registeredHandles;
+    // Only used by the event loop thread, while metrics are recorded.
+    private boolean measureIoWait;
+    private long ioWaitStartNanos;
+    private long ioWaitNanos;
 
     /**
      * Create a new instance
@@ -173,7 +196,18 @@ public class SingleThreadEventLoop extends SingleThreadEventExecutor implements
     protected void run() {
         assert inEventLoop();
         do {
-            runIO();
+            EventExecutorMetrics metrics = metrics();
+            if (metrics == null) {
+                runIO();
+            } else {
+                ioWaitNanos = 0;
+                measureIoWait = true;
+                long startTime = getCurrentTimeNanos();
+                int handled = runIO();
+                measureIoWait = false;
+                // The IoHandler reports how long it was blocked, which is not counted as processing I/O.
+                metrics.ioRun(handled, ioWaitNanos, getCurrentTimeNanos() - startTime - ioWaitNanos);
+            }
             if (isShuttingDown()) {
                 ioHandler.prepareToDestroy();
             }
@@ -212,6 +246,7 @@ public class SingleThreadEventLoop extends SingleThreadEventExecutor implements
             checkInEventLoopIfPossible(handle);
 
             ioHandler.register(handle);
+            registeredHandles++;
         } catch (Throwable cause) {
             promise.setFailure(cause);
             return;
@@ -238,6 +273,7 @@ public class SingleThreadEventLoop extends SingleThreadEventExecutor implements
             checkInEventLoopIfPossible(handle);
 
             ioHandler.deregister(handle);
+            registeredHandles--;
         } catch (Throwable cause) {
             promise.setFailure(cause);
             return;
@@ -245,6 +281,14 @@ public class SingleThreadEventLoop extends SingleThreadEventExecutor implements
         promise.setSuccess(null);
     }
 
+    /**
+     * Returns the number of {@link IoHandle}s, usually {@link Channel}s, that are registered to this
+     * {@link SingleThreadEventLoop}.
+     */
+    public final int registeredHandles() {
+        return registeredHandles;
+    }
+
     private static void checkInEventLoopIfPossible(IoHandle handle) {
         if (handle instanceof Channel && !((Channel) handle).executor().inEventLoop()) {
             throw new IllegalStateException("Channel.executor() is not using the same Thread as this EventLoop");
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel;
+
+import io.netty5.util.concurrent.EventExecutor;
+import io.netty5.util.concurrent.Future;
+import io.netty5.util.concurrent.Promise;
+import io.netty5.util.internal.StringUtil;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The {@link Promise} that is shared by all writes of a {@link Channel} that were requested through
+ * {@link ChannelOutboundInvoker#writeVoid(Object)}. It never completes: a success is ignored, and a failure is fired
+ * through the {@link ChannelPipeline}.
+ * <p>
+ * As nobody can listen to the outcome of these writes, {@link #asFuture()} is not supported.
+ */
+final class VoidWritePromise implements Promise<Void> {
+    private final ChannelHandlerContext ctx;
+
+    /**
+     * Create a new instance.
+     *
+     * @param ctx the context of the head of the {@link ChannelPipeline}.
+     */
+    VoidWritePromise(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public Promise<Void> setSuccess(Void result) {
+        return this;
+    }
+
+    @Override
+    public boolean trySuccess(Void result) {
+        return true;
+    }
+
+    @Override
+    public Promise<Void> setFailure(Throwable cause) {
+        tryFailure(cause);
+        return this;
+    }
+
+    @Override
+    public boolean tryFailure(Throwable cause) {
+        requireNonNull(cause, "cause");
+        ctx.fireChannelExceptionCaught(cause);
+        return true;
+    }
+
+    @Override
+    public boolean setUncancellable() {
+        return true;
+    }
+
+    @Override
+    public Future<Void> asFuture() {
+        throw new IllegalStateException("The outcome of a void write can not be listened to");
+    }
+
+    @Override
+    public boolean cancel() {
+        return false;
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return false;
+    }
+
+    @Override
+    public boolean isFailed() {
+        return false;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return false;
+    }
+
+    @Override
+    public boolean isDone() {
+        return false;
+    }
+
+    @Override
+    public boolean isCancellable() {
+        return false;
+    }
+
+    @Override
+    public Void getNow() {
+        throw new IllegalStateException("Cannot call getNow() on a void write, which never completes.");
+    }
+
+    @Override
+    public Throwable cause() {
+        throw new IllegalStateException("Cannot call cause() on a void write, which never completes.");
+    }
+
+    @Override
+    public EventExecutor executor() {
+        return ctx.executor();
+    }
+
+    @Override
+    public String toString() {
+        return StringUtil.simpleClassName(this) + '(' + ctx.channel() + ')';
+    }
+}
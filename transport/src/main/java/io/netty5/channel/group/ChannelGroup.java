@@ -110,7 +110,9 @@ public interface ChannelGroup extends Set<Channel>, Comparable<ChannelGroup> {
      * Writes the specified {@code message} to all {@link Channel}s in this
      * group.
      * If the specified {@code message} is an instance of {@link Buffer}, it is automatically
-     * {@linkplain Buffer#copy() copied} to avoid a race condition.
+     * {@linkplain Buffer#copy() copied} to avoid a race condition, unless it is
+     * {@linkplain Buffer#readOnly() read-only}. Read-only buffers are instead
+     * {@linkplain io.netty5.buffer.api.SharedBuffer shared} by all channels, without copying their contents.
      * Please note that this operation is asynchronous as {@link Channel#write(Object)} is.
      *
      * @return itself
@@ -121,7 +123,9 @@ public interface ChannelGroup extends Set<Channel>, Comparable<ChannelGroup> {
      * Writes the specified {@code message} to all {@link Channel}s in this
      * group that are matched by the given {@link ChannelMatcher}.
      * If the specified {@code message} is an instance of {@link Buffer}, it is automatically
-     * {@linkplain Buffer#copy() copied} to avoid a race condition.
+     * {@linkplain Buffer#copy() copied} to avoid a race condition, unless it is
+     * {@linkplain Buffer#readOnly() read-only}. Read-only buffers are instead
+     * {@linkplain io.netty5.buffer.api.SharedBuffer shared} by all channels, without copying their contents.
      * Please note that this operation is asynchronous as {@link Channel#write(Object)} is.
      *
      * @return the {@link ChannelGroupFuture} instance that notifies when
@@ -16,6 +16,7 @@
 package io.netty5.channel.group;
 
 import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.SharedBuffer;
 import io.netty5.util.Resource;
 import io.netty5.channel.Channel;
 import io.netty5.channel.ChannelId;
@@ -229,26 +230,38 @@ public class DefaultChannelGroup extends AbstractSet<Channel> implements Channel
     // Create a safe duplicate of the message to write it to a channel but not affect other writes.
     // See https://github.com/netty/netty/issues/1461
     private static Object safeDuplicate(Object message) {
-        if (message instanceof Buffer) {
+        if (message instanceof SharedBuffer) {
+            return ((SharedBuffer) message).get();
+        } else if (message instanceof Buffer) {
             return ((Buffer) message).copy();
         } else {
             return ReferenceCountUtil.retain(message);
         }
     }
 
+    // Read-only buffers cannot be changed by any of the writes, so all channels can share the same memory,
+    // instead of each getting a copy of their own.
+    private static Object prepareBroadcast(Object message) {
+        if (message instanceof Buffer && ((Buffer) message).readOnly()) {
+            return SharedBuffer.share((Buffer) message);
+        }
+        return message;
+    }
+
     @Override
     public ChannelGroupFuture write(Object message, ChannelMatcher matcher) {
         requireNonNull(message, "message");
         requireNonNull(matcher, "matcher");
 
+        Object broadcast = prepareBroadcast(message);
         Map<Channel, Future<Void>> futures = new LinkedHashMap<>(nonServerChannels.size());
         for (Channel c: nonServerChannels.values()) {
             if (matcher.matches(c)) {
-                futures.put(c, c.write(safeDuplicate(message)));
+                futures.put(c, c.write(safeDuplicate(broadcast)));
             }
         }
         ChannelGroupFuture future = new DefaultChannelGroupFuture(this, futures, executor);
-        Resource.dispose(message);
+        Resource.dispose(broadcast);
         return future;
     }
 
@@ -359,14 +372,15 @@ public class DefaultChannelGroup extends AbstractSet<Channel> implements Channel
     public ChannelGroupFuture writeAndFlush(Object message, ChannelMatcher matcher) {
         requireNonNull(message, "message");
 
+        Object broadcast = prepareBroadcast(message);
         Map<Channel, Future<Void>> futures = new LinkedHashMap<>(nonServerChannels.size());
         for (Channel c: nonServerChannels.values()) {
             if (matcher.matches(c)) {
-                futures.put(c, c.writeAndFlush(safeDuplicate(message)));
+                futures.put(c, c.writeAndFlush(safeDuplicate(broadcast)));
             }
         }
         final ChannelGroupFuture future = new DefaultChannelGroupFuture(this, futures, executor);
-        Resource.dispose(message);
+        Resource.dispose(broadcast);
         return future;
     }
 
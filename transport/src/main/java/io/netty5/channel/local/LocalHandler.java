@@ -56,7 +56,9 @@ public final class LocalHandler implements IoHandler {
         }
         if (runner.canBlock()) {
             // Just block until there is a task ready to process or wakeup(...) is called.
+            runner.ioWaitStarted();
             LockSupport.parkNanos(this, runner.delayNanos(System.nanoTime()));
+            runner.ioWaitFinished();
         }
         return 0;
     }
@@ -359,6 +359,7 @@ public final class NioHandler implements IoHandler {
 
                     case SelectStrategy.SELECT:
                         select(runner, wakenUp.getAndSet(false));
+                        selectStrategy.afterSelect();
 
                         // 'wakenUp.compareAndSet(false, true)' is always evaluated
                         // before calling 'selector.wakeup()' to reduce the wake-up
@@ -575,7 +576,13 @@ public final class NioHandler implements IoHandler {
                     break;
                 }
 
-                int selectedKeys = selector.select(timeoutMillis);
+                int selectedKeys;
+                runner.ioWaitStarted();
+                try {
+                    selectedKeys = selector.select(timeoutMillis);
+                } finally {
+                    runner.ioWaitFinished();
+                }
                 selectCnt ++;
 
                 if (selectedKeys != 0 || oldWakenUp || wakenUp.get() || !runner.canBlock()) {
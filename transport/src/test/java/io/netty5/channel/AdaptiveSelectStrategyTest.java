@@ -0,0 +1,91 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel;
+
+import io.netty5.channel.nio.NioHandler;
+import org.junit.jupiter.api.Test;
+
+import java.nio.channels.spi.SelectorProvider;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveSelectStrategyTest {
+
+    @Test
+    public void spinsBeforeSelect() throws Exception {
+        AdaptiveSelectStrategyFactory factory = new AdaptiveSelectStrategyFactory(1, TimeUnit.HOURS);
+        SelectStrategy strategy = factory.newSelectStrategy();
+        assertSame(strategy, factory.strategies().get(0));
+
+        assertEquals(SelectStrategy.CONTINUE, strategy.calculateStrategy(() -> 0, false));
+        assertEquals(SelectStrategy.CONTINUE, strategy.calculateStrategy(() -> 0, false));
+        assertEquals(3, strategy.calculateStrategy(() -> 3, false));
+        AdaptiveSelectStrategy adaptive = factory.strategies().get(0);
+        assertEquals(1, adaptive.spinHits());
+        assertEquals(0, adaptive.blockingSelects());
+        assertTrue(adaptive.spinNanos() >= 0);
+    }
+
+    @Test
+    public void selectsWhenIdle() throws Exception {
+        AdaptiveSelectStrategyFactory factory = new AdaptiveSelectStrategyFactory(10, TimeUnit.MILLISECONDS);
+        SelectStrategy strategy = factory.newSelectStrategy();
+        AdaptiveSelectStrategy adaptive = factory.strategies().get(0);
+
+        int result;
+        do {
+            result = strategy.calculateStrategy(() -> 0, false);
+        } while (result == SelectStrategy.CONTINUE);
+        assertEquals(SelectStrategy.SELECT, result);
+        assertTrue(adaptive.spinNanos() >= TimeUnit.MILLISECONDS.toNanos(10) / 2);
+        assertEquals(0, adaptive.spinHits());
+        assertEquals(1, adaptive.blockingSelects());
+
+        Thread.sleep(5);
+        strategy.afterSelect();
+        assertTrue(adaptive.blockedNanos() >= TimeUnit.MILLISECONDS.toNanos(5));
+        // The wakeup counts as activity, so the loop spins again.
+        assertEquals(SelectStrategy.CONTINUE, strategy.calculateStrategy(() -> 0, false));
+    }
+
+    @Test
+    public void pendingTasksDoNotBlock() throws Exception {
+        SelectStrategy strategy = new AdaptiveSelectStrategyFactory(0, TimeUnit.SECONDS).newSelectStrategy();
+        assertEquals(0, strategy.calculateStrategy(() -> 0, true));
+        assertEquals(SelectStrategy.SELECT, strategy.calculateStrategy(() -> 0, false));
+    }
+
+    @Test
+    public void runsTasksWhileSpinning() throws Exception {
+        AdaptiveSelectStrategyFactory factory = new AdaptiveSelectStrategyFactory(1, TimeUnit.MILLISECONDS);
+        EventLoopGroup group = new MultithreadEventLoopGroup(1,
+                NioHandler.newFactory(SelectorProvider.provider(), factory));
+        try {
+            for (int i = 0; i < 100; i++) {
+                group.submit(() -> { }).asStage().sync();
+                group.schedule(() -> { }, 2, TimeUnit.MILLISECONDS).asStage().sync();
+            }
+            AdaptiveSelectStrategy strategy = factory.strategies().get(0);
+            assertTrue(strategy.spinNanos() > 0);
+            assertTrue(strategy.blockingSelects() > 0);
+        } finally {
+            group.shutdownGracefully().asStage().sync();
+        }
+    }
+}
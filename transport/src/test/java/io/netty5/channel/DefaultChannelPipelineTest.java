@@ -17,6 +17,7 @@ package io.netty5.channel;
 
 import io.netty5.bootstrap.Bootstrap;
 import io.netty5.bootstrap.ServerBootstrap;
+import io.netty5.buffer.api.Buffer;
 import io.netty5.channel.ChannelHandlerMask.Skip;
 import io.netty5.channel.embedded.EmbeddedChannel;
 import io.netty5.channel.local.LocalAddress;
@@ -722,6 +723,115 @@ public class DefaultChannelPipelineTest {
         assertSame(exception, error.get());
     }
 
+    @Test
+    public void testEventsFollowPipelineChanges() {
+        final ChannelHandler passThrough = new ChannelHandler() {
+            @Override
+            public boolean isSharable() {
+                return true;
+            }
+        };
+        final List<String> events = new ArrayList<>();
+        EmbeddedChannel channel = new EmbeddedChannel();
+        ChannelPipeline pipeline = channel.pipeline();
+        for (int i = 0; i < 16; i++) {
+            pipeline.addLast("passThrough" + i, passThrough);
+        }
+
+        pipeline.addAfter("passThrough3", "inbound", new ChannelHandler() {
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                events.add("inbound:" + msg);
+                ctx.fireChannelRead(msg);
+            }
+        });
+        pipeline.addBefore("passThrough12", "outbound", new ChannelHandler() {
+            @Override
+            public Future<Void> write(ChannelHandlerContext ctx, Object msg) {
+                events.add("outbound:" + msg);
+                return ctx.write(msg);
+            }
+        });
+        assertTrue(channel.writeInbound("a"));
+        assertTrue(channel.writeOutbound("b"));
+        assertEquals(List.of("inbound:a", "outbound:b"), events);
+        events.clear();
+
+        pipeline.remove("inbound");
+        pipeline.replace("passThrough0", "replacedInbound", new ChannelHandler() {
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                events.add("replacedInbound:" + msg);
+                ctx.fireChannelRead(msg);
+            }
+        });
+        pipeline.remove("outbound");
+        assertTrue(channel.writeInbound("c"));
+        assertTrue(channel.writeOutbound("d"));
+        assertEquals(List.of("replacedInbound:c"), events);
+
+        assertEquals("a", channel.readInbound());
+        assertEquals("c", channel.readInbound());
+        assertEquals("b", channel.readOutbound());
+        assertEquals("d", channel.readOutbound());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testWriteVoid() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelHandler() {
+            @Override
+            public Future<Void> write(ChannelHandlerContext ctx, Object msg) {
+                return ctx.write(msg + "!");
+            }
+        });
+        channel.writeVoid("a");
+        channel.pipeline().writeAndFlushVoid("b");
+        channel.pipeline().firstContext().writeAndFlushVoid("c");
+        assertEquals("a!", channel.readOutbound());
+        assertEquals("b!", channel.readOutbound());
+        assertEquals("c", channel.readOutbound());
+        assertNull(channel.readOutbound());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testWriteVoidFailureFiresExceptionCaught() {
+        final IllegalStateException exception = new IllegalStateException();
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelHandler() {
+            @Override
+            public Future<Void> write(ChannelHandlerContext ctx, Object msg) {
+                Resource.dispose(msg);
+                return ctx.newFailedFuture(exception);
+            }
+        });
+        channel.writeAndFlushVoid("a");
+        assertSame(exception, assertThrows(IllegalStateException.class, channel::checkException));
+        assertNull(channel.readOutbound());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    @Timeout(value = 5000, unit = TimeUnit.MILLISECONDS)
+    public void testWriteVoidFromOutsideEventLoopAfterOutputShutdown() throws Exception {
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        setUp(new ChannelHandler() {
+            @Override
+            public void channelExceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+                error.set(cause);
+                latch.countDown();
+            }
+        });
+        self.shutdown(ChannelShutdownDirection.Outbound).asStage().sync();
+
+        Buffer buffer = self.bufferAllocator().allocate(8).writeLong(1);
+        self.writeAndFlushVoid(buffer);
+        latch.await();
+        assertThat(error.get(), Matchers.instanceOf(ChannelOutputShutdownException.class));
+        assertFalse(buffer.isAccessible());
+    }
+
     @Test
     @Timeout(value = 3000, unit = TimeUnit.MILLISECONDS)
     public void testAddHandlerBeforeRegisteredThenRemove() throws Exception {
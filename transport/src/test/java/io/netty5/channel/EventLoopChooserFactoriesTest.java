@@ -0,0 +1,81 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel;
+
+import io.netty5.channel.local.LocalChannel;
+import io.netty5.channel.local.LocalHandler;
+import io.netty5.util.concurrent.EventExecutor;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class EventLoopChooserFactoriesTest {
+
+    @Test
+    public void testLeastRegisteredChannels() throws Exception {
+        EventLoopGroup group = new MultithreadEventLoopGroup(
+                4, LocalHandler.newFactory(), EventLoopChooserFactories.leastRegisteredChannels());
+        List<Channel> channels = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                Channel channel = new LocalChannel(group.next());
+                channel.register().asStage().sync();
+                channels.add(channel);
+            }
+            for (EventExecutor executor : group) {
+                assertEquals(2, ((SingleThreadEventLoop) executor).registeredHandles());
+            }
+
+            // Free up the event loop of the first channel, so it is chosen next.
+            EventLoop loop = channels.get(0).executor();
+            channels.get(0).close().asStage().sync();
+            assertEquals(1, ((SingleThreadEventLoop) loop).registeredHandles());
+            assertSame(loop, group.next());
+        } finally {
+            for (Channel channel : channels) {
+                channel.close().asStage().sync();
+            }
+            group.shutdownGracefully().asStage().sync();
+        }
+    }
+
+    @Test
+    public void testPowerOfTwoChoices() throws Exception {
+        EventLoopGroup group = new MultithreadEventLoopGroup(
+                2, LocalHandler.newFactory(), EventLoopChooserFactories.powerOfTwoChoices());
+        List<Channel> channels = new ArrayList<>();
+        try {
+            // With two event loops both are compared for every choice, so the channels are spread evenly.
+            for (int i = 0; i < 6; i++) {
+                Channel channel = new LocalChannel(group.next());
+                channel.register().asStage().sync();
+                channels.add(channel);
+            }
+            for (EventExecutor executor : group) {
+                assertEquals(3, ((SingleThreadEventLoop) executor).registeredHandles());
+            }
+        } finally {
+            for (Channel channel : channels) {
+                channel.close().asStage().sync();
+            }
+            group.shutdownGracefully().asStage().sync();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2022 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.channel.RecvBufferAllocator.Handle;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class HistogramRecvBufferAllocatorTest {
+
+    @Test
+    public void guessesAreSizeClasses() {
+        Handle handle = new HistogramRecvBufferAllocator(16, 512, 1024 * 1024, 90).newHandle();
+        assertEquals(512, handle.guess());
+        readCycles(handle, 100, 1);
+        assertEquals(112, handle.guess());
+        readCycles(handle, 1025, 10);
+        assertEquals(1280, handle.guess());
+        readCycles(handle, 48, 100);
+        assertEquals(48, handle.guess());
+    }
+
+    @Test
+    public void guessesStayWithinBounds() {
+        Handle handle = new HistogramRecvBufferAllocator(64, 512, 1000, 90).newHandle();
+        readCycles(handle, 1, 10);
+        assertEquals(64, handle.guess());
+        readCycles(handle, 100000, 10);
+        assertEquals(896, handle.guess());
+    }
+
+    @Test
+    public void occasionalLargeReadsDoNotChangeGuess() {
+        Handle handle = new HistogramRecvBufferAllocator().newHandle();
+        readCycles(handle, 200, 10);
+        assertEquals(224, handle.guess());
+        for (int i = 0; i < 100; i++) {
+            readCycles(handle, 65536, 1);
+            assertEquals(224, handle.guess());
+            readCycles(handle, 200, 19);
+            assertEquals(224, handle.guess());
+        }
+    }
+
+    @Test
+    public void frequentLargeReadsChangeGuess() {
+        Handle handle = new HistogramRecvBufferAllocator().newHandle();
+        readCycles(handle, 200, 100);
+        assertEquals(224, handle.guess());
+        for (int i = 0; i < 100; i++) {
+            readCycles(handle, 4000, 1);
+            readCycles(handle, 200, 3);
+        }
+        assertEquals(4096, handle.guess());
+    }
+
+    @Test
+    public void rampUpBeforeReadCompleteWhenLargeDataPending() {
+        Handle handle = new HistogramRecvBufferAllocator(64, 512, 1024 * 1024 * 10, 90).newHandle();
+        // Simulate that there is always more data when we attempt to read, so we should always ramp up.
+        try (BufferAllocator alloc = BufferAllocator.onHeapUnpooled()) {
+            handle.reset();
+            allocReadExpected(handle, alloc, 512);
+            allocReadExpected(handle, alloc, 2048);
+            allocReadExpected(handle, alloc, 8192);
+            allocReadExpected(handle, alloc, 32768);
+            handle.readComplete();
+
+            // The next read cycle starts from the prediction.
+            handle.reset();
+            allocReadExpected(handle, alloc, 49152);
+        }
+    }
+
+    @Test
+    public void newHandlesStartFromSharedGuess() {
+        HistogramRecvBufferAllocator allocator = new HistogramRecvBufferAllocator();
+        assertEquals(2048, allocator.newHandle().guess());
+        for (int i = 0; i < 50; i++) {
+            readCycles(allocator.newHandle(), 300, 20);
+        }
+        assertEquals(320, allocator.newHandle().guess());
+
+        // A single channel with large reads does not change the guess of new channels.
+        readCycles(allocator.newHandle(), 60000, 20);
+        assertEquals(320, allocator.newHandle().guess());
+    }
+
+    @Test
+    public void invalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new HistogramRecvBufferAllocator(0, 512, 1024, 90));
+        assertThrows(IllegalArgumentException.class, () -> new HistogramRecvBufferAllocator(64, 32, 1024, 90));
+        assertThrows(IllegalArgumentException.class, () -> new HistogramRecvBufferAllocator(64, 512, 256, 90));
+        assertThrows(IllegalArgumentException.class, () -> new HistogramRecvBufferAllocator(64, 512, 1024, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HistogramRecvBufferAllocator(64, 512, 1024, 101));
+        assertThrows(IllegalArgumentException.class, () -> new HistogramRecvBufferAllocator(17, 20, 30, 90));
+    }
+
+    private static void readCycles(Handle handle, int bytes, int cycles) {
+        for (int i = 0; i < cycles; i++) {
+            handle.reset();
+            handle.attemptedBytesRead(handle.guess());
+            handle.lastBytesRead(bytes);
+            handle.incMessagesRead(1);
+            handle.readComplete();
+        }
+    }
+
+    private static void allocReadExpected(Handle handle, BufferAllocator alloc, int expectedSize) {
+        try (Buffer buf = handle.allocate(alloc)) {
+            assertEquals(expectedSize, buf.capacity());
+            handle.attemptedBytesRead(expectedSize);
+            handle.lastBytesRead(expectedSize);
+            handle.incMessagesRead(1);
+        }
+    }
+}
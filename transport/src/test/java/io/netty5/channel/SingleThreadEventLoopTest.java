@@ -19,7 +19,10 @@ import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.Appender;
 import io.netty5.channel.local.LocalChannel;
+import io.netty5.channel.local.LocalHandler;
+import io.netty5.util.concurrent.DefaultEventExecutorMetrics;
 import io.netty5.util.concurrent.EventExecutor;
+import io.netty5.util.concurrent.EventExecutorMetricsSnapshot;
 import io.netty5.util.concurrent.Future;
 import io.netty5.util.concurrent.SingleThreadEventExecutor;
 import org.junit.jupiter.api.AfterEach;
@@ -393,6 +396,47 @@ public class SingleThreadEventLoopTest {
         }
     }
 
+    @Test
+    @Timeout(value = 5000, unit = TimeUnit.MILLISECONDS)
+    public void testMetrics() throws Exception {
+        SingleThreadEventLoop loop = new SingleThreadEventLoop(
+                Executors.defaultThreadFactory(), LocalHandler.newFactory().newHandler());
+        DefaultEventExecutorMetrics metrics = new DefaultEventExecutorMetrics(1);
+        loop.setMetrics(metrics);
+        for (int i = 0; i < 10; i++) {
+            loop.submit(NOOP).asStage().sync();
+        }
+        // The loop records a batch of tasks after it ran all of them, so wait until it is done.
+        loop.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS).asStage().sync();
+
+        EventExecutorMetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(10, snapshot.submittedTasks());
+        assertEquals(10, snapshot.executedTasks());
+        assertEquals(10, snapshot.timedTasks());
+        // Every task was submitted from outside the loop, so each one woke it up.
+        assertEquals(10, snapshot.wakeups());
+        assertThat(snapshot.ioRuns(), is(greaterThanOrEqualTo(1L)));
+        assertEquals(0, snapshot.ioHandled());
+    }
+
+    @Test
+    @Timeout(value = 5000, unit = TimeUnit.MILLISECONDS)
+    public void testMetricsSeparateIoWait() throws Exception {
+        SingleThreadEventLoop loop = new SingleThreadEventLoop(
+                Executors.defaultThreadFactory(), LocalHandler.newFactory().newHandler());
+        DefaultEventExecutorMetrics metrics = new DefaultEventExecutorMetrics();
+        loop.setMetrics(metrics);
+        loop.submit(NOOP).asStage().sync();
+        // Nothing to do, so the loop blocks until the next task is submitted.
+        Thread.sleep(100);
+        loop.submit(NOOP).asStage().sync();
+        loop.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS).asStage().sync();
+
+        EventExecutorMetricsSnapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.ioWaitNanos(), is(greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50))));
+        assertThat(snapshot.ioNanos(), is(lessThan(snapshot.ioWaitNanos())));
+    }
+
     @Test
     @Timeout(value = 5000, unit = TimeUnit.MILLISECONDS)
     public void testGracefulShutdownQuietPeriod() throws Exception {
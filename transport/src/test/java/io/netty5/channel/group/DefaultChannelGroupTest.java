@@ -16,17 +16,27 @@
 package io.netty5.channel.group;
 
 import io.netty5.bootstrap.ServerBootstrap;
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.BufferAllocator;
 import io.netty5.channel.Channel;
 import io.netty5.channel.ChannelHandler;
 import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.DefaultChannelId;
 import io.netty5.channel.EventLoopGroup;
 import io.netty5.channel.MultithreadEventLoopGroup;
+import io.netty5.channel.embedded.EmbeddedChannel;
 import io.netty5.channel.nio.NioHandler;
 import io.netty5.channel.socket.nio.NioServerSocketChannel;
 import io.netty5.util.concurrent.FutureCompletionStage;
 import io.netty5.util.concurrent.GlobalEventExecutor;
+import io.netty5.util.concurrent.ImmediateEventExecutor;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 public class DefaultChannelGroupTest {
 
     // Test for #1183
@@ -59,4 +69,48 @@ public class DefaultChannelGroupTest {
         bossGroup.terminationFuture().asStage().sync();
         workerGroup.terminationFuture().asStage().sync();
     }
+
+    @Test
+    public void readOnlyBuffersAreSharedInsteadOfCopied() throws Exception {
+        ChannelGroup group = new DefaultChannelGroup(ImmediateEventExecutor.INSTANCE);
+        EmbeddedChannel first = new EmbeddedChannel(DefaultChannelId.newInstance());
+        EmbeddedChannel second = new EmbeddedChannel(DefaultChannelId.newInstance());
+        group.add(first);
+        group.add(second);
+
+        try (BufferAllocator allocator = BufferAllocator.offHeapUnpooled()) {
+            Buffer message = allocator.copyOf(new byte[] { 1, 2, 3, 4 }).makeReadOnly();
+            long address = nativeAddress(message);
+            group.writeAndFlush(message).asStage().sync();
+            assertFalse(message.isAccessible());
+            try (Buffer firstOut = first.readOutbound();
+                 Buffer secondOut = second.readOutbound()) {
+                assertTrue(firstOut.readOnly());
+                assertEquals(4, firstOut.readableBytes());
+                assertEquals(address, nativeAddress(firstOut));
+                assertEquals(address, nativeAddress(secondOut));
+            }
+
+            message = allocator.copyOf(new byte[] { 1, 2, 3, 4 });
+            address = nativeAddress(message);
+            group.writeAndFlush(message).asStage().sync();
+            try (Buffer firstOut = first.readOutbound();
+                 Buffer secondOut = second.readOutbound()) {
+                assertFalse(firstOut.readOnly());
+                assertNotEquals(address, nativeAddress(firstOut));
+                assertNotEquals(nativeAddress(firstOut), nativeAddress(secondOut));
+            }
+        } finally {
+            group.close().asStage().sync();
+        }
+    }
+
+    private static long nativeAddress(Buffer buffer) {
+        long[] address = new long[1];
+        buffer.forEachReadable(0, (index, component) -> {
+            address[0] = component.readableNativeAddress();
+            return false;
+        });
+        return address[0];
+    }
 }